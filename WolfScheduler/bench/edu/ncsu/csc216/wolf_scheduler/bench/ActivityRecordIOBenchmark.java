@@ -0,0 +1,157 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.calendar.Term;
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures WolfScheduler.importSchedule() restoring exported schedules of up to eight
+ * courses and an event each against a 10k section catalog, and
+ * ActivityRecordIO.writeICalendar() streaming the same schedules to a channel that
+ * discards them. Scores are schedules per second.
+ * @author Noah Benveniste
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ActivityRecordIOBenchmark {
+
+	/** Number of schedule files imported by each invocation */
+	private static final int FILES = 100;
+	/** Most courses in each schedule */
+	private static final int COURSES = 8;
+
+	/** Catalog file */
+	private File catalog;
+	/** Schedule files imported by each invocation */
+	private File[] schedules;
+	/** Schedule the files are imported into */
+	private WolfScheduler ws;
+	/** The activities in each schedule file */
+	private List<List<Activity>> activities;
+	/** Term the calendars are written over */
+	private Term term;
+	/** Channel the calendars are written to */
+	private WritableByteChannel sink;
+
+	/**
+	 * Writes the catalog and exports the schedules once per trial.
+	 * @throws IOException if a file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		catalog = BenchmarkData.writeCatalog(10000);
+		ws = new WolfScheduler(catalog.getPath());
+		String[][] sections = ws.getCourseCatalog();
+		schedules = new File[FILES];
+		for (int i = 0; i < FILES; i++) {
+			ws.resetSchedule();
+			for (int j = 0; j < COURSES; j++) {
+				String[] section = sections[(i * COURSES + j) * 7 % sections.length];
+				try {
+					ws.addCourse(section[0], section[1]);
+				} catch (IllegalArgumentException e) {
+					//Skip sections that conflict
+				}
+			}
+			try {
+				ws.addEvent("Study", "U", 1900, 2100, 1, "Library, third floor");
+			} catch (IllegalArgumentException e) {
+				//Skip the event if a course is arranged at the same time
+			}
+			schedules[i] = File.createTempFile("schedule", ".txt");
+			schedules[i].deleteOnExit();
+			ws.exportSchedule(schedules[i].getPath());
+		}
+		activities = new ArrayList<List<Activity>>();
+		for (int i = 0; i < FILES; i++) {
+			activities.add(ActivityRecordIO.readActivityRecords(schedules[i].getPath(), null, null));
+		}
+		term = new Term(LocalDate.of(2026, 8, 19), 16);
+		sink = new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer src) {
+				int n = src.remaining();
+				src.position(src.limit());
+				return n;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+				//Nothing to close
+			}
+		};
+	}
+
+	/**
+	 * Deletes the files after the trial.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		catalog.delete();
+		for (int i = 0; i < schedules.length; i++) {
+			schedules[i].delete();
+		}
+	}
+
+	/**
+	 * Imports every schedule file in turn.
+	 * @return the problems reported, so the work is not optimized away
+	 */
+	@Benchmark
+	@OperationsPerInvocation(FILES)
+	public int importSchedule() {
+		int problems = 0;
+		for (int i = 0; i < schedules.length; i++) {
+			problems += ws.importSchedule(schedules[i].getPath()).length;
+		}
+		return problems;
+	}
+
+	/**
+	 * Writes every schedule as a calendar in turn.
+	 * @return the bytes written, so the work is not optimized away
+	 * @throws IOException if a calendar cannot be written
+	 */
+	@Benchmark
+	@OperationsPerInvocation(FILES)
+	public long writeICalendar() throws IOException {
+		long bytes = 0;
+		for (int i = 0; i < activities.size(); i++) {
+			bytes += ActivityRecordIO.writeICalendar(sink, activities.get(i), term);
+		}
+		return bytes;
+	}
+}
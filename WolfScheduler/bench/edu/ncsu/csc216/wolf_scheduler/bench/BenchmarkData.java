@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.workload.WorkloadGenerator;
+
+/**
+ * Builds synthetic course catalogs for the benchmarks. Catalogs are generated from a
+ * fixed seed, so runs at the same size read identical files.
+ * @author Noah Benveniste
+ */
+final class BenchmarkData {
+
+	/** Seed for every generated catalog */
+	private static final long SEED = 216;
+
+	/**
+	 * Not constructed.
+	 */
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Writes a catalog of the given size to a temporary file that is deleted when the
+	 * JVM exits
+	 * @param lines the number of courses to write
+	 * @param invalidRatio the fraction of lines that are invalid
+	 * @return the catalog file
+	 * @throws IOException if the file cannot be written
+	 */
+	static File writeCatalog(int lines, double invalidRatio) throws IOException {
+		File file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		WorkloadGenerator generator = new WorkloadGenerator(SEED);
+		generator.setInvalidRatio(invalidRatio);
+		generator.writeCourseRecords(file.getPath(), lines);
+		return file;
+	}
+
+	/**
+	 * Writes a catalog of the given size with no invalid lines to a temporary file that
+	 * is deleted when the JVM exits
+	 * @param lines the number of courses to write
+	 * @return the catalog file
+	 * @throws IOException if the file cannot be written
+	 */
+	static File writeCatalog(int lines) throws IOException {
+		return writeCatalog(lines, 0);
+	}
+
+	/**
+	 * Replaces a file with its gzip compressed contents
+	 * @param file the file to compress
+	 * @throws IOException if the file cannot be read or written
+	 */
+	static void compress(File file) throws IOException {
+		byte [] contents = Files.readAllBytes(file.toPath());
+		GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+		try {
+			out.write(contents);
+		} finally {
+			out.close();
+		}
+	}
+}
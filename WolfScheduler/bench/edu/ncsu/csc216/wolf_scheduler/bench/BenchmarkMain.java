@@ -0,0 +1,45 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the WolfScheduler benchmarks in throughput mode with the GC profiler, so every
+ * result reports both operations per second and allocation rate (gc.alloc.rate and
+ * gc.alloc.rate.norm, the bytes allocated per operation).
+ * <p>
+ * The benchmarks live outside the Eclipse source folders because they need JMH. To run
+ * them, compile src and bench with jmh-core and jmh-generator-annprocess on the class
+ * path (the annotation processor generates the benchmark harness), then run this class
+ * with the compiled classes and jmh-core on the class path.  Any standard JMH command
+ * line options, such as a benchmark name pattern or -p lines=1000, are passed through.
+ * </p>
+ * @author Noah Benveniste
+ */
+public class BenchmarkMain {
+
+	/**
+	 * Runs the benchmarks.
+	 * @param args JMH command line options
+	 * @throws RunnerException if a benchmark fails
+	 * @throws CommandLineOptionException if the options are invalid
+	 */
+	public static void main(String [] args) throws RunnerException, CommandLineOptionException {
+		Options opt = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.include(BenchmarkMain.class.getPackage().getName() + ".")
+				.mode(Mode.Throughput)
+				.timeUnit(TimeUnit.SECONDS)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opt).run();
+	}
+}
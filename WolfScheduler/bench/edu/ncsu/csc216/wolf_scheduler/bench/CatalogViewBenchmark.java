@@ -0,0 +1,97 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures building the string views of the catalog and schedule, and the meeting
+ * strings they are made from.
+ * @author Noah Benveniste
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CatalogViewBenchmark {
+
+	/** Number of courses in the catalog */
+	@Param({"1000", "10000"})
+	public int catalogSize;
+
+	/** Number of events in the schedule */
+	@Param({"100"})
+	public int scheduleSize;
+
+	/** Scheduler under test */
+	private WolfScheduler scheduler;
+	/** Course with a timed meeting */
+	private Activity course;
+	/** Event with a timed meeting */
+	private Activity event;
+
+	/**
+	 * Loads the catalog and fills the schedule with events.
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		File catalog = BenchmarkData.writeCatalog(catalogSize);
+		scheduler = new WolfScheduler(catalog.getPath());
+		catalog.delete();
+		for (int i = 0; i < scheduleSize; i++) {
+			scheduler.addEvent("Event " + i, "UMTWHFS", 800, 1345, 1 + i % 4, "Benchmark event");
+		}
+		course = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+		event = new Event("Exercise", "MTWHF", 800, 900, 2, "Cardio Time!");
+	}
+
+	/**
+	 * Builds the catalog view.
+	 * @return the catalog rows
+	 */
+	@Benchmark
+	public String[][] getCourseCatalog() {
+		return scheduler.getCourseCatalog();
+	}
+
+	/**
+	 * Builds the full schedule view.
+	 * @return the schedule rows
+	 */
+	@Benchmark
+	public String[][] getFullScheduledActivities() {
+		return scheduler.getFullScheduledActivities();
+	}
+
+	/**
+	 * Builds the meeting string of a course and of an event.
+	 * @param bh sink for the strings
+	 */
+	@Benchmark
+	public void getMeetingString(Blackhole bh) {
+		bh.consume(course.getMeetingString());
+		bh.consume(event.getMeetingString());
+	}
+}
@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures CourseRecordIO.readCourseRecords() on catalogs of 1k, 10k and 100k lines, both
+ * clean and with 30% invalid lines,
+ * plain and gzip compressed.
+ * @author Noah Benveniste
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CourseRecordIOBenchmark {
+
+	/** Number of lines in the catalog */
+	@Param({"1000", "10000", "100000"})
+	public int lines;
+
+	/** Fraction of invalid lines in the catalog */
+	@Param({"0", "0.3"})
+	public double invalidRatio;
+
+	/** True to read the catalog gzip compressed */
+	@Param({"false", "true"})
+	public boolean compressed;
+
+	/** Catalog file read by each invocation */
+	private File catalog;
+
+	/**
+	 * Writes the catalog once per trial.
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		catalog = BenchmarkData.writeCatalog(lines, invalidRatio);
+		if (compressed) {
+			BenchmarkData.compress(catalog);
+		}
+	}
+
+	/**
+	 * Deletes the catalog after the trial.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		catalog.delete();
+	}
+
+	/**
+	 * Reads the whole catalog.
+	 * @return the courses read, so the work is not optimized away
+	 * @throws FileNotFoundException if the catalog is missing
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(catalog.getPath());
+	}
+}
@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures catalog lookups and schedule additions on a large catalog and schedule. The
+ * add benchmarks remove what they added so every invocation sees the same schedule, which
+ * means each one measures an add followed by a remove from the end of the schedule.
+ * @author Noah Benveniste
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WolfSchedulerBenchmark {
+
+	/** Number of courses in the catalog */
+	@Param({"10000"})
+	public int catalogSize;
+
+	/** Number of events already in the schedule */
+	@Param({"10", "1000"})
+	public int scheduleSize;
+
+	/** Scheduler under test */
+	private WolfScheduler scheduler;
+	/** Name of the last course in the catalog, the worst case for a scan */
+	private String lastName;
+	/** Section of the last course in the catalog */
+	private String lastSection;
+
+	/**
+	 * Loads the catalog and fills the schedule with events.
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		File catalog = BenchmarkData.writeCatalog(catalogSize);
+		scheduler = new WolfScheduler(catalog.getPath());
+		catalog.delete();
+		for (int i = 0; i < scheduleSize; i++) {
+			scheduler.addEvent("Event " + i, "U", 800, 900, 1, "Benchmark event");
+		}
+		Course last = scheduler.getCatalogCourse(scheduler.getCatalogSize() - 1);
+		lastName = last.getName();
+		lastSection = last.getSection();
+	}
+
+	/**
+	 * Looks up the last course in the catalog.
+	 * @return the course found
+	 */
+	@Benchmark
+	public Course getCourseFromCatalog() {
+		return scheduler.getCourseFromCatalog(lastName, lastSection);
+	}
+
+	/**
+	 * Adds the last course in the catalog to the schedule, then removes it.
+	 * @return the result of the add
+	 */
+	@Benchmark
+	public boolean addCourse() {
+		boolean added = scheduler.addCourse(lastName, lastSection);
+		scheduler.removeActivity(scheduleSize);
+		return added;
+	}
+
+	/**
+	 * Adds an event to the schedule, then removes it.
+	 * @return the result of the remove
+	 */
+	@Benchmark
+	public boolean addEvent() {
+		scheduler.addEvent("Benchmark", "MWF", 1200, 1300, 2, "Benchmark event");
+		return scheduler.removeActivity(scheduleSize);
+	}
+}
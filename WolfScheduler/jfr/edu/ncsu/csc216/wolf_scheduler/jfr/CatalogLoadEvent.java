@@ -0,0 +1,35 @@
+package edu.ncsu.csc216.wolf_scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one call to CourseRecordIO.readCourseRecords(). The event's
+ * duration covers the whole read.
+ * @author Noah Benveniste
+ */
+@Name("edu.ncsu.csc216.wolf_scheduler.CatalogLoad")
+@Label("Catalog Load")
+@Category("WolfScheduler")
+@Description("Course records read from a catalog file")
+public class CatalogLoadEvent extends Event {
+
+	/** The file read */
+	@Label("File")
+	String file;
+
+	/** The number of lines read */
+	@Label("Lines")
+	long lines;
+
+	/** The number of lines that were not valid courses */
+	@Label("Rejected Lines")
+	long rejected;
+
+	/** The number of courses read */
+	@Label("Courses")
+	long courses;
+}
@@ -0,0 +1,132 @@
+package edu.ncsu.csc216.wolf_scheduler.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Trace;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Tracer;
+
+/**
+ * Tracer that emits a Java Flight Recorder event for each catalog load and schedule
+ * operation, so that a recording shows them next to the garbage collection, allocation,
+ * and thread events of the same moment. Call {@link #install()} at startup and run with
+ * -XX:StartFlightRecording, or start a recording later with jcmd JFR.start.
+ * @author Noah Benveniste
+ */
+public class JfrTracer implements Tracer {
+
+	/**
+	 * Registers the WolfScheduler events with Flight Recorder and makes this the tracer
+	 * for WolfScheduler and the io classes.
+	 */
+	public static void install() {
+		FlightRecorder.register(CatalogLoadEvent.class);
+		FlightRecorder.register(ScheduleOperationEvent.class);
+		FlightRecorder.register(ScheduleExportEvent.class);
+		Metrics.setTracer(new JfrTracer());
+	}
+
+	/**
+	 * Traces only once Flight Recorder is running, so that operations skip building trace
+	 * fields until a recording is started.
+	 * @return true if Flight Recorder has been started
+	 */
+	@Override
+	public boolean isEnabled() {
+		return FlightRecorder.isInitialized();
+	}
+
+	/**
+	 * Begins the event for an operation
+	 * @param operation the operation name
+	 * @return the trace that commits the event when it ends
+	 */
+	@Override
+	public Trace begin(String operation) {
+		if (Metrics.CATALOG_LOAD.equals(operation)) {
+			return new EventTrace(new CatalogLoadEvent());
+		} else if (Metrics.EXPORT.equals(operation)) {
+			return new EventTrace(new ScheduleExportEvent());
+		}
+		ScheduleOperationEvent event = new ScheduleOperationEvent();
+		event.operation = operation;
+		return new EventTrace(event);
+	}
+
+	/**
+	 * Trace that fills in the fields of a Flight Recorder event and commits it when it ends.
+	 * Fields the event does not have are ignored.
+	 */
+	private static class EventTrace implements Trace {
+
+		/** The event being traced */
+		private Event event;
+
+		/**
+		 * Begins timing an event
+		 * @param event the event
+		 */
+		EventTrace(Event event) {
+			this.event = event;
+			event.begin();
+		}
+
+		/**
+		 * Sets a text field of the event
+		 * @param field the field name
+		 * @param value the field value
+		 */
+		@Override
+		public void set(String field, String value) {
+			if (event instanceof CatalogLoadEvent) {
+				if (Metrics.FILE.equals(field)) {
+					((CatalogLoadEvent) event).file = value;
+				}
+			} else if (event instanceof ScheduleExportEvent) {
+				if (Metrics.FILE.equals(field)) {
+					((ScheduleExportEvent) event).file = value;
+				} else if (Metrics.OUTCOME.equals(field)) {
+					((ScheduleExportEvent) event).outcome = value;
+				}
+			} else {
+				if (Metrics.ACTIVITY.equals(field)) {
+					((ScheduleOperationEvent) event).activity = value;
+				} else if (Metrics.OUTCOME.equals(field)) {
+					((ScheduleOperationEvent) event).outcome = value;
+				}
+			}
+		}
+
+		/**
+		 * Sets a numeric field of the event
+		 * @param field the field name
+		 * @param value the field value
+		 */
+		@Override
+		public void set(String field, long value) {
+			if (event instanceof CatalogLoadEvent) {
+				CatalogLoadEvent load = (CatalogLoadEvent) event;
+				if (Metrics.LINES.equals(field)) {
+					load.lines = value;
+				} else if (Metrics.REJECTED.equals(field)) {
+					load.rejected = value;
+				} else if (Metrics.COURSES.equals(field)) {
+					load.courses = value;
+				}
+			} else if (event instanceof ScheduleExportEvent) {
+				if (Metrics.ACTIVITIES.equals(field)) {
+					((ScheduleExportEvent) event).activities = value;
+				}
+			}
+		}
+
+		/**
+		 * Commits the event, if Flight Recorder is recording it
+		 */
+		@Override
+		public void end() {
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package edu.ncsu.csc216.wolf_scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one call to WolfScheduler.exportSchedule().
+ * @author Noah Benveniste
+ */
+@Name("edu.ncsu.csc216.wolf_scheduler.ScheduleExport")
+@Label("Schedule Export")
+@Category("WolfScheduler")
+@Description("A schedule written to a file")
+public class ScheduleExportEvent extends Event {
+
+	/** The file written */
+	@Label("File")
+	String file;
+
+	/** The number of activities written */
+	@Label("Activities")
+	long activities;
+
+	/** How the export ended: success or failure */
+	@Label("Outcome")
+	String outcome;
+}
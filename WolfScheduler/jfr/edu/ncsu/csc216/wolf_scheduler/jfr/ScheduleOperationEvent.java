@@ -0,0 +1,31 @@
+package edu.ncsu.csc216.wolf_scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one call to WolfScheduler.addCourse(), addEvent(), or
+ * removeActivity().
+ * @author Noah Benveniste
+ */
+@Name("edu.ncsu.csc216.wolf_scheduler.ScheduleOperation")
+@Label("Schedule Operation")
+@Category("WolfScheduler")
+@Description("An activity added to or removed from a schedule")
+public class ScheduleOperationEvent extends Event {
+
+	/** The operation, such as schedule.addCourse */
+	@Label("Operation")
+	String operation;
+
+	/** The course name and section, or the event title */
+	@Label("Activity")
+	String activity;
+
+	/** How the operation ended: success, duplicate, or failure */
+	@Label("Outcome")
+	String outcome;
+}
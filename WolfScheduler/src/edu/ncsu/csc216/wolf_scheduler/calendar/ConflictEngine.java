@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Checks activities for conflicts over a term, taking into account the weeks each one
+ * meets in. Two events that repeat every other week on the same day and time only
+ * conflict if they meet in the same weeks, and whether they ever do depends on their
+ * repeats, their first weeks, and the length of the term.
+ * <p>
+ * An activity's weeks are set by its weekly repeat and first week, so there are only ten
+ * patterns: every week, and each first week of every 2, 3, and 4 weeks. The engine builds a
+ * bit mask of the weeks in the term for each pattern, and for each pair of patterns works
+ * out once which days of the week they both meet on in some week of the term. Checking two
+ * activities is then a lookup in that table, no matter their repeats or the length of the
+ * term.
+ * </p>
+ * @author Noah Benveniste
+ */
+public class ConflictEngine {
+
+	/** Largest weekly repeat an event can have */
+	private static final int MAX_REPEAT = 4;
+	/** Number of week patterns: 1 + 2 + 3 + 4 first weeks */
+	private static final int PATTERNS = MAX_REPEAT * (MAX_REPEAT + 1) / 2;
+
+	/** The term */
+	private Term term;
+	/** Weeks of the term each pattern meets in, one bit per week */
+	private long[][] weekMasks;
+	/** Days of the week, one bit per index into Term.DAYS, that two patterns both meet on */
+	private int[][] sharedDays;
+
+	/**
+	 * Builds the week masks for a term
+	 * @param term the term
+	 * @throws IllegalArgumentException if the term is null
+	 */
+	public ConflictEngine(Term term) {
+		if (term == null) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+		this.term = term;
+		int words = (term.getWeeks() + 63) / 64;
+		this.weekMasks = new long[PATTERNS][words];
+		for (int repeat = 1; repeat <= MAX_REPEAT; repeat++) {
+			for (int first = 0; first < repeat; first++) {
+				long[] mask = weekMasks[patternOf(repeat, first)];
+				for (int week = first; week < term.getWeeks(); week += repeat) {
+					mask[week >>> 6] |= 1L << week;
+				}
+			}
+		}
+		
+		//Days of week 0 before the first day of the term are not in it
+		int firstOffset = term.getFirstDay().getDayOfWeek().getValue() % 7;
+		this.sharedDays = new int[PATTERNS][PATTERNS];
+		for (int p1 = 0; p1 < PATTERNS; p1++) {
+			for (int p2 = p1; p2 < PATTERNS; p2++) {
+				long[] m1 = weekMasks[p1];
+				long[] m2 = weekMasks[p2];
+				boolean inWeekZero = (m1[0] & m2[0] & 1L) != 0;
+				boolean inLaterWeek = (m1[0] & m2[0] & ~1L) != 0;
+				for (int w = 1; w < words && !inLaterWeek; w++) {
+					inLaterWeek = (m1[w] & m2[w]) != 0;
+				}
+				int days = 0;
+				for (int d = 0; d < Term.DAYS.length(); d++) {
+					if (inLaterWeek || inWeekZero && (d + 1) % 7 >= firstOffset) {
+						days |= 1 << d;
+					}
+				}
+				sharedDays[p1][p2] = days;
+				sharedDays[p2][p1] = days;
+			}
+		}
+	}
+
+	/**
+	 * Gets the term conflicts are checked over
+	 * @return the term
+	 */
+	public Term getTerm() {
+		return term;
+	}
+
+	/**
+	 * Checks if two activities ever meet at the same time in the term: on a common day
+	 * of a week they both meet in, at overlapping times. As with Activity.checkConflict(),
+	 * times overlap if one starts in the same minute the other ends, and arranged courses
+	 * never conflict.
+	 * @param a1 an activity
+	 * @param a2 the other activity
+	 * @return true if the two activities conflict
+	 */
+	public boolean conflicts(Activity a1, Activity a2) {
+		if (a1.getStartTime() > a2.getEndTime() || a2.getStartTime() > a1.getEndTime()) {
+			return false;
+		}
+		int days = daysOf(a1) & daysOf(a2);
+		return days != 0 && (days & sharedDays[patternOf(a1)][patternOf(a2)]) != 0;
+	}
+
+	/**
+	 * Checks two activities for a conflict in the term
+	 * @param a1 an activity
+	 * @param a2 the other activity
+	 * @throws ConflictException if the two activities ever meet at the same time
+	 */
+	public void checkConflict(Activity a1, Activity a2) throws ConflictException {
+		if (conflicts(a1, a2)) {
+			throw new ConflictException();
+		}
+	}
+
+	/**
+	 * Gets the weeks of the term an activity meets in
+	 * @param a the activity
+	 * @return one bit per week, in words of 64 weeks
+	 */
+	long[] weekMaskOf(Activity a) {
+		return weekMasks[patternOf(a)].clone();
+	}
+
+	/**
+	 * Gets the week pattern of an activity
+	 * @param a the activity
+	 * @return the pattern's index
+	 */
+	private static int patternOf(Activity a) {
+		if (a instanceof Event) {
+			Event e = (Event) a;
+			return patternOf(e.getWeeklyRepeat(), e.getFirstWeek());
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the index of a week pattern
+	 * @param repeat the weekly repeat
+	 * @param first the first week
+	 * @return the pattern's index
+	 */
+	private static int patternOf(int repeat, int first) {
+		return repeat * (repeat - 1) / 2 + first;
+	}
+
+	/**
+	 * Gets the days of the week an activity meets on
+	 * @param a the activity
+	 * @return one bit per index into Term.DAYS; none for arranged courses
+	 */
+	private static int daysOf(Activity a) {
+		String meetingDays = a.getMeetingDays();
+		int days = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int d = Term.DAYS.indexOf(meetingDays.charAt(i));
+			if (d >= 0) {
+				days |= 1 << d;
+			}
+		}
+		return days;
+	}
+}
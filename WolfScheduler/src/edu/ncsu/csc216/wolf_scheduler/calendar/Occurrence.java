@@ -0,0 +1,87 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import java.time.LocalDate;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * One dated meeting of an Activity. Occurrences are ordered by date, then start time,
+ * then end time.
+ * @author Noah Benveniste
+ */
+public class Occurrence implements Comparable<Occurrence> {
+
+	/** The activity that meets */
+	private Activity activity;
+	/** The day it meets on */
+	private LocalDate date;
+
+	/**
+	 * Constructs an occurrence
+	 * @param activity the activity that meets
+	 * @param date the day it meets on
+	 */
+	Occurrence(Activity activity, LocalDate date) {
+		this.activity = activity;
+		this.date = date;
+	}
+
+	/**
+	 * Gets the activity that meets
+	 * @return the activity
+	 */
+	public Activity getActivity() {
+		return activity;
+	}
+
+	/**
+	 * Gets the day the activity meets on
+	 * @return the date
+	 */
+	public LocalDate getDate() {
+		return date;
+	}
+
+	/**
+	 * Gets the time the meeting starts
+	 * @return the start time, in military time
+	 */
+	public int getStartTime() {
+		return activity.getStartTime();
+	}
+
+	/**
+	 * Gets the time the meeting ends
+	 * @return the end time, in military time
+	 */
+	public int getEndTime() {
+		return activity.getEndTime();
+	}
+
+	/**
+	 * Compares occurrences by date, then start time, then end time
+	 * @param o the occurrence to compare to
+	 * @return a negative number, zero, or a positive number if this occurrence is before,
+	 * at the same time as, or after the other
+	 */
+	@Override
+	public int compareTo(Occurrence o) {
+		int c = date.compareTo(o.date);
+		if (c == 0) {
+			c = Integer.compare(getStartTime(), o.getStartTime());
+		}
+		if (c == 0) {
+			c = Integer.compare(getEndTime(), o.getEndTime());
+		}
+		return c;
+	}
+
+	/**
+	 * Returns the date and the activity's title and time
+	 * @return the occurrence as a string
+	 */
+	@Override
+	public String toString() {
+		return date + " " + activity.getTitle() + " " + getStartTime() + "-" + getEndTime();
+	}
+}
@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Answers "what meets on this day between these times" for a schedule over a term. The
+ * index is built per day of the week rather than per date: each day keeps the activities
+ * that meet on it sorted by start time, along with the longest of their meetings. A
+ * lookup binary searches for the first activity that could still be running at the start
+ * of the range, so it takes logarithmic time in the size of the schedule plus the number
+ * of activities it looks at, and building the index costs nothing per week of the term.
+ * @author Noah Benveniste
+ */
+public class OccurrenceIndex {
+
+	/** The term */
+	private Term term;
+	/** Activities meeting on each day of the week, sorted by start time */
+	private Activity[][] byDay;
+	/** Start minute of each activity in byDay */
+	private int[][] starts;
+	/** Length in minutes of the longest meeting on each day of the week */
+	private int[] longest;
+
+	/**
+	 * Indexes a schedule over a term. Later changes to the list are not seen by the index.
+	 * @param term the term
+	 * @param activities the schedule
+	 * @throws IllegalArgumentException if the term or schedule is null
+	 */
+	public OccurrenceIndex(Term term, List<? extends Activity> activities) {
+		if (term == null || activities == null) {
+			throw new IllegalArgumentException("Invalid calendar.");
+		}
+		this.term = term;
+		this.byDay = new Activity[Term.DAYS.length()][];
+		this.starts = new int[Term.DAYS.length()][];
+		this.longest = new int[Term.DAYS.length()];
+		for (int d = 0; d < byDay.length; d++) {
+			ArrayList<Activity> day = new ArrayList<Activity>();
+			for (int i = 0; i < activities.size(); i++) {
+				Activity a = activities.get(i);
+				if (a.getMeetingDays().indexOf(Term.DAYS.charAt(d)) >= 0) {
+					day.add(a);
+					longest[d] = Math.max(longest[d], minutesOf(a.getEndTime()) - minutesOf(a.getStartTime()));
+				}
+			}
+			byDay[d] = day.toArray(new Activity[day.size()]);
+			Arrays.sort(byDay[d], new Comparator<Activity>() {
+				@Override
+				public int compare(Activity a1, Activity a2) {
+					return Integer.compare(a1.getStartTime(), a2.getStartTime());
+				}
+			});
+			starts[d] = new int[byDay[d].length];
+			for (int i = 0; i < byDay[d].length; i++) {
+				starts[d][i] = minutesOf(byDay[d][i].getStartTime());
+			}
+		}
+	}
+
+	/**
+	 * Gets the term the schedule is indexed over
+	 * @return the term
+	 */
+	public Term getTerm() {
+		return term;
+	}
+
+	/**
+	 * Finds the meetings on a day that overlap a time range. As with conflicts between
+	 * activities, a meeting that ends in the minute the range starts, or starts in the
+	 * minute it ends, overlaps it.
+	 * @param date the day
+	 * @param from the start of the range, in military time
+	 * @param to the end of the range, in military time
+	 * @return the meetings, ordered by start time; empty if the day is not in the term
+	 * @throws IllegalArgumentException if either time is invalid or the range ends before
+	 * it starts
+	 */
+	public List<Occurrence> find(LocalDate date, int from, int to) {
+		if (from < 0 || to > 2359 || from % 100 > 59 || to % 100 > 59 || from > to) {
+			throw new IllegalArgumentException("Invalid times.");
+		}
+		ArrayList<Occurrence> found = new ArrayList<Occurrence>();
+		int week = term.weekOf(date);
+		if (week < 0) {
+			return found;
+		}
+		int d = date.getDayOfWeek().getValue() - 1;
+		int fromMinute = minutesOf(from);
+		int toMinute = minutesOf(to);
+		//Nothing that starts before this can still be running at the start of the range
+		int i = firstAtOrAfter(starts[d], fromMinute - longest[d]);
+		for (; i < starts[d].length && starts[d][i] <= toMinute; i++) {
+			Activity a = byDay[d][i];
+			if (minutesOf(a.getEndTime()) >= fromMinute && term.meetsInWeek(a, week)) {
+				found.add(new Occurrence(a, date));
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Finds every meeting on a day
+	 * @param date the day
+	 * @return the meetings, ordered by start time; empty if the day is not in the term
+	 */
+	public List<Occurrence> find(LocalDate date) {
+		return find(date, 0, 2359);
+	}
+
+	/**
+	 * Finds the first index of a sorted array holding a value at least as large as a key
+	 * @param sorted the sorted array
+	 * @param key the key
+	 * @return the index, or the array length if every value is smaller
+	 */
+	private static int firstAtOrAfter(int[] sorted, int key) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Converts a military time to minutes since midnight
+	 * @param time the time, such as 1330
+	 * @return the minutes, such as 810
+	 */
+	static int minutesOf(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+}
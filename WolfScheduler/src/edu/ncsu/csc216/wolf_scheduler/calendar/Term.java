@@ -0,0 +1,296 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * A term of whole weeks on the calendar, used to turn the meeting days of courses and
+ * events into dated occurrences. Weeks run Sunday through Saturday, and week 0 is the week
+ * holding the term's first day. Courses meet every week of the term; an event that
+ * repeats every N weeks from week F meets in weeks F, F + N, F + 2N, and so on. Arranged
+ * courses never meet.
+ * <p>
+ * Occurrences are generated lazily: an iterator only works out the next date when it is
+ * asked for, so nothing is allocated for the weeks of the term that are never visited.
+ * </p>
+ * @author Noah Benveniste
+ */
+public class Term {
+
+	/** Meeting day letters, indexed by DayOfWeek.getValue() - 1 */
+	static final String DAYS = "MTWHFSU";
+
+	/** First day of the term */
+	private LocalDate firstDay;
+	/** Last day of the term, the Saturday of its last week */
+	private LocalDate lastDay;
+	/** Sunday of week 0 */
+	private LocalDate weekZero;
+	/** Number of weeks in the term */
+	private int weeks;
+
+	/**
+	 * Constructs a term
+	 * @param firstDay the first day of the term
+	 * @param weeks the number of weeks in the term, counting the week of the first day
+	 * @throws IllegalArgumentException if the first day is null or there are fewer than
+	 * one week
+	 */
+	public Term(LocalDate firstDay, int weeks) {
+		if (firstDay == null || weeks < 1) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+		this.firstDay = firstDay;
+		this.weeks = weeks;
+		this.weekZero = firstDay.minusDays(firstDay.getDayOfWeek().getValue() % 7);
+		this.lastDay = weekZero.plusDays(7L * weeks - 1);
+	}
+
+	/**
+	 * Gets the first day of the term
+	 * @return the first day
+	 */
+	public LocalDate getFirstDay() {
+		return firstDay;
+	}
+
+	/**
+	 * Gets the last day of the term
+	 * @return the Saturday of the term's last week
+	 */
+	public LocalDate getLastDay() {
+		return lastDay;
+	}
+
+	/**
+	 * Gets the number of weeks in the term
+	 * @return the weeks
+	 */
+	public int getWeeks() {
+		return weeks;
+	}
+
+	/**
+	 * Gets the week of the term a day falls in
+	 * @param date the day
+	 * @return the 0-based week, or -1 if the day is not in the term
+	 */
+	public int weekOf(LocalDate date) {
+		if (date.isBefore(firstDay) || date.isAfter(lastDay)) {
+			return -1;
+		}
+		return (int) (date.toEpochDay() - weekZero.toEpochDay()) / 7;
+	}
+
+	/**
+	 * Checks if an activity meets in a week of the term. Courses meet every week; events
+	 * meet in their first week and every weekly repeat weeks after it.
+	 * @param a the activity
+	 * @param week the 0-based week
+	 * @return true if the activity meets on its meeting days in that week
+	 */
+	public boolean meetsInWeek(Activity a, int week) {
+		if (week < 0 || week >= weeks) {
+			return false;
+		}
+		return !(a instanceof Event) || week % ((Event) a).getWeeklyRepeat() == ((Event) a).getFirstWeek();
+	}
+
+	/**
+	 * Checks if an activity meets on a day
+	 * @param a the activity
+	 * @param date the day
+	 * @return true if the day is in the term, is one of the activity's meeting days, and
+	 * falls in a week the activity meets
+	 */
+	public boolean meetsOn(Activity a, LocalDate date) {
+		return a.getMeetingDays().indexOf(letterOf(date.getDayOfWeek())) >= 0 
+				&& meetsInWeek(a, weekOf(date));
+	}
+
+	/**
+	 * Lists the meetings of an activity in the term, in date order
+	 * @param a the activity
+	 * @return an iterator over the activity's occurrences
+	 */
+	public Iterator<Occurrence> occurrences(Activity a) {
+		return new ActivityIterator(a);
+	}
+
+	/**
+	 * Lists the meetings of a group of activities in the term, ordered by date and time.
+	 * Only the next occurrence of each activity is held at a time.
+	 * @param activities the activities
+	 * @return an iterator over the activities' occurrences
+	 */
+	public Iterator<Occurrence> occurrences(List<? extends Activity> activities) {
+		if (activities.size() == 1) {
+			return occurrences(activities.get(0));
+		}
+		if (activities.isEmpty()) {
+			return Collections.<Occurrence>emptyList().iterator();
+		}
+		return new MergeIterator(activities);
+	}
+
+	/**
+	 * Gets the meeting day letter for a day of the week
+	 * @param day the day of the week
+	 * @return the letter used in meeting days, such as H for Thursday
+	 */
+	static char letterOf(DayOfWeek day) {
+		return DAYS.charAt(day.getValue() - 1);
+	}
+
+	/**
+	 * Walks forward one day at a time from the last occurrence to the next day the
+	 * activity meets, which is never more than a few weeks of days away
+	 */
+	private class ActivityIterator implements Iterator<Occurrence> {
+
+		/** The activity */
+		private Activity activity;
+		/** The next occurrence, or null when there are no more */
+		private Occurrence next;
+
+		/**
+		 * Constructs an iterator positioned at the activity's first occurrence
+		 * @param activity the activity
+		 */
+		ActivityIterator(Activity activity) {
+			this.activity = activity;
+			if (!"A".equals(activity.getMeetingDays())) {
+				this.next = find(firstDay);
+			}
+		}
+
+		/**
+		 * Checks if there is another occurrence
+		 * @return true if there is another occurrence
+		 */
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		/**
+		 * Gets the next occurrence
+		 * @return the next occurrence
+		 * @throws NoSuchElementException if there are no more occurrences
+		 */
+		@Override
+		public Occurrence next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			Occurrence current = next;
+			next = find(current.getDate().plusDays(1));
+			return current;
+		}
+
+		/**
+		 * Finds the first occurrence on or after a day
+		 * @param from the day to start at
+		 * @return the occurrence, or null if the activity does not meet again in the term
+		 */
+		private Occurrence find(LocalDate from) {
+			for (LocalDate d = from; !d.isAfter(lastDay); d = d.plusDays(1)) {
+				if (meetsOn(activity, d)) {
+					return new Occurrence(activity, d);
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Merges the occurrences of several activities by keeping each activity's next
+	 * occurrence in a heap
+	 */
+	private class MergeIterator implements Iterator<Occurrence> {
+
+		/** The next occurrence of each activity that has one */
+		private PriorityQueue<Head> heads;
+
+		/**
+		 * Constructs an iterator positioned at the first occurrence of any activity
+		 * @param activities the activities
+		 */
+		MergeIterator(List<? extends Activity> activities) {
+			this.heads = new PriorityQueue<Head>(activities.size());
+			for (int i = 0; i < activities.size(); i++) {
+				Iterator<Occurrence> it = occurrences(activities.get(i));
+				if (it.hasNext()) {
+					heads.add(new Head(it.next(), it));
+				}
+			}
+		}
+
+		/**
+		 * Checks if there is another occurrence
+		 * @return true if there is another occurrence
+		 */
+		@Override
+		public boolean hasNext() {
+			return !heads.isEmpty();
+		}
+
+		/**
+		 * Gets the next occurrence
+		 * @return the next occurrence
+		 * @throws NoSuchElementException if there are no more occurrences
+		 */
+		@Override
+		public Occurrence next() {
+			Head head = heads.poll();
+			if (head == null) {
+				throw new NoSuchElementException();
+			}
+			Occurrence current = head.occurrence;
+			if (head.rest.hasNext()) {
+				head.occurrence = head.rest.next();
+				heads.add(head);
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * An activity's next occurrence and the iterator over the ones after it
+	 */
+	private static class Head implements Comparable<Head> {
+
+		/** The next occurrence */
+		private Occurrence occurrence;
+		/** The occurrences after it */
+		private Iterator<Occurrence> rest;
+
+		/**
+		 * Constructs a head
+		 * @param occurrence the next occurrence
+		 * @param rest the occurrences after it
+		 */
+		Head(Occurrence occurrence, Iterator<Occurrence> rest) {
+			this.occurrence = occurrence;
+			this.rest = rest;
+		}
+
+		/**
+		 * Orders heads by their next occurrence
+		 * @param o the head to compare to
+		 * @return the comparison of the next occurrences
+		 */
+		@Override
+		public int compareTo(Head o) {
+			return occurrence.compareTo(o.occurrence);
+		}
+	}
+}
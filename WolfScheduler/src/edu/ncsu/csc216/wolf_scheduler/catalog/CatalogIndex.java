@@ -0,0 +1,205 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Indexes over a course catalog that find a section by name and section number and
+ * group sections by instructor and by department, so that questions like "all sections
+ * taught by sesmith5" or "all CSC sections" can be answered without scanning the whole
+ * catalog.
+ * @author Noah Benveniste
+ */
+public class CatalogIndex {
+
+	/** Sections keyed by name and section number */
+	private Map<String, Course> byKey;
+	/** Position of each section in catalog order, keyed by name and section number */
+	private Map<String, Long> positions;
+	/** Position given to the next section added */
+	private long nextPosition;
+	/** Sections grouped by instructor id, each group keyed by catalog position */
+	private Map<String, TreeMap<Long, Course>> byInstructor;
+	/** Sections grouped by upper case department prefix, each group keyed by catalog position */
+	private Map<String, TreeMap<Long, Course>> byDepartment;
+
+	/**
+	 * Builds the indexes over the given courses. Within each group, sections are kept
+	 * in catalog order.
+	 * @param courses the catalog to index
+	 * @throws IllegalArgumentException if the list is null
+	 */
+	public CatalogIndex(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		this.byKey = new HashMap<String, Course>();
+		this.positions = new HashMap<String, Long>();
+		this.byInstructor = new HashMap<String, TreeMap<Long, Course>>();
+		this.byDepartment = new HashMap<String, TreeMap<Long, Course>>();
+		for (int i = 0; i < courses.size(); i++) {
+			add(courses.get(i));
+		}
+	}
+
+	/**
+	 * Adds a course to the indexes. The course is added after any sections already in
+	 * its groups.
+	 * @param c the course to add
+	 */
+	public void add(Course c) {
+		String key = keyOf(c.getName(), c.getSection());
+		Long position = Long.valueOf(nextPosition++);
+		byKey.put(key, c);
+		positions.put(key, position);
+		addToGroup(byInstructor, c.getInstructorId(), position, c);
+		addToGroup(byDepartment, departmentOf(c.getName()), position, c);
+	}
+
+	/**
+	 * Removes a course from the indexes, so that it can be dropped from the catalog
+	 * @param c the course to remove
+	 * @return true if the course was in the indexes
+	 */
+	public boolean remove(Course c) {
+		String key = keyOf(c.getName(), c.getSection());
+		if (byKey.get(key) != c) {
+			return false;
+		}
+		byKey.remove(key);
+		Long position = positions.remove(key);
+		removeFromGroup(byInstructor, c.getInstructorId(), position);
+		removeFromGroup(byDepartment, departmentOf(c.getName()), position);
+		return true;
+	}
+
+	/**
+	 * Moves a course to its new instructor's group after its instructor id has been
+	 * changed. The course keeps its catalog position, so both groups stay in catalog order.
+	 * Nothing is moved if the instructor is unchanged or the course is not in the indexes.
+	 * @param c the course whose instructor changed
+	 * @param previousInstructorId the instructor id the course was indexed under
+	 */
+	public void changeInstructor(Course c, String previousInstructorId) {
+		String key = keyOf(c.getName(), c.getSection());
+		if (byKey.get(key) != c) {
+			return;
+		}
+		String instructorId = c.getInstructorId();
+		if (instructorId == null ? previousInstructorId == null : instructorId.equals(previousInstructorId)) {
+			return;
+		}
+		Long position = positions.get(key);
+		removeFromGroup(byInstructor, previousInstructorId, position);
+		addToGroup(byInstructor, instructorId, position, c);
+	}
+
+	/**
+	 * Gets the section with the given name and section number
+	 * @param name the course name
+	 * @param section the section number
+	 * @return the course, or null if it is not in the catalog
+	 */
+	public Course getCourse(String name, String section) {
+		return byKey.get(keyOf(name, section));
+	}
+
+	/**
+	 * Gets every section taught by an instructor
+	 * @param instructorId the instructor's unity id
+	 * @return an unmodifiable list of the instructor's sections, which is empty if the
+	 * instructor teaches nothing in the catalog
+	 */
+	public List<Course> getByInstructor(String instructorId) {
+		return lookup(byInstructor, instructorId);
+	}
+
+	/**
+	 * Gets every section offered by a department
+	 * @param department the department prefix, such as "CSC", in any case
+	 * @return an unmodifiable list of the department's sections, which is empty if the
+	 * department offers nothing in the catalog
+	 */
+	public List<Course> getByDepartment(String department) {
+		return lookup(byDepartment, department == null ? null : department.toUpperCase());
+	}
+
+	/**
+	 * Returns the department prefix of a course name, which is the run of letters
+	 * before the course number
+	 * @param name the course name, such as "CSC216"
+	 * @return the upper case department prefix, such as "CSC"
+	 */
+	public static String departmentOf(String name) {
+		int end = 0;
+		while (end < name.length() && Character.isLetter(name.charAt(end))) {
+			end++;
+		}
+		return name.substring(0, end).toUpperCase();
+	}
+
+	/**
+	 * Builds the lookup key for a section. Course names cannot contain commas in the
+	 * course record format, so the key is unambiguous.
+	 * @param name the course name
+	 * @param section the section number
+	 * @return the key for the section
+	 */
+	private static String keyOf(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Adds a course to the group for a key at its catalog position, creating the group if needed
+	 * @param index the index to add to
+	 * @param key the group key
+	 * @param position the course's catalog position
+	 * @param c the course to add
+	 */
+	private static void addToGroup(Map<String, TreeMap<Long, Course>> index, String key, Long position, Course c) {
+		TreeMap<Long, Course> group = index.get(key);
+		if (group == null) {
+			group = new TreeMap<Long, Course>();
+			index.put(key, group);
+		}
+		group.put(position, c);
+	}
+
+	/**
+	 * Removes the course at a catalog position from the group for a key, dropping the
+	 * group if it is left empty
+	 * @param index the index to remove from
+	 * @param key the group key
+	 * @param position the course's catalog position
+	 */
+	private static void removeFromGroup(Map<String, TreeMap<Long, Course>> index, String key, Long position) {
+		TreeMap<Long, Course> group = index.get(key);
+		if (group == null) {
+			return;
+		}
+		group.remove(position);
+		if (group.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	/**
+	 * Looks up the group for a key
+	 * @param index the index to search
+	 * @param key the group key
+	 * @return an unmodifiable copy of the group in catalog order, or an empty list if there is none
+	 */
+	private static List<Course> lookup(Map<String, TreeMap<Long, Course>> index, String key) {
+		TreeMap<Long, Course> group = index.get(key);
+		if (group == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<Course>(group.values()));
+	}
+}
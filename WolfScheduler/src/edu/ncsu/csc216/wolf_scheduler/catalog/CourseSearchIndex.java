@@ -0,0 +1,524 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Search index over a course catalog. Course names are stored in a prefix trie so that
+ * partial names like "CSC2" can be looked up without scanning the catalog, while title
+ * words and instructor ids are stored in inverted token indexes. Every posting list holds
+ * course positions in ascending order, and each trie node keeps the postings of every
+ * name at or below it, so a query merges a few sorted lists instead of walking the trie.
+ * Matches are ranked by how strongly they match each word of the query, and only the
+ * best few are kept while merging. A removed course leaves an empty slot behind rather
+ * than moving the courses after it, and the index is rebuilt without the empty slots once
+ * they outnumber the courses, so removing stays about as cheap as adding. A course whose
+ * title or instructor changes keeps its slot, so ties still follow catalog order.
+ * @author Noah Benveniste
+ */
+public class CourseSearchIndex {
+
+	/** Score for a query word that is exactly a course's name */
+	private static final int NAME_EXACT_SCORE = 8;
+	/** Score for a query word that is a prefix of a course's name */
+	private static final int NAME_PREFIX_SCORE = 4;
+	/** Score for a query word that is exactly a course's instructor id */
+	private static final int INSTRUCTOR_SCORE = 3;
+	/** Score for a query word that appears in a course's title */
+	private static final int TITLE_SCORE = 1;
+
+	/** Default maximum number of results returned by a search */
+	public static final int DEFAULT_MAX_RESULTS = 50;
+
+	/** The indexed courses, in the order they were added, with null for removed courses */
+	private ArrayList<Course> courses;
+	/** Position of each indexed course */
+	private Map<Course, Integer> positions;
+	/** Number of removed courses */
+	private int removed;
+	/** Root of the prefix trie over upper case course names */
+	private TrieNode nameRoot;
+	/** Inverted index from lower case title words to course positions */
+	private Map<String, Postings> titleIndex;
+	/** Inverted index from lower case instructor ids to course positions */
+	private Map<String, Postings> instructorIndex;
+
+	/**
+	 * Builds a search index over the given courses
+	 * @param courses the catalog to index
+	 * @throws IllegalArgumentException if the list is null
+	 */
+	public CourseSearchIndex(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		this.courses = new ArrayList<Course>(courses.size());
+		this.positions = new IdentityHashMap<Course, Integer>(courses.size());
+		this.nameRoot = new TrieNode();
+		this.titleIndex = new HashMap<String, Postings>();
+		this.instructorIndex = new HashMap<String, Postings>();
+
+		for (int i = 0; i < courses.size(); i++) {
+			add(courses.get(i));
+		}
+	}
+
+	/**
+	 * Adds a course to the end of the index, so a catalog that grows over time can be
+	 * indexed without starting over
+	 * @param c the course to add
+	 */
+	public void add(Course c) {
+		int pos = courses.size();
+		courses.add(c);
+		positions.put(c, pos);
+
+		//Walk the trie one character at a time, creating nodes as needed, and record
+		//the course under every node on the way and at the node for its full name
+		TrieNode node = nameRoot;
+		String name = c.getName().toUpperCase();
+		for (int j = 0; j < name.length(); j++) {
+			node = node.childFor(name.charAt(j));
+			node.subtree.add(pos);
+		}
+		node.exact.add(pos);
+
+		for (String word : tokenize(c.getTitle())) {
+			addPosting(titleIndex, word, pos);
+		}
+		addPosting(instructorIndex, c.getInstructorId().toLowerCase(), pos);
+	}
+
+	/**
+	 * Removes a course from the index
+	 * @param c the course to remove
+	 * @return true if the course was in the index
+	 */
+	public boolean remove(Course c) {
+		Integer pos = positions.remove(c);
+		if (pos == null) {
+			return false;
+		}
+		//Searches skip the empty slot, so the postings for it can stay until the next rebuild
+		courses.set(pos, null);
+		removed++;
+		if (removed * 2 > courses.size()) {
+			compact();
+		}
+		return true;
+	}
+
+	/**
+	 * Refiles a course whose title or instructor has changed under its new words, keeping
+	 * its place in the index. Course names cannot change, so the name trie is left alone.
+	 * @param c the changed course
+	 * @param previousTitle the title the course was indexed under
+	 * @param previousInstructorId the instructor id the course was indexed under
+	 * @return true if the course was in the index
+	 */
+	public boolean update(Course c, String previousTitle, String previousInstructorId) {
+		Integer pos = positions.get(c);
+		if (pos == null) {
+			return false;
+		}
+		ArrayList<String> oldWords = tokenize(previousTitle);
+		ArrayList<String> newWords = tokenize(c.getTitle());
+		for (String word : oldWords) {
+			if (!newWords.contains(word)) {
+				removePosting(titleIndex, word, pos);
+			}
+		}
+		for (String word : newWords) {
+			addPosting(titleIndex, word, pos);
+		}
+		String oldId = previousInstructorId.toLowerCase();
+		String newId = c.getInstructorId().toLowerCase();
+		if (!oldId.equals(newId)) {
+			removePosting(instructorIndex, oldId, pos);
+			addPosting(instructorIndex, newId, pos);
+		}
+		return true;
+	}
+
+	/**
+	 * Searches the catalog for courses matching the query, returning at most
+	 * DEFAULT_MAX_RESULTS courses
+	 * @param query the words to search for
+	 * @return the matching courses, best match first
+	 */
+	public ArrayList<Course> search(String query) {
+		return search(query, DEFAULT_MAX_RESULTS);
+	}
+
+	/**
+	 * Searches the catalog for courses matching the query. Each word of the query is
+	 * matched against course name prefixes, instructor ids and title words, and the
+	 * scores are summed across words. Ties are broken by catalog order.
+	 * @param query the words to search for
+	 * @param maxResults the maximum number of courses to return
+	 * @return the matching courses, best match first, or an empty list if the query
+	 * is null or contains no words
+	 * @throws IllegalArgumentException if maxResults is negative
+	 */
+	public ArrayList<Course> search(String query, int maxResults) {
+		if (maxResults < 0) {
+			throw new IllegalArgumentException("Invalid result limit.");
+		}
+		ArrayList<Course> results = new ArrayList<Course>();
+		if (query == null || maxResults == 0) {
+			return results;
+		}
+
+		//Gather the posting lists the query's words hit, with the score each one adds
+		ArrayList<Postings> lists = new ArrayList<Postings>();
+		ArrayList<Integer> weights = new ArrayList<Integer>();
+		for (String word : tokenize(query)) {
+			TrieNode node = findNode(word.toUpperCase());
+			if (node != null) {
+				//Every name at or below the node starts with the word, and the names
+				//ending at the node are the word itself
+				lists.add(node.subtree);
+				weights.add(NAME_PREFIX_SCORE);
+				lists.add(node.exact);
+				weights.add(NAME_EXACT_SCORE - NAME_PREFIX_SCORE);
+			}
+			addList(lists, weights, instructorIndex.get(word), INSTRUCTOR_SCORE);
+			addList(lists, weights, titleIndex.get(word), TITLE_SCORE);
+		}
+
+		//Merge the sorted lists, scoring one course at a time, and keep the best few
+		int[] cursors = new int[lists.size()];
+		TopScores best = new TopScores(maxResults);
+		while (true) {
+			int pos = Integer.MAX_VALUE;
+			for (int i = 0; i < cursors.length; i++) {
+				Postings list = lists.get(i);
+				if (cursors[i] < list.size && list.data[cursors[i]] < pos) {
+					pos = list.data[cursors[i]];
+				}
+			}
+			if (pos == Integer.MAX_VALUE) {
+				break;
+			}
+			int score = 0;
+			for (int i = 0; i < cursors.length; i++) {
+				Postings list = lists.get(i);
+				if (cursors[i] < list.size && list.data[cursors[i]] == pos) {
+					score += weights.get(i);
+					cursors[i]++;
+				}
+			}
+			if (courses.get(pos) != null) {
+				best.offer(pos, score);
+			}
+		}
+
+		int[] ranked = best.ranked();
+		for (int i = 0; i < ranked.length; i++) {
+			results.add(courses.get(ranked[i]));
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the number of courses in the index
+	 * @return the number of indexed courses
+	 */
+	public int size() {
+		return courses.size() - removed;
+	}
+
+	/**
+	 * Rebuilds the index from the courses still in it, in the same order, dropping the
+	 * empty slots and the postings that point at them
+	 */
+	private void compact() {
+		ArrayList<Course> live = new ArrayList<Course>(size());
+		for (int i = 0; i < courses.size(); i++) {
+			if (courses.get(i) != null) {
+				live.add(courses.get(i));
+			}
+		}
+		courses = new ArrayList<Course>(live.size());
+		positions.clear();
+		removed = 0;
+		nameRoot = new TrieNode();
+		titleIndex.clear();
+		instructorIndex.clear();
+		for (int i = 0; i < live.size(); i++) {
+			add(live.get(i));
+		}
+	}
+
+	/**
+	 * Finds the trie node reached by following the given upper case prefix
+	 * @param prefix the prefix to follow
+	 * @return the node for the prefix, or null if no course name starts with it
+	 */
+	private TrieNode findNode(String prefix) {
+		TrieNode node = nameRoot;
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			node = node.children.get(prefix.charAt(i));
+		}
+		return node;
+	}
+
+	/**
+	 * Splits text into lower case words made of letters and digits
+	 * @param text the text to split
+	 * @return the words in the text
+	 */
+	private static ArrayList<String> tokenize(String text) {
+		ArrayList<String> words = new ArrayList<String>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start == -1) {
+				start = i;
+			} else if (!wordChar && start != -1) {
+				words.add(text.substring(start, i).toLowerCase());
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Adds a course position to the posting list for a key
+	 * @param index the inverted index to add to
+	 * @param key the key to add the position under
+	 * @param pos the position of the course in the catalog
+	 */
+	private static void addPosting(Map<String, Postings> index, String key, int pos) {
+		Postings postings = index.get(key);
+		if (postings == null) {
+			postings = new Postings();
+			index.put(key, postings);
+		}
+		postings.add(pos);
+	}
+
+	/**
+	 * Removes a course position from the posting list for a key, dropping the list if it
+	 * is left empty
+	 * @param index the inverted index to remove from
+	 * @param key the key the position is under
+	 * @param pos the position of the course in the catalog
+	 */
+	private static void removePosting(Map<String, Postings> index, String key, int pos) {
+		Postings postings = index.get(key);
+		if (postings == null) {
+			return;
+		}
+		postings.remove(pos);
+		if (postings.size == 0) {
+			index.remove(key);
+		}
+	}
+
+	/**
+	 * Adds a posting list and its score to the lists a search merges, if there is one
+	 * @param lists the lists to merge
+	 * @param weights the score each list adds
+	 * @param postings the list to add, or null
+	 * @param weight the score the list adds
+	 */
+	private static void addList(List<Postings> lists, List<Integer> weights, Postings postings, int weight) {
+		if (postings != null) {
+			lists.add(postings);
+			weights.add(weight);
+		}
+	}
+
+	/**
+	 * Course positions in ascending order, stored without boxing
+	 */
+	private static class Postings {
+		/** The positions, of which the first size are used */
+		private int[] data = new int[2];
+		/** Number of positions */
+		private int size;
+
+		/**
+		 * Adds a position to the list in order. Titles can repeat a word, so a position
+		 * already in the list is not added again.
+		 * @param pos the position
+		 */
+		private void add(int pos) {
+			//New courses go at the end, so check there before searching
+			int i = size;
+			if (size > 0 && data[size - 1] >= pos) {
+				i = Arrays.binarySearch(data, 0, size, pos);
+				if (i >= 0) {
+					return;
+				}
+				i = -i - 1;
+			}
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			System.arraycopy(data, i, data, i + 1, size - i);
+			data[i] = pos;
+			size++;
+		}
+
+		/**
+		 * Removes a position from the list, if it is there
+		 * @param pos the position
+		 */
+		private void remove(int pos) {
+			int i = Arrays.binarySearch(data, 0, size, pos);
+			if (i >= 0) {
+				System.arraycopy(data, i + 1, data, i, size - i - 1);
+				size--;
+			}
+		}
+	}
+
+	/**
+	 * The highest scoring positions offered so far, up to a fixed number, kept in a
+	 * binary min-heap whose root is the worst of them. Positions are offered in ascending
+	 * order, so a later position only displaces the root if it scores higher.
+	 */
+	private static class TopScores {
+		/** Positions in the heap */
+		private int[] heapPositions;
+		/** Scores of the positions in the heap */
+		private int[] heapScores;
+		/** Number of positions in the heap */
+		private int size;
+
+		/**
+		 * Constructs an empty heap
+		 * @param limit the most positions to keep
+		 */
+		private TopScores(int limit) {
+			heapPositions = new int[limit];
+			heapScores = new int[limit];
+		}
+
+		/**
+		 * Offers a position, keeping it if it is among the best so far
+		 * @param pos the position
+		 * @param score its score
+		 */
+		private void offer(int pos, int score) {
+			if (size < heapPositions.length) {
+				heapPositions[size] = pos;
+				heapScores[size] = score;
+				siftUp(size++);
+			} else if (score > heapScores[0]) {
+				heapPositions[0] = pos;
+				heapScores[0] = score;
+				siftDown(0);
+			}
+		}
+
+		/**
+		 * Empties the heap, returning the positions best first, ties in ascending order
+		 * @return the positions
+		 */
+		private int[] ranked() {
+			int[] ranked = new int[size];
+			//Removing the worst each time fills the array from the back
+			for (int i = size - 1; i >= 0; i--) {
+				ranked[i] = heapPositions[0];
+				size--;
+				heapPositions[0] = heapPositions[size];
+				heapScores[0] = heapScores[size];
+				siftDown(0);
+			}
+			return ranked;
+		}
+
+		/**
+		 * Checks if one entry of the heap ranks below another
+		 * @param a the index of the first entry
+		 * @param b the index of the second entry
+		 * @return true if the first entry scores lower, or scores the same and comes later
+		 */
+		private boolean worse(int a, int b) {
+			return heapScores[a] != heapScores[b] ? heapScores[a] < heapScores[b]
+					: heapPositions[a] > heapPositions[b];
+		}
+
+		/**
+		 * Moves an entry up until its parent is worse than it
+		 * @param i the index of the entry
+		 */
+		private void siftUp(int i) {
+			while (i > 0 && worse(i, (i - 1) / 2)) {
+				swap(i, (i - 1) / 2);
+				i = (i - 1) / 2;
+			}
+		}
+
+		/**
+		 * Moves an entry down until both its children are better than it
+		 * @param i the index of the entry
+		 */
+		private void siftDown(int i) {
+			while (true) {
+				int worst = i;
+				int left = 2 * i + 1;
+				if (left < size && worse(left, worst)) {
+					worst = left;
+				}
+				if (left + 1 < size && worse(left + 1, worst)) {
+					worst = left + 1;
+				}
+				if (worst == i) {
+					return;
+				}
+				swap(i, worst);
+				i = worst;
+			}
+		}
+
+		/**
+		 * Swaps two entries of the heap
+		 * @param a the index of the first entry
+		 * @param b the index of the second entry
+		 */
+		private void swap(int a, int b) {
+			int pos = heapPositions[a];
+			heapPositions[a] = heapPositions[b];
+			heapPositions[b] = pos;
+			int score = heapScores[a];
+			heapScores[a] = heapScores[b];
+			heapScores[b] = score;
+		}
+	}
+
+	/**
+	 * A node of the course name trie
+	 */
+	private static class TrieNode {
+		/** Child nodes keyed by the next character of the name */
+		private Map<Character, TrieNode> children = new HashMap<Character, TrieNode>();
+		/** Positions of the courses whose full name ends at this node */
+		private Postings exact = new Postings();
+		/** Positions of the courses whose name ends at or below this node */
+		private Postings subtree = new Postings();
+
+		/**
+		 * Gets the child for a character, creating it if it does not exist
+		 * @param c the next character of the name
+		 * @return the child node
+		 */
+		private TrieNode childFor(char c) {
+			TrieNode child = children.get(c);
+			if (child == null) {
+				child = new TrieNode();
+				children.put(c, child);
+			}
+			return child;
+		}
+	}
+}
@@ -2,19 +2,17 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 
 /**
  * Class that represents activities that can be added to a schedule.
- * Subclasses include courses and events.
+ * Subclasses include courses and events. A catalog section can be changed while other
+ * threads read it, so the fields are volatile and the meeting days and times are replaced
+ * together: a reader sees either the old meeting or the new one, never a mix of the two.
  * @author Noah Benveniste
  */
-public abstract class Activity {
+public abstract class Activity implements Conflict {
 
 	/** Activity's title. */
-	private String title;
-	/** Activity's meeting days */
-	private String meetingDays;
-	/** Activity's starting time */
-	private int startTime;
-	/** Activity's ending time */
-	private int endTime;
+	private volatile String title;
+	/** Activity's meeting days and times, or null until the constructor sets them */
+	private volatile Meeting meeting;
 
 	/**
 	 * Constructor for an Activity object
@@ -55,7 +53,7 @@ public abstract class Activity {
 	 * @return the meetingDays
 	 */
 	public String getMeetingDays() {
-		return meetingDays;
+		return meeting.meetingDays;
 	}
 
 	/**
@@ -63,7 +61,8 @@ public abstract class Activity {
 	 * @param meetingDays the meetingDays to set
 	 */
 	public void setMeetingDays(String meetingDays) {
-		this.meetingDays = meetingDays;
+		Meeting m = this.meeting;
+		this.meeting = m == null ? new Meeting(meetingDays, 0, 0) : new Meeting(meetingDays, m.startTime, m.endTime);
 	}
 
 	/**
@@ -75,8 +74,36 @@ public abstract class Activity {
 	 * not between 0 and 59, or if the start time is greater than the end time
 	 */
 	public void setActivityTime(int startTime, int endTime) {
+		String meetingDays = this.getMeetingDays();
+		checkActivityTime(meetingDays, startTime, endTime);
+		this.meeting = new Meeting(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Sets the meeting days, startTime, and endTime for the Activity at once, so that a
+	 * reader on another thread never sees the new days with the old times
+	 * @param meetingDays the meeting days, which subclasses check before calling this
+	 * @param startTime the starting time of the Activity
+	 * @param endTime the ending time of the Activity
+	 * @throws IllegalArgumentException if the times are invalid for the meeting days
+	 */
+	protected void setMeeting(String meetingDays, int startTime, int endTime) {
+		checkActivityTime(meetingDays, startTime, endTime);
+		this.meeting = new Meeting(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Checks the startTime and endTime for a set of meeting days
+	 * @param meetingDays the meeting days
+	 * @param startTime the starting time of the Activity
+	 * @param endTime the ending time of the Activity
+	 * @throws IllegalArgumentException if meetingDays is A and the start time and end time are
+	 * not both 0, if the start time and end time are not between 0 and 2359, if the minutes are
+	 * not between 0 and 59, or if the start time is greater than the end time
+	 */
+	private static void checkActivityTime(String meetingDays, int startTime, int endTime) {
 		//Check that if meetingDays is "A", startTime and endTime are both zero
-		if (this.getMeetingDays().equals("A") && (startTime != 0 && endTime != 0)) {
+		if (meetingDays.equals("A") && (startTime != 0 && endTime != 0)) {
 			throw new IllegalArgumentException();
 		}
 		//Check that the times are valid
@@ -95,9 +122,6 @@ public abstract class Activity {
 		if (startTime > endTime) {
 			throw new IllegalArgumentException();
 		}
-		//If all preconditions are met, set the fields with the input values
-		this.startTime = startTime;
-		this.endTime = endTime;
 	}
 
 	/**
@@ -105,7 +129,7 @@ public abstract class Activity {
 	 * @return the startTime
 	 */
 	public int getStartTime() {
-		return startTime;
+		return meeting.startTime;
 	}
 
 	/**
@@ -113,7 +137,17 @@ public abstract class Activity {
 	 * @return the endTime
 	 */
 	public int getEndTime() {
-		return endTime;
+		return meeting.endTime;
+	}
+
+	/**
+	 * Gets the meeting days, start time, and end time as comma separated fields, all read
+	 * from the same meeting
+	 * @return the meeting days, start time, and end time
+	 */
+	protected String getMeetingFields() {
+		Meeting m = this.meeting;
+		return m.meetingDays + "," + m.startTime + "," + m.endTime;
 	}
 
 	/**
@@ -122,13 +156,14 @@ public abstract class Activity {
 	 * @return a string representation of the course's meeting time
 	 */
 	public String getMeetingString() {
-		if (this.getMeetingDays().equals("A")) {
+		Meeting m = this.meeting;
+		if (m.meetingDays.equals("A")) {
 			return "Arranged";
 		}
-	    int startHr = this.getStartTime() / 100;
-	    int startMin = this.getStartTime() % 100;
-	    int endHr = this.getEndTime() / 100;
-	    int endMin = this.getEndTime() % 100;
+	    int startHr = m.startTime / 100;
+	    int startMin = m.startTime % 100;
+	    int endHr = m.endTime / 100;
+	    int endMin = m.endTime % 100;
 	    String startMinStr = "";
 	    String endMinStr = "";
 	    String startStr = "";
@@ -162,7 +197,7 @@ public abstract class Activity {
 	    } else {
 	    	endStr += endHr + ":" + endMinStr + "AM";
 	    }
-	    return this.getMeetingDays() + " " + startStr + "-" + endStr;	
+	    return m.meetingDays + " " + startStr + "-" + endStr;	
 	}
 	
 	/**
@@ -185,6 +220,31 @@ public abstract class Activity {
 	 * @return true if the Activities are duplicates, false otherwise
 	 */
 	public abstract boolean isDuplicate(Activity activity);
+	
+	/**
+	 * Checks whether an Activity meets at the same time as this one. Two Activities conflict
+	 * if they share a meeting day and their times overlap, including when one starts in the
+	 * same minute the other ends. Arranged Activities never conflict.
+	 * @param possibleConflictingActivity the Activity to check against
+	 * @throws ConflictException if the two meet on a common day at overlapping times
+	 */
+	@Override
+	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
+		Meeting m = this.meeting;
+		Meeting other = possibleConflictingActivity.meeting;
+		if (m.meetingDays.equals("A") || other.meetingDays.equals("A")) {
+			return;
+		}
+		//Check the times first, since it is cheaper than comparing days
+		if (m.startTime > other.endTime || other.startTime > m.endTime) {
+			return;
+		}
+		for (int i = 0; i < m.meetingDays.length(); i++) {
+			if (other.meetingDays.indexOf(m.meetingDays.charAt(i)) >= 0) {
+				throw new ConflictException();
+			}
+		}
+	}
 
 	
 	/** Overridden hashCode() and equals() */
@@ -198,9 +258,10 @@ public abstract class Activity {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + endTime;
-		result = prime * result + ((meetingDays == null) ? 0 : meetingDays.hashCode());
-		result = prime * result + startTime;
+		Meeting m = this.meeting;
+		result = prime * result + m.endTime;
+		result = prime * result + ((m.meetingDays == null) ? 0 : m.meetingDays.hashCode());
+		result = prime * result + m.startTime;
 		result = prime * result + ((title == null) ? 0 : title.hashCode());
 		return result;
 	}
@@ -219,14 +280,16 @@ public abstract class Activity {
 		if (getClass() != obj.getClass())
 			return false;
 		Activity other = (Activity) obj;
-		if (endTime != other.endTime)
+		Meeting m = this.meeting;
+		Meeting o = other.meeting;
+		if (m.endTime != o.endTime)
 			return false;
-		if (meetingDays == null) {
-			if (other.meetingDays != null)
+		if (m.meetingDays == null) {
+			if (o.meetingDays != null)
 				return false;
-		} else if (!meetingDays.equals(other.meetingDays))
+		} else if (!m.meetingDays.equals(o.meetingDays))
 			return false;
-		if (startTime != other.startTime)
+		if (m.startTime != o.startTime)
 			return false;
 		if (title == null) {
 			if (other.title != null)
@@ -236,4 +299,28 @@ public abstract class Activity {
 		return true;
 	}
 
+	/**
+	 * Meeting days and times that are replaced as a whole rather than changed
+	 */
+	private static final class Meeting {
+
+		/** Meeting days */
+		private final String meetingDays;
+		/** Starting time */
+		private final int startTime;
+		/** Ending time */
+		private final int endTime;
+
+		/**
+		 * Constructs a meeting
+		 * @param meetingDays the meeting days
+		 * @param startTime the starting time
+		 * @param endTime the ending time
+		 */
+		Meeting(String meetingDays, int startTime, int endTime) {
+			this.meetingDays = meetingDays;
+			this.startTime = startTime;
+			this.endTime = endTime;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+/**
+ * Interface for objects that can be checked for a scheduling conflict with an Activity.
+ * @author Noah Benveniste
+ */
+public interface Conflict {
+
+	/**
+	 * Checks whether an Activity meets at the same time as this one
+	 * @param possibleConflictingActivity the Activity to check against
+	 * @throws ConflictException if the two meet on a common day at overlapping times
+	 */
+	void checkConflict(Activity possibleConflictingActivity) throws ConflictException;
+}
@@ -0,0 +1,26 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+/**
+ * Checked exception thrown when two Activities meet at the same time.
+ * @author Noah Benveniste
+ */
+public class ConflictException extends Exception {
+
+	/** ID used for serialization. */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs a ConflictException with a custom message
+	 * @param message the message
+	 */
+	public ConflictException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Constructs a ConflictException with the default message, "Schedule conflict."
+	 */
+	public ConflictException() {
+		this("Schedule conflict.");
+	}
+}
@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Object class that represents a course
  * @author Noah Benveniste
@@ -14,9 +16,16 @@ public class Course extends Activity {
 	/** Course's section. */
 	private String section;
 	/** Course's credit hours */
-	private int credits;
+	private volatile int credits;
 	/** Course's instructor */
-	private String instructorId;
+	private volatile String instructorId;
+	/** Most students that can enroll in the section, read without a lock by reserveSeat() */
+	private volatile int capacity;
+	/** Students enrolled in the section */
+	private AtomicInteger enrolled;
+	
+	/** Capacity of a section with no seat limit */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
 	
 	
 	/** Constructors */
@@ -39,6 +48,8 @@ public class Course extends Activity {
 	    setSection(section);
 	    setCredits(credits);
 	    setInstructorId(instructorId);
+	    this.capacity = UNLIMITED;
+	    this.enrolled = new AtomicInteger();
 	}
 	
 	/**
@@ -156,6 +167,65 @@ public class Course extends Activity {
 		this.instructorId = instructorId;
 	}
 	
+	/**
+	 * Gets the most students that can enroll in the section
+	 * @return the capacity, or UNLIMITED if there is no seat limit
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Sets the most students that can enroll in the section. Students already enrolled keep
+	 * their seats if the capacity drops below the enrollment.
+	 * @param capacity the capacity, or UNLIMITED for no seat limit
+	 * @throws IllegalArgumentException if the capacity is less than 1
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Gets the number of students enrolled in the section
+	 * @return the number enrolled
+	 */
+	public int getEnrolled() {
+		return enrolled.get();
+	}
+	
+	/**
+	 * Takes a seat in the section if one is open. Seats are counted with compare-and-set
+	 * rather than a lock, so any number of threads can reserve seats at once and the section
+	 * is never oversubscribed.
+	 * @return true if a seat was taken, false if the section is full
+	 */
+	public boolean reserveSeat() {
+		while (true) {
+			int current = enrolled.get();
+			if (current >= this.capacity) {
+				return false;
+			}
+			if (enrolled.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Gives back a seat taken with reserveSeat(), without a lock
+	 */
+	public void releaseSeat() {
+		while (true) {
+			int current = enrolled.get();
+			if (current <= 0 || enrolled.compareAndSet(current, current - 1)) {
+				return;
+			}
+		}
+	}
+	
 	/**
 	 * Sets the meeting days for a Course
 	 * @param meetingDays the meetingDays to set
@@ -165,6 +235,32 @@ public class Course extends Activity {
 	 */
 	@Override
 	public void setMeetingDays(String meetingDays) {
+		checkMeetingDays(meetingDays);
+		super.setMeetingDays(meetingDays);
+	}
+	
+	/**
+	 * Sets the meeting days and times for a Course at once, so that a schedule reading the
+	 * section on another thread sees either the old meeting or the new one
+	 * @param meetingDays the meetingDays to set
+	 * @param startTime the starting time of the Course
+	 * @param endTime the ending time of the Course
+	 * @throws IllegalArgumentException if the meeting days or times are invalid
+	 */
+	@Override
+	public void setMeeting(String meetingDays, int startTime, int endTime) {
+		checkMeetingDays(meetingDays);
+		super.setMeeting(meetingDays, startTime, endTime);
+	}
+	
+	/**
+	 * Checks the meeting days for a Course
+	 * @param meetingDays the meetingDays to check
+	 * @throws IllegalArgumentException if the input is null or an empty string, if the 
+	 * input has characters other than m,t,w,h,f,a, if an input contains the character "A" 
+	 * with any other characters
+	 */
+	private static void checkMeetingDays(String meetingDays) {
 		//Check that the input isn't null or an empty string
 		if (meetingDays == null || meetingDays.equals("")) {
 			throw new IllegalArgumentException();
@@ -183,8 +279,6 @@ public class Course extends Activity {
 				throw new IllegalArgumentException();
 			}
 		}
-		
-		super.setMeetingDays(meetingDays);
 	}
 	
 	/**
@@ -283,15 +377,25 @@ public class Course extends Activity {
 	}
 
 	/**
-	 * Returns a comma separated value String of all Course fields.
+	 * Returns a comma separated value String of all Course fields. A section with a seat
+	 * limit ends with its capacity, after times of 0 if it is arranged.
 	 * @return String representation of Course
 	 */
 	@Override
 	public String toString() {
-	    if (this.getMeetingDays().equals("A")) {
-	        return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + "," + this.getMeetingDays();
+		//Read the meeting and capacity once, since a catalog delta can change them meanwhile
+		String meeting = this.getMeetingFields();
+		int cap = capacity;
+	    if (meeting.startsWith("A,")) {
+	    	if (cap != UNLIMITED) {
+	    		return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + ",A,0,0," + cap;
+	    	}
+	        return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + ",A";
+	    }
+	    if (cap != UNLIMITED) {
+	    	return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + "," + meeting + "," + cap; 
 	    }
-	    return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + "," + this.getMeetingDays() + "," + this.getStartTime() + "," + this.getEndTime(); 
+	    return name + "," + this.getTitle() + "," + section + "," + credits + "," + instructorId + "," + meeting; 
 	}
 	
 }
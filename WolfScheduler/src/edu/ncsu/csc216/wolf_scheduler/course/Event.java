@@ -8,6 +8,8 @@ public class Event extends Activity {
 
 	/** The number of weeks the event repeats */
 	private int weeklyRepeat;
+	/** The 0-based week of the term the event first meets in, less than weeklyRepeat */
+	private int firstWeek;
 	/** Details describing the event */
 	private String eventDetails;
 	
@@ -21,8 +23,25 @@ public class Event extends Activity {
 	 * @param eventDetails Details describing the event
 	 */
 	public Event(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, String eventDetails) {
+		this(title, meetingDays, startTime, endTime, weeklyRepeat, 0, eventDetails);
+	}
+
+	/**
+	 * Constructs an event object that first meets in a later week of the term, so that
+	 * events repeating every few weeks can alternate
+	 * @param title The title of the event
+	 * @param meetingDays A string made up of the first letters of the days the event takes place on
+	 * @param startTime Start time of the Event
+	 * @param endTime End time of the Event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param firstWeek The 0-based week of the term the event first meets in
+	 * @param eventDetails Details describing the event
+	 */
+	public Event(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, int firstWeek, 
+			String eventDetails) {
 		super(title, meetingDays, startTime, endTime);
 		setWeeklyRepeat(weeklyRepeat);
+		setFirstWeek(firstWeek);
 		setEventDetails(eventDetails);
 	}
 
@@ -37,15 +56,38 @@ public class Event extends Activity {
 	/**
 	 * Set the number of weeks the event repeats
 	 * @param weeklyRepeat the weeklyRepeat to set
-	 * @throws IllegalArgumentException if the input is less than 1 or greater than 4
+	 * @throws IllegalArgumentException if the input is less than 1 or greater than 4, or
+	 * is not after the first week
 	 */
 	public void setWeeklyRepeat(int weeklyRepeat) {
-		if (weeklyRepeat < 1 || weeklyRepeat > 4) {
+		if (weeklyRepeat < 1 || weeklyRepeat > 4 || weeklyRepeat <= firstWeek) {
 			throw new IllegalArgumentException("Invalid weekly repeat.");
 		}
 		this.weeklyRepeat = weeklyRepeat;
 	}
 
+	/**
+	 * Get the week of the term the event first meets in. The event then meets every
+	 * weeklyRepeat weeks after it.
+	 * @return the 0-based first week
+	 */
+	public int getFirstWeek() {
+		return firstWeek;
+	}
+
+	/**
+	 * Set the week of the term the event first meets in
+	 * @param firstWeek the 0-based first week to set
+	 * @throws IllegalArgumentException if the input is negative or not less than the
+	 * weekly repeat
+	 */
+	public void setFirstWeek(int firstWeek) {
+		if (firstWeek < 0 || firstWeek >= weeklyRepeat) {
+			throw new IllegalArgumentException("Invalid first week.");
+		}
+		this.firstWeek = firstWeek;
+	}
+
 	/**
 	 * Get the event details
 	 * @return the eventDetails
@@ -138,22 +180,29 @@ public class Event extends Activity {
 	
 	
 	/**
-	 * Overrides the super method so that the weeklyRepeat value is appended to the string
+	 * Overrides the super method so that the weeklyRepeat value, and the first week if it
+	 * is not the first week of the term, are appended to the string
 	 * @return the meetingString
 	 */
 	@Override
 	public String getMeetingString() {
+		if (this.getFirstWeek() > 0) {
+			return super.getMeetingString() + " (every " + this.getWeeklyRepeat() + " weeks from week " + 
+					(this.getFirstWeek() + 1) + ")";
+		}
 		return super.getMeetingString() + " (every " + this.getWeeklyRepeat() + " weeks)";
 	}
 
 	/**
-	 * Returns a comma separated list of the Event's state as a string
+	 * Returns a comma separated list of the Event's state as a string. A first week after
+	 * the first week of the term follows the weekly repeat after an @, as in 2@1.
 	 * @return the comma separated list
 	 */
 	@Override
 	public String toString() {
 		return this.getTitle() + "," + this.getMeetingDays() + "," + this.getStartTime() + "," +
-				this.getEndTime() + "," + this.getWeeklyRepeat() + "," + this.getEventDetails();
+				this.getEndTime() + "," + this.getWeeklyRepeat() + 
+				(this.getFirstWeek() > 0 ? "@" + this.getFirstWeek() : "") + "," + this.getEventDetails();
 	}
 	
 }
@@ -1,18 +1,214 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
+import edu.ncsu.csc216.wolf_scheduler.calendar.Occurrence;
+import edu.ncsu.csc216.wolf_scheduler.calendar.Term;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogIndex;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.MetricsSink;
 
 /**
- * Class that handles the writing of activities to an output file
+ * Class that handles the writing of activities to an output file, and reading them back
  * @author Noah Benveniste
  */
 public class ActivityRecordIO {
 
+	/** Number of commas before an event's details, which may hold more commas */
+	private static final int EVENT_COMMAS = 5;
+	/** iCalendar BYDAY values, indexed like MEETING_DAYS */
+	private static final String[] BY_DAY = {"SU", "MO", "TU", "WE", "TH", "FR", "SA"};
+	/** Meeting day letters, Sunday first */
+	private static final String MEETING_DAYS = "UMTWHFS";
+	/** Reasons an event line is rejected when it has only as many commas as the index */
+	private static final String[] MISSING = {"Missing meeting days.", "Missing start time.", 
+		"Missing end time.", "Missing weekly repeat.", "Missing event details."};
+
+	/**
+	 * Reads the activities in a file written by writeActivityRecords(), one line at a time.
+	 * When a catalog is given, each course is replaced by the catalog's section with the same
+	 * name and section number, found through the catalog index; a course whose section is no
+	 * longer in the catalog, or whose section has changed since the file was written, is
+	 * rejected. Rejected lines are skipped and added to the report.
+	 * @param fileName file to read activity records from
+	 * @param catalog the catalog to find courses in, or null to read courses as they are
+	 * @param report the report to add rejected lines to, or null
+	 * @return the activities read, in file order
+	 * @throws IOException if the file cannot be found or read
+	 */
+	public static ArrayList<Activity> readActivityRecords(String fileName, CatalogIndex catalog, 
+			RejectionReport report) throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		ArrayList<ActivityParseResult> results = parseActivityRecords(fileName);
+		for (int i = 0; i < results.size(); i++) {
+			ActivityParseResult result = catalog == null ? results.get(i) : findSection(results.get(i), catalog);
+			if (result.isValid()) {
+				activities.add(result.getActivity());
+			} else if (report != null) {
+				report.add(result);
+			}
+		}
+		return activities;
+	}
+
+	/**
+	 * Parses every line of a file written by writeActivityRecords(), without matching
+	 * courses to a catalog
+	 * @param fileName file to read activity records from
+	 * @return the result for each line, in file order
+	 * @throws IOException if the file cannot be found or read
+	 */
+	public static ArrayList<ActivityParseResult> parseActivityRecords(String fileName) throws IOException {
+		ArrayList<ActivityParseResult> results = new ArrayList<ActivityParseResult>();
+		BufferedReader reader = new BufferedReader(new FileReader(fileName));
+		try {
+			int lines = 0;
+			String line = reader.readLine();
+			while (line != null) {
+				lines++;
+				results.add(parseActivity(line, lines));
+				line = reader.readLine();
+			}
+		} finally {
+			reader.close();
+		}
+		return results;
+	}
+
+	/**
+	 * Replaces a course read from an activity record file by the catalog's section with the
+	 * same name and section number. A course whose section is no longer in the catalog, or
+	 * whose section has changed since the file was written, is rejected. Events and
+	 * rejected lines are returned as they are.
+	 * @param result the result for the line
+	 * @param catalog the catalog to find the course in
+	 * @return the result holding the catalog's section, or the rejection
+	 */
+	public static ActivityParseResult findSection(ActivityParseResult result, CatalogIndex catalog) {
+		if (!result.isValid() || !(result.getActivity() instanceof Course)) {
+			return result;
+		}
+		Course read = (Course) result.getActivity();
+		Course section = catalog.getCourse(read.getName(), read.getSection());
+		if (section == null) {
+			return new ActivityParseResult(result.getLineNumber(), 1, "Section is not in the catalog.");
+		} else if (!section.equals(read)) {
+			return new ActivityParseResult(result.getLineNumber(), 1, "Section has changed in the catalog.");
+		}
+		return new ActivityParseResult(section, result.getLineNumber());
+	}
+
+	/**
+	 * Parses one line of an activity record file. Course lines have a three digit section
+	 * number and 1 to 5 credits in their third and fourth fields, where an event has its
+	 * start and end times, so the two are told apart without trying either parse. Courses
+	 * are checked by CourseRecordIO.parseCourse(); events are checked field by field with the
+	 * rules the Event constructor uses, and everything after the fifth comma is the event's
+	 * details. An event's weekly repeat may be followed by @ and its first week.
+	 * @param line the line to parse
+	 * @param lineNumber the 1-based line number, which is reported in the result
+	 * @return the activity on the line, or the column and reason the line was rejected
+	 */
+	public static ActivityParseResult parseActivity(String line, int lineNumber) {
+		int[] commas = new int[EVENT_COMMAS];
+		int found = 0;
+		int pos = line.indexOf(',');
+		while (pos >= 0 && found < EVENT_COMMAS) {
+			commas[found++] = pos;
+			pos = line.indexOf(',', pos + 1);
+		}
+		if (found >= 3 && CourseRecordIO.isSection(line.substring(commas[1] + 1, commas[2]))) {
+			long credits = CourseRecordIO.parseInt(line.substring(commas[2] + 1, found > 3 ? commas[3] : line.length()));
+			if (credits >= 1 && credits <= 5) {
+				CourseParseResult course = CourseRecordIO.parseCourse(line, lineNumber);
+				if (course.isValid()) {
+					return new ActivityParseResult(course.getCourse(), lineNumber);
+				}
+				return new ActivityParseResult(lineNumber, course.getColumn(), course.getReason());
+			}
+		}
+		
+		String title = line.substring(0, found > 0 ? commas[0] : line.length());
+		if (title.isEmpty()) {
+			return new ActivityParseResult(lineNumber, 1, "Invalid event title.");
+		}
+		if (found < EVENT_COMMAS) {
+			return new ActivityParseResult(lineNumber, line.length() + 1, MISSING[found]);
+		}
+		String meetingDays = line.substring(commas[0] + 1, commas[1]);
+		if (!isEventDays(meetingDays)) {
+			return new ActivityParseResult(lineNumber, commas[0] + 2, "Invalid meeting days.");
+		}
+		long startTime = CourseRecordIO.parseInt(line.substring(commas[1] + 1, commas[2]));
+		if (!CourseRecordIO.isTime(startTime)) {
+			return new ActivityParseResult(lineNumber, commas[1] + 2, "Invalid start time.");
+		}
+		long endTime = CourseRecordIO.parseInt(line.substring(commas[2] + 1, commas[3]));
+		if (!CourseRecordIO.isTime(endTime)) {
+			return new ActivityParseResult(lineNumber, commas[2] + 2, "Invalid end time.");
+		}
+		if (startTime > endTime) {
+			return new ActivityParseResult(lineNumber, commas[1] + 2, "Invalid event times.");
+		}
+		int at = line.indexOf('@', commas[3] + 1);
+		int repeatEnd = at >= 0 && at < commas[4] ? at : commas[4];
+		long weeklyRepeat = CourseRecordIO.parseInt(line.substring(commas[3] + 1, repeatEnd));
+		if (weeklyRepeat < 1 || weeklyRepeat > 4) {
+			return new ActivityParseResult(lineNumber, commas[3] + 2, "Invalid weekly repeat.");
+		}
+		long firstWeek = 0;
+		if (repeatEnd < commas[4]) {
+			firstWeek = CourseRecordIO.parseInt(line.substring(repeatEnd + 1, commas[4]));
+			if (firstWeek < 0 || firstWeek >= weeklyRepeat) {
+				return new ActivityParseResult(lineNumber, repeatEnd + 2, "Invalid first week.");
+			}
+		}
+		try {
+			return new ActivityParseResult(new Event(title, meetingDays, (int) startTime, (int) endTime, 
+					(int) weeklyRepeat, (int) firstWeek, line.substring(commas[4] + 1)), lineNumber);
+		} catch (IllegalArgumentException e) {
+			//Only reached if Event gains a rule that is not checked above
+			return new ActivityParseResult(lineNumber, 1, "Invalid event.");
+		}
+	}
+
+	/**
+	 * Checks an event's meeting days, which must be some of U, M, T, W, H, F, and S
+	 * @param meetingDays the meeting days
+	 * @return true if the meeting days are valid
+	 */
+	private static boolean isEventDays(String meetingDays) {
+		if (meetingDays.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < meetingDays.length(); i++) {
+			if (MEETING_DAYS.indexOf(meetingDays.charAt(i)) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Writes the given list of Courses to an output file
 	 * @param fileName The name of the file to be written to
@@ -20,8 +216,11 @@ public class ActivityRecordIO {
 	 * @throws IOException if the file cannot be saved
 	 */
 	public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
+		MetricsSink metrics = Metrics.getSink();
+		long start = metrics.isEnabled() ? System.nanoTime() : 0;
 		//Initialize print stream object to write to file
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		File file = new File(fileName);
+		PrintStream fileWriter = new PrintStream(file);
 	
 		//Index through the array list, printing one course per line
 		for (int i = 0; i < activities.size(); i++) {
@@ -30,6 +229,115 @@ public class ActivityRecordIO {
 	
 		//Once all courses have been printed into the file, close the print stream
 		fileWriter.close();
+		if (metrics.isEnabled()) {
+			metrics.record(Metrics.EXPORT_TIME, System.nanoTime() - start);
+			metrics.record(Metrics.EXPORT_BYTES, file.length());
+		}
+	}
+
+	/**
+	 * Writes the given activities to a stream as UTF-8 activity records, one per line ending
+	 * in a line feed. The stream is flushed but not closed.
+	 * @param out the stream to write to
+	 * @param activities the activities to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void writeActivityRecords(OutputStream out, List<Activity> activities) throws IOException {
+		MetricsSink metrics = Metrics.getSink();
+		long start = metrics.isEnabled() ? System.nanoTime() : 0;
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		for (int i = 0; i < activities.size(); i++) {
+			writer.write(activities.get(i).toString());
+			writer.write('\n');
+		}
+		writer.flush();
+		if (metrics.isEnabled()) {
+			metrics.record(Metrics.EXPORT_TIME, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Writes the given activities to an iCalendar file over a term
+	 * @param fileName The name of the file to be written to
+	 * @param activities The activities to write
+	 * @param term The term the activities meet in
+	 * @throws IOException if the file cannot be saved
+	 * @see #writeICalendar(WritableByteChannel, List, Term)
+	 */
+	public static void writeICalendar(String fileName, List<? extends Activity> activities, Term term) throws IOException {
+		FileChannel channel = FileChannel.open(new File(fileName).toPath(), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			writeICalendar(channel, activities, term);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Streams the given activities to a channel as an iCalendar (RFC 5545) calendar. Each
+	 * activity that meets in the term becomes one VEVENT that starts on its first meeting
+	 * and repeats weekly on its meeting days until the end of the term, every weeklyRepeat
+	 * weeks for events. Weeks start on Sunday, as they do in the term. Arranged courses are
+	 * left out. Content lines are encoded straight into a buffer that is written to the
+	 * channel as it fills. The channel is not closed.
+	 * @param channel The channel to write to
+	 * @param activities The activities to write
+	 * @param term The term the activities meet in
+	 * @return the number of bytes written
+	 * @throws IOException if the channel cannot be written
+	 */
+	public static long writeICalendar(WritableByteChannel channel, List<? extends Activity> activities, Term term) 
+			throws IOException {
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		int stampTime = now.getHour() * 10000 + now.getMinute() * 100 + now.getSecond();
+		ICalendarWriter out = new ICalendarWriter(channel);
+		out.line("BEGIN:VCALENDAR").line("VERSION:2.0").line("PRODID:-//NCSU CSC216//WolfScheduler//EN")
+				.line("CALSCALE:GREGORIAN");
+		for (int i = 0; i < activities.size(); i++) {
+			Activity a = activities.get(i);
+			Iterator<Occurrence> occurrences = term.occurrences(a);
+			if (!occurrences.hasNext()) {
+				continue;
+			}
+			LocalDate first = occurrences.next().getDate();
+			out.line("BEGIN:VEVENT");
+			out.ascii("UID:");
+			if (a instanceof Course) {
+				Course c = (Course) a;
+				out.text(c.getName()).ascii("-").text(c.getSection());
+			} else {
+				out.text(a.getTitle());
+			}
+			out.ascii(".").date(first).ascii("@wolfscheduler").end();
+			out.ascii("DTSTAMP:").date(now.toLocalDate()).ascii("T").number(stampTime, 6).ascii("Z").end();
+			out.ascii("DTSTART:").dateTime(first, a.getStartTime()).end();
+			out.ascii("DTEND:").dateTime(first, a.getEndTime()).end();
+			out.ascii("RRULE:FREQ=WEEKLY;INTERVAL=").number(a instanceof Event ? ((Event) a).getWeeklyRepeat() : 1, 1)
+					.ascii(";WKST=SU;BYDAY=");
+			String days = a.getMeetingDays();
+			for (int d = 0; d < days.length(); d++) {
+				if (d > 0) {
+					out.ascii(",");
+				}
+				out.ascii(BY_DAY[MEETING_DAYS.indexOf(days.charAt(d))]);
+			}
+			out.ascii(";UNTIL=").date(term.getLastDay()).ascii("T235959").end();
+			if (a instanceof Course) {
+				Course c = (Course) a;
+				out.ascii("SUMMARY:").text(c.getName()).ascii(" ").text(c.getTitle()).end();
+				out.ascii("DESCRIPTION:Section ").text(c.getSection()).text(", ").text(c.getInstructorId()).end();
+			} else {
+				out.ascii("SUMMARY:").text(a.getTitle()).end();
+				String details = ((Event) a).getEventDetails();
+				if (!details.isEmpty()) {
+					out.ascii("DESCRIPTION:").text(details).end();
+				}
+			}
+			out.line("END:VEVENT");
+		}
+		out.line("END:VCALENDAR");
+		return out.flush();
 	}
 
 }
@@ -0,0 +1,127 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A Bloom filter over strings, which answers "definitely not present" or "possibly present"
+ * in a fixed number of bits. Each key sets HASHES bits picked by double hashing two
+ * independent hashes of the key.
+ * @author Noah Benveniste
+ */
+class BloomFilter {
+
+	/** Bits set per key */
+	static final int HASHES = 7;
+	/** Bits per expected key, which with HASHES bits per key gives about a 1% false positive rate */
+	static final int BITS_PER_KEY = 10;
+
+	/** The bits, 64 to a word */
+	private long[] words;
+	/** Number of bits */
+	private long bits;
+
+	/**
+	 * Constructs an empty filter sized for a number of keys
+	 * @param expectedKeys the number of keys that will be added
+	 */
+	BloomFilter(long expectedKeys) {
+		this(new long[(int) Math.max(1, (Math.max(1, expectedKeys) * BITS_PER_KEY + 63) / 64)]);
+	}
+
+	/**
+	 * Constructs a filter over bits already set
+	 * @param words the bits, 64 to a word
+	 */
+	private BloomFilter(long[] words) {
+		this.words = words;
+		this.bits = (long) words.length * 64;
+	}
+
+	/**
+	 * Adds a key to the filter
+	 * @param key the key
+	 */
+	void add(String key) {
+		int h1 = key.hashCode();
+		int h2 = secondHash(key);
+		for (int i = 0; i < HASHES; i++) {
+			long bit = bitOf(h1, h2, i);
+			words[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Checks if a key might have been added
+	 * @param key the key
+	 * @return false if the key was definitely not added, true if it might have been
+	 */
+	boolean mightContain(String key) {
+		int h1 = key.hashCode();
+		int h2 = secondHash(key);
+		for (int i = 0; i < HASHES; i++) {
+			long bit = bitOf(h1, h2, i);
+			if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the filter's bits
+	 * @param out the stream to write to
+	 * @throws IOException if the stream cannot be written
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(words.length);
+		for (int i = 0; i < words.length; i++) {
+			out.writeLong(words[i]);
+		}
+	}
+
+	/**
+	 * Reads a filter written by write()
+	 * @param in the stream to read from
+	 * @return the filter
+	 * @throws IOException if the stream cannot be read or does not hold a filter
+	 */
+	static BloomFilter read(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 1) {
+			throw new IOException("Invalid filter.");
+		}
+		long[] words = new long[length];
+		for (int i = 0; i < length; i++) {
+			words[i] = in.readLong();
+		}
+		return new BloomFilter(words);
+	}
+
+	/**
+	 * Picks the bit for one of a key's hashes
+	 * @param h1 the first hash of the key
+	 * @param h2 the second hash of the key
+	 * @param i which of the key's hashes
+	 * @return the bit
+	 */
+	private long bitOf(int h1, int h2, int i) {
+		long combined = (h1 & 0xffffffffL) + i * (h2 & 0xffffffffL);
+		return combined % bits;
+	}
+
+	/**
+	 * Hashes a key with 32 bit FNV-1a, which is independent of String.hashCode()
+	 * @param key the key
+	 * @return the hash
+	 */
+	private static int secondHash(String key) {
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x01000193;
+		}
+		return hash | 1;
+	}
+}
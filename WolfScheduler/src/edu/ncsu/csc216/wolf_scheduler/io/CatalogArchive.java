@@ -0,0 +1,435 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Looks up sections of past terms in immutable term files on disk, so that the catalogs of
+ * many terms can be searched without holding any of them in memory. A term file holds the
+ * term's course records sorted by name and section, in blocks of about BLOCK_SIZE bytes,
+ * followed by a footer with the first section of each block and a Bloom filter of every
+ * section in the term. Only the footers are kept in memory: the Bloom filter skips terms
+ * that cannot have a section without reading them, the block index finds the one block
+ * that can, and recently read blocks are kept in a small least recently used cache.
+ * @author Noah Benveniste
+ */
+public class CatalogArchive {
+
+	/** Default most blocks kept in the cache */
+	public static final int DEFAULT_CACHE_BLOCKS = 64;
+	/** Bytes of records a block is filled to before the next one starts */
+	static final int BLOCK_SIZE = 4096;
+	/** Last four bytes of every term file */
+	private static final int MAGIC = 0x57534152;
+	/** Bytes at the end of a term file holding the footer offset and MAGIC */
+	private static final int TRAILER_LENGTH = 12;
+
+	/** Open terms, by name, in the order they were added */
+	private Map<String, TermFile> terms;
+	/** Recently read blocks, least recently used first */
+	private LinkedHashMap<Long, String[]> cache;
+	/** Number of blocks read from disk */
+	private int blockReads;
+	/** Number of blocks found in the cache */
+	private int cacheHits;
+	/** Number of term lookups the Bloom filters answered without reading a block */
+	private int bloomSkips;
+
+	/**
+	 * Constructs an archive with no terms and the default cache size.
+	 */
+	public CatalogArchive() {
+		this(DEFAULT_CACHE_BLOCKS);
+	}
+
+	/**
+	 * Constructs an archive with no terms
+	 * @param cacheBlocks the most blocks kept in the cache
+	 * @throws IllegalArgumentException if the cache size is less than 1
+	 */
+	public CatalogArchive(final int cacheBlocks) {
+		if (cacheBlocks < 1) {
+			throw new IllegalArgumentException("Invalid cache size.");
+		}
+		this.terms = new LinkedHashMap<String, TermFile>();
+		this.cache = new LinkedHashMap<Long, String[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, String[]> eldest) {
+				return size() > cacheBlocks;
+			}
+		};
+	}
+
+	/**
+	 * Writes a term file from a course record file of any size. The records are sorted
+	 * with a CourseRecordSorter first, so invalid records are dropped and the first record
+	 * of a repeated section is kept.
+	 * @param recordFile the course record file, which may be gzip compressed
+	 * @param termFile the term file to write
+	 * @return the number of sections in the term file
+	 * @throws IOException if a file cannot be read or written
+	 */
+	public static long writeTerm(String recordFile, String termFile) throws IOException {
+		File sorted = File.createTempFile("term", ".txt");
+		try {
+			long records = new CourseRecordSorter().sort(recordFile, sorted.getPath());
+			BloomFilter bloom = new BloomFilter(records);
+			ByteArrayOutputStream index = new ByteArrayOutputStream();
+			DataOutputStream indexOut = new DataOutputStream(index);
+			int blocks = 0;
+			long offset = 0;
+			BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(sorted),
+					StandardCharsets.UTF_8));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(termFile)));
+			try {
+				ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+				String line = in.readLine();
+				while (line != null) {
+					String name = nameOf(line);
+					String section = sectionOf(line);
+					bloom.add(keyOf(name, section));
+					if (block.size() == 0) {
+						indexOut.writeUTF(name);
+						indexOut.writeUTF(section);
+						indexOut.writeLong(offset);
+					}
+					block.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+					line = in.readLine();
+					if (block.size() >= BLOCK_SIZE || (line == null && block.size() > 0)) {
+						indexOut.writeInt(block.size());
+						block.writeTo(out);
+						offset += block.size();
+						blocks++;
+						block.reset();
+					}
+				}
+				out.writeInt(blocks);
+				index.writeTo(out);
+				bloom.write(out);
+				out.writeLong(offset);
+				out.writeInt(MAGIC);
+			} finally {
+				in.close();
+				out.close();
+			}
+			return records;
+		} finally {
+			sorted.delete();
+		}
+	}
+
+	/**
+	 * Opens a term file and adds it to the archive. Only the file's footer is read.
+	 * @param term the name of the term, such as "Fall 2025"
+	 * @param termFile the term file, written by writeTerm()
+	 * @throws IllegalArgumentException if the term name is null, empty or already added
+	 * @throws IOException if the file cannot be read or is not a term file
+	 */
+	public synchronized void addTerm(String term, String termFile) throws IOException {
+		if (term == null || term.isEmpty() || terms.containsKey(term)) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+		RandomAccessFile file = new RandomAccessFile(termFile, "r");
+		try {
+			terms.put(term, readFooter(file, terms.size()));
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the terms in the archive
+	 * @return the term names, in the order they were added
+	 */
+	public synchronized List<String> getTerms() {
+		return Collections.unmodifiableList(new ArrayList<String>(terms.keySet()));
+	}
+
+	/**
+	 * Looks up a section in one term
+	 * @param term the name of the term
+	 * @param name the course name
+	 * @param section the section number
+	 * @return a new Course for the section as it was that term, or null if the term did not
+	 * offer it
+	 * @throws IllegalArgumentException if the term is not in the archive
+	 * @throws IOException if the term file cannot be read
+	 */
+	public synchronized Course getCourse(String term, String name, String section) throws IOException {
+		TermFile t = term == null ? null : terms.get(term);
+		if (t == null) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+		if (name == null || section == null) {
+			return null;
+		}
+		String line = find(t, name, section);
+		return line == null ? null : CourseRecordIO.parseCourse(line, 1).getCourse();
+	}
+
+	/**
+	 * Finds the terms that offered a section
+	 * @param name the course name
+	 * @param section the section number
+	 * @return the names of the terms that offered the section, in the order they were added
+	 * @throws IOException if a term file cannot be read
+	 */
+	public synchronized List<String> findTerms(String name, String section) throws IOException {
+		List<String> found = new ArrayList<String>();
+		if (name == null || section == null) {
+			return found;
+		}
+		for (Map.Entry<String, TermFile> entry : terms.entrySet()) {
+			if (find(entry.getValue(), name, section) != null) {
+				found.add(entry.getKey());
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Gets the number of blocks read from disk
+	 * @return the number of block reads
+	 */
+	public synchronized int getBlockReads() {
+		return blockReads;
+	}
+
+	/**
+	 * Gets the number of blocks found in the cache instead of read from disk
+	 * @return the number of cache hits
+	 */
+	public synchronized int getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Gets the number of term lookups answered by a Bloom filter without reading a block
+	 * @return the number of skipped lookups
+	 */
+	public synchronized int getBloomSkips() {
+		return bloomSkips;
+	}
+
+	/**
+	 * Closes every term file. The archive cannot be used afterwards.
+	 * @throws IOException if a file cannot be closed
+	 */
+	public synchronized void close() throws IOException {
+		for (TermFile t : terms.values()) {
+			t.file.close();
+		}
+		terms.clear();
+		cache.clear();
+	}
+
+	/**
+	 * Finds the record of a section in a term
+	 * @param t the term
+	 * @param name the course name
+	 * @param section the section number
+	 * @return the record, or null if the term does not have the section
+	 * @throws IOException if the term file cannot be read
+	 */
+	private String find(TermFile t, String name, String section) throws IOException {
+		if (!t.bloom.mightContain(keyOf(name, section))) {
+			bloomSkips++;
+			return null;
+		}
+		//The section can only be in the last block that starts at or before it
+		int low = 0;
+		int high = t.names.length - 1;
+		int block = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (compare(t.names[mid], t.sections[mid], name, section) <= 0) {
+				block = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		if (block == -1) {
+			return null;
+		}
+		String[] lines = readBlock(t, block);
+		low = 0;
+		high = lines.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int diff = compare(nameOf(lines[mid]), sectionOf(lines[mid]), name, section);
+			if (diff == 0) {
+				return lines[mid];
+			} else if (diff < 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the records of a block, from the cache if it is there
+	 * @param t the term
+	 * @param block the position of the block in the term file
+	 * @return the records of the block
+	 * @throws IOException if the term file cannot be read
+	 */
+	private String[] readBlock(TermFile t, int block) throws IOException {
+		Long key = ((long) t.id << 32) | block;
+		String[] lines = cache.get(key);
+		if (lines != null) {
+			cacheHits++;
+			return lines;
+		}
+		byte[] bytes = new byte[t.lengths[block]];
+		t.file.seek(t.offsets[block]);
+		t.file.readFully(bytes);
+		blockReads++;
+		String text = new String(bytes, StandardCharsets.UTF_8);
+		//Every record in a block ends with a line break
+		lines = text.substring(0, text.length() - 1).split("\n");
+		cache.put(key, lines);
+		return lines;
+	}
+
+	/**
+	 * Reads the block index and Bloom filter of a term file
+	 * @param file the term file
+	 * @param id the number of the term in the archive
+	 * @return the term
+	 * @throws IOException if the file cannot be read or is not a term file
+	 */
+	private static TermFile readFooter(RandomAccessFile file, int id) throws IOException {
+		long length = file.length();
+		if (length < TRAILER_LENGTH) {
+			throw new IOException("Not a term file.");
+		}
+		file.seek(length - TRAILER_LENGTH);
+		long footerOffset = file.readLong();
+		if (file.readInt() != MAGIC || footerOffset < 0 || footerOffset > length - TRAILER_LENGTH) {
+			throw new IOException("Not a term file.");
+		}
+		byte[] footer = new byte[(int) (length - TRAILER_LENGTH - footerOffset)];
+		file.seek(footerOffset);
+		file.readFully(footer);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer));
+		int blocks = in.readInt();
+		if (blocks < 0 || blocks > footer.length) {
+			throw new IOException("Not a term file.");
+		}
+		TermFile t = new TermFile(file, id, blocks);
+		for (int i = 0; i < blocks; i++) {
+			t.names[i] = in.readUTF();
+			t.sections[i] = in.readUTF();
+			t.offsets[i] = in.readLong();
+			t.lengths[i] = in.readInt();
+			if (t.offsets[i] < 0 || t.lengths[i] < 1 || t.offsets[i] + t.lengths[i] > footerOffset) {
+				throw new IOException("Not a term file.");
+			}
+		}
+		t.bloom = BloomFilter.read(in);
+		return t;
+	}
+
+	/**
+	 * Orders sections by course name, then section number, as CourseRecordSorter does
+	 * @param name1 the first course name
+	 * @param section1 the first section number
+	 * @param name2 the second course name
+	 * @param section2 the second section number
+	 * @return a negative number, zero or a positive number as the first section is before,
+	 * the same as or after the second
+	 */
+	private static int compare(String name1, String section1, String name2, String section2) {
+		int diff = name1.compareTo(name2);
+		return diff != 0 ? diff : section1.compareTo(section2);
+	}
+
+	/**
+	 * Builds the Bloom filter key for a section
+	 * @param name the course name
+	 * @param section the section number
+	 * @return the key
+	 */
+	private static String keyOf(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Gets the course name of a record, its first field
+	 * @param line the record
+	 * @return the course name
+	 */
+	private static String nameOf(String line) {
+		return line.substring(0, line.indexOf(','));
+	}
+
+	/**
+	 * Gets the section number of a record, its third field
+	 * @param line the record
+	 * @return the section number
+	 */
+	private static String sectionOf(String line) {
+		int titleEnd = line.indexOf(',', line.indexOf(',') + 1);
+		return line.substring(titleEnd + 1, line.indexOf(',', titleEnd + 1));
+	}
+
+	/**
+	 * The footer of an open term file
+	 */
+	private static class TermFile {
+
+		/** The open file */
+		private RandomAccessFile file;
+		/** Number of the term in the archive, which keys its blocks in the cache */
+		private int id;
+		/** Course name of the first section of each block */
+		private String[] names;
+		/** Section number of the first section of each block */
+		private String[] sections;
+		/** Where each block starts */
+		private long[] offsets;
+		/** Length of each block in bytes */
+		private int[] lengths;
+		/** Filter of every section in the term */
+		private BloomFilter bloom;
+
+		/**
+		 * Constructs a term with an empty block index
+		 * @param file the open file
+		 * @param id number of the term in the archive
+		 * @param blocks number of blocks in the file
+		 */
+		TermFile(RandomAccessFile file, int id, int blocks) {
+			this.file = file;
+			this.id = id;
+			this.names = new String[blocks];
+			this.sections = new String[blocks];
+			this.offsets = new long[blocks];
+			this.lengths = new int[blocks];
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * An ordered list of changes to a course catalog, each keyed by course name and section.
+ * An upsert adds a section, or replaces the details of a section already in the catalog;
+ * a delete takes a section out of the catalog. In a delta file each change is one line:
+ * "U," followed by a course record for an upsert, or "D,name,section" for a delete.
+ * @author Noah Benveniste
+ */
+public class CatalogDelta {
+
+	/** Course names of the changed sections, in order */
+	private ArrayList<String> names;
+	/** Section numbers of the changed sections, in order */
+	private ArrayList<String> sections;
+	/** The new section for each upsert, or null for each delete */
+	private ArrayList<Course> courses;
+
+	/**
+	 * Constructs an empty delta.
+	 */
+	public CatalogDelta() {
+		names = new ArrayList<String>();
+		sections = new ArrayList<String>();
+		courses = new ArrayList<Course>();
+	}
+
+	/**
+	 * Adds an upsert of a section to the end of the delta
+	 * @param c the section as it should be in the catalog
+	 * @throws IllegalArgumentException if the course is null
+	 */
+	public void upsert(Course c) {
+		if (c == null) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		names.add(c.getName());
+		sections.add(c.getSection());
+		courses.add(c);
+	}
+
+	/**
+	 * Adds a delete of a section to the end of the delta
+	 * @param name the course name
+	 * @param section the section number
+	 * @throws IllegalArgumentException if the name or section is null
+	 */
+	public void delete(String name, String section) {
+		if (name == null || section == null) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		names.add(name);
+		sections.add(section);
+		courses.add(null);
+	}
+
+	/**
+	 * Gets the number of changes in the delta
+	 * @return the number of changes
+	 */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Gets the course name a change is keyed by
+	 * @param idx the position of the change
+	 * @return the course name
+	 */
+	public String getName(int idx) {
+		return names.get(idx);
+	}
+
+	/**
+	 * Gets the section number a change is keyed by
+	 * @param idx the position of the change
+	 * @return the section number
+	 */
+	public String getSection(int idx) {
+		return sections.get(idx);
+	}
+
+	/**
+	 * Checks if a change is a delete
+	 * @param idx the position of the change
+	 * @return true for a delete, false for an upsert
+	 */
+	public boolean isDelete(int idx) {
+		return courses.get(idx) == null;
+	}
+
+	/**
+	 * Gets the section an upsert puts in the catalog
+	 * @param idx the position of the change
+	 * @return the new section, or null if the change is a delete
+	 */
+	public Course getCourse(int idx) {
+		return courses.get(idx);
+	}
+
+	/**
+	 * Returns one change per line, in the delta file format
+	 * @return the delta as a string
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size(); i++) {
+			if (isDelete(i)) {
+				sb.append("D,").append(names.get(i)).append(",").append(sections.get(i));
+			} else {
+				sb.append("U,").append(courses.get(i).toString());
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * The result of parsing one line of a course record file: either the Course on the line,
+ * or where on the line parsing failed and why.
+ * @author Noah Benveniste
+ */
+public class CourseParseResult {
+
+	/** The course read, or null if the line was rejected */
+	private Course course;
+	/** The 1-based line number in the file */
+	private int lineNumber;
+	/** The 1-based column where the rejected field starts, or 0 if the line was read */
+	private int column;
+	/** Why the line was rejected, or null if it was read */
+	private String reason;
+
+	/**
+	 * Constructs the result for a line that was read
+	 * @param course the course on the line
+	 * @param lineNumber the 1-based line number in the file
+	 */
+	public CourseParseResult(Course course, int lineNumber) {
+		this.course = course;
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Constructs the result for a line that was rejected
+	 * @param lineNumber the 1-based line number in the file
+	 * @param column the 1-based column where the rejected field starts
+	 * @param reason why the line was rejected
+	 */
+	public CourseParseResult(int lineNumber, int column, String reason) {
+		this.lineNumber = lineNumber;
+		this.column = column;
+		this.reason = reason;
+	}
+
+	/**
+	 * Tells whether the line was read
+	 * @return true if the line held a valid course
+	 */
+	public boolean isValid() {
+		return course != null;
+	}
+
+	/**
+	 * Gets the course read from the line
+	 * @return the course, or null if the line was rejected
+	 */
+	public Course getCourse() {
+		return course;
+	}
+
+	/**
+	 * Gets the line number
+	 * @return the 1-based line number in the file
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the column where the rejected field starts. A missing field is reported just
+	 * past the end of the line.
+	 * @return the 1-based column, or 0 if the line was read
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Gets why the line was rejected
+	 * @return the reason, or null if the line was read
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * Returns the location and reason of a rejected line, or the course read from a valid one
+	 * @return the result as a string
+	 */
+	@Override
+	public String toString() {
+		if (isValid()) {
+			return "Line " + lineNumber + ": " + course.toString();
+		}
+		return "Line " + lineNumber + ", column " + column + ": " + reason;
+	}
+}
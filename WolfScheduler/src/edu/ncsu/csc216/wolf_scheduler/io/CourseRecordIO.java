@@ -1,20 +1,56 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.NoSuchElementException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.MetricsSink;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Trace;
 
 /**
- * Reads Course records from text files.  Writes a set of CourseRecords to a file.
+ * Reads Course records from text files, which may be gzip compressed.  Writes a set of 
+ * CourseRecords to a file.
  * @author Noah Benveniste
  * @author Sarah Heckman
  */
 public class CourseRecordIO {
 
+	/** Most fields a course record has */
+	private static final int MAX_FIELDS = 9;
+	/** Reasons a line is rejected when it has only as many fields as the index */
+	private static final String[] MISSING = {"Missing course name.", "Missing course title.", 
+		"Missing section.", "Missing credits.", "Missing instructor id.", "Missing meeting days."};
+	/** Returned by parseInt() for text that is not an int */
+	static final long NOT_AN_INT = Long.MIN_VALUE;
+	/** First byte of every gzip file */
+	private static final int GZIP_MAGIC_1 = 0x1f;
+	/** Second byte of every gzip file */
+	private static final int GZIP_MAGIC_2 = 0x8b;
+	
+	/** Merge precedence where a section in an earlier file wins over the same section in a later one */
+	public static final int FIRST_WINS = 0;
+	/** Merge precedence where a section in a later file wins over the same section in an earlier one */
+	public static final int LAST_WINS = 1;
+	/** Merge precedence where a section in the most recently modified file wins, then the later file */
+	public static final int NEWEST_FILE_WINS = 2;
+
     /**
      * Reads course records from a file and generates a list of valid Courses.  Any invalid
      * Courses are ignored.  If the file to read cannot be found or the permissions are incorrect
@@ -24,114 +60,481 @@ public class CourseRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
      */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));
+	    return readCourseRecords(fileName, null, null);
+	}
+	
+    /**
+     * Reads course records from a file and generates a list of valid Courses, reporting each
+     * valid Course to a listener as it is read.  Any invalid Courses are ignored.  If the 
+     * listener asks to stop, the Courses read so far are returned.
+     * @param fileName file to read Course records from
+     * @param listener the listener to report Courses and progress to, or null for none
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseRecordListener listener) 
+			throws FileNotFoundException {
+	    return readCourseRecords(fileName, listener, null);
+	}
+	
+    /**
+     * Reads course records from a file and generates a list of valid Courses, adding the line
+     * number, column, and reason for every line that is not loaded to a report.
+     * @param fileName file to read Course records from
+     * @param report the report to add rejected lines to
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+	public static ArrayList<Course> readCourseRecords(String fileName, RejectionReport report) 
+			throws FileNotFoundException {
+	    return readCourseRecords(fileName, null, report);
+	}
+	
+    /**
+     * Reads course records from a file and generates a list of valid Courses, reporting each
+     * valid Course to a listener as it is read and each line that is not loaded, because it
+     * is invalid or repeats a section already read, to a report.  If the listener asks to 
+     * stop, the Courses read so far are returned.  A file that starts with the gzip magic 
+     * bytes is decompressed as it is read, whatever its name, and progress is reported in
+     * compressed bytes.
+     * @param fileName file to read Course records from
+     * @param listener the listener to report Courses and progress to, or null for none
+     * @param report the report to add rejected lines to, or null for none
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseRecordListener listener, 
+			RejectionReport report) throws FileNotFoundException {
+	    MetricsSink metrics = Metrics.getSink();
+	    long start = metrics.isEnabled() ? System.nanoTime() : 0;
+	    int lines = 0;
+	    int rejected = 0;
+	    InputStream in = openCourseRecords(fileName);
+	    GzipReadAheadStream gzip = in instanceof GzipReadAheadStream ? (GzipReadAheadStream) in : null;
+	    Scanner fileReader = new Scanner(in);
+	    Trace trace = Metrics.getTracer().begin(Metrics.CATALOG_LOAD);
+	    trace.set(Metrics.FILE, fileName);
+	    long totalBytes = new File(fileName).length();
+	    long bytesRead = 0;
 	    
 	    //Generate the array list to contain the course objects
 	    ArrayList<Course> courses = new ArrayList<Course>();
+	    //Name and section of every course read, keyed as CatalogIndex keys them
+	    HashSet<String> sections = new HashSet<String>();
 	    
 	    //Continue reading through the file while there are lines to read
 	    while (fileReader.hasNextLine()) {
-	        //Try to read the course
-	    	try {
-	    		//Call the helper class to parse the line and get the course information
-	            Course course = readCourse(fileReader.nextLine());
-	            //If the course can be read, check for duplicates in the arraylist
-	            boolean duplicate = false;
-	            for (int i = 0; i < courses.size(); i++) {
-	                Course c = courses.get(i);
-	                if (course.getName().equals(c.getName()) &&
-	                        course.getSection().equals(c.getSection())) {
-	                    //it's a duplicate
-	                    duplicate = true;
-	                }
-	            }
-	            //If the current course object isn't a duplicate, add it to the arraylist
-	            if (!duplicate) {
-	                courses.add(course);
-	            }
-	        //If the course is invalid, skip the line
-	        } catch (IllegalArgumentException e) {
-	            //skip the line
-	        }
+	    	String line = fileReader.nextLine();
+	    	lines++;
+	    	//Count the line and its line break, without going past the end of the file
+	    	bytesRead = Math.min(totalBytes, gzip != null ? gzip.getCompressedBytesRead() : bytesRead + line.length() + 1);
+	    	//Parse the line, which reports a bad line instead of throwing
+	    	CourseParseResult result = parseCourse(line, lines);
+	    	if (result.isValid()) {
+	    		//If the course can be read, check for a section already read
+	    		Course course = result.getCourse();
+	    		if (!sections.add(course.getName() + "," + course.getSection())) {
+	    			result = new CourseParseResult(lines, 1, "Duplicate section.");
+	    		}
+	    	}
+	    	if (!result.isValid()) {
+	    		//Skip the line
+	    		rejected++;
+	    		if (report != null) {
+	    			report.add(result);
+	    		}
+	    		continue;
+	    	}
+	    	courses.add(result.getCourse());
+	    	//Report the new course, and stop early if the listener asks to
+	    	if (listener != null && !listener.courseRead(result.getCourse(), bytesRead, totalBytes)) {
+	    		break;
+	    	}
 	    }
+	    //A Scanner ends its input at a read failure, which for a compressed file is a corrupt
+	    //or cut off file rather than the end of the catalog
+	    IOException failure = fileReader.ioException();
 	    fileReader.close();
+	    if (failure != null && gzip != null) {
+	    	trace.end();
+	    	throw new FileNotFoundException(fileName + " cannot be decompressed.");
+	    }
+	    if (metrics.isEnabled()) {
+	    	metrics.record(Metrics.CATALOG_LOAD_TIME, System.nanoTime() - start);
+	    	metrics.increment(Metrics.CATALOG_LOAD_COURSES, courses.size());
+	    	metrics.record(Metrics.CATALOG_PARSE_ERRORS, rejected);
+	    }
+	    trace.set(Metrics.LINES, lines);
+	    trace.set(Metrics.REJECTED, rejected);
+	    trace.set(Metrics.COURSES, courses.size());
+	    trace.end();
 	    return courses;
 	}
     
     /**
-     * Helper method that parses individual courses that are read in as lines from the input file
-     * and creates a course object
-     * @param nextLine
-     * @return a course object containing the course data that was given to the method
-     * @throws IllegalArgumentException if the string cannot be read or the string contains
-     * invalid data and the object cannot be created
+     * Reads several course record files into one catalog. The files are read at the same time,
+     * one per thread up to the number of processors, so a catalog split across files loads in
+     * about the time of its largest file. A section in more than one file is kept once, from
+     * the file the precedence picks, at the place it first appears. Sections within a file
+     * are checked for duplicates as readCourseRecords(String) does.
+     * @param fileNames files to read Course records from, in order
+     * @param precedence FIRST_WINS, LAST_WINS or NEWEST_FILE_WINS
+     * @return a list of valid Courses, in file order
+     * @throws FileNotFoundException if any file cannot be found or read
+     * @throws IllegalArgumentException if there are no files or the precedence is invalid
      */
-    private static Course readCourse(String nextLine) {
-    	//Create the scanner object
-    	Scanner lineReader = new Scanner(nextLine);
-    	//Specify the token delimiter
-    	lineReader.useDelimiter(",");
-    	
-    	//Initialize variables to store tokens
-    	String courseName = "";
-    	String courseTitle =  "";
-    	String sectionNum = "";
-    	int credits = 0;
-    	String id = "";
-    	String meetingDays = "";
-    	/**
-    	String startTimeString = "";
-    	String endTimeString = "";
-    	*/
-    	int startTime = 0;
-    	int endTime = 0;
-    	Course c = null;
+    public static ArrayList<Course> readCourseRecords(String [] fileNames, int precedence) 
+    		throws FileNotFoundException {
+    	if (fileNames == null || fileNames.length == 0) {
+    		throw new IllegalArgumentException("No catalog files.");
+    	}
+    	if (precedence != FIRST_WINS && precedence != LAST_WINS && precedence != NEWEST_FILE_WINS) {
+    		throw new IllegalArgumentException("Invalid precedence.");
+    	}
+    	//Rank the files so that a section from a higher ranked file replaces one from a lower
+    	long [] rank = new long[fileNames.length];
+    	for (int i = 0; i < fileNames.length; i++) {
+    		if (precedence == FIRST_WINS) {
+    			rank[i] = -i;
+    		} else if (precedence == LAST_WINS) {
+    			rank[i] = i;
+    		} else {
+    			rank[i] = new File(fileNames[i]).lastModified();
+    		}
+    	}
     	
-    	//First, try to read in the tokens from the string
+    	List<ArrayList<Course>> files = readAll(fileNames);
+    	LinkedHashMap<String, Course> merged = new LinkedHashMap<String, Course>();
+    	HashMap<String, Integer> source = new HashMap<String, Integer>();
+    	for (int i = 0; i < files.size(); i++) {
+    		ArrayList<Course> courses = files.get(i);
+    		for (int j = 0; j < courses.size(); j++) {
+    			Course c = courses.get(j);
+    			String key = c.getName() + "," + c.getSection();
+    			Integer from = source.get(key);
+    			//Ties go to the later file; replacing a key keeps its place in the catalog
+    			if (from == null || rank[i] >= rank[from]) {
+    				merged.put(key, c);
+    				source.put(key, i);
+    			}
+    		}
+    	}
+    	ArrayList<Course> catalog = new ArrayList<Course>(merged.size());
+    	Iterator<Course> it = merged.values().iterator();
+    	while (it.hasNext()) {
+    		catalog.add(it.next());
+    	}
+    	return catalog;
+    }
+    
+    /**
+     * Reads course record files on a pool of threads
+     * @param fileNames files to read Course records from
+     * @return the valid Courses of each file, in the order of the files
+     * @throws FileNotFoundException if any file cannot be found or read, for the first such file
+     */
+    private static List<ArrayList<Course>> readAll(String [] fileNames) throws FileNotFoundException {
+    	int threads = Math.min(fileNames.length, Runtime.getRuntime().availableProcessors());
+    	ExecutorService pool = Executors.newFixedThreadPool(threads);
     	try {
-    		//The first element should be a STRING for the COURSE NAME
-    		courseName = lineReader.next();
-    		//The next element should be a STRING for the COURSE TITLE
-    		courseTitle = lineReader.next();
-    		//The next element should be a STRING for the SECTION NUMBER
-    		sectionNum = lineReader.next();
-    		//The next element should be an INTEGER for the NUMBER OF CREDIT HOURS
-    		credits = lineReader.nextInt();
-    		//The next element should be a STRING for the instructor's ID
-    		id = lineReader.next();
-    		//The next element should be a STRING for the MEETING DAYS
-    		meetingDays = lineReader.next();
-    		//Check first that the line contains more tokens
-    		if (lineReader.hasNext() ) {
-    			//The next element should be a INTEGER for the START TIME (assuming the time isn't arranged)	
-    			startTime = lineReader.nextInt();
-    			
-    			//The next element should be a INTEGER for the END TIME (assuming the time isn't arranged)
-    			endTime = lineReader.nextInt();
-    		}	
-    	} catch (NoSuchElementException e) {
-    		//If an exception is thrown while parsing the string,
-    		//close the scanner and then throw an IllegalArgumentException for 
-    		//readCourseRecords().
-    		lineReader.close();
-    		throw new IllegalArgumentException();
+    		List<Future<ArrayList<Course>>> pending = new ArrayList<Future<ArrayList<Course>>>();
+    		for (int i = 0; i < fileNames.length; i++) {
+    			final String fileName = fileNames[i];
+    			pending.add(pool.submit(new Callable<ArrayList<Course>>() {
+    				@Override
+    				public ArrayList<Course> call() throws FileNotFoundException {
+    					return readCourseRecords(fileName);
+    				}
+    			}));
+    		}
+    		List<ArrayList<Course>> files = new ArrayList<ArrayList<Course>>();
+    		for (int i = 0; i < pending.size(); i++) {
+    			try {
+    				files.add(pending.get(i).get());
+    			} catch (ExecutionException e) {
+    				if (e.getCause() instanceof FileNotFoundException) {
+    					throw (FileNotFoundException) e.getCause();
+    				}
+    				if (e.getCause() instanceof RuntimeException) {
+    					throw (RuntimeException) e.getCause();
+    				}
+    				throw new IllegalStateException(e.getCause());
+    			} catch (InterruptedException e) {
+    				Thread.currentThread().interrupt();
+    				throw new FileNotFoundException(fileNames[i] + " was not read.");
+    			}
+    		}
+    		return files;
+    	} finally {
+    		pool.shutdownNow();
+    	}
+    }
+    
+    /**
+     * Reads a catalog delta file. Each line is "U," followed by a course record, which is
+     * checked as readCourseRecords() checks it, or "D,name,section". Lines that are not a
+     * valid change are skipped and added to the report, with columns counted from the start
+     * of the line.
+     * @param fileName file to read changes from, which may be gzip compressed
+     * @param report the report to add rejected lines to, or null for none
+     * @return the valid changes, in file order
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    public static CatalogDelta readCatalogDelta(String fileName, RejectionReport report) 
+    		throws FileNotFoundException {
+    	InputStream in = openCourseRecords(fileName);
+    	Scanner fileReader = new Scanner(in);
+    	CatalogDelta delta = new CatalogDelta();
+    	int lines = 0;
+    	while (fileReader.hasNextLine()) {
+    		String line = fileReader.nextLine();
+    		lines++;
+    		CourseParseResult rejection = null;
+    		if (line.startsWith("U,")) {
+    			CourseParseResult result = parseCourse(line.substring(2), lines);
+    			if (result.isValid()) {
+    				delta.upsert(result.getCourse());
+    			} else {
+    				rejection = new CourseParseResult(lines, result.getColumn() + 2, result.getReason());
+    			}
+    		} else if (line.startsWith("D,")) {
+    			String [] key = line.substring(2).split(",", -1);
+    			if (key.length == 2 && !key[0].isEmpty() && !key[1].isEmpty()) {
+    				delta.delete(key[0], key[1]);
+    			} else {
+    				rejection = new CourseParseResult(lines, 3, "Invalid delete.");
+    			}
+    		} else {
+    			rejection = new CourseParseResult(lines, 1, "Invalid change.");
+    		}
+    		if (rejection != null && report != null) {
+    			report.add(rejection);
+    		}
+    	}
+    	IOException failure = fileReader.ioException();
+    	fileReader.close();
+    	if (failure != null) {
+    		throw new FileNotFoundException(fileName + " cannot be read.");
+    	}
+    	return delta;
+    }
+    
+    /**
+     * Opens a course record file, decompressing it on a background thread if it starts with
+     * the gzip magic bytes
+     * @param fileName file to open
+     * @return the stream of course records
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    static InputStream openCourseRecords(String fileName) throws FileNotFoundException {
+    	BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName), GzipReadAheadStream.CHUNK_SIZE);
+    	try {
+    		in.mark(2);
+    		boolean gzip = in.read() == GZIP_MAGIC_1 && in.read() == GZIP_MAGIC_2;
+    		in.reset();
+    		return gzip ? new GzipReadAheadStream(in) : in;
+    	} catch (IOException e) {
+    		try {
+    			in.close();
+    		} catch (IOException closeFailure) {
+    			//Already failed
+    		}
+    		throw new FileNotFoundException(fileName + " cannot be read.");
+    	}
+    }
+    
+    /**
+     * Parses one line of a course record file.  The fields are checked in order with the same
+     * rules the Course constructors use, so a bad line is reported by its first bad field
+     * without an exception being thrown.
+     * @param line the line to parse
+     * @param lineNumber the 1-based line number, which is reported in the result
+     * @return the course on the line, or the column and reason the line was rejected
+     */
+    public static CourseParseResult parseCourse(String line, int lineNumber) {
+    	//Find where each comma separated field starts, splitting the way a Scanner with a
+    	//comma delimiter does: a comma at the start of the line is skipped, and a comma at
+    	//the end of the line does not start an empty field
+    	int[] starts = new int[MAX_FIELDS + 1];
+    	int fields = 0;
+    	int pos = line.startsWith(",") ? 1 : 0;
+    	while (pos < line.length() && fields < MAX_FIELDS) {
+    		starts[fields++] = pos;
+    		int comma = line.indexOf(',', pos);
+    		pos = comma < 0 ? line.length() + 1 : comma + 1;
+    	}
+    	//Remember where the field after the last one would start, so each field's end is known
+    	starts[fields] = pos;
+    	
+    	//The first six fields are required
+    	if (fields < 6) {
+    		return new CourseParseResult(lineNumber, line.length() + 1, MISSING[fields]);
+    	}
+    	String name = field(line, starts, 0);
+    	if (name.length() < 4 || name.length() > 6) {
+    		return new CourseParseResult(lineNumber, starts[0] + 1, "Invalid course name.");
+    	}
+    	String title = field(line, starts, 1);
+    	if (title.isEmpty()) {
+    		return new CourseParseResult(lineNumber, starts[1] + 1, "Invalid course title.");
+    	}
+    	String section = field(line, starts, 2);
+    	if (!isSection(section)) {
+    		return new CourseParseResult(lineNumber, starts[2] + 1, "Invalid section.");
+    	}
+    	long credits = parseInt(field(line, starts, 3));
+    	if (credits < 1 || credits > 5) {
+    		return new CourseParseResult(lineNumber, starts[3] + 1, "Invalid credits.");
+    	}
+    	String id = field(line, starts, 4);
+    	if (id.isEmpty()) {
+    		return new CourseParseResult(lineNumber, starts[4] + 1, "Invalid instructor id.");
+    	}
+    	String meetingDays = field(line, starts, 5);
+    	if (!isMeetingDays(meetingDays)) {
+    		return new CourseParseResult(lineNumber, starts[5] + 1, "Invalid meeting days.");
+    	}
+    	
+    	//The times are optional, but if there is a start time there must be an end time,
+    	//and a capacity can only follow the times
+    	long startTime = 0;
+    	long endTime = 0;
+    	if (fields > 6) {
+    		startTime = parseInt(field(line, starts, 6));
+    		if (startTime == NOT_AN_INT) {
+    			return new CourseParseResult(lineNumber, starts[6] + 1, "Invalid start time.");
+    		}
+    		if (fields < 8) {
+    			return new CourseParseResult(lineNumber, line.length() + 1, "Missing end time.");
+    		}
+    		endTime = parseInt(field(line, starts, 7));
+    		if (endTime == NOT_AN_INT) {
+    			return new CourseParseResult(lineNumber, starts[7] + 1, "Invalid end time.");
+    		}
+    	}
+    	if (!isTime(startTime)) {
+    		return new CourseParseResult(lineNumber, starts[6] + 1, "Invalid start time.");
+    	}
+    	if (!isTime(endTime)) {
+    		return new CourseParseResult(lineNumber, starts[7] + 1, "Invalid end time.");
+    	}
+    	//An arranged course cannot have both times, and a course cannot end before it starts
+    	if (meetingDays.equals("A") && startTime != 0 && endTime != 0 || startTime > endTime) {
+    		return new CourseParseResult(lineNumber, starts[6] + 1, "Invalid course times.");
     	}
     	
-    	//Once all tokens have been read in, try to create the object
+    	long capacity = Course.UNLIMITED;
+    	if (fields > 8) {
+    		capacity = parseInt(field(line, starts, 8));
+    		if (capacity < 1) {
+    			return new CourseParseResult(lineNumber, starts[8] + 1, "Invalid capacity.");
+    		}
+    	}
+    	
+    	Course c;
     	try {
-    		//If the meeting days is A, call the constructor for an arranged course
     		if (meetingDays.equals("A") && startTime == 0 && endTime == 0) {
-    			c = new Course(courseName, courseTitle, sectionNum, credits, id, meetingDays);
+    			c = new Course(name, title, section, (int) credits, id, meetingDays);
     		} else {
-    			c = new Course(courseName, courseTitle, sectionNum, credits, id, meetingDays, startTime, endTime);
+    			c = new Course(name, title, section, (int) credits, id, meetingDays, (int) startTime, (int) endTime);
     		}
-    		
+    		c.setCapacity((int) capacity);
     	} catch (IllegalArgumentException e) {
-    		lineReader.close();
-    		throw new IllegalArgumentException();
+    		//Only reached if Course gains a rule that is not checked above
+    		return new CourseParseResult(lineNumber, 1, "Invalid course.");
     	}
-    	lineReader.close();
-    	return c;
+    	return new CourseParseResult(c, lineNumber);
 	}
+    
+    /**
+     * Gets a field of a line
+     * @param line the line
+     * @param starts where each field starts, followed by where the next field would start
+     * @param idx the field index
+     * @return the text of the field, without its comma
+     */
+    private static String field(String line, int[] starts, int idx) {
+    	return line.substring(starts[idx], starts[idx + 1] - 1);
+    }
+    
+    /**
+     * Parses a base 10 integer with an optional sign
+     * @param s the text to parse
+     * @return the integer, or NOT_AN_INT if the text is not an int
+     */
+    static long parseInt(String s) {
+    	int i = 0;
+    	boolean negative = false;
+    	if (s.length() > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+    		negative = s.charAt(0) == '-';
+    		i++;
+    	}
+    	if (i == s.length()) {
+    		return NOT_AN_INT;
+    	}
+    	long value = 0;
+    	for (; i < s.length(); i++) {
+    		int digit = Character.digit(s.charAt(i), 10);
+    		if (digit < 0) {
+    			return NOT_AN_INT;
+    		}
+    		value = value * 10 + digit;
+    		if (value > (long) Integer.MAX_VALUE + 1) {
+    			return NOT_AN_INT;
+    		}
+    	}
+    	value = negative ? -value : value;
+    	if (value > Integer.MAX_VALUE) {
+    		return NOT_AN_INT;
+    	}
+    	return value;
+    }
+    
+    /**
+     * Checks a section number, which must be three digits
+     * @param section the section number
+     * @return true if the section number is valid
+     */
+    static boolean isSection(String section) {
+    	if (section.length() != 3) {
+    		return false;
+    	}
+    	for (int i = 0; i < section.length(); i++) {
+    		if (!Character.isDigit(section.charAt(i))) {
+    			return false;
+    		}
+    	}
+    	return true;
+    }
+    
+    /**
+     * Checks a course's meeting days, which must be some of M, T, W, H, and F, or just A
+     * @param meetingDays the meeting days
+     * @return true if the meeting days are valid
+     */
+    private static boolean isMeetingDays(String meetingDays) {
+    	if (meetingDays.isEmpty()) {
+    		return false;
+    	}
+    	for (int i = 0; i < meetingDays.length(); i++) {
+    		char day = meetingDays.charAt(i);
+    		if (day != 'M' && day != 'T' && day != 'W' && day != 'H' && day != 'F' && day != 'A') {
+    			return false;
+    		}
+    		if (day == 'A' && meetingDays.length() > 1) {
+    			return false;
+    		}
+    	}
+    	return true;
+    }
+    
+    /**
+     * Checks a time, which must be between 0 and 2359 with minutes between 0 and 59
+     * @param time the time
+     * @return true if the time is valid
+     */
+    static boolean isTime(long time) {
+    	return time >= 0 && time <= 2359 && time % 100 <= 59;
+    }
 
 }
\ No newline at end of file
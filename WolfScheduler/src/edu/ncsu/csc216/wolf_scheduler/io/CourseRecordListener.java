@@ -0,0 +1,21 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Receives each valid Course as CourseRecordIO reads it from a file, along with how far
+ * through the file the reader is, so that callers can show progress and partial results
+ * while a large catalog loads.
+ * @author Noah Benveniste
+ */
+public interface CourseRecordListener {
+
+	/**
+	 * Called after a valid, non-duplicate Course is read
+	 * @param course the course that was read
+	 * @param bytesRead approximately how many bytes of the file have been read so far
+	 * @param totalBytes the size of the file in bytes
+	 * @return true to keep reading, or false to stop reading the file
+	 */
+	boolean courseRead(Course course, long bytesRead, long totalBytes);
+}
@@ -0,0 +1,358 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Sorts a course record file of any size by course name and section into a new file,
+ * keeping only the first record of each section, without holding the file in memory.
+ * Valid records are collected into runs of at most a fixed number of records, each sorted
+ * and written to a temporary file, and the runs are then merged a fixed number at a time
+ * until one is left. Memory use depends on the run size and the number of runs merged at
+ * once, not on the size of the file. Records are written in the form Course.toString()
+ * gives them, and invalid records are dropped.
+ * @author Noah Benveniste
+ */
+public class CourseRecordSorter {
+
+	/** Default most records held in memory at once */
+	public static final int DEFAULT_RUN_SIZE = 100000;
+	/** Default most runs merged at once */
+	public static final int DEFAULT_FAN_IN = 64;
+	/** Size of the buffer for each run file read or written */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Orders records by course name, then section */
+	private static final Comparator<Record> BY_KEY = new Comparator<Record>() {
+		@Override
+		public int compare(Record a, Record b) {
+			int diff = a.name.compareTo(b.name);
+			return diff != 0 ? diff : a.section.compareTo(b.section);
+		}
+	};
+
+	/** Most records held in memory at once */
+	private int runSize;
+	/** Most runs merged at once */
+	private int fanIn;
+	/** Number of invalid lines dropped by the last sort */
+	private long rejected;
+	/** Number of repeated sections dropped by the last sort */
+	private long duplicates;
+	/** Number of runs the last sort spilled before merging */
+	private int runs;
+
+	/**
+	 * Constructs a sorter with the default run size and fan-in.
+	 */
+	public CourseRecordSorter() {
+		this(DEFAULT_RUN_SIZE, DEFAULT_FAN_IN);
+	}
+
+	/**
+	 * Constructs a sorter
+	 * @param runSize the most records held in memory at once
+	 * @param fanIn the most runs merged at once
+	 * @throws IllegalArgumentException if the run size is less than 1 or the fan-in is less
+	 * than 2
+	 */
+	public CourseRecordSorter(int runSize, int fanIn) {
+		if (runSize < 1) {
+			throw new IllegalArgumentException("Invalid run size.");
+		}
+		if (fanIn < 2) {
+			throw new IllegalArgumentException("Invalid fan-in.");
+		}
+		this.runSize = runSize;
+		this.fanIn = fanIn;
+	}
+
+	/**
+	 * Sorts a course record file into a new file. The input may be gzip compressed. When a
+	 * section appears more than once, the first record of it in the input is kept.
+	 * @param inFile the course record file to sort
+	 * @param outFile the file to write the sorted records to
+	 * @return the number of records written
+	 * @throws IOException if the input cannot be read or the output or temporary files
+	 * cannot be written
+	 */
+	public long sort(String inFile, String outFile) throws IOException {
+		rejected = 0;
+		duplicates = 0;
+		runs = 0;
+		File tempDir = Files.createTempDirectory("catalog-sort").toFile();
+		try {
+			List<File> pending = spill(inFile, tempDir);
+			runs = pending.size();
+			//Merge neighboring runs so that an earlier run always holds earlier records
+			while (pending.size() > fanIn) {
+				List<File> merged = new ArrayList<File>();
+				for (int i = 0; i < pending.size(); i += fanIn) {
+					List<File> group = pending.subList(i, Math.min(i + fanIn, pending.size()));
+					File run = File.createTempFile("run", ".txt", tempDir);
+					merge(group, run);
+					for (int j = 0; j < group.size(); j++) {
+						group.get(j).delete();
+					}
+					merged.add(run);
+				}
+				pending = merged;
+			}
+			return merge(pending, new File(outFile));
+		} finally {
+			File[] left = tempDir.listFiles();
+			for (int i = 0; left != null && i < left.length; i++) {
+				left[i].delete();
+			}
+			tempDir.delete();
+		}
+	}
+
+	/**
+	 * Gets the number of invalid lines the last sort dropped
+	 * @return the number of invalid lines
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Gets the number of repeated sections the last sort dropped
+	 * @return the number of repeated sections
+	 */
+	public long getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Gets the number of sorted runs the last sort wrote before merging
+	 * @return the number of runs
+	 */
+	public int getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Reads the input in runs of at most runSize valid records, writing each run sorted to
+	 * a temporary file
+	 * @param inFile the course record file to sort
+	 * @param tempDir the directory to write runs to
+	 * @return the run files, in input order
+	 * @throws IOException if the input cannot be read or a run cannot be written
+	 */
+	private List<File> spill(String inFile, File tempDir) throws IOException {
+		List<File> files = new ArrayList<File>();
+		ArrayList<Record> run = new ArrayList<Record>();
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				CourseRecordIO.openCourseRecords(inFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+		try {
+			int lineNumber = 0;
+			String line = in.readLine();
+			while (line != null) {
+				lineNumber++;
+				CourseParseResult result = CourseRecordIO.parseCourse(line, lineNumber);
+				if (result.isValid()) {
+					run.add(new Record(result.getCourse()));
+					if (run.size() == runSize) {
+						files.add(writeRun(run, tempDir));
+					}
+				} else {
+					rejected++;
+				}
+				line = in.readLine();
+			}
+		} finally {
+			in.close();
+		}
+		if (!run.isEmpty() || files.isEmpty()) {
+			files.add(writeRun(run, tempDir));
+		}
+		return files;
+	}
+
+	/**
+	 * Sorts a run and writes it to a temporary file, keeping the first record of each
+	 * section, then empties the run
+	 * @param run the records, in input order
+	 * @param tempDir the directory to write the run to
+	 * @return the run file
+	 * @throws IOException if the run cannot be written
+	 */
+	private File writeRun(ArrayList<Record> run, File tempDir) throws IOException {
+		//The sort is stable, so the first record of a section stays ahead of its repeats
+		Collections.sort(run, BY_KEY);
+		File file = File.createTempFile("run", ".txt", tempDir);
+		Writer out = openWriter(file);
+		try {
+			Record last = null;
+			for (int i = 0; i < run.size(); i++) {
+				Record r = run.get(i);
+				if (last != null && BY_KEY.compare(last, r) == 0) {
+					duplicates++;
+				} else {
+					out.write(r.line);
+					out.write('\n');
+					last = r;
+				}
+			}
+		} finally {
+			out.close();
+		}
+		run.clear();
+		return file;
+	}
+
+	/**
+	 * Merges sorted runs into one sorted file, keeping the record from the earliest run
+	 * when a section is in more than one
+	 * @param files the runs, in input order
+	 * @param outFile the file to write
+	 * @return the number of records written
+	 * @throws IOException if a run cannot be read or the file cannot be written
+	 */
+	private long merge(List<File> files, File outFile) throws IOException {
+		PriorityQueue<Head> heads = new PriorityQueue<Head>(files.size(), new Comparator<Head>() {
+			@Override
+			public int compare(Head a, Head b) {
+				int diff = BY_KEY.compare(a.record, b.record);
+				return diff != 0 ? diff : a.run - b.run;
+			}
+		});
+		ArrayList<BufferedReader> readers = new ArrayList<BufferedReader>();
+		Writer out = null;
+		long written = 0;
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(
+						new FileInputStream(files.get(i)), StandardCharsets.UTF_8), BUFFER_SIZE);
+				readers.add(reader);
+				Head head = new Head(reader, i);
+				if (head.advance()) {
+					heads.add(head);
+				}
+			}
+			out = openWriter(outFile);
+			Record last = null;
+			while (!heads.isEmpty()) {
+				Head head = heads.poll();
+				if (last != null && BY_KEY.compare(last, head.record) == 0) {
+					duplicates++;
+				} else {
+					out.write(head.record.line);
+					out.write('\n');
+					last = head.record;
+					written++;
+				}
+				if (head.advance()) {
+					heads.add(head);
+				}
+			}
+		} finally {
+			if (out != null) {
+				out.close();
+			}
+			for (int i = 0; i < readers.size(); i++) {
+				readers.get(i).close();
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Opens a buffered UTF-8 writer over a file
+	 * @param file the file to write
+	 * @return the writer
+	 * @throws IOException if the file cannot be written
+	 */
+	private static Writer openWriter(File file) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+				BUFFER_SIZE);
+	}
+
+	/**
+	 * A course record with the fields it is sorted by
+	 */
+	private static class Record {
+
+		/** The course name */
+		private String name;
+		/** The section number */
+		private String section;
+		/** The record as it is written */
+		private String line;
+
+		/**
+		 * Constructs a record for a course
+		 * @param c the course
+		 */
+		Record(Course c) {
+			this.name = c.getName();
+			this.section = c.getSection();
+			this.line = c.toString();
+		}
+
+		/**
+		 * Constructs a record from a line of a run, which always starts with the name and
+		 * has the section as its third field
+		 * @param line the line
+		 */
+		Record(String line) {
+			int nameEnd = line.indexOf(',');
+			int titleEnd = line.indexOf(',', nameEnd + 1);
+			int sectionEnd = line.indexOf(',', titleEnd + 1);
+			this.name = line.substring(0, nameEnd);
+			this.section = line.substring(titleEnd + 1, sectionEnd);
+			this.line = line;
+		}
+	}
+
+	/**
+	 * The next record of a run being merged
+	 */
+	private static class Head {
+
+		/** Reader over the run */
+		private BufferedReader reader;
+		/** Position of the run in input order */
+		private int run;
+		/** The current record */
+		private Record record;
+
+		/**
+		 * Constructs a head before the first record of a run
+		 * @param reader reader over the run
+		 * @param run position of the run in input order
+		 */
+		Head(BufferedReader reader, int run) {
+			this.reader = reader;
+			this.run = run;
+		}
+
+		/**
+		 * Moves to the next record of the run
+		 * @return false if the run has no more records
+		 * @throws IOException if the run cannot be read
+		 */
+		boolean advance() throws IOException {
+			String line = reader.readLine();
+			record = line == null ? null : new Record(line);
+			return line != null;
+		}
+	}
+}
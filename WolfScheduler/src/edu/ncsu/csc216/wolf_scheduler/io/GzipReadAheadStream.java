@@ -0,0 +1,214 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a gzip stream on a background thread, a few large chunks ahead of the
+ * thread reading from it, so that inflating the file and parsing its lines run at the
+ * same time instead of taking turns.
+ * @author Noah Benveniste
+ */
+class GzipReadAheadStream extends InputStream implements Runnable {
+
+	/** Bytes in each decompressed chunk, and in the inflater's input buffer */
+	static final int CHUNK_SIZE = 64 * 1024;
+	/** Most decompressed chunks waiting to be read */
+	static final int CHUNKS_AHEAD = 4;
+	/** Marks the end of the decompressed data */
+	private static final byte[] END = new byte[0];
+
+	/** The compressed stream */
+	private InputStream compressed;
+	/** Number of compressed bytes decompressed so far */
+	private volatile long compressedBytesRead;
+	/** Decompressed chunks, in order, then END */
+	private ArrayBlockingQueue<byte[]> chunks;
+	/** The failure that ended decompression early, or null */
+	private volatile IOException failure;
+	/** The decompression thread */
+	private Thread thread;
+	/** The chunk being read */
+	private byte[] chunk;
+	/** Position of the next byte in the chunk */
+	private int pos;
+	/** True once END has been read */
+	private boolean done;
+
+	/**
+	 * Starts decompressing a stream
+	 * @param compressed the gzip stream, which is closed when this stream is
+	 */
+	GzipReadAheadStream(InputStream compressed) {
+		this.compressed = new FilterInputStream(compressed) {
+			@Override
+			public int read() throws IOException {
+				int b = super.read();
+				if (b >= 0) {
+					compressedBytesRead++;
+				}
+				return b;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				int n = super.read(b, off, len);
+				if (n > 0) {
+					compressedBytesRead += n;
+				}
+				return n;
+			}
+		};
+		this.chunks = new ArrayBlockingQueue<byte[]>(CHUNKS_AHEAD);
+		this.chunk = END;
+		this.thread = new Thread(this, "catalog-gunzip");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Gets the number of compressed bytes decompressed so far, which runs a few chunks
+	 * ahead of the bytes read from this stream
+	 * @return the compressed bytes read
+	 */
+	long getCompressedBytesRead() {
+		return compressedBytesRead;
+	}
+
+	/**
+	 * Decompresses the stream into chunks until it ends, fails, or this stream is closed
+	 */
+	@Override
+	public void run() {
+		GZIPInputStream in = null;
+		try {
+			in = new GZIPInputStream(compressed, CHUNK_SIZE);
+			while (true) {
+				byte[] buf = new byte[CHUNK_SIZE];
+				int n = 0;
+				int read = 0;
+				while (n < buf.length && (read = in.read(buf, n, buf.length - n)) > 0) {
+					n += read;
+				}
+				if (n > 0) {
+					chunks.put(n == buf.length ? buf : Arrays.copyOf(buf, n));
+				}
+				if (read < 0) {
+					break;
+				}
+			}
+			chunks.put(END);
+		} catch (IOException e) {
+			failure = e;
+			try {
+				chunks.put(END);
+			} catch (InterruptedException closed) {
+				//Closed before the failure was read
+			}
+		} catch (InterruptedException e) {
+			//Closed before the end of the stream
+		} finally {
+			//Frees the inflater now rather than when it is collected
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					//Already closed
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads one decompressed byte
+	 * @return the byte, or -1 at the end of the stream
+	 * @throws IOException if the stream could not be decompressed
+	 */
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		return chunk[pos++] & 0xFF;
+	}
+
+	/**
+	 * Reads decompressed bytes, from at most one chunk
+	 * @param b the array to read into
+	 * @param off the index to read to
+	 * @param len the most bytes to read
+	 * @return the number of bytes read, or -1 at the end of the stream
+	 * @throws IOException if the stream could not be decompressed
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int n = Math.min(len, chunk.length - pos);
+		System.arraycopy(chunk, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	/**
+	 * Gets the number of decompressed bytes that can be read without waiting
+	 * @return the bytes left in the current chunk
+	 */
+	@Override
+	public int available() {
+		return chunk.length - pos;
+	}
+
+	/**
+	 * Stops decompressing and closes the compressed stream
+	 * @throws IOException if the compressed stream cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		done = true;
+		chunk = END;
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		compressed.close();
+	}
+
+	/**
+	 * Makes sure the current chunk has a byte to read, waiting for the next chunk if needed
+	 * @return false at the end of the stream
+	 * @throws IOException if the stream could not be decompressed
+	 */
+	private boolean fill() throws IOException {
+		while (pos == chunk.length) {
+			if (done) {
+				return false;
+			}
+			try {
+				chunk = chunks.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted.");
+			}
+			pos = 0;
+			if (chunk == END) {
+				done = true;
+				if (failure != null) {
+					throw failure;
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,200 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+
+/**
+ * Writes iCalendar content lines straight into a byte buffer that is drained to a channel
+ * whenever it fills. Text is encoded as UTF-8 a character at a time, escaped as RFC 5545
+ * requires, and folded at 75 octets, so no strings are built along the way.
+ * @author Noah Benveniste
+ */
+class ICalendarWriter {
+
+	/** Size of the output buffer */
+	private static final int BUFFER_SIZE = 16 * 1024;
+	/** Longest content line, in octets, before it is folded */
+	private static final int MAX_LINE = 75;
+
+	/** The channel written to */
+	private WritableByteChannel channel;
+	/** Bytes waiting to be written */
+	private ByteBuffer buffer;
+	/** Octets on the current line */
+	private int lineLength;
+	/** Total bytes written to the channel */
+	private long written;
+
+	/**
+	 * Constructs a writer
+	 * @param channel the channel to write to
+	 */
+	ICalendarWriter(WritableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+
+	/**
+	 * Writes a whole content line that is known to be short ASCII, such as BEGIN:VEVENT
+	 * @param line the line
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter line(String line) throws IOException {
+		return ascii(line).end();
+	}
+
+	/**
+	 * Writes ASCII characters that need no escaping, such as a property name
+	 * @param s the characters
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter ascii(String s) throws IOException {
+		for (int i = 0; i < s.length(); i++) {
+			fold(1);
+			buffer.put((byte) s.charAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a text value, escaping backslashes, semicolons, commas, and line breaks
+	 * @param s the text
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter text(String s) throws IOException {
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\' || c == ';' || c == ',') {
+				fold(2);
+				buffer.put((byte) '\\').put((byte) c);
+			} else if (c == '\n') {
+				fold(2);
+				buffer.put((byte) '\\').put((byte) 'n');
+			} else if (c == '\r') {
+				continue;
+			} else if (c < 0x80) {
+				fold(1);
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				fold(2);
+				buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, s.charAt(++i));
+				fold(4);
+				buffer.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+						.put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				//Unpaired surrogates are replaced, as String.getBytes() does
+				fold(1);
+				buffer.put((byte) '?');
+			} else {
+				fold(3);
+				buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a non-negative number padded with zeros
+	 * @param n the number
+	 * @param digits the least number of digits to write
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter number(int n, int digits) throws IOException {
+		int width = 1;
+		for (int p = 10; p <= n && width < 10; p *= 10) {
+			width++;
+		}
+		width = Math.max(width, digits);
+		fold(width);
+		for (int i = width - 1; i >= 0; i--) {
+			int div = 1;
+			for (int j = 0; j < i; j++) {
+				div *= 10;
+			}
+			buffer.put((byte) ('0' + n / div % 10));
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a date in the basic format, such as 20260819
+	 * @param date the date
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter date(LocalDate date) throws IOException {
+		return number(date.getYear(), 4).number(date.getMonthValue(), 2).number(date.getDayOfMonth(), 2);
+	}
+
+	/**
+	 * Writes a local date and time, such as 20260819T133000, from a military time
+	 * @param date the date
+	 * @param time the time, such as 1330
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter dateTime(LocalDate date, int time) throws IOException {
+		return date(date).ascii("T").number(time, 4).ascii("00");
+	}
+
+	/**
+	 * Ends the current content line
+	 * @return this writer
+	 * @throws IOException if the channel cannot be written
+	 */
+	ICalendarWriter end() throws IOException {
+		reserve(2);
+		buffer.put((byte) '\r').put((byte) '\n');
+		lineLength = 0;
+		return this;
+	}
+
+	/**
+	 * Writes everything still in the buffer to the channel
+	 * @return the total number of bytes written
+	 * @throws IOException if the channel cannot be written
+	 */
+	long flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			written += channel.write(buffer);
+		}
+		buffer.clear();
+		return written;
+	}
+
+	/**
+	 * Makes room for some octets of a value, first folding the line if they would not fit
+	 * on it. A folded line continues after a line break and a space.
+	 * @param octets the octets about to be written, which are never split across lines
+	 * @throws IOException if the channel cannot be written
+	 */
+	private void fold(int octets) throws IOException {
+		if (lineLength + octets > MAX_LINE) {
+			reserve(3);
+			buffer.put((byte) '\r').put((byte) '\n').put((byte) ' ');
+			lineLength = 1;
+		}
+		reserve(octets);
+		lineLength += octets;
+	}
+
+	/**
+	 * Drains the buffer to the channel if it does not have room for some bytes
+	 * @param bytes the bytes about to be written
+	 * @throws IOException if the channel cannot be written
+	 */
+	private void reserve(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+}
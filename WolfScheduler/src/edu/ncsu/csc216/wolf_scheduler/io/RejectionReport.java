@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the lines of a course record file that were not loaded into the catalog, or of
+ * an activity record file that were not restored to a schedule, in file order, so that the
+ * person maintaining the file can see what to fix.
+ * @author Noah Benveniste
+ */
+public class RejectionReport {
+
+	/** The rejected lines */
+	private ArrayList<CourseParseResult> rejections;
+
+	/**
+	 * Constructs an empty report.
+	 */
+	public RejectionReport() {
+		rejections = new ArrayList<CourseParseResult>();
+	}
+
+	/**
+	 * Adds a rejected line to the report
+	 * @param rejection the result for the rejected line
+	 * @throws IllegalArgumentException if the result is null or is not a rejection
+	 */
+	public void add(CourseParseResult rejection) {
+		if (rejection == null || rejection.isValid()) {
+			throw new IllegalArgumentException("Invalid rejection.");
+		}
+		rejections.add(rejection);
+	}
+
+	/**
+	 * Adds a rejected activity record line to the report
+	 * @param rejection the result for the rejected line
+	 * @throws IllegalArgumentException if the result is null or is not a rejection
+	 */
+	public void add(ActivityParseResult rejection) {
+		if (rejection == null || rejection.isValid()) {
+			throw new IllegalArgumentException("Invalid rejection.");
+		}
+		rejections.add(new CourseParseResult(rejection.getLineNumber(), rejection.getColumn(), rejection.getReason()));
+	}
+
+	/**
+	 * Gets the number of rejected lines
+	 * @return the number of rejected lines
+	 */
+	public int size() {
+		return rejections.size();
+	}
+
+	/**
+	 * Gets the rejected lines
+	 * @return an unmodifiable list of the rejected lines, in file order
+	 */
+	public List<CourseParseResult> getRejections() {
+		return Collections.unmodifiableList(rejections);
+	}
+
+	/**
+	 * Returns one rejected line per line of text
+	 * @return the report as a string
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < rejections.size(); i++) {
+			sb.append(rejections.get(i).toString()).append("\n");
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,242 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogIndex;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A course catalog file with its records grouped by department, so that one department
+ * can be read without reading the rest. The file is the department segments one after
+ * another, each made of ordinary course record lines, followed by a footer with one
+ * "department,offset,length,count" line per segment and a fixed length trailer that gives
+ * the offset of the footer. Opening the file reads only the trailer and footer.
+ * @author Noah Benveniste
+ */
+public class SegmentedCatalogFile {
+
+	/** First line of the footer */
+	private static final String FOOTER = "#SEGMENTS";
+	/** Start of the trailer, which is followed by the footer offset */
+	private static final String TRAILER = "#FOOTER,";
+	/** Digits the footer offset is written with */
+	private static final int OFFSET_DIGITS = 19;
+	/** Length of the trailer in bytes, including its line break */
+	private static final int TRAILER_LENGTH = TRAILER.length() + OFFSET_DIGITS + 1;
+
+	/** Name of the file */
+	private String fileName;
+	/** Offset, length and course count of each department's segment, by upper case prefix, in file order */
+	private Map<String, long[]> segments;
+
+	/**
+	 * Constructs a reader over a file whose footer has been read
+	 * @param fileName name of the file
+	 * @param segments offset, length and course count of each department's segment
+	 */
+	private SegmentedCatalogFile(String fileName, Map<String, long[]> segments) {
+		this.fileName = fileName;
+		this.segments = segments;
+	}
+
+	/**
+	 * Writes courses to a segmented catalog file. Departments are written in the order they
+	 * first appear, and each department's courses in catalog order.
+	 * @param fileName the file to write
+	 * @param courses the courses to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(String fileName, List<Course> courses) throws IOException {
+		Map<String, List<Course>> byDepartment = new LinkedHashMap<String, List<Course>>();
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			String department = CatalogIndex.departmentOf(c.getName());
+			List<Course> group = byDepartment.get(department);
+			if (group == null) {
+				group = new ArrayList<Course>();
+				byDepartment.put(department, group);
+			}
+			group.add(c);
+		}
+		OutputStream out = new FileOutputStream(fileName);
+		try {
+			long offset = 0;
+			StringBuilder footer = new StringBuilder(FOOTER).append("\n");
+			for (Map.Entry<String, List<Course>> entry : byDepartment.entrySet()) {
+				ByteArrayOutputStream segment = new ByteArrayOutputStream();
+				List<Course> group = entry.getValue();
+				for (int i = 0; i < group.size(); i++) {
+					segment.write((group.get(i).toString() + "\n").getBytes(StandardCharsets.UTF_8));
+				}
+				segment.writeTo(out);
+				footer.append(entry.getKey()).append(",").append(offset).append(",")
+						.append(segment.size()).append(",").append(group.size()).append("\n");
+				offset += segment.size();
+			}
+			out.write(footer.toString().getBytes(StandardCharsets.UTF_8));
+			String digits = Long.toString(offset);
+			StringBuilder trailer = new StringBuilder(TRAILER);
+			for (int i = digits.length(); i < OFFSET_DIGITS; i++) {
+				trailer.append('0');
+			}
+			trailer.append(digits).append("\n");
+			out.write(trailer.toString().getBytes(StandardCharsets.UTF_8));
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Opens a segmented catalog file, reading only its footer
+	 * @param fileName the file to open
+	 * @return a reader over the file's segments
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read or is not a segmented catalog
+	 */
+	public static SegmentedCatalogFile open(String fileName) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		try {
+			long length = file.length();
+			if (length < TRAILER_LENGTH) {
+				throw new IOException("Not a segmented catalog.");
+			}
+			String trailer = new String(readRange(file, length - TRAILER_LENGTH, TRAILER_LENGTH),
+					StandardCharsets.UTF_8);
+			long footerOffset = trailer.startsWith(TRAILER)
+					? parseOffset(trailer.substring(TRAILER.length(), TRAILER_LENGTH - 1)) : -1;
+			if (footerOffset < 0 || footerOffset > length - TRAILER_LENGTH) {
+				throw new IOException("Not a segmented catalog.");
+			}
+			String footer = new String(readRange(file, footerOffset,
+					(int) (length - TRAILER_LENGTH - footerOffset)), StandardCharsets.UTF_8);
+			String[] lines = footer.split("\n");
+			if (!FOOTER.equals(lines[0])) {
+				throw new IOException("Not a segmented catalog.");
+			}
+			Map<String, long[]> segments = new LinkedHashMap<String, long[]>();
+			for (int i = 1; i < lines.length; i++) {
+				String[] fields = lines[i].split(",");
+				if (fields.length != 4) {
+					throw new IOException("Not a segmented catalog.");
+				}
+				long[] segment = new long[3];
+				for (int j = 0; j < 3; j++) {
+					segment[j] = parseOffset(fields[j + 1]);
+					if (segment[j] < 0) {
+						throw new IOException("Not a segmented catalog.");
+					}
+				}
+				if (segment[0] + segment[1] > footerOffset) {
+					throw new IOException("Not a segmented catalog.");
+				}
+				segments.put(fields[0], segment);
+			}
+			return new SegmentedCatalogFile(fileName, segments);
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Gets the departments in the file
+	 * @return the upper case department prefixes, in file order
+	 */
+	public List<String> getDepartments() {
+		return Collections.unmodifiableList(new ArrayList<String>(segments.keySet()));
+	}
+
+	/**
+	 * Checks if the file has a segment for a department
+	 * @param department the department prefix, in any case
+	 * @return true if the department has courses in the file
+	 */
+	public boolean hasDepartment(String department) {
+		return department != null && segments.containsKey(department.toUpperCase());
+	}
+
+	/**
+	 * Gets the number of courses in a department's segment
+	 * @param department the department prefix, in any case
+	 * @return the number of courses, or 0 if the department is not in the file
+	 */
+	public int getCourseCount(String department) {
+		long[] segment = department == null ? null : segments.get(department.toUpperCase());
+		return segment == null ? 0 : (int) segment[2];
+	}
+
+	/**
+	 * Reads the courses of one department, in the order they were written. Lines that are
+	 * not valid course records are skipped.
+	 * @param department the department prefix, in any case
+	 * @return the department's courses, or an empty list if the department is not in the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public ArrayList<Course> readDepartment(String department) throws IOException {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		long[] segment = department == null ? null : segments.get(department.toUpperCase());
+		if (segment == null) {
+			return courses;
+		}
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		String text;
+		try {
+			text = new String(readRange(file, segment[0], (int) segment[1]), StandardCharsets.UTF_8);
+		} finally {
+			file.close();
+		}
+		int start = 0;
+		int lineNumber = 0;
+		while (start < text.length()) {
+			int end = text.indexOf('\n', start);
+			if (end == -1) {
+				end = text.length();
+			}
+			lineNumber++;
+			CourseParseResult result = CourseRecordIO.parseCourse(text.substring(start, end), lineNumber);
+			if (result.isValid()) {
+				courses.add(result.getCourse());
+			}
+			start = end + 1;
+		}
+		return courses;
+	}
+
+	/**
+	 * Parses an offset, length or count from the footer
+	 * @param s the text to parse
+	 * @return the number, or -1 if the text is not a number that fits in a long
+	 */
+	private static long parseOffset(String s) {
+		try {
+			return Long.parseLong(s);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Reads a range of bytes from a file
+	 * @param file the file
+	 * @param offset where the range starts
+	 * @param length number of bytes in the range
+	 * @return the bytes
+	 * @throws IOException if the file cannot be read or ends before the range does
+	 */
+	private static byte[] readRange(RandomAccessFile file, long offset, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		file.seek(offset);
+		file.readFully(bytes);
+		return bytes;
+	}
+}
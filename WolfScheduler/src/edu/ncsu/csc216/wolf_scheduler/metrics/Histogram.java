@@ -0,0 +1,160 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative long values with fixed relative precision, in the style of
+ * HdrHistogram. Values below 64 are counted exactly. Larger values are counted in buckets
+ * that keep the top six bits of the value, so each bucket spans at most about 3% of the
+ * values in it, and the whole range of long fits in fewer than 2,000 buckets. Recording
+ * is lock-free and never allocates.
+ * @author Noah Benveniste
+ */
+public class Histogram {
+
+	/** Bits of each value kept by its bucket */
+	private static final int PRECISION_BITS = 6;
+	/** Number of buckets for each power of two */
+	private static final int HALF = 1 << (PRECISION_BITS - 1);
+	/** Total number of buckets */
+	private static final int BUCKETS = (64 - PRECISION_BITS + 1) * HALF + HALF;
+
+	/** Count of values in each bucket */
+	private AtomicLongArray counts;
+	/** Number of values recorded */
+	private LongAdder count;
+	/** Sum of the values recorded */
+	private LongAdder total;
+	/** Smallest value recorded */
+	private AtomicLong min;
+	/** Largest value recorded */
+	private AtomicLong max;
+
+	/**
+	 * Constructs an empty histogram.
+	 */
+	public Histogram() {
+		counts = new AtomicLongArray(BUCKETS);
+		count = new LongAdder();
+		total = new LongAdder();
+		min = new AtomicLong(Long.MAX_VALUE);
+		max = new AtomicLong(0);
+	}
+
+	/**
+	 * Records a value. Negative values are recorded as 0.
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		counts.incrementAndGet(bucketOf(v));
+		count.increment();
+		total.add(v);
+		long current = min.get();
+		while (v < current && !min.compareAndSet(current, v)) {
+			current = min.get();
+		}
+		current = max.get();
+		while (v > current && !max.compareAndSet(current, v)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Gets the number of values recorded
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets the sum of the values recorded
+	 * @return the total
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Gets the smallest value recorded
+	 * @return the minimum, or 0 if nothing has been recorded
+	 */
+	public long getMin() {
+		return getCount() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * Gets the largest value recorded
+	 * @return the maximum, or 0 if nothing has been recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Gets the mean of the values recorded
+	 * @return the mean, or 0 if nothing has been recorded
+	 */
+	public double getMean() {
+		long n = getCount();
+		return n == 0 ? 0 : (double) getTotal() / n;
+	}
+
+	/**
+	 * Gets the value at a percentile. The result is the largest value that falls in the
+	 * same bucket as the value at the percentile, capped at the maximum recorded.
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the value at the percentile, or 0 if nothing has been recorded
+	 * @throws IllegalArgumentException if the percentile is not between 0 and 100
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Invalid percentile.");
+		}
+		long n = getCount();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestInBucket(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Finds the bucket for a value
+	 * @param v the non-negative value
+	 * @return the bucket index
+	 */
+	static int bucketOf(long v) {
+		if (v < 2 * HALF) {
+			return (int) v;
+		}
+		//Shift off all but the top PRECISION_BITS bits
+		int shift = 64 - Long.numberOfLeadingZeros(v) - PRECISION_BITS;
+		return shift * HALF + (int) (v >>> shift);
+	}
+
+	/**
+	 * Finds the largest value that falls in a bucket
+	 * @param bucket the bucket index
+	 * @return the largest value in the bucket
+	 */
+	static long highestInBucket(int bucket) {
+		if (bucket < 2 * HALF) {
+			return bucket;
+		}
+		int shift = bucket / HALF - 1;
+		long top = bucket % HALF + HALF;
+		long highest = ((top + 1) << shift) - 1;
+		return highest < 0 ? Long.MAX_VALUE : highest;
+	}
+}
@@ -0,0 +1,99 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics sink that keeps every counter and histogram in memory so they can be read back,
+ * for example by a monitoring endpoint or a test.
+ * @author Noah Benveniste
+ */
+public class InMemoryMetricsSink implements MetricsSink {
+
+	/** Counters by name */
+	private ConcurrentMap<String, LongAdder> counters;
+	/** Histograms by name */
+	private ConcurrentMap<String, Histogram> histograms;
+
+	/**
+	 * Constructs a sink with no metrics.
+	 */
+	public InMemoryMetricsSink() {
+		counters = new ConcurrentHashMap<String, LongAdder>();
+		histograms = new ConcurrentHashMap<String, Histogram>();
+	}
+
+	/**
+	 * This sink always records.
+	 * @return true
+	 */
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * Adds to a counter, creating it if needed
+	 * @param name the counter name
+	 * @param delta the amount to add
+	 */
+	@Override
+	public void increment(String name, long delta) {
+		LongAdder counter = counters.get(name);
+		if (counter == null) {
+			LongAdder created = new LongAdder();
+			counter = counters.putIfAbsent(name, created);
+			if (counter == null) {
+				counter = created;
+			}
+		}
+		counter.add(delta);
+	}
+
+	/**
+	 * Records a value in a histogram, creating it if needed
+	 * @param name the histogram name
+	 * @param value the value to record
+	 */
+	@Override
+	public void record(String name, long value) {
+		getOrCreateHistogram(name).record(value);
+	}
+
+	/**
+	 * Gets the value of a counter
+	 * @param name the counter name
+	 * @return the counter value, or 0 if nothing has been counted
+	 */
+	public long getCount(String name) {
+		LongAdder counter = counters.get(name);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * Gets a histogram
+	 * @param name the histogram name
+	 * @return the histogram, which is empty if nothing has been recorded
+	 */
+	public Histogram getHistogram(String name) {
+		return getOrCreateHistogram(name);
+	}
+
+	/**
+	 * Gets a histogram, creating it if it does not exist
+	 * @param name the histogram name
+	 * @return the histogram
+	 */
+	private Histogram getOrCreateHistogram(String name) {
+		Histogram histogram = histograms.get(name);
+		if (histogram == null) {
+			Histogram created = new Histogram();
+			histogram = histograms.putIfAbsent(name, created);
+			if (histogram == null) {
+				histogram = created;
+			}
+		}
+		return histogram;
+	}
+}
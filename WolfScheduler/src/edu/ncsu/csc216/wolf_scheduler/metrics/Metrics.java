@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * Names of the metrics and traces recorded by WolfScheduler and the io classes, and the
+ * sink and tracer they are recorded to. The default sink and tracer record nothing and
+ * report themselves as disabled, so instrumented code skips timing entirely until a real
+ * one is installed.
+ * @author Noah Benveniste
+ */
+public final class Metrics {
+
+	/** Histogram of catalog load times in nanoseconds */
+	public static final String CATALOG_LOAD_TIME = "catalog.load.time";
+	/** Counter of courses read by catalog loads */
+	public static final String CATALOG_LOAD_COURSES = "catalog.load.courses";
+	/** Histogram of rejected lines per catalog file */
+	public static final String CATALOG_PARSE_ERRORS = "catalog.load.parseErrors";
+	/** Histogram of addCourse() times in nanoseconds */
+	public static final String ADD_COURSE_TIME = "schedule.addCourse.time";
+	/** Counter of courses added to a schedule */
+	public static final String ADD_COURSE_SUCCESS = "schedule.addCourse.success";
+	/** Counter of courses rejected because the schedule already has the course */
+	public static final String ADD_COURSE_DUPLICATE = "schedule.addCourse.duplicate";
+	/** Counter of courses rejected because they are not in the catalog */
+	public static final String ADD_COURSE_FAILURE = "schedule.addCourse.failure";
+	/** Counter of courses rejected because the section has no open seats */
+	public static final String ADD_COURSE_FULL = "schedule.addCourse.full";
+	/** Histogram of addEvent() times in nanoseconds */
+	public static final String ADD_EVENT_TIME = "schedule.addEvent.time";
+	/** Counter of events added to a schedule */
+	public static final String ADD_EVENT_SUCCESS = "schedule.addEvent.success";
+	/** Counter of events rejected because the schedule already has an event with the title */
+	public static final String ADD_EVENT_DUPLICATE = "schedule.addEvent.duplicate";
+	/** Counter of events rejected because they are invalid */
+	public static final String ADD_EVENT_FAILURE = "schedule.addEvent.failure";
+	/** Histogram of addCourses() times in nanoseconds */
+	public static final String ADD_CART_TIME = "schedule.addCart.time";
+	/** Counter of carts added to a schedule */
+	public static final String ADD_CART_SUCCESS = "schedule.addCart.success";
+	/** Counter of carts rejected */
+	public static final String ADD_CART_FAILURE = "schedule.addCart.failure";
+	/** Histogram of removeActivity() times in nanoseconds */
+	public static final String REMOVE_TIME = "schedule.remove.time";
+	/** Counter of activities removed from a schedule */
+	public static final String REMOVE_SUCCESS = "schedule.remove.success";
+	/** Counter of removals with an index outside the schedule */
+	public static final String REMOVE_FAILURE = "schedule.remove.failure";
+	/** Histogram of schedule export times in nanoseconds */
+	public static final String EXPORT_TIME = "schedule.export.time";
+	/** Histogram of exported schedule sizes in bytes */
+	public static final String EXPORT_BYTES = "schedule.export.bytes";
+	/** Counter of students promoted from a waitlist into a section */
+	public static final String WAITLIST_PROMOTED = "waitlist.promoted";
+	/** Counter of students taken off a waitlist because their schedule no longer had room */
+	public static final String WAITLIST_SKIPPED = "waitlist.skipped";
+	/** Histogram of freed seats promoted per waitlist batch */
+	public static final String WAITLIST_BATCH_SIZE = "waitlist.batchSize";
+
+	/** Trace of a catalog load */
+	public static final String CATALOG_LOAD = "catalog.load";
+	/** Trace of an addCourse() call */
+	public static final String ADD_COURSE = "schedule.addCourse";
+	/** Trace of an addEvent() call */
+	public static final String ADD_EVENT = "schedule.addEvent";
+	/** Trace of an addCourses() call */
+	public static final String ADD_CART = "schedule.addCart";
+	/** Trace of a removeActivity() call */
+	public static final String REMOVE = "schedule.remove";
+	/** Trace of a schedule export */
+	public static final String EXPORT = "schedule.export";
+
+	/** Trace field for the file read or written */
+	public static final String FILE = "file";
+	/** Trace field for the number of lines read */
+	public static final String LINES = "lines";
+	/** Trace field for the number of lines rejected */
+	public static final String REJECTED = "rejected";
+	/** Trace field for the number of courses read */
+	public static final String COURSES = "courses";
+	/** Trace field for the number of activities written */
+	public static final String ACTIVITIES = "activities";
+	/** Trace field for the activity added or removed */
+	public static final String ACTIVITY = "activity";
+	/** Trace field for how the operation ended */
+	public static final String OUTCOME = "outcome";
+
+	/** Outcome of an operation that succeeded */
+	public static final String SUCCESS = "success";
+	/** Outcome of an add rejected because the schedule already has the activity */
+	public static final String DUPLICATE = "duplicate";
+	/** Outcome of an add rejected because the section has no open seats */
+	public static final String FULL = "full";
+	/** Outcome of an operation that failed for any other reason */
+	public static final String FAILURE = "failure";
+
+	/** Sink that records nothing */
+	private static final MetricsSink NO_OP = new MetricsSink() {
+
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+
+		@Override
+		public void increment(String name, long delta) {
+			//record nothing
+		}
+
+		@Override
+		public void record(String name, long value) {
+			//record nothing
+		}
+	};
+
+	/** Trace that records nothing */
+	private static final Trace NO_OP_TRACE = new Trace() {
+
+		@Override
+		public void set(String field, String value) {
+			//record nothing
+		}
+
+		@Override
+		public void set(String field, long value) {
+			//record nothing
+		}
+
+		@Override
+		public void end() {
+			//record nothing
+		}
+	};
+
+	/** Tracer that records nothing */
+	private static final Tracer NO_OP_TRACER = new Tracer() {
+
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+
+		@Override
+		public Trace begin(String operation) {
+			return NO_OP_TRACE;
+		}
+	};
+
+	/** The sink metrics are recorded to */
+	private static volatile MetricsSink sink = NO_OP;
+	/** The tracer operations are recorded to */
+	private static volatile Tracer tracer = NO_OP_TRACER;
+
+	/**
+	 * Not constructed.
+	 */
+	private Metrics() {
+	}
+
+	/**
+	 * Gets the sink metrics are recorded to
+	 * @return the current sink
+	 */
+	public static MetricsSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * Sets the sink metrics are recorded to
+	 * @param newSink the sink to use, or null to stop recording
+	 */
+	public static void setSink(MetricsSink newSink) {
+		sink = newSink == null ? NO_OP : newSink;
+	}
+
+	/**
+	 * Gets the tracer operations are recorded to
+	 * @return the current tracer
+	 */
+	public static Tracer getTracer() {
+		return tracer;
+	}
+
+	/**
+	 * Sets the tracer operations are recorded to
+	 * @param newTracer the tracer to use, or null to stop tracing
+	 */
+	public static void setTracer(Tracer newTracer) {
+		tracer = newTracer == null ? NO_OP_TRACER : newTracer;
+	}
+}
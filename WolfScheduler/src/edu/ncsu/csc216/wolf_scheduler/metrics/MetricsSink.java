@@ -0,0 +1,30 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * Destination for the counters and histograms recorded by WolfScheduler and the io
+ * classes. Implementations must be safe to call from several threads at once.
+ * @author Noah Benveniste
+ */
+public interface MetricsSink {
+
+	/**
+	 * Tells callers whether anything is recorded, so that they can skip work such as
+	 * reading the clock when it is not
+	 * @return true if the sink records metrics
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Adds to a counter
+	 * @param name the counter name
+	 * @param delta the amount to add
+	 */
+	void increment(String name, long delta);
+
+	/**
+	 * Records a value, such as a latency in nanoseconds, in a histogram
+	 * @param name the histogram name
+	 * @param value the value to record
+	 */
+	void record(String name, long value);
+}
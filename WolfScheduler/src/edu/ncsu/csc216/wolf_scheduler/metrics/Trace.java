@@ -0,0 +1,29 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * A single operation being traced. Fields are set while the operation runs, and the
+ * trace is ended once when it finishes, whether or not it succeeded. A trace is only
+ * used by the thread that began it.
+ * @author Noah Benveniste
+ */
+public interface Trace {
+
+	/**
+	 * Sets a text field of the trace
+	 * @param field the field name, such as {@link Metrics#FILE}
+	 * @param value the field value
+	 */
+	void set(String field, String value);
+
+	/**
+	 * Sets a numeric field of the trace
+	 * @param field the field name, such as {@link Metrics#LINES}
+	 * @param value the field value
+	 */
+	void set(String field, long value);
+
+	/**
+	 * Marks the end of the operation
+	 */
+	void end();
+}
@@ -0,0 +1,25 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * Receives the start and end of catalog loads and schedule operations, so that each one can
+ * be placed on a timeline by a profiler such as Java Flight Recorder and lined up with the
+ * garbage collection and allocation around it. Implementations must be safe to call from
+ * several threads at once.
+ * @author Noah Benveniste
+ */
+public interface Tracer {
+
+	/**
+	 * Tells callers whether anything is traced, so that they can skip building trace fields
+	 * when it is not
+	 * @return true if operations are traced
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Marks the start of an operation
+	 * @param operation the operation name, such as {@link Metrics#ADD_COURSE}
+	 * @return the trace to fill in and end when the operation finishes
+	 */
+	Trace begin(String operation);
+}
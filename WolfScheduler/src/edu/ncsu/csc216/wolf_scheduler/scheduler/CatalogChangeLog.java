@@ -0,0 +1,65 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Records when each section of a catalog was last changed or deleted by a catalog delta,
+ * shared by every WolfScheduler built on that catalog. Each change is numbered, so a
+ * schedule only has to remember the number of the last change it was told about to find
+ * the sections that changed since.
+ * @author Noah Benveniste
+ */
+class CatalogChangeLog {
+
+	/** Number of the latest change */
+	private AtomicLong latest;
+	/** Number of the latest change to each section, keyed by name and section number */
+	private ConcurrentHashMap<String, Long> changed;
+
+	/**
+	 * Constructs a log with no changes.
+	 */
+	CatalogChangeLog() {
+		this.latest = new AtomicLong();
+		this.changed = new ConcurrentHashMap<String, Long>();
+	}
+
+	/**
+	 * Records a change to a section
+	 * @param c the section that was changed or deleted
+	 */
+	void record(Course c) {
+		changed.put(keyOf(c), latest.incrementAndGet());
+	}
+
+	/**
+	 * Gets the number of the latest change
+	 * @return the latest change, or 0 if nothing has changed
+	 */
+	long latest() {
+		return latest.get();
+	}
+
+	/**
+	 * Checks if a section changed after a given change
+	 * @param c the section
+	 * @param since the number of the last change already seen
+	 * @return true if the section changed after it
+	 */
+	boolean changedSince(Course c, long since) {
+		Long last = changed.get(keyOf(c));
+		return last != null && last > since;
+	}
+
+	/**
+	 * Builds the key for a section
+	 * @param c the section
+	 * @return the key for the section
+	 */
+	private static String keyOf(Course c) {
+		return c.getName() + "," + c.getSection();
+	}
+}
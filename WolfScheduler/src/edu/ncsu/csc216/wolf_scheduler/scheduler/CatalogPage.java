@@ -0,0 +1,40 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+/**
+ * A page of the course catalog's rows along with the size of the catalog, both read at the
+ * same time so that they agree while the catalog is being changed.
+ * @author Noah Benveniste
+ */
+public class CatalogPage {
+
+	/** Number of courses in the catalog when the page was read */
+	private int total;
+	/** The name, section, title, and meeting string of each course on the page */
+	private String[][] rows;
+
+	/**
+	 * Constructs a page
+	 * @param total number of courses in the catalog when the page was read
+	 * @param rows the rows of the courses on the page
+	 */
+	CatalogPage(int total, String[][] rows) {
+		this.total = total;
+		this.rows = rows;
+	}
+
+	/**
+	 * Gets the number of courses in the catalog when the page was read
+	 * @return the size of the catalog
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * Gets the rows of the courses on the page, in catalog order
+	 * @return the name, section, title, and meeting string of each course
+	 */
+	public String[][] getRows() {
+		return rows;
+	}
+}
@@ -0,0 +1,897 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityParseResult;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+
+/**
+ * Write-ahead journal for many schedules built on one catalog, so that schedules survive
+ * a crash without being exported. Every added or removed activity, reset, and title change
+ * is appended to the journal before it is made, and a change that cannot be appended is not
+ * made. The scheduler then waits for the record to be written to a single journal file and
+ * forced to the disk after releasing its monitor, before the change is acknowledged; if
+ * that write fails, the caller is told and the journal refuses every later change. Threads
+ * that change different schedules at the same time share one write and one force of the
+ * file, so durability costs a sequential write per batch of changes rather than per change,
+ * and no thread waits on the disk while holding a scheduler or a monitor.
+ * <p>
+ * After every {@code snapshotInterval} changes, a background thread starts a new journal
+ * file and writes each schedule to a snapshot in the ActivityRecordIO format. Recovery
+ * reads the newest complete snapshot and replays the journal files written since. Replaying
+ * a change is idempotent, so changes made while a snapshot is being written may be replayed
+ * over a snapshot that already has them. The snapshot thread reads each schedule while
+ * holding its monitor, which the scheduler holds while it changes the schedule.
+ * <p>
+ * Journal records are lines of the form "id,op,record", where op is A (add), R (remove),
+ * X (reset), T (title), or D (drop) and record is the activity record or title. Snapshots
+ * hold one file of activity records per schedule and a titles file of "id,title" lines.
+ * Backslashes and line breaks in records and titles are escaped as \\, \n and \r, so
+ * free text such as event details cannot break a line.
+ * @author Noah Benveniste
+ */
+public class ScheduleJournal {
+
+	/** Number of changes between snapshots when none is given */
+	public static final int DEFAULT_SNAPSHOT_INTERVAL = 10000;
+
+	/** Prefix of journal file names, which end with the generation */
+	private static final String JOURNAL_PREFIX = "journal.";
+	/** Prefix of snapshot directory names, which end with the generation */
+	private static final String SNAPSHOT_PREFIX = "snapshot.";
+	/** Suffix of a snapshot directory that is still being written */
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Suffix of the schedule files in a snapshot */
+	private static final String SCHEDULE_SUFFIX = ".txt";
+	/** Name of the file of schedule titles in a snapshot */
+	private static final String TITLES = "titles";
+
+	/** Journal op for an added activity */
+	private static final char ADD = 'A';
+	/** Journal op for a removed activity */
+	private static final char REMOVE = 'R';
+	/** Journal op for a reset schedule */
+	private static final char RESET = 'X';
+	/** Journal op for a new title */
+	private static final char TITLE = 'T';
+	/** Journal op for a schedule that is no longer kept */
+	private static final char DROP = 'D';
+
+	/** Directory holding the journal files and snapshots */
+	private File directory;
+	/** Scheduler whose catalog the schedules are built on */
+	private WolfScheduler catalog;
+	/** Number of changes between snapshots */
+	private int snapshotInterval;
+	/** Journaled schedules by id */
+	private ConcurrentHashMap<String, WolfScheduler> schedules;
+	/** Number of recovered changes that could not be applied */
+	private int skipped;
+
+	/** Number of the last record each thread appended and has not yet waited for */
+	private final ThreadLocal<Long> unawaited = new ThreadLocal<Long>();
+
+	/** Guards the fields below */
+	private final ReentrantLock lock = new ReentrantLock();
+	/** Signalled when a batch is written, a snapshot is requested, or the journal is closed */
+	private final Condition changed = lock.newCondition();
+	/** Records appended but not yet written */
+	private StringBuilder buffer;
+	/** Number of records appended */
+	private long appended;
+	/** Number of records written and forced to the disk */
+	private long durable;
+	/** True while a thread is writing a batch */
+	private boolean flushing;
+	/** True once a write has failed, after which no record is durable */
+	private boolean failed;
+	/** Number of records appended since the last snapshot started */
+	private long sinceSnapshot;
+	/** True when the snapshot thread has been asked for a snapshot */
+	private boolean snapshotRequested;
+	/** True once the journal is closed */
+	private boolean closed;
+	/** The current journal file */
+	private FileChannel channel;
+	/** Generation of the current journal file */
+	private int generation;
+
+	/** Lets one snapshot be written at a time */
+	private final Object snapshotLock = new Object();
+	/** The snapshot thread */
+	private Thread snapshotter;
+
+	/**
+	 * Opens the journal in a directory with the default snapshot interval, recovering the
+	 * schedules it holds
+	 * @param directory the directory, which is created if it does not exist
+	 * @param catalog the scheduler whose catalog the schedules are built on
+	 * @throws IllegalArgumentException if the catalog is null
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	public ScheduleJournal(String directory, WolfScheduler catalog) throws IOException {
+		this(directory, catalog, DEFAULT_SNAPSHOT_INTERVAL);
+	}
+
+	/**
+	 * Opens the journal in a directory, recovering the schedules it holds. The recovered
+	 * schedules are written to a fresh snapshot, so each start begins with a short journal.
+	 * @param directory the directory, which is created if it does not exist
+	 * @param catalog the scheduler whose catalog the schedules are built on
+	 * @param snapshotInterval the number of changes between snapshots
+	 * @throws IllegalArgumentException if the catalog is null or the interval is less than 1
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	public ScheduleJournal(String directory, WolfScheduler catalog, int snapshotInterval) throws IOException {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		if (snapshotInterval < 1) {
+			throw new IllegalArgumentException("Invalid snapshot interval.");
+		}
+		this.directory = new File(directory);
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory);
+		}
+		this.catalog = catalog;
+		this.snapshotInterval = snapshotInterval;
+		this.schedules = new ConcurrentHashMap<String, WolfScheduler>();
+		this.buffer = new StringBuilder();
+
+		recover();
+		Iterator<Map.Entry<String, WolfScheduler>> it = schedules.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, WolfScheduler> e = it.next();
+			attach(e.getKey(), e.getValue());
+		}
+		snapshot();
+
+		snapshotter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runSnapshots();
+			}
+		}, "journal-snapshot");
+		snapshotter.setDaemon(true);
+		snapshotter.start();
+	}
+
+	/**
+	 * Gets the journaled schedule with an id, starting an empty one built on the catalog
+	 * if there is none
+	 * @param id the schedule id, made of letters, digits, '-', and '_'
+	 * @return the schedule, whose changes are journaled
+	 * @throws IllegalArgumentException if the id is not valid
+	 */
+	public WolfScheduler open(String id) {
+		checkId(id);
+		synchronized (schedules) {
+			WolfScheduler ws = schedules.get(id);
+			if (ws == null) {
+				ws = new WolfScheduler(catalog);
+				schedules.put(id, ws);
+				attach(id, ws);
+			}
+			return ws;
+		}
+	}
+
+	/**
+	 * Gets the journaled schedule with an id
+	 * @param id the schedule id
+	 * @return the schedule, or null if there is none
+	 */
+	public WolfScheduler getSchedule(String id) {
+		return id == null ? null : schedules.get(id);
+	}
+
+	/**
+	 * Gets the ids of every journaled schedule, including those recovered at startup
+	 * @return an unmodifiable set of the ids
+	 */
+	public Set<String> getScheduleIds() {
+		return Collections.unmodifiableSet(schedules.keySet());
+	}
+
+	/**
+	 * Stops journaling a schedule and records that it is no longer kept, so it is not
+	 * recovered. The schedule itself is left unchanged.
+	 * @param id the schedule id
+	 * @return true if the schedule was journaled
+	 * @throws IllegalStateException if the journal cannot be written
+	 */
+	public boolean drop(String id) {
+		WolfScheduler ws;
+		synchronized (schedules) {
+			ws = id == null ? null : schedules.remove(id);
+			if (ws == null) {
+				return false;
+			}
+			ws.setRecorder(null);
+		}
+		append(id, DROP, "");
+		awaitDurable();
+		return true;
+	}
+
+	/**
+	 * Gets the number of recovered changes that could not be applied, such as courses
+	 * that are no longer in the catalog
+	 * @return the number of changes skipped during recovery
+	 */
+	public int getSkippedRecords() {
+		return skipped;
+	}
+
+	/**
+	 * Starts a new journal file and writes every schedule to a snapshot. Older journal
+	 * files and snapshots are deleted once the snapshot is complete, and a snapshot that
+	 * cannot be completed is deleted.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public void snapshot() throws IOException {
+		synchronized (snapshotLock) {
+			int gen = rotate();
+			File temp = new File(directory, SNAPSHOT_PREFIX + gen + TEMP_SUFFIX);
+			deleteTree(temp);
+			if (!temp.mkdir()) {
+				throw new IOException("Cannot create " + temp);
+			}
+			boolean complete = false;
+			try {
+				writeSnapshot(temp);
+				Files.move(temp.toPath(), new File(directory, SNAPSHOT_PREFIX + gen).toPath(),
+						StandardCopyOption.ATOMIC_MOVE);
+				complete = true;
+			} finally {
+				if (!complete) {
+					deleteTree(temp);
+				}
+			}
+			deleteGenerationsBefore(gen);
+		}
+	}
+
+	/**
+	 * Writes every schedule and its title to a snapshot directory
+	 * @param temp the directory
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	private void writeSnapshot(File temp) throws IOException {
+		PrintStream titles = new PrintStream(new File(temp, TITLES), "UTF-8");
+		try {
+			Iterator<Map.Entry<String, WolfScheduler>> it = schedules.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<String, WolfScheduler> e = it.next();
+				WolfScheduler ws = e.getValue();
+				File file = new File(temp, e.getKey() + SCHEDULE_SUFFIX);
+				String title;
+				PrintStream records = new PrintStream(file, "UTF-8");
+				try {
+					synchronized (ws) {
+						List<Activity> activities = ws.getActivities();
+						for (int i = 0; i < activities.size(); i++) {
+							records.println(escape(activities.get(i).toString()));
+						}
+						title = ws.getTitle();
+					}
+				} finally {
+					records.close();
+				}
+				force(file);
+				titles.println(e.getKey() + "," + escape(title));
+			}
+		} finally {
+			titles.close();
+		}
+		force(new File(temp, TITLES));
+	}
+
+	/**
+	 * Writes any records not yet written, stops taking snapshots, and closes the journal
+	 * file. The schedules are no longer journaled.
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void close() throws IOException {
+		synchronized (schedules) {
+			Iterator<WolfScheduler> it = schedules.values().iterator();
+			while (it.hasNext()) {
+				it.next().setRecorder(null);
+			}
+		}
+		long last;
+		lock.lock();
+		try {
+			closed = true;
+			last = appended;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		commit(last);
+		synchronized (snapshotLock) {
+			lock.lock();
+			try {
+				channel.close();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Appends a record without waiting for it to be durable. The calling thread waits for
+	 * it later with awaitDurable().
+	 * @param id the schedule id
+	 * @param op the journal op
+	 * @param record the activity record or title
+	 * @throws IllegalStateException if the journal is closed or a write has failed
+	 */
+	private void append(String id, char op, String record) {
+		long seq;
+		lock.lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("Journal is closed.");
+			}
+			if (failed) {
+				throw new IllegalStateException("Cannot write to journal.");
+			}
+			buffer.append(id).append(',').append(op).append(',').append(escape(record)).append('\n');
+			seq = ++appended;
+			if (++sinceSnapshot >= snapshotInterval && !snapshotRequested) {
+				snapshotRequested = true;
+				changed.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+		unawaited.set(seq);
+	}
+
+	/**
+	 * Waits until every record the calling thread has appended is durable
+	 * @throws IllegalStateException if the journal cannot be written
+	 */
+	private void awaitDurable() {
+		Long seq = unawaited.get();
+		if (seq == null) {
+			return;
+		}
+		unawaited.remove();
+		try {
+			commit(seq);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot write to journal.");
+		}
+	}
+
+	/**
+	 * Waits until a record is durable. If no other thread is writing, this thread writes
+	 * every record appended so far in one batch; otherwise it waits for that thread and
+	 * tries again.
+	 * @param seq the number of the record
+	 * @throws IOException if the journal cannot be written
+	 */
+	private void commit(long seq) throws IOException {
+		while (true) {
+			byte[] batch;
+			long batchEnd;
+			FileChannel ch;
+			lock.lock();
+			try {
+				while (flushing && durable < seq && !failed) {
+					changed.awaitUninterruptibly();
+				}
+				if (failed) {
+					throw new IOException("Journal write failed.");
+				}
+				if (durable >= seq) {
+					return;
+				}
+				flushing = true;
+				batch = buffer.toString().getBytes(StandardCharsets.UTF_8);
+				buffer.setLength(0);
+				batchEnd = appended;
+				ch = channel;
+			} finally {
+				lock.unlock();
+			}
+			boolean written = false;
+			try {
+				writeFully(ch, batch);
+				ch.force(false);
+				written = true;
+			} finally {
+				lock.lock();
+				try {
+					flushing = false;
+					if (written) {
+						durable = batchEnd;
+					} else {
+						failed = true;
+					}
+					changed.signalAll();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes every record appended so far to the current journal file and starts the
+	 * journal file of the next generation
+	 * @return the new generation
+	 * @throws IOException if the journal cannot be written
+	 */
+	private int rotate() throws IOException {
+		lock.lock();
+		try {
+			while (flushing) {
+				try {
+					changed.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted.");
+				}
+			}
+			if (closed) {
+				throw new IOException("Journal is closed.");
+			}
+			if (failed) {
+				throw new IOException("Journal write failed.");
+			}
+			if (channel != null) {
+				writeFully(channel, buffer.toString().getBytes(StandardCharsets.UTF_8));
+				channel.force(false);
+				channel.close();
+				buffer.setLength(0);
+				durable = appended;
+			}
+			generation++;
+			channel = FileChannel.open(new File(directory, JOURNAL_PREFIX + generation).toPath(),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			sinceSnapshot = 0;
+			changed.signalAll();
+			return generation;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes a snapshot each time one is requested, until the journal is closed
+	 */
+	private void runSnapshots() {
+		while (true) {
+			lock.lock();
+			try {
+				while (!snapshotRequested && !closed) {
+					try {
+						changed.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (closed) {
+					return;
+				}
+				snapshotRequested = false;
+			} finally {
+				lock.unlock();
+			}
+			try {
+				snapshot();
+			} catch (IOException e) {
+				//The journal still holds every change, so the next snapshot tries again
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the schedules from the newest complete snapshot and the journal files
+	 * written since
+	 * @throws IOException if the journal cannot be read
+	 */
+	private void recover() throws IOException {
+		TreeMap<Integer, File> journals = new TreeMap<Integer, File>();
+		int base = 0;
+		File[] files = directory.listFiles();
+		if (files == null) {
+			throw new IOException("Cannot read " + directory);
+		}
+		for (int i = 0; i < files.length; i++) {
+			String name = files[i].getName();
+			if (name.endsWith(TEMP_SUFFIX)) {
+				deleteTree(files[i]);
+			} else if (name.startsWith(JOURNAL_PREFIX)) {
+				int gen = generationOf(name, JOURNAL_PREFIX);
+				if (gen > 0) {
+					journals.put(gen, files[i]);
+				}
+			} else if (name.startsWith(SNAPSHOT_PREFIX)) {
+				base = Math.max(base, generationOf(name, SNAPSHOT_PREFIX));
+			}
+		}
+		generation = Math.max(base, journals.isEmpty() ? 0 : journals.lastKey());
+		if (base > 0) {
+			readSnapshot(new File(directory, SNAPSHOT_PREFIX + base));
+		}
+		Iterator<File> it = journals.tailMap(base).values().iterator();
+		while (it.hasNext()) {
+			replay(it.next());
+		}
+	}
+
+	/**
+	 * Rebuilds the schedules in a snapshot
+	 * @param dir the snapshot directory
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	private void readSnapshot(File dir) throws IOException {
+		List<String> titles = Files.readAllLines(new File(dir, TITLES).toPath(), StandardCharsets.UTF_8);
+		for (int i = 0; i < titles.size(); i++) {
+			String line = titles.get(i);
+			int comma = line.indexOf(',');
+			if (comma < 0) {
+				continue;
+			}
+			String id = line.substring(0, comma);
+			WolfScheduler ws = new WolfScheduler(catalog);
+			ws.setTitle(unescape(line.substring(comma + 1)));
+			List<String> records = Files.readAllLines(new File(dir, id + SCHEDULE_SUFFIX).toPath(),
+					StandardCharsets.UTF_8);
+			for (int j = 0; j < records.size(); j++) {
+				ActivityParseResult result = ActivityRecordIO.parseActivity(unescape(records.get(j)), j + 1);
+				if (!result.isValid() || !add(ws, result.getActivity())) {
+					skipped++;
+				}
+			}
+			schedules.put(id, ws);
+		}
+	}
+
+	/**
+	 * Applies the records in a journal file to the schedules. A last line without a line
+	 * break was cut off by a crash and is ignored.
+	 * @param file the journal file
+	 * @throws IOException if the file cannot be read
+	 */
+	private void replay(File file) throws IOException {
+		String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		int start = 0;
+		int end = text.indexOf('\n');
+		while (end >= 0) {
+			if (!apply(text.substring(start, end))) {
+				skipped++;
+			}
+			start = end + 1;
+			end = text.indexOf('\n', start);
+		}
+	}
+
+	/**
+	 * Applies one journal record to the schedules. A change made while a snapshot was being
+	 * written can be both in the snapshot and in the journal after it, so adding an activity
+	 * that is already in the schedule, or removing one that is not, counts as applied.
+	 * @param line the record
+	 * @return true if the record was applied
+	 */
+	private boolean apply(String line) {
+		int comma = line.indexOf(',');
+		if (comma < 0 || line.length() < comma + 3 || line.charAt(comma + 2) != ',') {
+			return false;
+		}
+		String id = line.substring(0, comma);
+		char op = line.charAt(comma + 1);
+		String record = unescape(line.substring(comma + 3));
+		if (op == DROP) {
+			return schedules.remove(id) != null;
+		}
+		WolfScheduler ws = schedules.get(id);
+		if (ws == null) {
+			ws = new WolfScheduler(catalog);
+			schedules.put(id, ws);
+		}
+		if (op == ADD || op == REMOVE) {
+			ActivityParseResult result = ActivityRecordIO.parseActivity(record, 0);
+			if (!result.isValid()) {
+				return false;
+			}
+			if (op == ADD) {
+				return ws.indexOfDuplicate(result.getActivity()) >= 0 || add(ws, result.getActivity());
+			}
+			int idx = indexOf(ws, result.getActivity());
+			return idx < 0 || ws.removeActivity(idx);
+		} else if (op == RESET) {
+			ws.resetSchedule();
+			return true;
+		} else if (op == TITLE) {
+			ws.setTitle(record);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds an activity read from the journal to a schedule. Courses are taken from the
+	 * catalog, so they hold seats in the catalog's sections.
+	 * @param ws the schedule
+	 * @param a the activity
+	 * @return true if the activity was added, false if it is no longer in the catalog,
+	 * full, or already in the schedule
+	 */
+	private static boolean add(WolfScheduler ws, Activity a) {
+		try {
+			if (a instanceof Event) {
+				Event e = (Event) a;
+				ws.addEvent(e.getTitle(), e.getMeetingDays(), e.getStartTime(), e.getEndTime(),
+						e.getWeeklyRepeat(), e.getFirstWeek(), e.getEventDetails());
+				return true;
+			}
+			Course c = (Course) a;
+			return ws.addCourse(c.getName(), c.getSection());
+		} catch (IllegalArgumentException e) {
+			//Already in the schedule or full
+			return false;
+		}
+	}
+
+	/**
+	 * Finds an activity in a schedule. Courses match on name and section, since another
+	 * section of the same course is a different activity, and events match on title.
+	 * @param ws the schedule
+	 * @param a the activity to look for
+	 * @return the index of the activity, or -1 if the schedule does not have it
+	 */
+	private static int indexOf(WolfScheduler ws, Activity a) {
+		synchronized (ws) {
+			List<Activity> activities = ws.getActivities();
+			for (int i = 0; i < activities.size(); i++) {
+				Activity other = activities.get(i);
+				if (a instanceof Course) {
+					if (other instanceof Course && ((Course) other).getName().equals(((Course) a).getName())
+							&& ((Course) other).getSection().equals(((Course) a).getSection())) {
+						return i;
+					}
+				} else if (other.isDuplicate(a)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Journals the changes to a schedule
+	 * @param id the schedule id
+	 * @param ws the schedule
+	 */
+	private void attach(String id, WolfScheduler ws) {
+		ws.setRecorder(new JournalRecorder(id));
+	}
+
+	/**
+	 * Deletes the journal files and snapshots older than a generation
+	 * @param gen the oldest generation to keep
+	 */
+	private void deleteGenerationsBefore(int gen) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (int i = 0; i < files.length; i++) {
+			String name = files[i].getName();
+			int g = name.startsWith(JOURNAL_PREFIX) ? generationOf(name, JOURNAL_PREFIX)
+					: name.startsWith(SNAPSHOT_PREFIX) ? generationOf(name, SNAPSHOT_PREFIX) : -1;
+			if (g > 0 && g < gen) {
+				deleteTree(files[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the generation at the end of a journal file or snapshot name
+	 * @param name the file name
+	 * @param prefix the prefix before the generation
+	 * @return the generation, or -1 if the name does not end with one
+	 */
+	private static int generationOf(String name, String prefix) {
+		String digits = name.substring(prefix.length());
+		if (digits.isEmpty() || digits.length() > 9) {
+			return -1;
+		}
+		for (int i = 0; i < digits.length(); i++) {
+			if (!Character.isDigit(digits.charAt(i))) {
+				return -1;
+			}
+		}
+		return Integer.parseInt(digits);
+	}
+
+	/**
+	 * Checks that a schedule id can be used as a file name and a journal field
+	 * @param id the schedule id
+	 * @throws IllegalArgumentException if the id is null, empty, or has other characters
+	 * than letters, digits, '-', and '_'
+	 */
+	private static void checkId(String id) {
+		if (id == null || id.isEmpty()) {
+			throw new IllegalArgumentException("Invalid schedule id.");
+		}
+		for (int i = 0; i < id.length(); i++) {
+			char c = id.charAt(i);
+			if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+				throw new IllegalArgumentException("Invalid schedule id.");
+			}
+		}
+	}
+
+	/**
+	 * Escapes the backslashes and line breaks in a record or title
+	 * @param s the text
+	 * @return the text on one line
+	 */
+	private static String escape(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\') {
+				sb.append("\\\\");
+			} else if (c == '\n') {
+				sb.append("\\n");
+			} else if (c == '\r') {
+				sb.append("\\r");
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Undoes escape()
+	 * @param s the escaped text
+	 * @return the text as it was before it was escaped
+	 */
+	private static String unescape(String s) {
+		if (s.indexOf('\\') < 0) {
+			return s;
+		}
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\' && i + 1 < s.length()) {
+				char next = s.charAt(++i);
+				sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes all of an array to a channel
+	 * @param ch the channel
+	 * @param bytes the bytes to write
+	 * @throws IOException if the bytes cannot be written
+	 */
+	private static void writeFully(FileChannel ch, byte[] bytes) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		while (buf.hasRemaining()) {
+			ch.write(buf);
+		}
+	}
+
+	/**
+	 * Forces a file's contents to the disk
+	 * @param file the file
+	 * @throws IOException if the file cannot be forced
+	 */
+	private static void force(File file) throws IOException {
+		FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+		try {
+			ch.force(true);
+		} finally {
+			ch.close();
+		}
+	}
+
+	/**
+	 * Deletes a file, or a directory and the files in it
+	 * @param file the file or directory
+	 */
+	private static void deleteTree(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (int i = 0; i < children.length; i++) {
+				deleteTree(children[i]);
+			}
+		}
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+
+	/**
+	 * Journals the changes to one schedule before they are made
+	 */
+	private class JournalRecorder implements ScheduleRecorder {
+
+		/** The schedule id */
+		private String id;
+
+		/**
+		 * Constructs a recorder for a schedule
+		 * @param id the schedule id
+		 */
+		JournalRecorder(String id) {
+			this.id = id;
+		}
+
+		/**
+		 * Journals an activity about to be added
+		 * @param activity the activity
+		 */
+		@Override
+		public void activityAdding(Activity activity) {
+			append(id, ADD, activity.toString());
+		}
+
+		/**
+		 * Journals an activity about to be removed
+		 * @param activity the activity
+		 */
+		@Override
+		public void activityRemoving(Activity activity) {
+			append(id, REMOVE, activity.toString());
+		}
+
+		/**
+		 * Journals a reset
+		 */
+		@Override
+		public void scheduleResetting() {
+			append(id, RESET, "");
+		}
+
+		/**
+		 * Journals a new title
+		 * @param title the new title
+		 */
+		@Override
+		public void titleChanging(String title) {
+			append(id, TITLE, title);
+		}
+
+		/**
+		 * Waits for the records the calling thread appended to be durable
+		 */
+		@Override
+		public void awaitRecorded() {
+			awaitDurable();
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Receives row-level notifications when a WolfScheduler's schedule or catalog changes,
+ * so that views can update only the rows that were affected instead of rebuilding
+ * everything after each change. Listeners are called on the thread that made the change,
+ * after the change has been applied. Schedule changes are reported while the scheduler's
+ * monitor is held, and sections promoted from a waitlist are reported on the waitlist's
+ * background thread, so a view tied to one thread should hand each call over to it.
+ * @author Noah Benveniste
+ */
+public interface ScheduleListener {
+
+	/**
+	 * Called after an activity is added to the schedule
+	 * @param idx the index of the activity in the schedule
+	 * @param activity the activity that was added
+	 */
+	void activityAdded(int idx, Activity activity);
+
+	/**
+	 * Called after an activity is removed from the schedule
+	 * @param idx the index the activity had in the schedule
+	 * @param activity the activity that was removed
+	 */
+	void activityRemoved(int idx, Activity activity);
+
+	/**
+	 * Called after the schedule is reset to empty
+	 * @param oldSize the number of activities the schedule had before the reset
+	 */
+	void scheduleReset(int oldSize);
+
+	/**
+	 * Called after the schedule's title is changed
+	 * @param title the new title
+	 */
+	void titleChanged(String title);
+
+	/**
+	 * Called after a new course catalog is loaded
+	 */
+	void catalogLoaded();
+
+	/**
+	 * Called after courses are appended to the end of the course catalog
+	 * @param firstIdx the catalog index of the first new course
+	 * @param lastIdx the catalog index of the last new course
+	 */
+	void catalogCoursesAdded(int firstIdx, int lastIdx);
+}
@@ -0,0 +1,48 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Records each change to a WolfScheduler's schedule before the change is made. The
+ * scheduler calls the recorder while holding its monitor, once every check on the change
+ * has passed, and drops the change if the recorder cannot take it. A recorder may make a
+ * record durable later: the scheduler calls awaitRecorded() after releasing its monitor
+ * and before returning to its caller, so no thread waits on a slow write while holding
+ * the scheduler.
+ * @author Noah Benveniste
+ */
+interface ScheduleRecorder {
+
+	/**
+	 * Records an activity about to be added to the end of the schedule
+	 * @param activity the activity
+	 * @throws IllegalStateException if the change cannot be recorded
+	 */
+	void activityAdding(Activity activity);
+
+	/**
+	 * Records an activity about to be removed from the schedule
+	 * @param activity the activity
+	 * @throws IllegalStateException if the change cannot be recorded
+	 */
+	void activityRemoving(Activity activity);
+
+	/**
+	 * Records that the schedule is about to be reset to empty
+	 * @throws IllegalStateException if the change cannot be recorded
+	 */
+	void scheduleResetting();
+
+	/**
+	 * Records the schedule's title about to be changed
+	 * @param title the new title
+	 * @throws IllegalStateException if the change cannot be recorded
+	 */
+	void titleChanging(String title);
+
+	/**
+	 * Waits until every change the calling thread has recorded is durable
+	 * @throws IllegalStateException if a recorded change could not be made durable
+	 */
+	void awaitRecorded();
+}
@@ -0,0 +1,290 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.MetricsSink;
+
+/**
+ * First-come, first-served waitlists for the sections of a catalog, shared by every
+ * WolfScheduler built on that catalog. When a seat in a section with a waitlist is given
+ * back, the seat stays taken and is handed to a background thread, which gives it to the
+ * first student on the waitlist whose schedule still has room for the section. Freed seats
+ * are drained in batches, so a rush of drops is promoted by one thread without the students
+ * dropping courses waiting on it.
+ * @author Noah Benveniste
+ */
+class WaitlistDispatcher implements Runnable {
+
+	/** Most freed seats promoted in one batch */
+	static final int BATCH_SIZE = 256;
+
+	/**
+	 * Waiting schedules by "name,section", in the order they joined. Courses are equal by
+	 * value and can be changed in place by a catalog delta, so they are not used as keys.
+	 */
+	private ConcurrentHashMap<String, Queue<WolfScheduler>> waitlists;
+	/** Sections with a seat to promote into, in the order the seats were freed */
+	private LinkedBlockingQueue<Release> pending;
+	/** Number of releases posted but not yet promoted */
+	private int outstanding;
+	/** The dispatcher thread, or null until the first release is posted */
+	private Thread thread;
+
+	/**
+	 * Constructs a dispatcher with no waitlists. The dispatcher thread is started the first
+	 * time it has work to do.
+	 */
+	WaitlistDispatcher() {
+		this.waitlists = new ConcurrentHashMap<String, Queue<WolfScheduler>>();
+		this.pending = new LinkedBlockingQueue<Release>();
+	}
+
+	/**
+	 * Adds a schedule to the end of a section's waitlist, then checks for an open seat in
+	 * case one was freed before the schedule joined
+	 * @param c the section
+	 * @param ws the waiting schedule
+	 * @return the schedule's 1-based position on the waitlist, or 0 if the schedule was
+	 * already on it
+	 */
+	int join(Course c, WolfScheduler ws) {
+		String key = keyOf(c);
+		Queue<WolfScheduler> waitlist = waitlists.get(key);
+		if (waitlist == null) {
+			waitlist = new ConcurrentLinkedQueue<WolfScheduler>();
+			Queue<WolfScheduler> existing = waitlists.putIfAbsent(key, waitlist);
+			if (existing != null) {
+				waitlist = existing;
+			}
+		}
+		if (waitlist.contains(ws)) {
+			return 0;
+		}
+		waitlist.add(ws);
+		//A schedule already taken off the waitlist for a promotion was first in line
+		int position = Math.max(1, positionOf(c, ws));
+		post(new Release(c, false));
+		return position;
+	}
+
+	/**
+	 * Removes a schedule from a section's waitlist
+	 * @param c the section
+	 * @param ws the waiting schedule
+	 * @return true if the schedule was on the waitlist
+	 */
+	boolean leave(Course c, WolfScheduler ws) {
+		Queue<WolfScheduler> waitlist = waitlists.get(keyOf(c));
+		return waitlist != null && waitlist.remove(ws);
+	}
+
+	/**
+	 * Removes a schedule from every waitlist it is on
+	 * @param ws the waiting schedule
+	 */
+	void leaveAll(WolfScheduler ws) {
+		Iterator<Queue<WolfScheduler>> it = waitlists.values().iterator();
+		while (it.hasNext()) {
+			it.next().remove(ws);
+		}
+	}
+
+	/**
+	 * Gets a schedule's place on a section's waitlist
+	 * @param c the section
+	 * @param ws the waiting schedule
+	 * @return the 1-based position, or 0 if the schedule is not on the waitlist
+	 */
+	int positionOf(Course c, WolfScheduler ws) {
+		Queue<WolfScheduler> waitlist = waitlists.get(keyOf(c));
+		if (waitlist == null) {
+			return 0;
+		}
+		int position = 1;
+		Iterator<WolfScheduler> it = waitlist.iterator();
+		while (it.hasNext()) {
+			if (it.next() == ws) {
+				return position;
+			}
+			position++;
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks if anyone is waiting for a section
+	 * @param c the section
+	 * @return true if the section's waitlist is not empty
+	 */
+	boolean hasWaiting(Course c) {
+		Queue<WolfScheduler> waitlist = waitlists.get(keyOf(c));
+		return waitlist != null && !waitlist.isEmpty();
+	}
+
+	/**
+	 * Gives back a seat in a section. If anyone is waiting for the section, the seat is kept
+	 * for the first of them and promoted in the background; otherwise it is open to anyone.
+	 * @param c the section
+	 */
+	void release(Course c) {
+		if (hasWaiting(c)) {
+			post(new Release(c, true));
+		} else {
+			c.releaseSeat();
+		}
+	}
+
+	/**
+	 * Waits for every seat freed so far to be promoted
+	 * @param timeoutMillis the longest time to wait, in milliseconds
+	 * @return true if every seat was promoted, false if the time ran out first
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (outstanding > 0) {
+			long left = deadline - System.currentTimeMillis();
+			if (left <= 0) {
+				return false;
+			}
+			wait(left);
+		}
+		return true;
+	}
+
+	/**
+	 * Promotes freed seats in batches until the thread is interrupted
+	 */
+	@Override
+	public void run() {
+		ArrayList<Release> batch = new ArrayList<Release>();
+		ArrayList<WolfScheduler> promotedSchedules = new ArrayList<WolfScheduler>();
+		while (true) {
+			try {
+				batch.add(pending.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			pending.drainTo(batch, BATCH_SIZE - 1);
+			MetricsSink metrics = Metrics.getSink();
+			int promoted = 0;
+			int skipped = 0;
+			for (int i = 0; i < batch.size(); i++) {
+				int[] counts = promote(batch.get(i), promotedSchedules);
+				promoted += counts[0];
+				skipped += counts[1];
+			}
+			//Promotions are recorded under each scheduler's monitor and waited for once per batch
+			for (int i = 0; i < promotedSchedules.size(); i++) {
+				try {
+					promotedSchedules.get(i).awaitRecorded();
+				} catch (IllegalStateException e) {
+					//The journal refuses the schedule's next change, which reports the failure
+				}
+			}
+			promotedSchedules.clear();
+			if (metrics.isEnabled()) {
+				metrics.increment(Metrics.WAITLIST_PROMOTED, promoted);
+				metrics.increment(Metrics.WAITLIST_SKIPPED, skipped);
+				metrics.record(Metrics.WAITLIST_BATCH_SIZE, batch.size());
+			}
+			synchronized (this) {
+				outstanding -= batch.size();
+				notifyAll();
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Queues a release for the dispatcher thread, starting the thread if needed
+	 * @param r the release
+	 */
+	private void post(Release r) {
+		synchronized (this) {
+			outstanding++;
+			if (thread == null) {
+				thread = new Thread(this, "waitlist-dispatcher");
+				thread.setDaemon(true);
+				thread.start();
+			}
+		}
+		pending.add(r);
+	}
+
+	/**
+	 * Gives the seats open in a section to the students waiting for it. Students whose
+	 * schedules already have the course or something at the same time are taken off the
+	 * waitlist and the seat goes to the next student.
+	 * @param r the release to promote
+	 * @param promotedSchedules the list to add each promoted schedule to
+	 * @return the number of students promoted and the number skipped
+	 */
+	private int[] promote(Release r, ArrayList<WolfScheduler> promotedSchedules) {
+		int[] counts = new int[2];
+		Course c = r.course;
+		boolean held = r.held;
+		Queue<WolfScheduler> waitlist = waitlists.get(keyOf(c));
+		while (waitlist != null && !waitlist.isEmpty()) {
+			if (!held) {
+				if (!c.reserveSeat()) {
+					return counts;
+				}
+				held = true;
+			}
+			WolfScheduler ws = waitlist.poll();
+			if (ws == null) {
+				break;
+			}
+			if (ws.promoteFromWaitlist(c)) {
+				held = false;
+				promotedSchedules.add(ws);
+				counts[0]++;
+			} else {
+				counts[1]++;
+			}
+		}
+		//Nobody was left to take the seat, so it is open to anyone
+		if (held) {
+			c.releaseSeat();
+		}
+		return counts;
+	}
+
+	/**
+	 * Gets the key a section's waitlist is stored under
+	 * @param c the section
+	 * @return the section's name and section number
+	 */
+	static String keyOf(Course c) {
+		return c.getName() + "," + c.getSection();
+	}
+
+	/**
+	 * A section with a seat to promote into
+	 */
+	private static class Release {
+
+		/** The section */
+		private Course course;
+		/** True if the seat is already taken for the waitlist, false to take one if it is open */
+		private boolean held;
+
+		/**
+		 * Constructs a release
+		 * @param course the section
+		 * @param held true if the seat is already taken for the waitlist
+		 */
+		Release(Course course, boolean held) {
+			this.course = course;
+			this.held = held;
+		}
+	}
+}
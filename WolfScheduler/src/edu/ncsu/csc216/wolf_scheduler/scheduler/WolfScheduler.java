@@ -2,17 +2,45 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import edu.ncsu.csc216.wolf_scheduler.calendar.ConflictEngine;
+import edu.ncsu.csc216.wolf_scheduler.calendar.Occurrence;
+import edu.ncsu.csc216.wolf_scheduler.calendar.OccurrenceIndex;
+import edu.ncsu.csc216.wolf_scheduler.calendar.Term;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogIndex;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseSearchIndex;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityParseResult;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogDelta;
 import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.SegmentedCatalogFile;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.MetricsSink;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Trace;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Tracer;
 
 /**
  * Class that handles the creation and manipulation of a schedule of course and a catalog of
- * available courses
+ * available courses. Students can wait for full sections; they are added to the schedule
+ * on a background thread. The methods that read or change the schedule synchronize on the
+ * scheduler, so a promotion from a waitlist never interleaves with another change, and
+ * listeners are told of a promotion on the background thread. A change to a recorded
+ * schedule is recorded while the monitor is held, and the method waits for the record to
+ * be durable only after releasing it.
  * @author Noah Benveniste
  * @author Sarah Heckman
  */
@@ -26,6 +54,37 @@ public class WolfScheduler {
 	private ArrayList<Activity> schedule;
 	/** The title of the schedule */
 	private String title;
+	/** Search index over the course catalog */
+	private CourseSearchIndex searchIndex;
+	/** Instructor and department indexes over the course catalog */
+	private CatalogIndex catalogIndex;
+	/**
+	 * Guards the course catalog and its indexes, which every schedule built on the catalog
+	 * reads while departments and deltas are appended to it
+	 */
+	private ReentrantReadWriteLock catalogLock;
+	/** Waitlists for the catalog's sections, shared by every schedule built on the catalog */
+	private WaitlistDispatcher waitlists;
+	/** Changes made to the catalog's sections by deltas, shared by every schedule built on the catalog */
+	private CatalogChangeLog catalogChanges;
+	/** Number of the last catalog change the schedule's flags were cleared at */
+	private long changesReviewed;
+	/** Segmented catalog file departments are read from the first time they are used, or null */
+	private SegmentedCatalogFile segments;
+	/** Departments already read from the segmented catalog file, shared with the catalog */
+	private Set<String> loadedDepartments;
+	/** Records each change to the schedule before it is made, or null */
+	private volatile ScheduleRecorder recorder;
+	/**
+	 * Keys of the waitlists the schedule is on, guarded by the scheduler's monitor. A
+	 * promotion the dispatcher took off a waitlist before the schedule left it is refused.
+	 */
+	private HashSet<String> waitingFor;
+	/**
+	 * Listeners notified of changes to the schedule and catalog, which can be told of catalog
+	 * changes while the scheduler's monitor is held by another thread
+	 */
+	private CopyOnWriteArrayList<ScheduleListener> listeners;
 	
 	/** Default Schedule Name */
 	public static final String DEFAULT_SCHEDULE_NAME = "My Schedule";
@@ -33,15 +92,19 @@ public class WolfScheduler {
 	/** Constructor */
 	
 	/**
-	 * Constructor for WolfScheduler object. Initializes course catalog and schedule array lists
-	 * and attempts to populate the course catalog with courses from the input file
-	 * @param inFile the name of the file to be read
-	 * @throws IllegalArgumentException if the input file cannot be read
+	 * Constructor for WolfScheduler object with an empty course catalog, which can be filled
+	 * later with loadCourseCatalog() or addCatalogCourses()
 	 */
-	public WolfScheduler(String inFile) {
-		//Create the course catalog
+	public WolfScheduler() {
+		//Create the course catalog and its indexes
 		ArrayList<Course> c = new ArrayList<Course>();
 		this.courseCatalog = c;
+		this.searchIndex = new CourseSearchIndex(c);
+		this.catalogIndex = new CatalogIndex(c);
+		this.catalogLock = new ReentrantReadWriteLock();
+		this.waitlists = new WaitlistDispatcher();
+		this.catalogChanges = new CatalogChangeLog();
+		this.loadedDepartments = ConcurrentHashMap.newKeySet();
 		
 		//Create the schedule
 		ArrayList<Activity> s = new ArrayList<Activity>();
@@ -50,15 +113,344 @@ public class WolfScheduler {
 		//Set the default schedule name
 		this.title = DEFAULT_SCHEDULE_NAME;
 		
+		//Start without any listeners
+		this.listeners = new CopyOnWriteArrayList<ScheduleListener>();
+		this.waitingFor = new HashSet<String>();
+	}
+	
+	/**
+	 * Constructor for WolfScheduler object. Initializes course catalog and schedule array lists
+	 * and attempts to populate the course catalog with courses from the input file
+	 * @param inFile the name of the file to be read
+	 * @throws IllegalArgumentException if the input file cannot be read
+	 */
+	public WolfScheduler(String inFile) {
+		this();
 		//Try to add the courses from the input file to the course catalog
+		loadCourseCatalog(inFile);
+	}
+	
+	/**
+	 * Constructor for a WolfScheduler object with an empty schedule that shares the course
+	 * catalog of another WolfScheduler, so that many schedules can be built from a catalog
+	 * that is only read and indexed once. The catalog is shared as it is now; loading a new
+	 * catalog into either scheduler afterwards does not affect the other, but appending
+	 * courses with addCatalogCourses() does.
+	 * @param catalogSource the scheduler whose catalog is shared
+	 * @throws IllegalArgumentException if catalogSource is null
+	 */
+	public WolfScheduler(WolfScheduler catalogSource) {
+		if (catalogSource == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		this.courseCatalog = catalogSource.courseCatalog;
+		this.searchIndex = catalogSource.searchIndex;
+		this.catalogIndex = catalogSource.catalogIndex;
+		this.catalogLock = catalogSource.catalogLock;
+		this.waitlists = catalogSource.waitlists;
+		this.catalogChanges = catalogSource.catalogChanges;
+		this.segments = catalogSource.segments;
+		this.loadedDepartments = catalogSource.loadedDepartments;
+		this.changesReviewed = this.catalogChanges.latest();
+		this.schedule = new ArrayList<Activity>();
+		this.title = DEFAULT_SCHEDULE_NAME;
+		this.listeners = new CopyOnWriteArrayList<ScheduleListener>();
+		this.waitingFor = new HashSet<String>();
+	}
+
+	/** Methods */
+	
+	/**
+	 * Replaces the course catalog with the courses in the input file and rebuilds the
+	 * catalog indexes so they stay consistent with the new catalog. The schedule is
+	 * left unchanged.
+	 * @param inFile the name of the file to be read
+	 * @throws IllegalArgumentException if the input file cannot be read
+	 */
+	public void loadCourseCatalog(String inFile) {
+		ArrayList<Course> newCatalog;
 		try {
-			this.courseCatalog = CourseRecordIO.readCourseRecords(inFile);
+			newCatalog = CourseRecordIO.readCourseRecords(inFile);
 		} catch (FileNotFoundException e ) {
 			throw new IllegalArgumentException("Cannot find file.");
 		}
+		publishCatalog(newCatalog, null);
+	}
+	
+	/**
+	 * Replaces the course catalog with an empty catalog backed by a segmented catalog file.
+	 * Only the file's footer is read now; each department's courses are read and appended
+	 * to the catalog the first time a course of that department is looked up, the
+	 * department is listed, or a search names it. Until then the catalog size, the catalog
+	 * listing and instructor lookups cover only the departments read so far.
+	 * @param inFile the name of the segmented catalog file
+	 * @throws IllegalArgumentException if the file cannot be found or is not a segmented
+	 * catalog
+	 */
+	public void openSegmentedCatalog(String inFile) {
+		SegmentedCatalogFile file;
+		try {
+			file = SegmentedCatalogFile.open(inFile);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be read.");
+		}
+		publishCatalog(new ArrayList<Course>(), file);
+	}
+	
+	/**
+	 * Reads a department from the segmented catalog file into the catalog, if it has not
+	 * been read already. Every schedule sharing the catalog sees the new courses.
+	 * @param department the department prefix, such as "CSC", in any case
+	 * @return true if the department was read now, false if there is no segmented catalog
+	 * file, the department is not in it, or it was already read
+	 * @throws IllegalArgumentException if the file can no longer be read
+	 */
+	public boolean loadDepartment(String department) {
+		SegmentedCatalogFile file = this.segments;
+		if (file == null || !file.hasDepartment(department)) {
+			return false;
+		}
+		String key = department.toUpperCase();
+		if (this.loadedDepartments.contains(key)) {
+			return false;
+		}
+		synchronized (this.loadedDepartments) {
+			//Only mark the department once its courses are in the catalog, so the check
+			//above never skips a department another thread is still reading
+			if (this.loadedDepartments.contains(key)) {
+				return false;
+			}
+			try {
+				//Read the segment before taking the catalog lock so readers are only held up
+				//while the courses are appended
+				addCatalogCourses(file.readDepartment(key));
+			} catch (IOException e) {
+				throw new IllegalArgumentException("The file cannot be read.");
+			}
+			this.loadedDepartments.add(key);
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the department of a course name from the segmented catalog file, if there is one
+	 * @param name the course name
+	 */
+	private void loadDepartmentOf(String name) {
+		if (this.segments != null && name != null) {
+			loadDepartment(CatalogIndex.departmentOf(name));
+		}
+	}
+	
+	/**
+	 * Replaces the course catalog with the courses in several input files, read at the same
+	 * time and merged into one catalog, and rebuilds the catalog indexes. The schedule is left
+	 * unchanged.
+	 * @param inFiles the names of the files to be read, in order
+	 * @param precedence which copy of a section found in more than one file is kept, one of
+	 * CourseRecordIO.FIRST_WINS, LAST_WINS or NEWEST_FILE_WINS
+	 * @throws IllegalArgumentException if any input file cannot be read, there are no input
+	 * files, or the precedence is invalid
+	 */
+	public void loadCourseCatalog(String [] inFiles, int precedence) {
+		ArrayList<Course> newCatalog;
+		try {
+			newCatalog = CourseRecordIO.readCourseRecords(inFiles, precedence);
+		} catch (FileNotFoundException e ) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		publishCatalog(newCatalog, null);
+	}
+	
+	/**
+	 * Indexes a newly read catalog, replaces the course catalog with it, and tells the
+	 * listeners
+	 * @param newCatalog the catalog read
+	 * @param newSegments the segmented catalog file departments are read from later, or null
+	 */
+	private void publishCatalog(ArrayList<Course> newCatalog, SegmentedCatalogFile newSegments) {
+		//Index the catalog before publishing it so a failed load leaves the old catalog intact
+		CourseSearchIndex newSearchIndex = new CourseSearchIndex(newCatalog);
+		CatalogIndex newCatalogIndex = new CatalogIndex(newCatalog);
+		this.catalogLock.writeLock().lock();
+		try {
+			this.courseCatalog = newCatalog;
+			this.searchIndex = newSearchIndex;
+			this.catalogIndex = newCatalogIndex;
+			this.segments = newSegments;
+			this.loadedDepartments = ConcurrentHashMap.newKeySet();
+		} finally {
+			this.catalogLock.writeLock().unlock();
+		}
+		
+		for (int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).catalogLoaded();
+		}
+	}
+	
+	/**
+	 * Appends courses to the end of the course catalog and adds them to the catalog indexes,
+	 * so that a catalog can be shown while it is still being read. Courses with the same name
+	 * and section as a course already in the catalog are skipped.
+	 * @param courses the courses to append
+	 * @return the number of courses that were added
+	 */
+	public int addCatalogCourses(List<Course> courses) {
+		int firstIdx;
+		int lastIdx;
+		this.catalogLock.writeLock().lock();
+		try {
+			firstIdx = this.courseCatalog.size();
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				//Skip sections that are already in the catalog
+				if (this.catalogIndex.getCourse(c.getName(), c.getSection()) == null) {
+					this.courseCatalog.add(c);
+					this.searchIndex.add(c);
+					this.catalogIndex.add(c);
+				}
+			}
+			lastIdx = this.courseCatalog.size() - 1;
+		} finally {
+			this.catalogLock.writeLock().unlock();
+		}
+		if (lastIdx >= firstIdx) {
+			for (int i = 0; i < this.listeners.size(); i++) {
+				this.listeners.get(i).catalogCoursesAdded(firstIdx, lastIdx);
+			}
+		}
+		return lastIdx - firstIdx + 1;
+	}
+	
+	/**
+	 * Applies a delta read from a file to the course catalog. Lines of the file that are not
+	 * valid changes are skipped.
+	 * @param deltaFile the name of the delta file
+	 * @return the number of sections added, changed or deleted
+	 * @throws IllegalArgumentException if the delta file cannot be read
+	 */
+	public int applyCatalogDelta(String deltaFile) {
+		try {
+			return applyCatalogDelta(CourseRecordIO.readCatalogDelta(deltaFile, null));
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+	}
+	
+	/**
+	 * Applies a delta to the course catalog, in the delta's order. An upsert of a new section
+	 * appends it to the catalog; an upsert of a section already in the catalog changes that
+	 * section in place, so the schedules and waitlists holding it keep their seats and see
+	 * the new details. A delete takes the section out of the catalog but not out of the
+	 * schedules holding it. Changed and deleted sections are flagged in every schedule built
+	 * on the catalog until the schedule's flags are cleared. The indexes are updated section
+	 * by section, so the work grows with the delta rather than the catalog, apart from one
+	 * pass to close the gaps if anything was deleted.
+	 * @param delta the changes to apply
+	 * @return the number of sections added, changed or deleted
+	 * @throws IllegalArgumentException if the delta is null
+	 */
+	public int applyCatalogDelta(CatalogDelta delta) {
+		if (delta == null) {
+			throw new IllegalArgumentException("Invalid delta.");
+		}
+		//Read the sections' departments first so a later read cannot undo the changes
+		for (int i = 0; i < delta.size(); i++) {
+			loadDepartmentOf(delta.getName(i));
+		}
+		int applied;
+		this.catalogLock.writeLock().lock();
+		try {
+			applied = applyChanges(delta);
+		} finally {
+			this.catalogLock.writeLock().unlock();
+		}
+		if (applied > 0) {
+			for (int i = 0; i < this.listeners.size(); i++) {
+				this.listeners.get(i).catalogLoaded();
+			}
+		}
+		return applied;
+	}
+	
+	/**
+	 * Applies a delta's changes to the catalog and its indexes, holding the catalog's write lock
+	 * @param delta the changes
+	 * @return the number of sections added, changed or deleted
+	 */
+	private int applyChanges(CatalogDelta delta) {
+		IdentityHashMap<Course, Boolean> deleted = new IdentityHashMap<Course, Boolean>();
+		int applied = 0;
+		for (int i = 0; i < delta.size(); i++) {
+			Course existing = this.catalogIndex.getCourse(delta.getName(i), delta.getSection(i));
+			if (delta.isDelete(i)) {
+				if (existing != null) {
+					this.catalogIndex.remove(existing);
+					this.searchIndex.remove(existing);
+					deleted.put(existing, Boolean.TRUE);
+					this.catalogChanges.record(existing);
+					applied++;
+				}
+			} else if (existing == null) {
+				Course c = delta.getCourse(i);
+				this.courseCatalog.add(c);
+				this.catalogIndex.add(c);
+				this.searchIndex.add(c);
+				applied++;
+			} else {
+				Course c = delta.getCourse(i);
+				String previousTitle = existing.getTitle();
+				String previousInstructorId = existing.getInstructorId();
+				existing.setTitle(c.getTitle());
+				existing.setCredits(c.getCredits());
+				existing.setInstructorId(c.getInstructorId());
+				existing.setCapacity(c.getCapacity());
+				//Replace the days and times together, since schedules read them without the catalog lock
+				existing.setMeeting(c.getMeetingDays(), c.getStartTime(), c.getEndTime());
+				//Only the instructor group can change, since the name and section are the key
+				this.catalogIndex.changeInstructor(existing, previousInstructorId);
+				this.searchIndex.update(existing, previousTitle, previousInstructorId);
+				this.catalogChanges.record(existing);
+				applied++;
+			}
+		}
+		if (!deleted.isEmpty()) {
+			//Close the gaps left by deleted sections in one pass
+			int kept = 0;
+			for (int i = 0; i < this.courseCatalog.size(); i++) {
+				Course c = this.courseCatalog.get(i);
+				if (!deleted.containsKey(c)) {
+					this.courseCatalog.set(kept++, c);
+				}
+			}
+			while (this.courseCatalog.size() > kept) {
+				this.courseCatalog.remove(this.courseCatalog.size() - 1);
+			}
+		}
+		return applied;
+	}
+	
+	/**
+	 * Registers a listener to be notified of changes to the schedule and catalog
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addScheduleListener(ScheduleListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		this.listeners.add(listener);
+	}
+	
+	/**
+	 * Stops notifying a listener of changes
+	 * @param listener the listener to remove
+	 */
+	public void removeScheduleListener(ScheduleListener listener) {
+		this.listeners.remove(listener);
 	}
-
-	/** Methods */
 	
 	/**
 	 * Attempts to retrieve a course from the course catalog based on an input name and
@@ -69,50 +461,175 @@ public class WolfScheduler {
 	 * catalog or null if the course does not exist
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < this.courseCatalog.size(); i++) {
-			//Check if the currently indexed course in the catalog has the same name and
-			//section as the input name and section
-			if (this.courseCatalog.get(i).getName().equals(name) && 
-					this.courseCatalog.get(i).getSection().equals(section)) {
-				//If true, return the course
-				return this.courseCatalog.get(i);
+		loadDepartmentOf(name);
+		this.catalogLock.readLock().lock();
+		try {
+			//Sections are unique in the catalog, so the index finds the same course a scan would
+			return this.catalogIndex.getCourse(name, section);
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets the number of courses in the course catalog
+	 * @return the size of the course catalog
+	 */
+	public int getCatalogSize() {
+		this.catalogLock.readLock().lock();
+		try {
+			return this.courseCatalog.size();
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets the course at a position in the course catalog without copying the catalog,
+	 * so that views can read only the rows they display
+	 * @param idx the position of the course in the catalog
+	 * @return the course at that position, or null if the position is out of bounds
+	 */
+	public Course getCatalogCourse(int idx) {
+		this.catalogLock.readLock().lock();
+		try {
+			if (idx < 0 || idx >= this.courseCatalog.size()) {
+				return null;
+			}
+			return this.courseCatalog.get(idx);
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets a page of the course catalog's rows and the size of the catalog, read together so
+	 * that a delta applied at the same time cannot leave them disagreeing
+	 * @param offset the position of the first course on the page
+	 * @param limit the most courses on the page
+	 * @return the page, which is empty if the offset is past the end of the catalog
+	 * @throws IllegalArgumentException if the offset or limit is negative
+	 */
+	public CatalogPage getCatalogPage(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		this.catalogLock.readLock().lock();
+		try {
+			int total = this.courseCatalog.size();
+			int end = (int) Math.min((long) offset + limit, total);
+			String[][] rows = new String[Math.max(0, end - offset)][];
+			for (int i = 0; i < rows.length; i++) {
+				rows[i] = this.courseCatalog.get(offset + i).getShortDisplayArray();
 			}
+			return new CatalogPage(total, rows);
+		} finally {
+			this.catalogLock.readLock().unlock();
 		}
-		//If no matches were found while indexing the course catalog, return null
-		return null;
 	}
 	
 	/**
 	 * Checks if a given course (identified by name and section) can be added to the schedule
-	 * and then adds it if allowed
+	 * and then adds it if allowed, taking one of the section's seats
 	 * @param name the name of the course
 	 * @param section the section for the course
 	 * @return true if it can be added (i.e. it is not already in the schedule), false if it 
 	 * does not exist in the course catalog
-	 * @throws IllegalArgumentException if the course is already in the schedule
+	 * @throws IllegalArgumentException if the course is already in the schedule or the
+	 * section has no open seats
 	 */
 	public boolean addCourse(String name, String section) {
+		boolean result = addCourseLocked(name, section);
+		awaitRecorded();
+		return result;
+	}
+	
+	/**
+	 * Does the work of addCourse() while holding the scheduler's monitor
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return true if the course was added, false if it does not exist in the course catalog
+	 * @throws IllegalArgumentException if the course is already in the schedule or the
+	 * section has no open seats
+	 */
+	private synchronized boolean addCourseLocked(String name, String section) {
+		MetricsSink metrics = Metrics.getSink();
+		Tracer tracer = Metrics.getTracer();
+		if (!metrics.isEnabled() && !tracer.isEnabled()) {
+			return checkAddOutcome(name, section, addCourseToSchedule(name, section));
+		}
+		Trace trace = tracer.begin(Metrics.ADD_COURSE);
+		trace.set(Metrics.ACTIVITY, name + "-" + section);
+		long start = System.nanoTime();
+		String outcome = addCourseToSchedule(name, section);
+		if (Metrics.SUCCESS.equals(outcome)) {
+			endOperation(metrics, trace, Metrics.ADD_COURSE_TIME, Metrics.ADD_COURSE_SUCCESS, outcome, start);
+		} else if (Metrics.DUPLICATE.equals(outcome)) {
+			endOperation(metrics, trace, Metrics.ADD_COURSE_TIME, Metrics.ADD_COURSE_DUPLICATE, outcome, start);
+		} else if (Metrics.FULL.equals(outcome)) {
+			endOperation(metrics, trace, Metrics.ADD_COURSE_TIME, Metrics.ADD_COURSE_FULL, outcome, start);
+		} else {
+			endOperation(metrics, trace, Metrics.ADD_COURSE_TIME, Metrics.ADD_COURSE_FAILURE, outcome, start);
+		}
+		return checkAddOutcome(name, section, outcome);
+	}
+	
+	/**
+	 * Turns the outcome of adding a course into addCourse()'s result
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @param outcome the outcome from addCourseToSchedule()
+	 * @return true if the course was added, false if it does not exist in the course catalog
+	 * @throws IllegalArgumentException if the course is already in the schedule or the
+	 * section has no open seats
+	 */
+	private static boolean checkAddOutcome(String name, String section, String outcome) {
+		if (Metrics.DUPLICATE.equals(outcome)) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
+		}
+		if (Metrics.FULL.equals(outcome)) {
+			throw new IllegalArgumentException(name + "-" + section + " is full.");
+		}
+		return Metrics.SUCCESS.equals(outcome);
+	}
+	
+	/**
+	 * Adds a course from the catalog to the schedule, without recording metrics
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return Metrics.SUCCESS if it was added, Metrics.FAILURE if it does not exist in the
+	 * course catalog, Metrics.DUPLICATE if the course is already in the schedule, or
+	 * Metrics.FULL if the section has no open seats or students are waiting for it
+	 */
+	private String addCourseToSchedule(String name, String section) {
 		//First, check that the course actually exists in the catalog
-		if (this.getCourseFromCatalog(name, section) == null) {
-			//Return false if it does not exist
-			return false;
+		Course added = this.getCourseFromCatalog(name, section);
+		if (added == null) {
+			return Metrics.FAILURE;
 		}
 		//Next, check that a course with the same name does not already exist in the schedule
 		for (int i = 0; i < this.schedule.size(); i++) {
 			//Check if the currently indexed course in the schedule has the same name as the input
-			if (this.schedule.get(i).isDuplicate(this.getCourseFromCatalog(name, section))) {
-				//If true, throw an exception
-				throw new IllegalArgumentException("You are already enrolled in " + name);
+			if (this.schedule.get(i).isDuplicate(added)) {
+				return Metrics.DUPLICATE;
 			}
 		}
-		//If the course passed the above two tests, add it to the schedule (the index of 
-		//the added element changes dynamically - if a course is being added to an empty
-		//schedule, the schedule size will be 0 and the course must be assigned to index
-		//0 etc)
-		this.schedule.add(this.schedule.size(), this.getCourseFromCatalog(name, section));
-		//If the loop executes without throwing an exception, the course does not already
-		//exist in the schedule
-		return true;
+		//Take a seat last, so that a rejected add never holds one
+		if (this.waitlists.hasWaiting(added) || !added.reserveSeat()) {
+			return Metrics.FULL;
+		}
+		if (this.recorder != null) {
+			try {
+				this.recorder.activityAdding(added);
+			} catch (IllegalStateException e) {
+				this.waitlists.release(added);
+				throw e;
+			}
+		}
+		//If the course passed the above tests, add it to the end of the schedule
+		this.schedule.add(this.schedule.size(), added);
+		fireActivityAdded(this.schedule.size() - 1, added);
+		return Metrics.SUCCESS;
 	}
 	
 	/**
@@ -126,8 +643,72 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the user attempts to add an event with the same title as another event already in the schedule
 	 */
 	public void addEvent(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, String eventDetails) {
+		addEvent(title, meetingDays, startTime, endTime, weeklyRepeat, 0, eventDetails);
+	}
+	
+	/**
+	 * Adds a user-defined event that first meets in a later week of the term to the schedule
+	 * if an event with the same title does not already exist
+	 * @param title The title of the event
+	 * @param meetingDays The days the event takes place
+	 * @param startTime The start time of the event
+	 * @param endTime The end time of the event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param firstWeek The 0-based week of the term the event first meets in
+	 * @param eventDetails Details describing the event
+	 * @throws IllegalArgumentException if the user attempts to add an event with the same title as another event already in the schedule
+	 */
+	public void addEvent(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, int firstWeek, 
+			String eventDetails) {
+		addEventLocked(title, meetingDays, startTime, endTime, weeklyRepeat, firstWeek, eventDetails);
+		awaitRecorded();
+	}
+	
+	/**
+	 * Does the work of addEvent() while holding the scheduler's monitor
+	 * @param title The title of the event
+	 * @param meetingDays The days the event takes place
+	 * @param startTime The start time of the event
+	 * @param endTime The end time of the event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param firstWeek The 0-based week of the term the event first meets in
+	 * @param eventDetails Details describing the event
+	 * @throws IllegalArgumentException if the event is invalid or an event with the same title is already in the schedule
+	 */
+	private synchronized void addEventLocked(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, int firstWeek, 
+			String eventDetails) {
+		MetricsSink metrics = Metrics.getSink();
+		Tracer tracer = Metrics.getTracer();
+		if (!metrics.isEnabled() && !tracer.isEnabled()) {
+			addEventToSchedule(new Event(title, meetingDays, startTime, endTime, weeklyRepeat, firstWeek, eventDetails));
+			return;
+		}
+		Trace trace = tracer.begin(Metrics.ADD_EVENT);
+		trace.set(Metrics.ACTIVITY, title);
+		long start = System.nanoTime();
 		//Try to create the event
-		Event newEvent = new Event(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+		Event newEvent;
+		try {
+			newEvent = new Event(title, meetingDays, startTime, endTime, weeklyRepeat, firstWeek, eventDetails);
+		} catch (IllegalArgumentException e) {
+			endOperation(metrics, trace, Metrics.ADD_EVENT_TIME, Metrics.ADD_EVENT_FAILURE, Metrics.FAILURE, start);
+			throw e;
+		}
+		try {
+			addEventToSchedule(newEvent);
+		} catch (IllegalArgumentException e) {
+			endOperation(metrics, trace, Metrics.ADD_EVENT_TIME, Metrics.ADD_EVENT_DUPLICATE, Metrics.DUPLICATE, start);
+			throw e;
+		}
+		endOperation(metrics, trace, Metrics.ADD_EVENT_TIME, Metrics.ADD_EVENT_SUCCESS, Metrics.SUCCESS, start);
+	}
+	
+	/**
+	 * Adds an event to the schedule, without recording metrics
+	 * @param newEvent the event to add
+	 * @throws IllegalArgumentException if an event with the same title is already in the schedule
+	 */
+	private void addEventToSchedule(Event newEvent) {
 		//Check that an event with the same title does not already exist
 		for (int i = 0; i < this.schedule.size(); i++) {
 			//Check if the currently indexed activity in the schedule is an event that has
@@ -137,8 +718,12 @@ public class WolfScheduler {
 				throw new IllegalArgumentException("You have already created an event called " + newEvent.getTitle());
 			}
 		}
+		if (this.recorder != null) {
+			this.recorder.activityAdding(newEvent);
+		}
 		//Add the event if it does not already exist
 		this.schedule.add(this.schedule.size(), newEvent);
+		fireActivityAdded(this.schedule.size() - 1, newEvent);
 	}
 	
 	/**
@@ -149,25 +734,452 @@ public class WolfScheduler {
 	 * cannot be removed (it is not in the schedule)
 	 */
 	public boolean removeActivity(int idx) {
+		boolean result = removeActivityLocked(idx);
+		awaitRecorded();
+		return result;
+	}
+	
+	/**
+	 * Does the work of removeActivity() while holding the scheduler's monitor
+	 * @param idx The index of the activity to be removed from the schedule
+	 * @return true if the activity was removed, false if there is no activity at the index
+	 */
+	private synchronized boolean removeActivityLocked(int idx) {
+		MetricsSink metrics = Metrics.getSink();
+		Tracer tracer = Metrics.getTracer();
+		if (!metrics.isEnabled() && !tracer.isEnabled()) {
+			return removeFromSchedule(idx);
+		}
+		Trace trace = tracer.begin(Metrics.REMOVE);
+		if (idx >= 0 && idx < this.schedule.size()) {
+			trace.set(Metrics.ACTIVITY, labelOf(this.schedule.get(idx)));
+		}
+		long start = System.nanoTime();
+		boolean removed = removeFromSchedule(idx);
+		if (removed) {
+			endOperation(metrics, trace, Metrics.REMOVE_TIME, Metrics.REMOVE_SUCCESS, Metrics.SUCCESS, start);
+		} else {
+			endOperation(metrics, trace, Metrics.REMOVE_TIME, Metrics.REMOVE_FAILURE, Metrics.FAILURE, start);
+		}
+		return removed;
+	}
+	
+	/**
+	 * Adds a cart of catalog sections to the schedule all at once. The whole cart is checked
+	 * before anything is added: every section must be in the catalog, must not repeat a course
+	 * that is already in the schedule or elsewhere in the cart, and must not meet at the same
+	 * time as an activity in the schedule or another section in the cart. A seat is then taken
+	 * in every section. If any check fails or any section is full, nothing is added, no seats
+	 * are held, and every problem found is returned.
+	 * @param cart the sections to add, one {name, section} pair per row
+	 * @return the reasons the cart was rejected, or an empty array if every section was added
+	 * @throws IllegalArgumentException if the cart or one of its rows is null or not a pair
+	 */
+	public String[] addCourses(String[][] cart) {
+		String[] result = addCoursesLocked(cart);
+		awaitRecorded();
+		return result;
+	}
+	
+	/**
+	 * Does the work of addCourses() while holding the scheduler's monitor
+	 * @param cart the sections to add, one {name, section} pair per row
+	 * @return the reasons the cart was rejected, or an empty array if every section was added
+	 * @throws IllegalArgumentException if the cart or one of its rows is null or not a pair
+	 */
+	private synchronized String[] addCoursesLocked(String[][] cart) {
+		if (cart == null) {
+			throw new IllegalArgumentException("Invalid cart.");
+		}
+		for (int i = 0; i < cart.length; i++) {
+			if (cart[i] == null || cart[i].length != 2) {
+				throw new IllegalArgumentException("Invalid cart.");
+			}
+		}
+		MetricsSink metrics = Metrics.getSink();
+		Tracer tracer = Metrics.getTracer();
+		if (!metrics.isEnabled() && !tracer.isEnabled()) {
+			return addCartToSchedule(cart);
+		}
+		Trace trace = tracer.begin(Metrics.ADD_CART);
+		trace.set(Metrics.COURSES, cart.length);
+		long start = System.nanoTime();
+		String[] failures = addCartToSchedule(cart);
+		if (failures.length == 0) {
+			endOperation(metrics, trace, Metrics.ADD_CART_TIME, Metrics.ADD_CART_SUCCESS, Metrics.SUCCESS, start);
+		} else {
+			endOperation(metrics, trace, Metrics.ADD_CART_TIME, Metrics.ADD_CART_FAILURE, Metrics.FAILURE, start);
+		}
+		return failures;
+	}
+	
+	/**
+	 * Checks a cart and adds it to the schedule if it has no problems, without recording metrics
+	 * @param cart the sections to add, one {name, section} pair per row
+	 * @return the reasons the cart was rejected, or an empty array if every section was added
+	 */
+	private String[] addCartToSchedule(String[][] cart) {
+		ArrayList<String> failures = new ArrayList<String>();
+		ArrayList<Course> added = new ArrayList<Course>();
+		for (int i = 0; i < cart.length; i++) {
+			Course c = getCourseFromCatalog(cart[i][0], cart[i][1]);
+			if (c == null) {
+				failures.add(cart[i][0] + "-" + cart[i][1] + " is not in the catalog.");
+				continue;
+			}
+			//Check the section against the schedule, then against the sections before it in the cart
+			for (int j = 0; j < this.schedule.size(); j++) {
+				Activity a = this.schedule.get(j);
+				if (a.isDuplicate(c)) {
+					failures.add("You are already enrolled in " + c.getName());
+				} else {
+					checkCartConflict(c, a, failures);
+				}
+			}
+			for (int j = 0; j < added.size(); j++) {
+				Course other = added.get(j);
+				if (other.isDuplicate(c)) {
+					failures.add(c.getName() + " is in the cart more than once.");
+				} else {
+					checkCartConflict(c, other, failures);
+				}
+			}
+			added.add(c);
+		}
+		if (!failures.isEmpty()) {
+			return failures.toArray(new String[failures.size()]);
+		}
+		//Take every seat before adding anything, giving them all back if any section is full
+		boolean[] held = new boolean[added.size()];
+		for (int i = 0; i < added.size(); i++) {
+			held[i] = !this.waitlists.hasWaiting(added.get(i)) && added.get(i).reserveSeat();
+			if (!held[i]) {
+				failures.add(labelOf(added.get(i)) + " is full.");
+			}
+		}
+		if (!failures.isEmpty()) {
+			for (int i = 0; i < added.size(); i++) {
+				if (held[i]) {
+					this.waitlists.release(added.get(i));
+				}
+			}
+			return failures.toArray(new String[failures.size()]);
+		}
+		for (int i = 0; i < added.size(); i++) {
+			if (this.recorder != null) {
+				try {
+					this.recorder.activityAdding(added.get(i));
+				} catch (IllegalStateException e) {
+					//Keep the sections already recorded, so the schedule matches the record
+					for (int j = i; j < added.size(); j++) {
+						this.waitlists.release(added.get(j));
+					}
+					throw e;
+				}
+			}
+			this.schedule.add(added.get(i));
+			fireActivityAdded(this.schedule.size() - 1, added.get(i));
+		}
+		return new String[0];
+	}
+	
+	/**
+	 * Adds a failure to a list if a cart section meets at the same time as another activity
+	 * @param c the cart section
+	 * @param other the other activity
+	 * @param failures the list of failures to add to
+	 */
+	private static void checkCartConflict(Course c, Activity other, ArrayList<String> failures) {
+		try {
+			c.checkConflict(other);
+		} catch (ConflictException e) {
+			failures.add(labelOf(c) + " conflicts with " + labelOf(other) + ".");
+		}
+	}
+	
+	/**
+	 * Names an activity for messages and traces
+	 * @param a the activity
+	 * @return the course name and section, such as CSC216-001, or the event title
+	 */
+	private static String labelOf(Activity a) {
+		if (a instanceof Course) {
+			return ((Course) a).getName() + "-" + ((Course) a).getSection();
+		}
+		return a.getTitle();
+	}
+	
+	/**
+	 * Records the end of a schedule operation to the metrics sink and its trace
+	 * @param metrics the sink to record the time and outcome to
+	 * @param trace the trace of the operation
+	 * @param timeName the name of the operation's time histogram
+	 * @param counterName the name of the counter for the outcome
+	 * @param outcome the outcome of the operation
+	 * @param start when the operation started, from System.nanoTime()
+	 */
+	private static void endOperation(MetricsSink metrics, Trace trace, String timeName, String counterName, 
+			String outcome, long start) {
+		if (metrics.isEnabled()) {
+			metrics.increment(counterName, 1);
+			metrics.record(timeName, System.nanoTime() - start);
+		}
+		trace.set(Metrics.OUTCOME, outcome);
+		trace.end();
+	}
+	
+	/**
+	 * Removes the activity at an index from the schedule, without recording metrics
+	 * @param idx The index of the activity to be removed from the schedule
+	 * @return true if the activity was removed, false if the index is past the end of the schedule
+	 */
+	private boolean removeFromSchedule(int idx) {
 		//Checks to see if the passed index is in bounds for the array. If it is, remove the
 		//element at that index and return true. If not, return false.
 		if (this.schedule.size() > idx) {
-			this.schedule.remove(idx);
+			if (this.recorder != null) {
+				this.recorder.activityRemoving(this.schedule.get(idx));
+			}
+			Activity removed = this.schedule.remove(idx);
+			releaseSeat(removed);
+			for (int i = 0; i < this.listeners.size(); i++) {
+				this.listeners.get(i).activityRemoved(idx, removed);
+			}
 			return true;
 		} else {
 			return false;
 		}
 	}
 	
+	/**
+	 * Gives back the seat held by an activity if it is a course section, keeping it for
+	 * the section's waitlist if anyone is waiting
+	 * @param a the activity leaving the schedule
+	 */
+	private void releaseSeat(Activity a) {
+		if (a instanceof Course) {
+			this.waitlists.release((Course) a);
+		}
+	}
+	
+	/**
+	 * Gets the scheduled courses that a catalog delta changed or deleted since the schedule
+	 * was created or its flags were last cleared
+	 * @return the name, section, title and meeting string of each flagged course, in
+	 * schedule order
+	 */
+	public synchronized String[][] getFlaggedActivities() {
+		ArrayList<String[]> flagged = new ArrayList<String[]>();
+		for (int i = 0; i < this.schedule.size(); i++) {
+			Activity a = this.schedule.get(i);
+			if (a instanceof Course && this.catalogChanges.changedSince((Course) a, this.changesReviewed)) {
+				flagged.add(a.getShortDisplayArray());
+			}
+		}
+		return flagged.toArray(new String[flagged.size()][]);
+	}
+	
+	/**
+	 * Clears the flags on the schedule's courses, so that only later catalog changes are
+	 * flagged
+	 */
+	public synchronized void clearFlags() {
+		this.changesReviewed = this.catalogChanges.latest();
+	}
+	
 	/**
 	 * Creates a new empty ArrayList and assigns it to the schedule field, resetting
-	 * the schedule to empty
+	 * the schedule to empty, giving back the seats it held, and leaving every waitlist
 	 */
 	public void resetSchedule() {
+		resetScheduleLocked();
+		awaitRecorded();
+	}
+	
+	/**
+	 * Does the work of resetSchedule() while holding the scheduler's monitor
+	 */
+	private synchronized void resetScheduleLocked() {
+		if (this.recorder != null) {
+			this.recorder.scheduleResetting();
+		}
+		int oldSize = this.schedule.size();
+		this.waitlists.leaveAll(this);
+		this.waitingFor.clear();
+		for (int i = 0; i < oldSize; i++) {
+			releaseSeat(this.schedule.get(i));
+		}
 		//Create a new empty array list of courses
 		ArrayList<Activity> newEmptySchedule = new ArrayList<Activity>();
 		//Set the schedule field of the object to the newly created empty schedule
 		this.schedule = newEmptySchedule;
+		for (int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).scheduleReset(oldSize);
+		}
+	}
+	
+	/**
+	 * Joins the waitlist for a full section. When a seat opens, the section is added to the
+	 * end of the schedule in the background, as long as the schedule still has no section
+	 * of the course and nothing at the same time; otherwise the schedule is taken off the
+	 * waitlist and the seat goes to the next student.
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return the schedule's 1-based position on the waitlist when it joined, or 0 if the
+	 * section does not exist in the course catalog
+	 * @throws IllegalArgumentException if the course is already in the schedule, the
+	 * schedule is already on the waitlist, or the section has open seats
+	 */
+	public synchronized int joinWaitlist(String name, String section) {
+		Course c = this.getCourseFromCatalog(name, section);
+		if (c == null) {
+			return 0;
+		}
+		for (int i = 0; i < this.schedule.size(); i++) {
+			if (this.schedule.get(i).isDuplicate(c)) {
+				throw new IllegalArgumentException("You are already enrolled in " + name);
+			}
+		}
+		if (c.getEnrolled() < c.getCapacity() && !this.waitlists.hasWaiting(c)) {
+			throw new IllegalArgumentException(name + "-" + section + " is not full.");
+		}
+		int position = this.waitlists.join(c, this);
+		if (position == 0) {
+			throw new IllegalArgumentException("You are already on the waitlist for " + name + "-" + section + ".");
+		}
+		this.waitingFor.add(WaitlistDispatcher.keyOf(c));
+		return position;
+	}
+	
+	/**
+	 * Leaves the waitlist for a section
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return true if the schedule was on the waitlist, false otherwise
+	 */
+	public synchronized boolean leaveWaitlist(String name, String section) {
+		Course c = this.getCourseFromCatalog(name, section);
+		if (c == null) {
+			return false;
+		}
+		this.waitingFor.remove(WaitlistDispatcher.keyOf(c));
+		return this.waitlists.leave(c, this);
+	}
+	
+	/**
+	 * Gets the schedule's place on the waitlist for a section
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return the 1-based position, or 0 if the schedule is not on the waitlist
+	 */
+	public int getWaitlistPosition(String name, String section) {
+		Course c = this.getCourseFromCatalog(name, section);
+		return c == null ? 0 : this.waitlists.positionOf(c, this);
+	}
+	
+	/**
+	 * Waits for every seat freed so far in the catalog's sections to be given to the
+	 * students waiting for it
+	 * @param timeoutMillis the longest time to wait, in milliseconds
+	 * @return true if every freed seat was promoted, false if the time ran out first
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean awaitWaitlistPromotions(long timeoutMillis) throws InterruptedException {
+		return this.waitlists.awaitIdle(timeoutMillis);
+	}
+	
+	/**
+	 * Adds a section whose seat is already taken to the schedule if the schedule is still
+	 * waiting for it and has no section of the same course and nothing at the same time.
+	 * Called by the waitlist dispatcher after taking the schedule off the section's
+	 * waitlist, which may be after the schedule was reset or left the waitlist.
+	 * @param c the section
+	 * @return true if the section was added
+	 */
+	synchronized boolean promoteFromWaitlist(Course c) {
+		if (!this.waitingFor.remove(WaitlistDispatcher.keyOf(c))) {
+			return false;
+		}
+		for (int i = 0; i < this.schedule.size(); i++) {
+			Activity a = this.schedule.get(i);
+			if (a.isDuplicate(c)) {
+				return false;
+			}
+			try {
+				c.checkConflict(a);
+			} catch (ConflictException e) {
+				return false;
+			}
+		}
+		if (this.recorder != null) {
+			try {
+				this.recorder.activityAdding(c);
+			} catch (IllegalStateException e) {
+				//A section that cannot be recorded is not added, and the seat goes to the next student
+				return false;
+			}
+		}
+		this.schedule.add(c);
+		fireActivityAdded(this.schedule.size() - 1, c);
+		return true;
+	}
+	
+	/**
+	 * Finds the activity in the schedule that is a duplicate of another, which is the one
+	 * with the same course name or event title
+	 * @param a the activity to look for
+	 * @return the index of the duplicate, or -1 if the schedule has none
+	 */
+	synchronized int indexOfDuplicate(Activity a) {
+		for (int i = 0; i < this.schedule.size(); i++) {
+			if (this.schedule.get(i).isDuplicate(a)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Gets the schedule itself rather than a copy, for writing it out. Callers hold the
+	 * scheduler's monitor while they use it.
+	 * @return the activities in the schedule
+	 */
+	ArrayList<Activity> getActivities() {
+		return this.schedule;
+	}
+	
+	/**
+	 * Sets the recorder told of each change to the schedule before it is made
+	 * @param recorder the recorder, or null to stop recording changes
+	 */
+	synchronized void setRecorder(ScheduleRecorder recorder) {
+		this.recorder = recorder;
+	}
+	
+	/**
+	 * Waits until the changes this thread has made to the schedule are durably recorded.
+	 * Changes are recorded while the scheduler's monitor is held and waited for once it is
+	 * released, so a slow write never holds up other threads that want the scheduler. The
+	 * methods that change the schedule call this themselves; a caller that holds the
+	 * monitor across several changes calls it after releasing the monitor.
+	 * @throws IllegalStateException if a change could not be recorded
+	 */
+	public void awaitRecorded() {
+		ScheduleRecorder r = this.recorder;
+		if (r != null && !Thread.holdsLock(this)) {
+			r.awaitRecorded();
+		}
+	}
+	
+	/**
+	 * Notifies the listeners that an activity was added to the schedule
+	 * @param idx the index of the new activity
+	 * @param activity the activity that was added
+	 */
+	private void fireActivityAdded(int idx, Activity activity) {
+		for (int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).activityAdded(idx, activity);
+		}
 	}
 	
 	/**
@@ -177,6 +1189,20 @@ public class WolfScheduler {
 	 * or an empty string array otherwise
 	 */
 	public String[][] getCourseCatalog() {
+		this.catalogLock.readLock().lock();
+		try {
+			return catalogRows();
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Builds the rows of getCourseCatalog(), holding the catalog's read lock
+	 * @return a 2D string array of the course catalog if there are courses in the catalog,
+	 * or an empty string array otherwise
+	 */
+	private String[][] catalogRows() {
 		//The number of rows is determined by the number of courses in the catalog
 		int numRow = this.courseCatalog.size();
 		//If there are no courses in the catalog, return an empty array
@@ -204,13 +1230,127 @@ public class WolfScheduler {
 		return catStr;
 	}
 
+	/**
+	 * Searches the course catalog by course name prefix, title words and instructor id, and
+	 * returns the best matches in the same format as getCourseCatalog()
+	 * @param query the words to search for, such as "CSC2" or "software sesmith5"
+	 * @return a 2D string array of the matching courses' name, section, title and meeting
+	 * info, best match first, or an empty string array if nothing matches
+	 */
+	public String[][] searchCatalog(String query) {
+		if (this.segments != null && query != null) {
+			//Read any department a word of the query could be the start of a course name in
+			String[] words = query.split("[^A-Za-z0-9]+");
+			for (int i = 0; i < words.length; i++) {
+				loadDepartmentOf(words[i]);
+			}
+		}
+		this.catalogLock.readLock().lock();
+		try {
+			return toCatalogRows(this.searchIndex.search(query));
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Returns every section taught by an instructor in the same format as getCourseCatalog()
+	 * @param instructorId the instructor's unity id
+	 * @return a 2D string array of the instructor's sections in catalog order, or an empty
+	 * string array if the instructor teaches nothing in the catalog
+	 */
+	public String[][] getCoursesByInstructor(String instructorId) {
+		this.catalogLock.readLock().lock();
+		try {
+			return toCatalogRows(this.catalogIndex.getByInstructor(instructorId));
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Returns every section offered by a department in the same format as getCourseCatalog()
+	 * @param department the department prefix of the course names, such as "CSC"
+	 * @return a 2D string array of the department's sections in catalog order, or an empty
+	 * string array if the department offers nothing in the catalog
+	 */
+	public String[][] getCoursesByDepartment(String department) {
+		loadDepartment(department);
+		this.catalogLock.readLock().lock();
+		try {
+			return toCatalogRows(this.catalogIndex.getByDepartment(department));
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Builds catalog rows of name, section, title and meeting info for a list of courses
+	 * @param courses the courses to display
+	 * @return a 2D string array with one row per course, or an empty string array if
+	 * the list is empty
+	 */
+	private String[][] toCatalogRows(List<Course> courses) {
+		if (courses.size() == 0) {
+			return new String[0][0];
+		}
+		String[][] rows = new String[courses.size()][4];
+		for (int i = 0; i < courses.size(); i++) {
+			//Courses use the same short display as the catalog
+			rows[i] = courses.get(i).getShortDisplayArray();
+		}
+		return rows;
+	}
+
+	/**
+	 * Lists the dated meetings of the schedule's activities over a term, ordered by date
+	 * and time. Meetings are worked out as the iterator reaches them, from the schedule as
+	 * it is when this is called.
+	 * @param term the term
+	 * @return an iterator over the schedule's occurrences
+	 */
+	public synchronized Iterator<Occurrence> getOccurrences(Term term) {
+		return term.occurrences(new ArrayList<Activity>(this.schedule));
+	}
+
+	/**
+	 * Indexes the schedule over a term, so the meetings on a day and time range can be
+	 * looked up without walking the term. The index is built from the schedule as it is
+	 * when this is called.
+	 * @param term the term
+	 * @return the index
+	 */
+	public synchronized OccurrenceIndex getCalendar(Term term) {
+		return new OccurrenceIndex(term, this.schedule);
+	}
+
+	/**
+	 * Finds the activities in the schedule that meet at the same time somewhere in a term.
+	 * Events that repeat every few weeks only conflict if they meet in the same weeks.
+	 * @param term the term
+	 * @return one message per conflicting pair, such as "Exercise conflicts with CSC216-001.",
+	 * in schedule order; empty if there are no conflicts
+	 */
+	public synchronized String[] getConflicts(Term term) {
+		ConflictEngine engine = new ConflictEngine(term);
+		ArrayList<String> conflicts = new ArrayList<String>();
+		for (int i = 0; i < this.schedule.size(); i++) {
+			for (int j = i + 1; j < this.schedule.size(); j++) {
+				if (engine.conflicts(this.schedule.get(i), this.schedule.get(j))) {
+					conflicts.add(labelOf(this.schedule.get(i)) + " conflicts with " + labelOf(this.schedule.get(j)) + ".");
+				}
+			}
+		}
+		return conflicts.toArray(new String[conflicts.size()]);
+	}
+
 	/**
 	 * Creates and returns a 2D string array representation of the schedule containing
 	 * information about the activities it contains
 	 * @return a 2D string array of the schedule if there are activities in the schedule,
 	 * or an empty string array otherwise
 	 */
-	public String[][] getScheduledActivities() {
+	public synchronized String[][] getScheduledActivities() {
 		//The number of rows is determined by the number of activities in the schedule
 		int numRow = this.schedule.size();
 		//If there are no activities in the schedule, return an empty array
@@ -238,7 +1378,7 @@ public class WolfScheduler {
 	 * @return a 2D string array of the schedule if there are courses in the schedule,
 	 * or an empty string array otherwise
 	 */
-	public String[][] getFullScheduledActivities() {
+	public synchronized String[][] getFullScheduledActivities() {
 		//The number of rows is determined by the number of courses in the schedule
 		int numRow = this.schedule.size();
 		//If there are no courses in the schedule, return an empty array
@@ -264,7 +1404,7 @@ public class WolfScheduler {
 	 * Gets the title for the schedule
 	 * @return the schedule's title
 	 */
-	public String getTitle() {
+	public synchronized String getTitle() {
 		return this.title;
 	}
 	
@@ -274,11 +1414,101 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the input is null
 	 */
 	public void setTitle(String title) {
+		setTitleLocked(title);
+		awaitRecorded();
+	}
+	
+	/**
+	 * Does the work of setTitle() while holding the scheduler's monitor
+	 * @param title the user's desired title for the schedule
+	 * @throws IllegalArgumentException if the input is null
+	 */
+	private synchronized void setTitleLocked(String title) {
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
-		} else {
-			this.title = title;
 		}
+		if (this.recorder != null) {
+			this.recorder.titleChanging(title);
+		}
+		this.title = title;
+		for (int i = 0; i < this.listeners.size(); i++) {
+			this.listeners.get(i).titleChanged(title);
+		}
+	}
+
+	/**
+	 * Replaces the schedule with the activities in a file written by exportSchedule(). Each
+	 * course is matched to its section in the catalog, so restoring a schedule takes a seat
+	 * in each of its sections. Lines that cannot be restored are skipped: invalid lines,
+	 * sections that are no longer in the catalog or have changed since the export, and
+	 * courses or events that repeat one already restored or whose section is full.
+	 * @param fileName the name of the file to import
+	 * @return why each skipped line was skipped, or an empty array if every line was restored
+	 * @throws IllegalArgumentException if the file cannot be found or read
+	 */
+	public String[] importSchedule(String fileName) {
+		String[] result = importScheduleLocked(fileName);
+		awaitRecorded();
+		return result;
+	}
+	
+	/**
+	 * Does the work of importSchedule() while holding the scheduler's monitor
+	 * @param fileName the name of the file to import
+	 * @return why each skipped line was skipped, or an empty array if every line was restored
+	 * @throws IllegalArgumentException if the file cannot be found or read
+	 */
+	private synchronized String[] importScheduleLocked(String fileName) {
+		ArrayList<ActivityParseResult> results;
+		try {
+			results = ActivityRecordIO.parseActivityRecords(fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be read.");
+		}
+		//A segmented catalog only holds the departments read so far
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i).getActivity() instanceof Course) {
+				loadDepartmentOf(((Course) results.get(i).getActivity()).getName());
+			}
+		}
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		ArrayList<String> problems = new ArrayList<String>();
+		this.catalogLock.readLock().lock();
+		try {
+			for (int i = 0; i < results.size(); i++) {
+				ActivityParseResult result = ActivityRecordIO.findSection(results.get(i), this.catalogIndex);
+				if (result.isValid()) {
+					activities.add(result.getActivity());
+				} else {
+					problems.add(result.toString());
+				}
+			}
+		} finally {
+			this.catalogLock.readLock().unlock();
+		}
+		
+		resetSchedule();
+		for (int i = 0; i < activities.size(); i++) {
+			Activity a = activities.get(i);
+			if (a instanceof Course) {
+				Course c = (Course) a;
+				String outcome = addCourseToSchedule(c.getName(), c.getSection());
+				if (Metrics.DUPLICATE.equals(outcome)) {
+					problems.add("You are already enrolled in " + c.getName());
+				} else if (Metrics.FULL.equals(outcome)) {
+					problems.add(labelOf(c) + " is full.");
+				}
+			} else {
+				try {
+					addEventToSchedule((Event) a);
+				} catch (IllegalArgumentException e) {
+					problems.add(e.getMessage());
+				}
+			}
+		}
+		return problems.toArray(new String[problems.size()]);
 	}
 
 	/**
@@ -286,11 +1516,60 @@ public class WolfScheduler {
 	 * @param fileName the name of the file the user wishes to export to
 	 * @throws IllegalArgumentException if the specified file cannot be written to
 	 */
-	public void exportSchedule(String fileName) {
+	public synchronized void exportSchedule(String fileName) {
+		Trace trace = Metrics.getTracer().begin(Metrics.EXPORT);
+		trace.set(Metrics.FILE, fileName);
+		trace.set(Metrics.ACTIVITIES, this.schedule.size());
 		try {
 			ActivityRecordIO.writeActivityRecords(fileName, this.schedule);
+			trace.set(Metrics.OUTCOME, Metrics.SUCCESS);
+		} catch (IOException e) {
+			trace.set(Metrics.OUTCOME, Metrics.FAILURE);
+			throw new IllegalArgumentException("The file cannot be saved.");
+		} finally {
+			trace.end();
+		}
+	}
+
+	/**
+	 * Exports the schedule to a stream, in the same records exportSchedule(String) writes to
+	 * a file
+	 * @param out the stream to write to, which is flushed but not closed
+	 * @throws IllegalArgumentException if the stream cannot be written to
+	 */
+	public synchronized void exportSchedule(OutputStream out) {
+		Trace trace = Metrics.getTracer().begin(Metrics.EXPORT);
+		trace.set(Metrics.ACTIVITIES, this.schedule.size());
+		try {
+			ActivityRecordIO.writeActivityRecords(out, this.schedule);
+			trace.set(Metrics.OUTCOME, Metrics.SUCCESS);
+		} catch (IOException e) {
+			trace.set(Metrics.OUTCOME, Metrics.FAILURE);
+			throw new IllegalArgumentException("The schedule cannot be saved.");
+		} finally {
+			trace.end();
+		}
+	}
+
+	/**
+	 * Exports the schedule to a specified file as an iCalendar calendar over a term, which
+	 * calendar applications can import
+	 * @param fileName the name of the file the user wishes to export to
+	 * @param term the term the schedule meets in
+	 * @throws IllegalArgumentException if the specified file cannot be written to
+	 */
+	public synchronized void exportCalendar(String fileName, Term term) {
+		Trace trace = Metrics.getTracer().begin(Metrics.EXPORT);
+		trace.set(Metrics.FILE, fileName);
+		trace.set(Metrics.ACTIVITIES, this.schedule.size());
+		try {
+			ActivityRecordIO.writeICalendar(fileName, this.schedule, term);
+			trace.set(Metrics.OUTCOME, Metrics.SUCCESS);
 		} catch (IOException e) {
+			trace.set(Metrics.OUTCOME, Metrics.FAILURE);
 			throw new IllegalArgumentException("The file cannot be saved.");
+		} finally {
+			trace.end();
 		}
 	}
 }
@@ -0,0 +1,317 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the small JSON documents used by the scheduling API. Requests are flat
+ * objects whose values are strings, numbers, booleans, or null, or arrays of such objects;
+ * responses are built from
+ * strings and the String[][] rows that WolfScheduler returns.
+ * @author Noah Benveniste
+ */
+public final class Json {
+
+	/** Keys of the columns of a catalog or schedule row */
+	public static final String[] ROW_KEYS = {"name", "section", "title", "meeting"};
+
+	/**
+	 * Not constructed.
+	 */
+	private Json() {
+	}
+
+	/**
+	 * Quotes a string as a JSON string
+	 * @param s the string, or null
+	 * @return the JSON string, or null if s is null
+	 */
+	public static String quote(String s) {
+		if (s == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder(s.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	/**
+	 * Writes rows as a JSON array of objects, using keys for the columns
+	 * @param rows the rows
+	 * @param keys the key of each column
+	 * @return the JSON array
+	 */
+	public static String rows(String[][] rows, String[] keys) {
+		StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < rows.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('{');
+			for (int j = 0; j < keys.length && j < rows[i].length; j++) {
+				if (j > 0) {
+					sb.append(',');
+				}
+				sb.append(quote(keys[j])).append(':').append(quote(rows[i][j]));
+			}
+			sb.append('}');
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+
+	/**
+	 * Parses a flat JSON object. Numbers and booleans are returned as their text, and null
+	 * values are left out.
+	 * @param json the JSON text
+	 * @return the values of the object by key
+	 * @throws IllegalArgumentException if the text is not a flat JSON object
+	 */
+	public static Map<String, String> parseObject(String json) {
+		Parser p = new Parser(json);
+		p.skipSpace();
+		Map<String, String> values = p.readObject();
+		p.expectEnd();
+		return values;
+	}
+
+	/**
+	 * Parses a JSON array of flat objects
+	 * @param json the JSON text
+	 * @return the objects, in order
+	 * @throws IllegalArgumentException if the text is not an array of flat JSON objects
+	 */
+	public static List<Map<String, String>> parseArray(String json) {
+		Parser p = new Parser(json);
+		List<Map<String, String>> objects = new ArrayList<Map<String, String>>();
+		p.skipSpace();
+		p.expect('[');
+		p.skipSpace();
+		if (p.peek() == ']') {
+			p.pos++;
+		} else {
+			while (true) {
+				p.skipSpace();
+				objects.add(p.readObject());
+				p.skipSpace();
+				if (p.peek() == ',') {
+					p.pos++;
+				} else {
+					p.expect(']');
+					break;
+				}
+			}
+		}
+		p.expectEnd();
+		return objects;
+	}
+
+	/**
+	 * Reads through JSON text one value at a time
+	 */
+	private static class Parser {
+
+		/** The text */
+		private String text;
+		/** The index of the next character to read */
+		private int pos;
+
+		/**
+		 * Starts reading at the beginning of the text
+		 * @param text the text
+		 * @throws IllegalArgumentException if the text is null
+		 */
+		Parser(String text) {
+			if (text == null) {
+				throw new IllegalArgumentException("Invalid JSON.");
+			}
+			this.text = text;
+		}
+
+		/**
+		 * Gets the next character without reading it
+		 * @return the next character, or 0 at the end of the text
+		 */
+		char peek() {
+			return pos < text.length() ? text.charAt(pos) : 0;
+		}
+
+		/**
+		 * Reads a character that must come next
+		 * @param c the character
+		 * @throws IllegalArgumentException if the next character is different
+		 */
+		void expect(char c) {
+			if (peek() != c) {
+				throw new IllegalArgumentException("Invalid JSON.");
+			}
+			pos++;
+		}
+
+		/**
+		 * Checks that only whitespace is left
+		 * @throws IllegalArgumentException if there is more text
+		 */
+		void expectEnd() {
+			skipSpace();
+			if (pos != text.length()) {
+				throw new IllegalArgumentException("Invalid JSON.");
+			}
+		}
+
+		/**
+		 * Reads a flat object
+		 * @return the values of the object by key, leaving out null values
+		 * @throws IllegalArgumentException if there is no flat object next
+		 */
+		Map<String, String> readObject() {
+			Map<String, String> values = new HashMap<String, String>();
+			expect('{');
+			skipSpace();
+			if (peek() == '}') {
+				pos++;
+				return values;
+			}
+			while (true) {
+				skipSpace();
+				String key = readString();
+				skipSpace();
+				expect(':');
+				skipSpace();
+				String value = readValue();
+				if (value != null) {
+					values.put(key, value);
+				}
+				skipSpace();
+				if (peek() == ',') {
+					pos++;
+				} else {
+					expect('}');
+					return values;
+				}
+			}
+		}
+
+		/**
+		 * Skips whitespace
+		 */
+		void skipSpace() {
+			while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		/**
+		 * Reads a string, a number, true, false, or null
+		 * @return the value as text, or null for null
+		 * @throws IllegalArgumentException if there is no such value next
+		 */
+		String readValue() {
+			if (peek() == '"') {
+				return readString();
+			}
+			int start = pos;
+			while (pos < text.length() && "+-.0123456789eEtruefalsn".indexOf(text.charAt(pos)) >= 0) {
+				pos++;
+			}
+			String word = text.substring(start, pos);
+			if ("null".equals(word)) {
+				return null;
+			}
+			if ("true".equals(word) || "false".equals(word) || word.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+				return word;
+			}
+			throw new IllegalArgumentException("Invalid JSON.");
+		}
+
+		/**
+		 * Reads a string
+		 * @return the string, without quotes or escapes
+		 * @throws IllegalArgumentException if there is no string next
+		 */
+		String readString() {
+			expect('"');
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				if (pos >= text.length()) {
+					throw new IllegalArgumentException("Invalid JSON.");
+				}
+				char c = text.charAt(pos++);
+				if (c == '"') {
+					return sb.toString();
+				}
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				char e = peek();
+				pos++;
+				switch (e) {
+				case '"':
+				case '\\':
+				case '/':
+					sb.append(e);
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					if (pos + 4 > text.length()) {
+						throw new IllegalArgumentException("Invalid JSON.");
+					}
+					try {
+						sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+					} catch (NumberFormatException ex) {
+						throw new IllegalArgumentException("Invalid JSON.");
+					}
+					pos += 4;
+					break;
+				default:
+					throw new IllegalArgumentException("Invalid JSON.");
+				}
+			}
+		}
+	}
+}
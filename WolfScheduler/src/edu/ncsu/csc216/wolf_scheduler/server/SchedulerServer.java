@@ -0,0 +1,695 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleJournal;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogPage;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Headless HTTP server that lets a web front end build schedules without the Swing GUI.
+ * The catalog is read once and shared; each student session gets its own schedule, named
+ * by a random token that the client sends in the {@value #TOKEN_HEADER} header. Requests
+ * for one session are handled one at a time, and requests for different sessions run in
+ * parallel. Ending a session gives back its seats and takes it off every waitlist. With a
+ * ScheduleJournal, sessions and their schedules survive a restart of the server.
+ * <p>
+ * The endpoints are:
+ * <ul>
+ * <li>POST /sessions - starts a session and returns its token</li>
+ * <li>DELETE /sessions - ends the session</li>
+ * <li>GET /catalog - lists the catalog, filtered by q, instructor, or department, and
+ * paged by offset and limit</li>
+ * <li>GET /schedule - lists the session's schedule</li>
+ * <li>POST /schedule/courses - adds {"name", "section"} to the schedule</li>
+ * <li>POST /schedule/cart - adds an array of {"name", "section"} to the schedule, either all
+ * of them or, with a 409 status, none of them along with every reason as {"errors": [...]}</li>
+ * <li>POST /schedule/waitlist - joins the waitlist for a full {"name", "section"} and
+ * returns the session's 1-based {"position"} on it when it joined; a section with open
+ * seats is refused with a 409 status</li>
+ * <li>POST /schedule/events - adds {"title", "meetingDays", "startTime", "endTime",
+ * "weeklyRepeat", "details"} to the schedule</li>
+ * <li>DELETE /schedule/activities/{index} - removes an activity from the schedule</li>
+ * <li>GET /schedule/export - returns the schedule as activity records</li>
+ * </ul>
+ * Errors are returned as {"error": message} with a 4xx status, or a 500 status if the
+ * journal cannot be written.
+ * @author Noah Benveniste
+ */
+public class SchedulerServer implements HttpHandler {
+
+	/** Header that carries the session token */
+	public static final String TOKEN_HEADER = "X-Session-Token";
+	/** Number of catalog rows returned when no limit is given */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	/** Sessions idle for longer than this are ended */
+	public static final long SESSION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	/** Largest request body read, in bytes */
+	private static final int MAX_BODY = 64 * 1024;
+
+	/** Scheduler that holds the shared catalog */
+	private WolfScheduler catalog;
+	/** Sessions by token */
+	private ConcurrentHashMap<String, Session> sessions;
+	/** Journal the sessions' schedules are kept in, or null to keep them only in memory */
+	private ScheduleJournal journal;
+	/** Source of session tokens */
+	private SecureRandom random;
+	/** The HTTP server */
+	private HttpServer server;
+	/** Executor requests are handled on */
+	private ExecutorService executor;
+	/** Executor that ends idle sessions */
+	private ScheduledExecutorService sweeper;
+
+	/**
+	 * Constructs a server for the catalog in a course record file, listening on an address.
+	 * The server does not accept requests until it is started.
+	 * @param catalogFile the course record file
+	 * @param address the address to listen on; port 0 picks a free port
+	 * @throws IllegalArgumentException if the catalog file cannot be read
+	 * @throws IOException if the server cannot listen on the address
+	 */
+	public SchedulerServer(String catalogFile, InetSocketAddress address) throws IOException {
+		this(new WolfScheduler(catalogFile), address);
+	}
+
+	/**
+	 * Constructs a server for the catalog of a scheduler, listening on an address. The
+	 * server does not accept requests until it is started.
+	 * @param catalog the scheduler whose catalog is shared by all sessions
+	 * @param address the address to listen on; port 0 picks a free port
+	 * @throws IllegalArgumentException if the catalog is null
+	 * @throws IOException if the server cannot listen on the address
+	 */
+	public SchedulerServer(WolfScheduler catalog, InetSocketAddress address) throws IOException {
+		this(catalog, address, null);
+	}
+
+	/**
+	 * Constructs a server for the catalog of a scheduler whose sessions are kept in a
+	 * journal, listening on an address. Every schedule in the journal becomes a session
+	 * under its id. The server does not accept requests until it is started.
+	 * @param catalog the scheduler whose catalog is shared by all sessions, which must be
+	 * the catalog the journal was opened with
+	 * @param address the address to listen on; port 0 picks a free port
+	 * @param journal the journal, or null to keep sessions only in memory
+	 * @throws IllegalArgumentException if the catalog is null
+	 * @throws IOException if the server cannot listen on the address
+	 */
+	public SchedulerServer(WolfScheduler catalog, InetSocketAddress address, ScheduleJournal journal) throws IOException {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		this.catalog = catalog;
+		this.sessions = new ConcurrentHashMap<String, Session>();
+		this.journal = journal;
+		if (journal != null) {
+			Iterator<String> ids = journal.getScheduleIds().iterator();
+			while (ids.hasNext()) {
+				String id = ids.next();
+				sessions.put(id, new Session(journal.getSchedule(id)));
+			}
+		}
+		this.random = new SecureRandom();
+		this.server = HttpServer.create(address, 1024);
+		this.server.createContext("/", this);
+	}
+
+	/**
+	 * Starts accepting requests and ending idle sessions
+	 */
+	public void start() {
+		executor = newRequestExecutor();
+		server.setExecutor(executor);
+		sweeper = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory());
+		sweeper.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				endIdleSessions(System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS);
+			}
+		}, 1, 1, TimeUnit.MINUTES);
+		server.start();
+	}
+
+	/**
+	 * Stops accepting requests, waiting up to a second for requests in progress
+	 */
+	public void stop() {
+		server.stop(1);
+		if (executor != null) {
+			executor.shutdown();
+			sweeper.shutdown();
+		}
+	}
+
+	/**
+	 * Gets the port the server listens on
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Gets the number of open sessions
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Ends every session that has not been used since a time
+	 * @param idleSince the time, in milliseconds since the epoch
+	 * @return the number of sessions ended
+	 */
+	public int endIdleSessions(long idleSince) {
+		int ended = 0;
+		Iterator<Map.Entry<String, Session>> it = sessions.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, Session> e = it.next();
+			if (e.getValue().lastUsed < idleSince) {
+				it.remove();
+				end(e.getKey(), e.getValue());
+				ended++;
+			}
+		}
+		return ended;
+	}
+
+	/**
+	 * Creates the executor requests are handled on. On a JVM with virtual threads, each
+	 * request gets its own virtual thread, so thousands of sessions can wait on slow clients
+	 * without a platform thread each. Older JVMs, including the Java 8 the project targets,
+	 * get a cached pool of daemon threads instead.
+	 * @return the executor
+	 */
+	static ExecutorService newRequestExecutor() {
+		try {
+			Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) m.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(new DaemonThreadFactory());
+		}
+	}
+
+	/**
+	 * Handles a request, sending a JSON response. The exchange is closed however the
+	 * request ends, so a failed request never holds its connection open.
+	 * @param exchange the request and response
+	 * @throws IOException if the response cannot be sent
+	 */
+	@Override
+	public void handle(HttpExchange exchange) throws IOException {
+		try {
+			Response response;
+			try {
+				response = route(exchange);
+			} catch (IllegalArgumentException e) {
+				response = error(400, e.getMessage() == null ? "Invalid request." : e.getMessage());
+			} catch (IllegalStateException e) {
+				response = error(500, e.getMessage() == null ? "Server error." : e.getMessage());
+			} catch (RuntimeException e) {
+				response = error(500, "Server error.");
+			}
+			byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(response.status, body.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(body);
+			out.close();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Sends a request to the endpoint for its method and path
+	 * @param exchange the request
+	 * @return the response
+	 * @throws IOException if the request body cannot be read
+	 */
+	private Response route(HttpExchange exchange) throws IOException {
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath();
+		if ("/sessions".equals(path)) {
+			if ("POST".equals(method)) {
+				return startSession();
+			} else if ("DELETE".equals(method)) {
+				String token = tokenOf(exchange);
+				Session session = sessions.remove(token);
+				if (session == null) {
+					return error(401, "Unknown session.");
+				}
+				end(token, session);
+				return new Response(200, "{}");
+			}
+			return error(405, "Method not allowed.");
+		} else if ("/catalog".equals(path)) {
+			if (!"GET".equals(method)) {
+				return error(405, "Method not allowed.");
+			}
+			return getCatalog(parseQuery(exchange.getRequestURI().getRawQuery()));
+		} else if (!path.startsWith("/schedule")) {
+			return error(404, "Not found.");
+		}
+
+		String token = tokenOf(exchange);
+		Session session = sessions.get(token);
+		if (session == null) {
+			return error(401, "Unknown session.");
+		}
+		Map<String, String> body = null;
+		String[][] cart = null;
+		if ("/schedule/cart".equals(path) && "POST".equals(method)) {
+			cart = parseCart(readBody(exchange));
+		} else if ("POST".equals(method)) {
+			body = Json.parseObject(readBody(exchange));
+		}
+		//Waitlist promotions lock the scheduler too, so requests lock it rather than the session
+		WolfScheduler ws = session.scheduler;
+		Response response;
+		synchronized (ws) {
+			//The session may have ended and been reset since it was looked up
+			if (sessions.get(token) != session) {
+				return error(401, "Unknown session.");
+			}
+			session.lastUsed = System.currentTimeMillis();
+			response = routeSchedule(ws, path, method, body, cart);
+		}
+		//Changes are journaled under the scheduler's monitor and made durable after it is released
+		ws.awaitRecorded();
+		return response;
+	}
+
+	/**
+	 * Sends a request to a schedule endpoint while holding the session's scheduler
+	 * @param ws the session's scheduler
+	 * @param path the request path
+	 * @param method the request method
+	 * @param body the request body, or null if it is not a JSON object
+	 * @param cart the cart to add, or null if the request is not for the cart
+	 * @return the response
+	 */
+	private Response routeSchedule(WolfScheduler ws, String path, String method, Map<String, String> body,
+			String[][] cart) {
+		if ("/schedule".equals(path) && "GET".equals(method)) {
+			return new Response(200, "{\"title\":" + Json.quote(ws.getTitle()) + ",\"activities\":" 
+					+ Json.rows(ws.getScheduledActivities(), Json.ROW_KEYS) + "}");
+		} else if ("/schedule/courses".equals(path) && "POST".equals(method)) {
+			return addCourse(ws, body);
+		} else if ("/schedule/cart".equals(path) && "POST".equals(method)) {
+			String[] failures = ws.addCourses(cart);
+			if (failures.length > 0) {
+				StringBuilder sb = new StringBuilder("{\"errors\":[");
+				for (int i = 0; i < failures.length; i++) {
+					if (i > 0) {
+						sb.append(',');
+					}
+					sb.append(Json.quote(failures[i]));
+				}
+				return new Response(409, sb.append("]}").toString());
+			}
+			return new Response(201, "{}");
+		} else if ("/schedule/waitlist".equals(path) && "POST".equals(method)) {
+			return joinWaitlist(ws, body);
+		} else if ("/schedule/events".equals(path) && "POST".equals(method)) {
+			return addEvent(ws, body);
+		} else if (path.startsWith("/schedule/activities/") && "DELETE".equals(method)) {
+			int idx = parseInt(path.substring("/schedule/activities/".length()), "index");
+			if (idx < 0 || !ws.removeActivity(idx)) {
+				return error(404, "No activity at index " + idx + ".");
+			}
+			return new Response(200, "{}");
+		} else if ("/schedule/export".equals(path) && "GET".equals(method)) {
+			return export(ws);
+		}
+		return error(404, "Not found.");
+	}
+
+	/**
+	 * Starts a session with an empty schedule
+	 * @return the response holding the session token
+	 */
+	private Response startSession() {
+		byte[] bytes = new byte[16];
+		random.nextBytes(bytes);
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i < bytes.length; i++) {
+			token.append(String.format("%02x", bytes[i] & 0xff));
+		}
+		WolfScheduler ws = journal == null ? new WolfScheduler(catalog) : journal.open(token.toString());
+		sessions.put(token.toString(), new Session(ws));
+		return new Response(201, "{\"token\":" + Json.quote(token.toString()) + "}");
+	}
+
+	/**
+	 * Lists catalog sections
+	 * @param query the query parameters: q, instructor, or department to filter by, and
+	 * offset and limit to page through the full catalog
+	 * @return the response holding the sections
+	 */
+	private Response getCatalog(Map<String, String> query) {
+		String[][] rows;
+		CatalogPage page = null;
+		if (query.containsKey("q")) {
+			rows = catalog.searchCatalog(query.get("q"));
+		} else if (query.containsKey("instructor")) {
+			rows = catalog.getCoursesByInstructor(query.get("instructor"));
+		} else if (query.containsKey("department")) {
+			rows = catalog.getCoursesByDepartment(query.get("department"));
+		} else {
+			int offset = query.containsKey("offset") ? parseInt(query.get("offset"), "offset") : 0;
+			int limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : DEFAULT_PAGE_SIZE;
+			page = catalog.getCatalogPage(offset, limit);
+			rows = page.getRows();
+		}
+		//A page is read with the catalog size it was cut from, so the two always agree
+		int total = page == null ? catalog.getCatalogSize() : page.getTotal();
+		return new Response(200, "{\"total\":" + total + ",\"courses\":" 
+				+ Json.rows(rows, Json.ROW_KEYS) + "}");
+	}
+
+	/**
+	 * Adds a catalog section to a schedule
+	 * @param ws the session's scheduler
+	 * @param body the request, with name and section
+	 * @return the response
+	 */
+	private Response addCourse(WolfScheduler ws, Map<String, String> body) {
+		String name = required(body, "name");
+		String section = required(body, "section");
+		try {
+			if (!ws.addCourse(name, section)) {
+				return error(404, name + "-" + section + " is not in the catalog.");
+			}
+		} catch (IllegalArgumentException e) {
+			return error(409, e.getMessage());
+		}
+		return new Response(201, "{}");
+	}
+
+	/**
+	 * Joins the waitlist for a full catalog section
+	 * @param ws the session's scheduler
+	 * @param body the request, with name and section
+	 * @return the response holding the session's position on the waitlist
+	 */
+	private Response joinWaitlist(WolfScheduler ws, Map<String, String> body) {
+		String name = required(body, "name");
+		String section = required(body, "section");
+		int position;
+		try {
+			position = ws.joinWaitlist(name, section);
+		} catch (IllegalArgumentException e) {
+			return error(409, e.getMessage());
+		}
+		if (position == 0) {
+			return error(404, name + "-" + section + " is not in the catalog.");
+		}
+		return new Response(201, "{\"position\":" + position + "}");
+	}
+
+	/**
+	 * Ends a session, giving back its seats, leaving its waitlists, and dropping it from
+	 * the journal
+	 * @param token the session token
+	 * @param session the session
+	 */
+	private void end(String token, Session session) {
+		synchronized (session.scheduler) {
+			session.scheduler.resetSchedule();
+		}
+		if (journal != null) {
+			journal.drop(token);
+		}
+	}
+
+	/**
+	 * Parses a cart of sections
+	 * @param json the JSON array of {"name", "section"} objects
+	 * @return the cart, one {name, section} pair per row
+	 * @throws IllegalArgumentException if the cart is not valid JSON or a section is incomplete
+	 */
+	private static String[][] parseCart(String json) {
+		List<Map<String, String>> objects = Json.parseArray(json);
+		String[][] cart = new String[objects.size()][];
+		for (int i = 0; i < cart.length; i++) {
+			cart[i] = new String[] {required(objects.get(i), "name"), required(objects.get(i), "section")};
+		}
+		return cart;
+	}
+
+	/**
+	 * Adds an event to a schedule
+	 * @param ws the session's scheduler
+	 * @param body the request, with title, meetingDays, startTime, endTime, weeklyRepeat,
+	 * and optionally firstWeek and details
+	 * @return the response
+	 */
+	private Response addEvent(WolfScheduler ws, Map<String, String> body) {
+		String title = required(body, "title");
+		String meetingDays = required(body, "meetingDays");
+		int startTime = parseInt(required(body, "startTime"), "startTime");
+		int endTime = parseInt(required(body, "endTime"), "endTime");
+		int weeklyRepeat = parseInt(required(body, "weeklyRepeat"), "weeklyRepeat");
+		int firstWeek = body.containsKey("firstWeek") ? parseInt(body.get("firstWeek"), "firstWeek") : 0;
+		String details = body.containsKey("details") ? body.get("details") : "";
+		//Check the event on its own first, so that only a repeated title is a conflict
+		try {
+			new Event(title, meetingDays, startTime, endTime, weeklyRepeat, firstWeek, details);
+		} catch (IllegalArgumentException e) {
+			return error(400, e.getMessage() == null ? "Invalid event." : e.getMessage());
+		}
+		try {
+			ws.addEvent(title, meetingDays, startTime, endTime, weeklyRepeat, firstWeek, details);
+		} catch (IllegalArgumentException e) {
+			return error(409, e.getMessage());
+		}
+		return new Response(201, "{}");
+	}
+
+	/**
+	 * Exports a schedule as the lines of an activity record file
+	 * @param ws the session's scheduler
+	 * @return the response holding the records
+	 */
+	private Response export(WolfScheduler ws) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ws.exportSchedule(bytes);
+		String records = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		StringBuilder sb = new StringBuilder("{\"records\":[");
+		int start = 0;
+		while (start < records.length()) {
+			int end = records.indexOf('\n', start);
+			if (end == -1) {
+				end = records.length();
+			}
+			if (start > 0) {
+				sb.append(',');
+			}
+			sb.append(Json.quote(records.substring(start, end)));
+			start = end + 1;
+		}
+		return new Response(200, sb.append("]}").toString());
+	}
+
+	/**
+	 * Gets the session token of a request
+	 * @param exchange the request
+	 * @return the token, or an empty string if there is none
+	 */
+	private static String tokenOf(HttpExchange exchange) {
+		String token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+		return token == null ? "" : token;
+	}
+
+	/**
+	 * Reads a request body as UTF-8 text
+	 * @param exchange the request
+	 * @return the body
+	 * @throws IOException if the body cannot be read
+	 * @throws IllegalArgumentException if the body is too large
+	 */
+	private static String readBody(HttpExchange exchange) throws IOException {
+		InputStream in = exchange.getRequestBody();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buf = new byte[4096];
+		int n;
+		while ((n = in.read(buf)) > 0) {
+			bytes.write(buf, 0, n);
+			if (bytes.size() > MAX_BODY) {
+				throw new IllegalArgumentException("Request too large.");
+			}
+		}
+		in.close();
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses a URL query string
+	 * @param rawQuery the query, still URL encoded, or null
+	 * @return the parameters by name
+	 */
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> params = new HashMap<String, String>();
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return params;
+		}
+		String[] pairs = rawQuery.split("&");
+		try {
+			for (int i = 0; i < pairs.length; i++) {
+				int eq = pairs[i].indexOf('=');
+				String key = eq < 0 ? pairs[i] : pairs[i].substring(0, eq);
+				String value = eq < 0 ? "" : pairs[i].substring(eq + 1);
+				params.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+			}
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+		return params;
+	}
+
+	/**
+	 * Gets a value that a request must have
+	 * @param body the request values
+	 * @param key the key
+	 * @return the value
+	 * @throws IllegalArgumentException if the value is missing
+	 */
+	private static String required(Map<String, String> body, String key) {
+		String value = body.get(key);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing " + key + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Parses an integer request value
+	 * @param value the value
+	 * @param key the name of the value, for the error message
+	 * @return the integer
+	 * @throws IllegalArgumentException if the value is not an integer
+	 */
+	private static int parseInt(String value, String key) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + key + ".");
+		}
+	}
+
+	/**
+	 * Builds an error response
+	 * @param status the HTTP status
+	 * @param message the error message
+	 * @return the response
+	 */
+	private static Response error(int status, String message) {
+		return new Response(status, "{\"error\":" + Json.quote(message) + "}");
+	}
+
+	/**
+	 * Starts the server for a catalog file and runs until the process is stopped
+	 * @param args the catalog file, and optionally the port, which defaults to 8080, and the
+	 * directory of a journal to keep sessions in
+	 * @throws IOException if the server cannot listen on the port or the journal cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 3) {
+			System.err.println("Usage: SchedulerServer catalogFile [port [journalDirectory]]");
+			return;
+		}
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+		WolfScheduler catalog = new WolfScheduler(args[0]);
+		ScheduleJournal journal = args.length > 2 ? new ScheduleJournal(args[2], catalog) : null;
+		SchedulerServer s = new SchedulerServer(catalog, new InetSocketAddress(port), journal);
+		s.start();
+		System.out.println("Serving " + s.catalog.getCatalogSize() + " sections on port " + s.getPort());
+	}
+
+	/**
+	 * A student's schedule and when it was last used
+	 */
+	private static class Session {
+
+		/** The session's scheduler, whose catalog is shared */
+		private WolfScheduler scheduler;
+		/** When the session was last used, in milliseconds since the epoch */
+		private volatile long lastUsed;
+
+		/**
+		 * Constructs a session
+		 * @param scheduler the session's scheduler
+		 */
+		Session(WolfScheduler scheduler) {
+			this.scheduler = scheduler;
+			this.lastUsed = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * A status and JSON body to send
+	 */
+	private static class Response {
+
+		/** The HTTP status */
+		private int status;
+		/** The JSON body */
+		private String body;
+
+		/**
+		 * Constructs a response
+		 * @param status the HTTP status
+		 * @param body the JSON body
+		 */
+		Response(int status, String body) {
+			this.status = status;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * Creates daemon threads, so that the server never keeps the JVM running on its own
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		/**
+		 * Creates a daemon thread
+		 * @param r the task
+		 * @return the thread
+		 */
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "wolf-scheduler-server");
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.wolf_scheduler.ui;
+
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * {@link CatalogTableModel} is the object underlying the {@link javax.swing.JTable} that
+ * displays the course catalog. Instead of holding a copy of the catalog, it reads each
+ * cell from the {@link WolfScheduler}'s {@link Course} objects when the table asks for it,
+ * so only the rows that are actually displayed are ever turned into strings.
+ * @author Noah Benveniste
+ */
+public class CatalogTableModel extends AbstractTableModel {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Column names for the table */
+	private static final String [] COLUMN_NAMES = {"Name", "Section", "Title", "Meeting Information"};
+	/** Scheduler whose catalog is displayed */
+	private WolfScheduler scheduler;
+
+	/**
+	 * Constructs the {@link CatalogTableModel} over the catalog of the given scheduler.
+	 * @param scheduler the scheduler whose catalog is displayed
+	 */
+	public CatalogTableModel(WolfScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns the number of columns in the table.
+	 * @return the number of columns in the table.
+	 */
+	@Override
+	public int getColumnCount() {
+		return COLUMN_NAMES.length;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 * @return the number of courses in the catalog.
+	 */
+	@Override
+	public int getRowCount() {
+		return scheduler.getCatalogSize();
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 * @param col the column index
+	 * @return the column name at the given column.
+	 */
+	@Override
+	public String getColumnName(int col) {
+		return COLUMN_NAMES[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index, read from the course in that row.
+	 * @param row the row index
+	 * @param col the column index
+	 * @return the data at the given location, or null if the location is out of bounds.
+	 */
+	@Override
+	public Object getValueAt(int row, int col) {
+		Course c = scheduler.getCatalogCourse(row);
+		if (c == null) {
+			return null;
+		}
+		switch (col) {
+		case 0:
+			return c.getName();
+		case 1:
+			return c.getSection();
+		case 2:
+			return c.getTitle();
+		case 3:
+			return c.getMeetingString();
+		default:
+			return null;
+		}
+	}
+}
@@ -8,7 +8,13 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -19,10 +25,13 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
@@ -30,7 +39,11 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordListener;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleListener;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -59,6 +72,14 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 	private CardLayout cardLayout;
 	/** Reference to the WolfScheduler */
 	private WolfScheduler scheduler;
+	/** Panel showing catalog loading progress */
+	private JPanel pnlLoading;
+	/** Progress bar for catalog loading */
+	private JProgressBar barLoading;
+	/** Button for canceling catalog loading */
+	private JButton btnCancelLoad;
+	/** Background task reading the catalog */
+	private CatalogLoader catalogLoader;
 
 	/**
 	 * Constructs the WolfSchedulerGUI and sets up the GUI 
@@ -73,12 +94,15 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		setTitle(APP_TITLE);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		
-		//Construct the underlying model object
+		//Construct the underlying model object with an empty catalog, which is 
+		//read in the background once the GUI is showing
+		String catalogFile = null;
 		try {			
-			scheduler = new WolfScheduler(getFileName(true));
+			catalogFile = getFileName(true);
 		} catch (IllegalStateException e) {
 			System.exit(1);
 		}
+		scheduler = new WolfScheduler();
 		
 		//Construct panels
 		pnlScheduler = new SchedulerPanel();
@@ -94,12 +118,38 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		panel.add(pnlSchedule, SCHEDULE_PANEL);
 		cardLayout.show(panel, SCHEDULER_PANEL);
 		
+		//Set up the catalog loading progress panel
+		barLoading = new JProgressBar(0, 100);
+		barLoading.setStringPainted(true);
+		btnCancelLoad = new JButton("Cancel");
+		btnCancelLoad.addActionListener(this);
+		pnlLoading = new JPanel(new BorderLayout());
+		pnlLoading.add(new JLabel("Loading Course Catalog: "), BorderLayout.WEST);
+		pnlLoading.add(barLoading, BorderLayout.CENTER);
+		pnlLoading.add(btnCancelLoad, BorderLayout.EAST);
+		
 		//Add panel to the container
 		Container c = getContentPane();
 		c.add(panel, BorderLayout.CENTER);
+		c.add(pnlLoading, BorderLayout.SOUTH);
 		
 		//Set the GUI visible
 		setVisible(true);
+		
+		//Read the catalog off the Event Dispatch Thread.  Adding is disabled until it is done.
+		pnlScheduler.setAddEnabled(false);
+		catalogLoader = new CatalogLoader(catalogFile);
+		catalogLoader.addPropertyChangeListener(new PropertyChangeListener() {
+			
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				if ("progress".equals(evt.getPropertyName())) {
+					barLoading.setValue((Integer) evt.getNewValue());
+				}
+			}
+			
+		});
+		catalogLoader.execute();
 	}
 	
 	/**
@@ -127,10 +177,114 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		return catalogFile.getAbsolutePath();
 	}
 
+	/**
+	 * Cancels catalog loading when the cancel button is pressed.  The courses
+	 * read so far stay in the catalog.
+	 * @param e user event that triggers an action.
+	 */
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		// TODO Auto-generated method stub
+		if (e.getSource() == btnCancelLoad && catalogLoader != null) {
+			catalogLoader.cancel(false);
+		}
+	}
+	
+	/**
+	 * {@link CatalogLoader} reads the course catalog on a background thread and 
+	 * streams the courses into the {@link WolfScheduler} on the Event Dispatch Thread 
+	 * as they are read, so the catalog table fills in while the file loads. Chunks can
+	 * still be delivered after done(), so adding is only enabled once every published
+	 * course has been processed.
+	 * @author Noah Benveniste
+	 */
+	private class CatalogLoader extends SwingWorker<Void, Course> implements CourseRecordListener {
+		
+		/** Name of the catalog file */
+		private String fileName;
+		/** Number of courses published by the background thread */
+		private volatile int published;
+		/** Number of published courses handed to process() on the Event Dispatch Thread */
+		private int processed;
+		/** Whether done() has run */
+		private boolean finished;
+		
+		/**
+		 * Constructs the {@link CatalogLoader} for the given file.
+		 * @param fileName name of the catalog file
+		 */
+		public CatalogLoader(String fileName) {
+			this.fileName = fileName;
+		}
+		
+		/**
+		 * Reads the catalog on the background thread. The courses reach the catalog
+		 * through process(), so the list that was read is not kept.
+		 * @return null
+		 * @throws FileNotFoundException if the file cannot be read
+		 */
+		@Override
+		protected Void doInBackground() throws FileNotFoundException {
+			CourseRecordIO.readCourseRecords(fileName, this);
+			return null;
+		}
+		
+		/**
+		 * Publishes each course and the progress through the file as it is read.
+		 * @param course the course that was read
+		 * @param bytesRead bytes of the file read so far
+		 * @param totalBytes size of the file
+		 * @return false once loading has been canceled
+		 */
+		@Override
+		public boolean courseRead(Course course, long bytesRead, long totalBytes) {
+			published++;
+			publish(course);
+			if (totalBytes > 0) {
+				setProgress((int) (bytesRead * 100 / totalBytes));
+			}
+			return !isCancelled();
+		}
 		
+		/**
+		 * Adds a chunk of published courses to the catalog, unless loading has been
+		 * canceled, and enables adding if this is the last chunk after done().
+		 * @param chunk the courses read since the last chunk
+		 */
+		@Override
+		protected void process(List<Course> chunk) {
+			processed += chunk.size();
+			if (!isCancelled()) {
+				scheduler.addCatalogCourses(chunk);
+			}
+			if (finished && processed == published) {
+				pnlScheduler.setAddEnabled(true);
+			}
+		}
+		
+		/**
+		 * Removes the progress panel once loading finishes or is canceled, and enables
+		 * adding if no chunks are still waiting to be processed. Chunks are ignored once
+		 * loading is canceled, so adding is enabled right away then.
+		 */
+		@Override
+		protected void done() {
+			finished = true;
+			getContentPane().remove(pnlLoading);
+			if (isCancelled() || processed == published) {
+				pnlScheduler.setAddEnabled(true);
+			}
+			if (!isCancelled()) {
+				try {
+					get();
+				} catch (ExecutionException e) {
+					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Cannot find file.");
+				} catch (InterruptedException e) {
+					//get() does not wait once the task is done, so this cannot happen
+				}
+			}
+			WolfSchedulerGUI.this.validate();
+			WolfSchedulerGUI.this.repaint();
+		}
 	}
 
 	/**
@@ -147,7 +301,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 	 * 
 	 * @author Sarah Heckman 
 	 */
-	private class SchedulerPanel extends JPanel implements ActionListener {
+	private class SchedulerPanel extends JPanel implements ActionListener, ScheduleListener {
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
 		/** Button for adding the selected course in the catalog to the schedule */
@@ -163,7 +317,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		/** JTable for displaying the schdule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for catalog */
-		private CourseTableModel catalogTableModel;
+		private CatalogTableModel catalogTableModel;
 		/** TableModel for schedule */
 		private CourseTableModel scheduleTableModel;
 		/** Student's Schedule title label */
@@ -295,7 +449,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			pnlActions.setToolTipText("Scheduler Actions");
 						
 			//Set up Catalog table
-			catalogTableModel = new CourseTableModel(true);
+			catalogTableModel = new CatalogTableModel(scheduler);
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
 				
@@ -320,6 +474,10 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					//The selection is cleared when the catalog is reloaded
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -335,7 +493,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			scrollCatalog.setToolTipText("Course Catalog");
 			
 			//Set up Schedule table
-			scheduleTableModel = new CourseTableModel(false);
+			scheduleTableModel = new CourseTableModel();
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -347,7 +505,8 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getTitle());
 			
-			updateTables();
+			//Keep the tables in step with the scheduler one row at a time
+			scheduler.addScheduleListener(this);
 			
 			//Set up the course details panel
 			pnlCourseDetails = new JPanel();
@@ -542,7 +701,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 						JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
 					}
 				}
-				updateTables();
 			} else if (e.getSource() == btnRemoveCourse) {
 				int row = tableSchedule.getSelectedRow();
 				if (row == -1) {
@@ -550,10 +708,8 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				} else {
 					scheduler.removeActivity(row);
 				}
-				updateTables();
 			} else if (e.getSource() == btnReset) {
 				scheduler.resetSchedule();
-				updateTables();
 			} else if (e.getSource() == btnDisplay) {
 				cardLayout.show(panel, SCHEDULE_PANEL);
 				pnlSchedule.updateFinalizedTable();
@@ -563,7 +719,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Invalid title.");
 				}
-				borderSchedule.setTitle(scheduler.getTitle());
 			} else if (e.getSource() == btnAddEvent) {
 				try {
 					String eventMeetingDays = "";
@@ -648,7 +803,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 					scheduler.addEvent(txtEventTitle.getText(), eventMeetingDays, eventStartTime, eventEndTime, eventWeeklyRepeat, txtDetails.getText());
 					
 					resetEvent();
-					updateTables();
 				} catch (IllegalArgumentException iae) {
 					String message = iae.getMessage();
 					if (message == null || "".equals(message)) {
@@ -685,11 +839,103 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Inserts the row for a newly scheduled activity.  Waitlist promotions are
+		 * reported on another thread, so every change is applied to the table on the
+		 * Event Dispatch Thread, in the order the scheduler made them.
+		 * @param idx index of the activity in the schedule
+		 * @param activity the activity that was added
 		 */
-		private void updateTables() {
-			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
+		@Override
+		public void activityAdded(final int idx, Activity activity) {
+			final Object [] row = activity.getShortDisplayArray();
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					scheduleTableModel.insertRow(idx, row);
+				}
+			});
+		}
+		
+		/**
+		 * Deletes the row for an activity removed from the schedule.
+		 * @param idx index the activity had in the schedule
+		 * @param activity the activity that was removed
+		 */
+		@Override
+		public void activityRemoved(final int idx, Activity activity) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					scheduleTableModel.deleteRow(idx);
+				}
+			});
+		}
+		
+		/**
+		 * Clears the schedule table.
+		 * @param oldSize number of activities before the reset
+		 */
+		@Override
+		public void scheduleReset(int oldSize) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					//Activities added since the reset have their own updates queued behind this one
+					scheduleTableModel.clearRows();
+				}
+			});
+		}
+		
+		/**
+		 * Shows the new title on the schedule border.
+		 * @param title the new title
+		 */
+		@Override
+		public void titleChanged(final String title) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					borderSchedule.setTitle(title);
+					repaint();
+				}
+			});
+		}
+		
+		/**
+		 * Reloads the catalog table.
+		 */
+		@Override
+		public void catalogLoaded() {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					catalogTableModel.fireTableDataChanged();
+				}
+			});
+		}
+		
+		/**
+		 * Inserts the rows for courses appended to the catalog.
+		 * @param firstIdx index of the first new course
+		 * @param lastIdx index of the last new course
+		 */
+		@Override
+		public void catalogCoursesAdded(final int firstIdx, final int lastIdx) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					catalogTableModel.fireTableRowsInserted(firstIdx, lastIdx);
+				}
+			});
+		}
+		
+		/**
+		 * Enables or disables the buttons that add to the schedule.
+		 * @param enabled true to enable adding
+		 */
+		private void setAddEnabled(boolean enabled) {
+			btnAddCourse.setEnabled(enabled);
+			btnAddEvent.setEnabled(enabled);
 		}
 		
 		/**
@@ -709,7 +955,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		
 		/**
 		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
+		 * the list of scheduled {@link Activity}s to the user.
 		 * @author Sarah Heckman
 		 */
 		private class CourseTableModel extends AbstractTableModel {
@@ -718,17 +964,14 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
-			/** Data stored in the table */
-			private Object [][] data;
-			/** Boolean flag if the model applies to the catalog or schedule */
-			private boolean catalog;
+			/** Data stored in the table, one array per row */
+			private ArrayList<Object []> data;
 			
 			/**
 			 * Constructs the {@link CourseTableModel} by requesting the latest information
 			 * from the {@link RequirementTrackerModel}.
 			 */
-			public CourseTableModel(boolean catalog) {
-				this.catalog = catalog;
+			public CourseTableModel() {
 				updateData();
 			}
 
@@ -747,7 +990,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -766,8 +1009,8 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+					return data.get(row)[col];
+				} catch (IndexOutOfBoundsException e) {
 					return null;
 				}
 			}
@@ -779,7 +1022,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * @param column location to modify the data.
 			 */
 			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
+				data.get(row)[col] = value;
 				fireTableCellUpdated(row, col);
 			}
 			
@@ -787,11 +1030,39 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
-				} else {
-					data = scheduler.getScheduledActivities();
+				Object [][] rows = scheduler.getScheduledActivities();
+				data = new ArrayList<Object []>(rows.length);
+				for (int i = 0; i < rows.length; i++) {
+					data.add(rows[i]);
 				}
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Inserts a row and notifies the table of only that row.
+			 * @param row location of the new row.
+			 * @param values data for the new row.
+			 */
+			private void insertRow(int row, Object [] values) {
+				data.add(row, values);
+				fireTableRowsInserted(row, row);
+			}
+			
+			/**
+			 * Deletes a row and notifies the table of only that row.
+			 * @param row location of the row to delete.
+			 */
+			private void deleteRow(int row) {
+				data.remove(row);
+				fireTableRowsDeleted(row, row);
+			}
+			
+			/**
+			 * Deletes every row and notifies the table.
+			 */
+			private void clearRows() {
+				data = new ArrayList<Object []>();
+				fireTableDataChanged();
 			}
 		}
 	}
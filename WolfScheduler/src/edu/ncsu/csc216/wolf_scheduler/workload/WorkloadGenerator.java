@@ -0,0 +1,333 @@
+package edu.ncsu.csc216.wolf_scheduler.workload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+
+/**
+ * Generates synthetic course catalogs in the CourseRecordIO format and Event schedules in
+ * the ActivityRecordIO format for scale testing. The output depends only on the seed and
+ * the settings, so two generators built the same way write identical files.
+ * @author Noah Benveniste
+ */
+public class WorkloadGenerator {
+
+	/** Default department prefixes */
+	private static final String [] DEFAULT_DEPARTMENTS = {"CSC", "MA", "PY", "CH", "ECE", "MAE", "ST", "ENG", "HI", "PSY"};
+	/** Default department weights, with the larger departments first */
+	private static final int [] DEFAULT_WEIGHTS = {20, 20, 10, 10, 10, 8, 8, 6, 4, 4};
+	/** Meeting day patterns used for courses */
+	private static final String [] COURSE_DAYS = {"MW", "TH", "MWF", "MW", "TH", "M", "T", "W", "H", "F", "MTWHF"};
+	/** Meeting lengths in minutes used for courses */
+	private static final int [] COURSE_LENGTHS = {50, 75, 110, 165};
+	/** Words used to build course titles */
+	private static final String [] TITLE_WORDS = {"Introduction", "Advanced", "Topics", "Programming", "Systems", "Analysis",
+		"Design", "Theory", "Methods", "Data", "Software", "Networks", "Calculus", "Physics", "Chemistry", "History",
+		"Writing", "Statistics", "Laboratory", "Seminar"};
+	/** Words used to build event titles */
+	private static final String [] EVENT_WORDS = {"Exercise", "Work", "Club", "Study", "Practice", "Meeting", "Volunteer", "Tutoring"};
+	/** Days an event can meet on */
+	private static final String EVENT_DAYS = "UMTWHFS";
+	/** Number of instructors generated for each department */
+	private static final int INSTRUCTORS_PER_DEPARTMENT = 40;
+	/** Highest section number that can be generated */
+	private static final int MAX_SECTION = 999;
+
+	/** Random number source */
+	private Random random;
+	/** Department prefixes to generate courses for */
+	private String [] departments;
+	/** Relative number of courses generated for each department */
+	private int [] weights;
+	/** Sum of the department weights */
+	private int totalWeight;
+	/** Maximum number of sections generated for each course at a time */
+	private int sectionsPerCourse;
+	/** Fraction of courses with arranged meeting times */
+	private double arrangedRatio;
+	/** Fraction of lines that are invalid course records */
+	private double invalidRatio;
+	/** The next section number to use for each course name generated so far */
+	private Map<String, Integer> nextSection;
+	/** Course records generated but not yet returned */
+	private ArrayList<String> pending;
+	/** Number of events generated so far, used to keep event titles unique */
+	private int eventCount;
+
+	/**
+	 * Constructs a generator with the default settings: ten departments of different
+	 * sizes, up to three sections per course, 10% arranged courses and no invalid lines.
+	 * @param seed the seed for the random number source
+	 */
+	public WorkloadGenerator(long seed) {
+		this.random = new Random(seed);
+		this.nextSection = new HashMap<String, Integer>();
+		this.pending = new ArrayList<String>();
+		setDepartments(DEFAULT_DEPARTMENTS, DEFAULT_WEIGHTS);
+		setSectionsPerCourse(3);
+		setArrangedRatio(0.1);
+		setInvalidRatio(0.0);
+	}
+
+	/**
+	 * Sets the department mix
+	 * @param departments the department prefixes, each 1 to 3 letters
+	 * @param weights the relative number of courses to generate for each department
+	 * @throws IllegalArgumentException if the arrays are null, empty or of different lengths,
+	 * if a prefix is not 1 to 3 letters, if a weight is negative, or if all weights are 0
+	 */
+	public void setDepartments(String [] departments, int [] weights) {
+		if (departments == null || weights == null || departments.length == 0 || departments.length != weights.length) {
+			throw new IllegalArgumentException("Invalid department mix.");
+		}
+		int total = 0;
+		for (int i = 0; i < departments.length; i++) {
+			//Prefixes plus a three digit number must make a valid course name
+			if (departments[i] == null || !departments[i].matches("[A-Z]{1,3}") || weights[i] < 0) {
+				throw new IllegalArgumentException("Invalid department mix.");
+			}
+			total += weights[i];
+		}
+		if (total == 0) {
+			throw new IllegalArgumentException("Invalid department mix.");
+		}
+		this.departments = departments.clone();
+		this.weights = weights.clone();
+		this.totalWeight = total;
+	}
+
+	/**
+	 * Sets the maximum number of sections generated for a course at a time
+	 * @param sectionsPerCourse the maximum number of sections
+	 * @throws IllegalArgumentException if the number is less than 1
+	 */
+	public void setSectionsPerCourse(int sectionsPerCourse) {
+		if (sectionsPerCourse < 1) {
+			throw new IllegalArgumentException("Invalid sections per course.");
+		}
+		this.sectionsPerCourse = sectionsPerCourse;
+	}
+
+	/**
+	 * Sets the fraction of courses with arranged ("A") meeting times
+	 * @param arrangedRatio the fraction, from 0 to 1
+	 * @throws IllegalArgumentException if the fraction is not between 0 and 1
+	 */
+	public void setArrangedRatio(double arrangedRatio) {
+		if (arrangedRatio < 0 || arrangedRatio > 1) {
+			throw new IllegalArgumentException("Invalid arranged ratio.");
+		}
+		this.arrangedRatio = arrangedRatio;
+	}
+
+	/**
+	 * Sets the fraction of generated lines that are invalid course records
+	 * @param invalidRatio the fraction, from 0 to 1
+	 * @throws IllegalArgumentException if the fraction is not between 0 and 1
+	 */
+	public void setInvalidRatio(double invalidRatio) {
+		if (invalidRatio < 0 || invalidRatio > 1) {
+			throw new IllegalArgumentException("Invalid invalid line ratio.");
+		}
+		this.invalidRatio = invalidRatio;
+	}
+
+	/**
+	 * Generates the next line of a course catalog. Valid lines never repeat a name and
+	 * section already generated.
+	 * @return a course record, which is invalid with the configured probability
+	 */
+	public String nextCourseLine() {
+		if (random.nextDouble() < invalidRatio) {
+			return nextInvalidLine();
+		}
+		if (pending.isEmpty()) {
+			generateSections();
+		}
+		return pending.remove(pending.size() - 1);
+	}
+
+	/**
+	 * Writes a course catalog in the CourseRecordIO format
+	 * @param fileName the file to write
+	 * @param lines the number of lines to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeCourseRecords(String fileName, int lines) throws IOException {
+		PrintStream fileWriter = new PrintStream(new File(fileName));
+		for (int i = 0; i < lines; i++) {
+			fileWriter.println(nextCourseLine());
+		}
+		fileWriter.close();
+		if (fileWriter.checkError()) {
+			throw new IOException("Cannot write " + fileName);
+		}
+	}
+
+	/**
+	 * Generates an Event with a title not used by any earlier Event from this generator
+	 * @return the Event
+	 */
+	public Event nextEvent() {
+		eventCount++;
+		String title = EVENT_WORDS[random.nextInt(EVENT_WORDS.length)] + " " + eventCount;
+		//Each day of the week is included independently, with at least one day
+		String days = "";
+		while (days.length() == 0) {
+			for (int i = 0; i < EVENT_DAYS.length(); i++) {
+				if (random.nextInt(3) == 0) {
+					days += EVENT_DAYS.charAt(i);
+				}
+			}
+		}
+		int start = toTime(6 * 60 + 15 * random.nextInt(60));
+		int end = toTime(Math.min(23 * 60 + 59, toMinutes(start) + 15 * (1 + random.nextInt(12))));
+		int weeklyRepeat = 1 + random.nextInt(4);
+		return new Event(title, days, start, end, weeklyRepeat, "Generated event " + eventCount);
+	}
+
+	/**
+	 * Writes a schedule of Events in the ActivityRecordIO format
+	 * @param fileName the file to write
+	 * @param count the number of Events to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeEventRecords(String fileName, int count) throws IOException {
+		ArrayList<Activity> events = new ArrayList<Activity>();
+		for (int i = 0; i < count; i++) {
+			events.add(nextEvent());
+		}
+		ActivityRecordIO.writeActivityRecords(fileName, events);
+	}
+
+	/**
+	 * Generates a batch of sections for a randomly chosen course and adds them to the
+	 * pending lines
+	 */
+	private void generateSections() {
+		String dept = pickDepartment();
+		String name;
+		//Find a course number that still has section numbers left
+		do {
+			name = dept + (100 + random.nextInt(900));
+		} while (nextSection.containsKey(name) && nextSection.get(name) > MAX_SECTION);
+		int section = nextSection.containsKey(name) ? nextSection.get(name) : 1;
+		int count = Math.min(1 + random.nextInt(sectionsPerCourse), MAX_SECTION - section + 1);
+		nextSection.put(name, section + count);
+
+		String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+		//Three credits is the most common
+		int credits = random.nextInt(3) == 0 ? 1 + random.nextInt(5) : 3;
+		//Sections are returned from the end of the list, so add them in reverse
+		for (int i = count - 1; i >= 0; i--) {
+			String instructor = dept.toLowerCase() + "inst" + random.nextInt(INSTRUCTORS_PER_DEPARTMENT);
+			String line = name + "," + title + "," + String.format("%03d", section + i) + "," + credits + "," + instructor;
+			if (random.nextDouble() < arrangedRatio) {
+				line += ",A";
+			} else {
+				int start = toTime(8 * 60 + 5 * random.nextInt(12 * 12));
+				int end = toTime(Math.min(23 * 60 + 59, toMinutes(start) + COURSE_LENGTHS[random.nextInt(COURSE_LENGTHS.length)]));
+				line += "," + COURSE_DAYS[random.nextInt(COURSE_DAYS.length)] + "," + start + "," + end;
+			}
+			pending.add(line);
+		}
+	}
+
+	/**
+	 * Generates a course record that CourseRecordIO will reject
+	 * @return the invalid line
+	 */
+	private String nextInvalidLine() {
+		String dept = pickDepartment();
+		String name = dept + (100 + random.nextInt(900));
+		switch (random.nextInt(8)) {
+		case 0:
+			//Missing the title
+			return name + ",001,3,inst,MW,910,1100";
+		case 1:
+			//Section is not three digits
+			return name + ",Invalid Section,01,3,inst,MW,910,1100";
+		case 2:
+			//Too many credits
+			return name + ",Invalid Credits,001,7,inst,MW,910,1100";
+		case 3:
+			//Empty instructor
+			return name + ",Invalid Instructor,001,3,,MW,910,1100";
+		case 4:
+			//Arranged with other days
+			return name + ",Invalid Days,001,3,inst,MWA,910,1100";
+		case 5:
+			//Start time after end time
+			return name + ",Invalid Times,001,3,inst,MW,1445,1330";
+		case 6:
+			//Minutes out of range
+			return name + ",Invalid Minutes,001,3,inst,MW,1275,1300";
+		default:
+			//Name too short
+			return "C1,Invalid Name,001,3,inst,MW,910,1100";
+		}
+	}
+
+	/**
+	 * Picks a department according to the weights
+	 * @return the department prefix
+	 */
+	private String pickDepartment() {
+		int r = random.nextInt(totalWeight);
+		for (int i = 0; i < departments.length; i++) {
+			r -= weights[i];
+			if (r < 0) {
+				return departments[i];
+			}
+		}
+		return departments[departments.length - 1];
+	}
+
+	/**
+	 * Converts minutes after midnight to a military time
+	 * @param minutes minutes after midnight
+	 * @return the military time
+	 */
+	private static int toTime(int minutes) {
+		return (minutes / 60) * 100 + minutes % 60;
+	}
+
+	/**
+	 * Converts a military time to minutes after midnight
+	 * @param time the military time
+	 * @return minutes after midnight
+	 */
+	private static int toMinutes(int time) {
+		return (time / 100) * 60 + time % 100;
+	}
+
+	/**
+	 * Writes a synthetic workload file.  Usage:
+	 * WorkloadGenerator courses|events fileName count [seed] [invalidRatio]
+	 * @param args command line arguments
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void main(String [] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: WorkloadGenerator courses|events fileName count [seed] [invalidRatio]");
+			System.exit(1);
+		}
+		WorkloadGenerator generator = new WorkloadGenerator(args.length > 3 ? Long.parseLong(args[3]) : 0);
+		if (args.length > 4) {
+			generator.setInvalidRatio(Double.parseDouble(args[4]));
+		}
+		if ("events".equals(args[0])) {
+			generator.writeEventRecords(args[1], Integer.parseInt(args[2]));
+		} else {
+			generator.writeCourseRecords(args[1], Integer.parseInt(args[2]));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ConflictEngine.
+ * @author Noah Benveniste
+ */
+public class ConflictEngineTest {
+
+	/** A Wednesday */
+	private static final LocalDate FIRST_DAY = LocalDate.of(2026, 8, 19);
+
+	/**
+	 * Tests conflicts between events that repeat every few weeks.
+	 */
+	@Test
+	public void testConflicts() {
+		ConflictEngine engine = new ConflictEngine(new Term(FIRST_DAY, 16));
+		Event evenWeeks = new Event("Even", "MW", 800, 900, 2, 0, "");
+		Event oddWeeks = new Event("Odd", "MW", 830, 930, 2, 1, "");
+		Event thirdWeeks = new Event("Third", "W", 900, 1000, 3, 1, "");
+		Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 850, 950);
+		assertFalse(engine.conflicts(evenWeeks, oddWeeks));
+		assertFalse(engine.conflicts(oddWeeks, evenWeeks));
+		//Weeks 4, 10, and 16 are shared, and 900 overlaps
+		assertTrue(engine.conflicts(evenWeeks, thirdWeeks));
+		assertTrue(engine.conflicts(oddWeeks, thirdWeeks));
+		assertTrue(engine.conflicts(course, evenWeeks));
+		assertTrue(engine.conflicts(oddWeeks, course));
+		assertFalse(engine.conflicts(evenWeeks, new Event("Later", "MW", 901, 1000, 2, 0, "")));
+		assertFalse(engine.conflicts(evenWeeks, new Event("Friday", "F", 800, 900, 1, "")));
+		assertFalse(engine.conflicts(course, new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A")));
+		
+		try {
+			engine.checkConflict(evenWeeks, thirdWeeks);
+			fail();
+		} catch (ConflictException e) {
+			assertEquals("Schedule conflict.", e.getMessage());
+		}
+		try {
+			engine.checkConflict(evenWeeks, oddWeeks);
+		} catch (ConflictException e) {
+			fail();
+		}
+	}
+
+	/**
+	 * Tests that the length of the term and its first day are taken into account.
+	 */
+	@Test
+	public void testShortTerm() {
+		Event monday = new Event("Monday", "M", 800, 900, 2, 0, "");
+		Event mondayToo = new Event("Monday too", "M", 800, 900, 3, 0, "");
+		Event wednesday = new Event("Wednesday", "W", 800, 900, 4, 0, "");
+		Event wednesdayToo = new Event("Wednesday too", "W", 800, 900, 2, 0, "");
+		//The only shared Monday is before the first day
+		ConflictEngine engine = new ConflictEngine(new Term(FIRST_DAY, 6));
+		assertFalse(engine.conflicts(monday, mondayToo));
+		assertTrue(engine.conflicts(wednesday, wednesdayToo));
+		engine = new ConflictEngine(new Term(FIRST_DAY, 7));
+		assertTrue(engine.conflicts(monday, mondayToo));
+		
+		//Nothing meets in a week after the term
+		engine = new ConflictEngine(new Term(FIRST_DAY, 3));
+		Event late = new Event("Late", "W", 800, 900, 4, 3, "");
+		assertFalse(engine.conflicts(late, wednesdayToo));
+		assertFalse(engine.conflicts(late, new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "W", 800, 900)));
+		assertEquals(0, engine.weekMaskOf(late)[0]);
+		assertEquals(0x5, engine.weekMaskOf(wednesdayToo)[0]);
+		
+		try {
+			new ConflictEngine(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that the engine agrees with checking every day of the term, for terms longer
+	 * than one word of weeks.
+	 */
+	@Test
+	public void testMatchesOccurrences() {
+		Random random = new Random(216);
+		for (int t = 0; t < 20; t++) {
+			Term term = new Term(FIRST_DAY.plusDays(random.nextInt(7)), 1 + random.nextInt(80));
+			ConflictEngine engine = new ConflictEngine(term);
+			ArrayList<Activity> activities = new ArrayList<Activity>();
+			for (int i = 0; i < 20; i++) {
+				int repeat = 1 + random.nextInt(4);
+				String days = "UMTWHFS".substring(random.nextInt(7));
+				days = days.substring(0, 1 + random.nextInt(days.length()));
+				int start = 800 + random.nextInt(3) * 100;
+				activities.add(new Event("Event" + i, days, start, start + 100, repeat, random.nextInt(repeat), ""));
+			}
+			for (int i = 0; i < activities.size(); i++) {
+				for (int j = 0; j < activities.size(); j++) {
+					Activity a1 = activities.get(i);
+					Activity a2 = activities.get(j);
+					boolean expected = false;
+					if (a1.getStartTime() <= a2.getEndTime() && a2.getStartTime() <= a1.getEndTime()) {
+						for (LocalDate d = term.getFirstDay(); !expected && !d.isAfter(term.getLastDay()); d = d.plusDays(1)) {
+							expected = term.meetsOn(a1, d) && term.meetsOn(a2, d);
+						}
+					}
+					assertEquals(expected, engine.conflicts(a1, a2));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests OccurrenceIndex.
+ * @author Noah Benveniste
+ */
+public class OccurrenceIndexTest {
+
+	/** A Wednesday */
+	private static final LocalDate FIRST_DAY = LocalDate.of(2026, 8, 19);
+
+	/**
+	 * Tests finding meetings by day and time range.
+	 */
+	@Test
+	public void testFind() {
+		Term term = new Term(FIRST_DAY, 16);
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445));
+		schedule.add(new Event("Exercise", "MF", 800, 900, 2, "Cardio"));
+		schedule.add(new Event("Work", "M", 600, 1200, 1, "Long shift"));
+		schedule.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		OccurrenceIndex index = new OccurrenceIndex(term, schedule);
+		assertSame(term, index.getTerm());
+		
+		LocalDate monday = LocalDate.of(2026, 8, 31);
+		List<Occurrence> found = index.find(monday);
+		assertEquals(3, found.size());
+		assertEquals("Work", found.get(0).getActivity().getTitle());
+		assertEquals("Exercise", found.get(1).getActivity().getTitle());
+		assertEquals(1330, found.get(2).getStartTime());
+		assertEquals(monday, found.get(2).getDate());
+		
+		//The long shift started well before the range but is still running
+		found = index.find(monday, 1100, 1330);
+		assertEquals(2, found.size());
+		assertEquals("Work", found.get(0).getActivity().getTitle());
+		found = index.find(monday, 900, 1000);
+		assertEquals(2, found.size());
+		assertEquals(0, index.find(monday, 1201, 1329).size());
+		
+		//Exercise is off the next week
+		assertEquals(2, index.find(LocalDate.of(2026, 9, 7)).size());
+		assertEquals(0, index.find(LocalDate.of(2026, 8, 17)).size());
+		assertEquals(0, index.find(LocalDate.of(2026, 12, 7)).size());
+		
+		//Later changes to the schedule are not seen
+		schedule.clear();
+		assertEquals(3, index.find(monday).size());
+	}
+
+	/**
+	 * Tests that the index agrees with the term's occurrences on every day.
+	 */
+	@Test
+	public void testFindMatchesOccurrences() {
+		Term term = new Term(FIRST_DAY, 16);
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		for (int i = 0; i < 40; i++) {
+			int start = 600 + (i * 37) % 12 * 100 + (i * 13) % 60;
+			schedule.add(new Event("Event" + i, i % 2 == 0 ? "UMW" : "THFS", start, start + 100 + i % 3 * 100, 
+					1 + i % 4, ""));
+		}
+		OccurrenceIndex index = new OccurrenceIndex(term, schedule);
+		Iterator<Occurrence> it = term.occurrences(schedule);
+		int total = 0;
+		for (LocalDate d = FIRST_DAY; !d.isAfter(term.getLastDay()); d = d.plusDays(1)) {
+			List<Occurrence> found = index.find(d);
+			for (int i = 0; i < found.size(); i++) {
+				Occurrence o = it.next();
+				assertEquals(o.getDate(), found.get(i).getDate());
+				assertEquals(0, o.compareTo(found.get(i)));
+			}
+			total += found.size();
+		}
+		assertFalse(it.hasNext());
+		assertTrue(total > 0);
+	}
+
+	/**
+	 * Tests that invalid arguments are rejected.
+	 */
+	@Test
+	public void testInvalid() {
+		try {
+			new OccurrenceIndex(null, new ArrayList<Activity>());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid calendar.", e.getMessage());
+		}
+		OccurrenceIndex index = new OccurrenceIndex(new Term(FIRST_DAY, 1), new ArrayList<Activity>());
+		try {
+			index.find(FIRST_DAY, 1200, 1100);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid times.", e.getMessage());
+		}
+		try {
+			index.find(FIRST_DAY, 1160, 1200);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid times.", e.getMessage());
+		}
+	}
+}
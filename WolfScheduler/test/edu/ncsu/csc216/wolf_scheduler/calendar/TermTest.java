@@ -0,0 +1,156 @@
+package edu.ncsu.csc216.wolf_scheduler.calendar;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests Term.
+ * @author Noah Benveniste
+ */
+public class TermTest {
+
+	/** A Wednesday */
+	private static final LocalDate FIRST_DAY = LocalDate.of(2026, 8, 19);
+	/** Course that meets every week */
+	private final Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+	/** Event that meets every other week */
+	private final Event event = new Event("Exercise", "MF", 800, 900, 2, "Cardio");
+
+	/**
+	 * Tests constructing a term and finding the week of a day.
+	 */
+	@Test
+	public void testTerm() {
+		Term term = new Term(FIRST_DAY, 16);
+		assertEquals(FIRST_DAY, term.getFirstDay());
+		assertEquals(LocalDate.of(2026, 12, 5), term.getLastDay());
+		assertEquals(16, term.getWeeks());
+		assertEquals(-1, term.weekOf(LocalDate.of(2026, 8, 18)));
+		assertEquals(0, term.weekOf(FIRST_DAY));
+		assertEquals(0, term.weekOf(LocalDate.of(2026, 8, 22)));
+		assertEquals(1, term.weekOf(LocalDate.of(2026, 8, 23)));
+		assertEquals(15, term.weekOf(LocalDate.of(2026, 12, 5)));
+		assertEquals(-1, term.weekOf(LocalDate.of(2026, 12, 6)));
+		
+		try {
+			new Term(null, 16);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+		try {
+			new Term(FIRST_DAY, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests which weeks and days activities meet in.
+	 */
+	@Test
+	public void testMeetsOn() {
+		Term term = new Term(FIRST_DAY, 16);
+		assertTrue(term.meetsInWeek(course, 1));
+		assertTrue(term.meetsInWeek(event, 2));
+		assertFalse(term.meetsInWeek(event, 3));
+		assertFalse(term.meetsInWeek(course, 16));
+		assertFalse(term.meetsOn(course, LocalDate.of(2026, 8, 17)));
+		assertTrue(term.meetsOn(course, FIRST_DAY));
+		assertFalse(term.meetsOn(course, LocalDate.of(2026, 8, 20)));
+		assertTrue(term.meetsOn(event, LocalDate.of(2026, 8, 21)));
+		assertFalse(term.meetsOn(event, LocalDate.of(2026, 8, 24)));
+		assertTrue(term.meetsOn(event, LocalDate.of(2026, 8, 31)));
+		
+		//Starting in the second week swaps the weeks
+		Event odd = new Event("Exercise", "MF", 800, 900, 2, 1, "Cardio");
+		assertFalse(term.meetsInWeek(odd, 0));
+		assertTrue(term.meetsInWeek(odd, 1));
+		assertTrue(term.meetsInWeek(odd, 15));
+		assertFalse(term.meetsOn(odd, LocalDate.of(2026, 8, 21)));
+		assertTrue(term.meetsOn(odd, LocalDate.of(2026, 8, 24)));
+	}
+
+	/**
+	 * Tests listing the occurrences of one activity.
+	 */
+	@Test
+	public void testOccurrences() {
+		Term term = new Term(FIRST_DAY, 16);
+		Iterator<Occurrence> it = term.occurrences(course);
+		Occurrence first = it.next();
+		assertSame(course, first.getActivity());
+		assertEquals(FIRST_DAY, first.getDate());
+		assertEquals(1330, first.getStartTime());
+		assertEquals(1445, first.getEndTime());
+		assertEquals("2026-08-19 Programming Concepts - Java 1330-1445", first.toString());
+		assertEquals(31, 1 + count(it));
+		
+		it = term.occurrences(event);
+		assertEquals(LocalDate.of(2026, 8, 21), it.next().getDate());
+		assertEquals(LocalDate.of(2026, 8, 31), it.next().getDate());
+		assertEquals(13, count(it));
+		
+		it = term.occurrences(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Tests listing the occurrences of a schedule in date and time order.
+	 */
+	@Test
+	public void testScheduleOccurrences() {
+		Term term = new Term(FIRST_DAY, 16);
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		assertFalse(term.occurrences(schedule).hasNext());
+		schedule.add(course);
+		schedule.add(event);
+		schedule.add(new Event("Lunch", "MTWHF", 1200, 1300, 1, ""));
+		Iterator<Occurrence> it = term.occurrences(schedule);
+		assertEquals("2026-08-19 Lunch 1200-1300", it.next().toString());
+		assertEquals("2026-08-19 Programming Concepts - Java 1330-1445", it.next().toString());
+		assertEquals("2026-08-20 Lunch 1200-1300", it.next().toString());
+		assertEquals("2026-08-21 Exercise 800-900", it.next().toString());
+		assertEquals("2026-08-21 Lunch 1200-1300", it.next().toString());
+		Occurrence previous = it.next();
+		int seen = 6;
+		while (it.hasNext()) {
+			Occurrence o = it.next();
+			assertTrue(previous.compareTo(o) <= 0);
+			previous = o;
+			seen++;
+		}
+		assertEquals(31 + 15 + 78, seen);
+	}
+
+	/**
+	 * Counts the rest of an iterator
+	 * @param it the iterator
+	 * @return the number of elements left
+	 */
+	private static int count(Iterator<Occurrence> it) {
+		int n = 0;
+		while (it.hasNext()) {
+			it.next();
+			n++;
+		}
+		return n;
+	}
+}
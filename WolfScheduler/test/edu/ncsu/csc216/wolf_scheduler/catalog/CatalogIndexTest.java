@@ -0,0 +1,150 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests CatalogIndex.
+ * @author Noah Benveniste
+ */
+public class CatalogIndexTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Index over the valid course records */
+	private CatalogIndex index;
+
+	/**
+	 * Builds the index over the starter catalog.
+	 */
+	@Before
+	public void setUp() {
+		try {
+			index = new CatalogIndex(CourseRecordIO.readCourseRecords(validTestFile));
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests CatalogIndex.getByInstructor().
+	 */
+	@Test
+	public void testGetByInstructor() {
+		List<Course> taught = index.getByInstructor("jtking");
+		assertEquals(1, taught.size());
+		assertEquals("CSC216", taught.get(0).getName());
+		assertEquals("002", taught.get(0).getSection());
+
+		assertEquals(0, index.getByInstructor("nobody").size());
+		assertEquals(0, index.getByInstructor(null).size());
+
+		//Groups cannot be modified through the index
+		try {
+			taught.clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(1, index.getByInstructor("jtking").size());
+		}
+	}
+
+	/**
+	 * Tests CatalogIndex.getByDepartment().
+	 */
+	@Test
+	public void testGetByDepartment() {
+		List<Course> csc = index.getByDepartment("CSC");
+		assertEquals(8, csc.size());
+		assertEquals("CSC116", csc.get(0).getName());
+		assertEquals("CSC230", csc.get(7).getName());
+		assertEquals(8, index.getByDepartment("csc").size());
+
+		assertEquals(0, index.getByDepartment("MA").size());
+		assertEquals(0, index.getByDepartment(null).size());
+	}
+
+	/**
+	 * Tests CatalogIndex.getCourse() and CatalogIndex.add().
+	 */
+	@Test
+	public void testGetCourse() {
+		assertEquals("sesmith5", index.getCourse("CSC216", "001").getInstructorId());
+		assertNull(index.getCourse("CSC216", "003"));
+		assertNull(index.getCourse("CSC", "216001"));
+
+		Course c = new Course("MA141", "Calculus I", "001", 4, "jtking", "MWF", 800, 850);
+		index.add(c);
+		assertEquals(c, index.getCourse("MA141", "001"));
+		assertEquals(2, index.getByInstructor("jtking").size());
+		assertEquals(c, index.getByInstructor("jtking").get(1));
+		assertEquals(1, index.getByDepartment("MA").size());
+	}
+
+	/**
+	 * Tests CatalogIndex.remove().
+	 */
+	@Test
+	public void testRemove() {
+		Course c = index.getCourse("CSC216", "002");
+		assertTrue(index.remove(c));
+		assertNull(index.getCourse("CSC216", "002"));
+		assertEquals(0, index.getByInstructor("jtking").size());
+		assertEquals(7, index.getByDepartment("CSC").size());
+		assertFalse(index.remove(c));
+
+		//Only the indexed course with the key is removed, not an equal copy
+		Course copy = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300);
+		assertFalse(index.remove(copy));
+		assertEquals(7, index.getByDepartment("CSC").size());
+	}
+
+	/**
+	 * Tests CatalogIndex.changeInstructor().
+	 */
+	@Test
+	public void testChangeInstructor() {
+		Course c = index.getCourse("CSC116", "002");
+		assertSame(c, index.getByDepartment("CSC").get(1));
+
+		//The section moves to its catalog position in the new instructor's group
+		c.setInstructorId("jtking");
+		index.changeInstructor(c, "spbalik");
+		List<Course> taught = index.getByInstructor("jtking");
+		assertEquals(2, taught.size());
+		assertSame(c, taught.get(0));
+		assertEquals("CSC216", taught.get(1).getName());
+		assertEquals(0, index.getByInstructor("spbalik").size());
+		assertSame(c, index.getByDepartment("CSC").get(1));
+
+		//A changed title leaves the section where it was
+		c.setTitle("Intro to Programming - Python");
+		index.changeInstructor(c, "jtking");
+		assertSame(c, index.getByInstructor("jtking").get(0));
+		assertSame(c, index.getByDepartment("CSC").get(1));
+
+		//Removing still finds the section in its new group
+		assertTrue(index.remove(c));
+		assertEquals(1, index.getByInstructor("jtking").size());
+		assertEquals(7, index.getByDepartment("CSC").size());
+	}
+
+	/**
+	 * Tests CatalogIndex.departmentOf().
+	 */
+	@Test
+	public void testDepartmentOf() {
+		assertEquals("CSC", CatalogIndex.departmentOf("CSC216"));
+		assertEquals("MA", CatalogIndex.departmentOf("ma141"));
+		assertEquals("E", CatalogIndex.departmentOf("E115"));
+		assertEquals("", CatalogIndex.departmentOf("1234"));
+	}
+}
@@ -0,0 +1,214 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests CourseSearchIndex.
+ * @author Noah Benveniste
+ */
+public class CourseSearchIndexTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Index over the valid course records */
+	private CourseSearchIndex index;
+
+	/**
+	 * Builds the index over the starter catalog.
+	 */
+	@Before
+	public void setUp() {
+		try {
+			index = new CourseSearchIndex(CourseRecordIO.readCourseRecords(validTestFile));
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests searching by course name prefix.
+	 */
+	@Test
+	public void testSearchNamePrefix() {
+		assertEquals(8, index.size());
+
+		//Every course starts with CSC2 except the three CSC116 sections
+		ArrayList<Course> results = index.search("csc2");
+		assertEquals(5, results.size());
+		assertEquals("CSC216", results.get(0).getName());
+		assertEquals("001", results.get(0).getSection());
+		assertEquals("CSC230", results.get(4).getName());
+
+		//An exact name ranks ahead of courses that only share its prefix
+		results = index.search("CSC216 CSC2");
+		assertEquals(5, results.size());
+		assertEquals("CSC216", results.get(2).getName());
+		assertEquals("CSC226", results.get(3).getName());
+
+		//No course starts with MA
+		assertEquals(0, index.search("MA").size());
+	}
+
+	/**
+	 * Tests searching by title words and instructor id.
+	 */
+	@Test
+	public void testSearchTitleAndInstructor() {
+		ArrayList<Course> results = index.search("Software Tools");
+		assertEquals(1, results.size());
+		assertEquals("CSC230", results.get(0).getName());
+
+		//All Java courses match, the one taught by sesmith5 ranks first
+		results = index.search("java sesmith5");
+		assertEquals(6, results.size());
+		assertEquals("CSC216", results.get(0).getName());
+		assertEquals("sesmith5", results.get(0).getInstructorId());
+		assertEquals("CSC116", results.get(1).getName());
+
+		//The result limit is respected
+		assertEquals(2, index.search("java", 2).size());
+		assertEquals(0, index.search("java", 0).size());
+		
+		//A limited search keeps the best match, then ties in catalog order
+		results = index.search("java sesmith5", 3);
+		assertEquals(3, results.size());
+		assertEquals("sesmith5", results.get(0).getInstructorId());
+		assertEquals("001", results.get(1).getSection());
+		assertEquals("CSC116", results.get(2).getName());
+		assertEquals("002", results.get(2).getSection());
+	}
+
+	/**
+	 * Tests adding courses after the index is built.
+	 */
+	@Test
+	public void testAdd() {
+		index.add(new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jtking", "MW", 830, 945));
+		assertEquals(9, index.size());
+		assertEquals("CSC316", index.search("CSC3").get(0).getName());
+		assertEquals("CSC316", index.search("algorithms").get(0).getName());
+		assertEquals(2, index.search("jtking").size());
+	}
+
+	/**
+	 * Tests removing courses after the index is built.
+	 */
+	@Test
+	public void testRemove() {
+		Course c = index.search("Software Tools").get(0);
+		assertTrue(index.remove(c));
+		assertFalse(index.remove(c));
+		assertEquals(7, index.size());
+		assertEquals(0, index.search("Software Tools").size());
+		assertEquals(4, index.search("csc2").size());
+
+		//A changed course is found by its new details once it is added again
+		c = index.search("sesmith5").get(0);
+		assertTrue(index.remove(c));
+		c.setInstructorId("jtking");
+		index.add(c);
+		assertEquals(7, index.size());
+		assertEquals(0, index.search("sesmith5").size());
+		assertEquals(2, index.search("jtking").size());
+	}
+
+	/**
+	 * Tests CourseSearchIndex.update().
+	 */
+	@Test
+	public void testUpdate() {
+		Course c = index.search("sesmith5").get(0);
+		c.setTitle("Programming Concepts - Python");
+		c.setInstructorId("jtking");
+		assertTrue(index.update(c, "Programming Concepts - Java", "sesmith5"));
+		assertEquals(8, index.size());
+		assertEquals(0, index.search("sesmith5").size());
+		assertEquals(1, index.search("python").size());
+		assertEquals(5, index.search("java").size());
+
+		//The course keeps its place, so it still ties ahead of the later CSC216 section
+		ArrayList<Course> results = index.search("jtking");
+		assertEquals(2, results.size());
+		assertSame(c, results.get(0));
+		assertEquals("002", results.get(1).getSection());
+
+		Course other = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jtking", "MW", 830, 945);
+		assertFalse(index.update(other, "Data Structures", "jtking"));
+	}
+
+	/**
+	 * Tests that many changes and removals keep the index the size of the catalog and
+	 * keep ties in catalog order.
+	 */
+	@Test
+	public void testManyChanges() {
+		ArrayList<Course> catalog = index.search("csc");
+		assertEquals(8, catalog.size());
+		for (int i = 0; i < 1000; i++) {
+			//Change a title back and forth in place
+			Course changed = catalog.get(i % 8);
+			String title = changed.getTitle();
+			changed.setTitle(title.endsWith(" Online") ? title.replace(" Online", "") : title + " Online");
+			assertTrue(index.update(changed, title, changed.getInstructorId()));
+
+			//Drop a section and add it back at the end of the catalog
+			Course moved = catalog.remove((i * 3) % 8);
+			assertTrue(index.remove(moved));
+			index.add(moved);
+			catalog.add(moved);
+		}
+		assertEquals(8, index.size());
+		ArrayList<Course> results = index.search("csc");
+		assertEquals(8, results.size());
+		for (int i = 0; i < catalog.size(); i++) {
+			assertSame(catalog.get(i), results.get(i));
+		}
+		int online = 0;
+		for (int i = 0; i < catalog.size(); i++) {
+			if (catalog.get(i).getTitle().endsWith(" Online")) {
+				online++;
+			}
+		}
+		assertEquals(online, index.search("online").size());
+		assertEquals(1, index.search("software").size());
+
+		//Removing every course leaves an empty index
+		for (int i = 0; i < catalog.size(); i++) {
+			assertTrue(index.remove(catalog.get(i)));
+		}
+		assertEquals(0, index.size());
+		assertEquals(0, index.search("csc").size());
+	}
+
+	/**
+	 * Tests searching with empty and invalid queries.
+	 */
+	@Test
+	public void testSearchInvalid() {
+		assertEquals(0, index.search(null).size());
+		assertEquals(0, index.search("").size());
+		assertEquals(0, index.search(" - ").size());
+		try {
+			index.search("java", -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid result limit.", e.getMessage());
+		}
+		try {
+			new CourseSearchIndex(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Catalog cannot be null.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests Activity.checkConflict().
+ * @author Noah Benveniste
+ */
+public class ActivityTest {
+
+	/**
+	 * Tests that Activities on different days or at different times do not conflict.
+	 */
+	@Test
+	public void testCheckConflict() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Course("CSC216", "Programming Concepts - Java", "002", 4, "sesmith5", "TH", 1330, 1445);
+		Activity a3 = new Event("Lunch", "MW", 1200, 1300, 1, "Food");
+		Activity a4 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		try {
+			a1.checkConflict(a2);
+			assertEquals("Incorrect meeting string for this Activity.", "MW 1:30PM-2:45PM", a1.getMeetingString());
+			a2.checkConflict(a1);
+			a1.checkConflict(a3);
+			a3.checkConflict(a1);
+			a1.checkConflict(a4);
+			a4.checkConflict(a1);
+			a4.checkConflict(a4);
+		} catch (ConflictException e) {
+			fail("A ConflictException was thrown when two Activities at different times were compared.");
+		}
+	}
+
+	/**
+	 * Tests that Activities sharing a day at overlapping times conflict, in either order.
+	 */
+	@Test
+	public void testCheckConflictWithConflict() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 
+				"WF", 1400, 1515);
+		//Starts in the same minute a1 ends
+		Activity a3 = new Event("Meeting", "M", 1445, 1500, 1, "Team meeting");
+		Activity[][] pairs = {{a1, a2}, {a2, a1}, {a1, a3}, {a3, a1}, {a1, a1}};
+		for (int i = 0; i < pairs.length; i++) {
+			try {
+				pairs[i][0].checkConflict(pairs[i][1]);
+				fail("Expected a conflict for pair " + i);
+			} catch (ConflictException e) {
+				assertEquals("Schedule conflict.", e.getMessage());
+			}
+		}
+	}
+}
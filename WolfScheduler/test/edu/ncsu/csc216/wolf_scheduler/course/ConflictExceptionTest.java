@@ -0,0 +1,30 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests ConflictException.
+ * @author Noah Benveniste
+ */
+public class ConflictExceptionTest {
+
+	/**
+	 * Tests ConflictException(String).
+	 */
+	@Test
+	public void testConflictExceptionString() {
+		ConflictException ce = new ConflictException("Custom exception message");
+		assertEquals("Custom exception message", ce.getMessage());
+	}
+
+	/**
+	 * Tests ConflictException().
+	 */
+	@Test
+	public void testConflictException() {
+		ConflictException ce = new ConflictException();
+		assertEquals("Schedule conflict.", ce.getMessage());
+	}
+}
@@ -2,6 +2,9 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 /**
@@ -693,6 +696,140 @@ public class CourseTest {
 		Activity c2 = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A");
 		String s2 = "CSC216,Programming Concepts - Java,001,4,sesmith5,A";
 		assertEquals(s2, c2.toString());
+		
+		//A seat limit is written after the times
+		((Course) c1).setCapacity(10);
+		assertEquals(s1 + ",10", c1.toString());
+		((Course) c2).setCapacity(10);
+		assertEquals(s2 + ",0,0,10", c2.toString());
+	}
+	
+	/**
+	 * Tests setting the capacity of a section
+	 */
+	@Test
+	public void testSetCapacity() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(Course.UNLIMITED, c.getCapacity());
+		assertEquals(0, c.getEnrolled());
+		
+		c.setCapacity(1);
+		assertEquals(1, c.getCapacity());
+		
+		try {
+			c.setCapacity(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid capacity.", e.getMessage());
+			assertEquals(1, c.getCapacity());
+		}
+		
+		//The capacity is not part of equality
+		Course other = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(other, c);
+		assertEquals(other.hashCode(), c.hashCode());
+	}
+	
+	/**
+	 * Tests reserving and releasing seats
+	 */
+	@Test
+	public void testReserveSeat() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		c.setCapacity(2);
+		assertTrue(c.reserveSeat());
+		assertTrue(c.reserveSeat());
+		assertFalse(c.reserveSeat());
+		assertEquals(2, c.getEnrolled());
+		
+		c.releaseSeat();
+		assertEquals(1, c.getEnrolled());
+		assertTrue(c.reserveSeat());
+		
+		//Releasing never takes the count below zero
+		c.releaseSeat();
+		c.releaseSeat();
+		c.releaseSeat();
+		assertEquals(0, c.getEnrolled());
+	}
+	
+	/**
+	 * Tests that setMeeting() replaces the days and times together, and leaves the course
+	 * unchanged when they are invalid
+	 */
+	@Test
+	public void testSetMeeting() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		
+		//Arranged with no times, in one call
+		c.setMeeting("A", 0, 0);
+		assertEquals("A", c.getMeetingDays());
+		assertEquals(0, c.getStartTime());
+		assertEquals(0, c.getEndTime());
+		assertEquals("Arranged", c.getMeetingString());
+		
+		c.setMeeting("TH", 830, 945);
+		assertEquals("TH", c.getMeetingDays());
+		assertEquals(830, c.getStartTime());
+		assertEquals(945, c.getEndTime());
+		
+		//Invalid days
+		try {
+			c.setMeeting("XT", 830, 945);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("TH", c.getMeetingDays());
+		}
+		
+		//Invalid times
+		try {
+			c.setMeeting("MW", 945, 830);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("TH", c.getMeetingDays());
+			assertEquals(830, c.getStartTime());
+			assertEquals(945, c.getEndTime());
+		}
+	}
+
+	/**
+	 * Tests that many threads reserving seats at once never oversubscribe a section
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testReserveSeatConcurrent() throws InterruptedException {
+		final Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		c.setCapacity(100);
+		final AtomicInteger reserved = new AtomicInteger();
+		final CountDownLatch go = new CountDownLatch(1);
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						go.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < 1000; j++) {
+						if (c.reserveSeat()) {
+							reserved.incrementAndGet();
+						}
+						if (j % 3 == 0 && c.reserveSeat()) {
+							c.releaseSeat();
+						}
+					}
+				}
+			});
+			threads[i].start();
+		}
+		go.countDown();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertEquals(100, reserved.get());
+		assertEquals(100, c.getEnrolled());
 	}
 
 }
\ No newline at end of file
@@ -463,6 +463,47 @@ public class EventTest {
 	public void testToString() {
 		Event event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
 		assertEquals(EVENT_TITLE + "," + EVENT_MEETING_DAYS + "," + EVENT_START_TIME + "," + EVENT_END_TIME + "," + EVENT_WEEKLY_REPEAT + "," + EVENT_DETAILS, event.toString());
+		event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, 3, 2, EVENT_DETAILS);
+		assertEquals(EVENT_TITLE + "," + EVENT_MEETING_DAYS + "," + EVENT_START_TIME + "," + EVENT_END_TIME + ",3@2," + EVENT_DETAILS, event.toString());
+	}
+
+	/**
+	 * Test Event.setFirstWeek().
+	 */
+	@Test
+	public void testSetFirstWeek() {
+		Event event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, 2, EVENT_DETAILS);
+		assertEquals(0, event.getFirstWeek());
+		event.setFirstWeek(1);
+		assertEquals(1, event.getFirstWeek());
+		assertEquals("MTWHF 8:00AM-9:00AM (every 2 weeks from week 2)", event.getMeetingString());
+		try {
+			event.setFirstWeek(2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid first week.", e.getMessage());
+			assertEquals(1, event.getFirstWeek());
+		}
+		try {
+			event.setFirstWeek(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid first week.", e.getMessage());
+		}
+		//The first week must stay before the weekly repeat
+		try {
+			event.setWeeklyRepeat(1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid weekly repeat.", e.getMessage());
+			assertEquals(2, event.getWeeklyRepeat());
+		}
+		try {
+			new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, 4, 4, EVENT_DETAILS);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid first week.", e.getMessage());
+		}
 	}
 
 	/**
@@ -1,15 +1,24 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Scanner;
 
 import org.junit.Test;
 
+import edu.ncsu.csc216.wolf_scheduler.calendar.Term;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogIndex;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
@@ -60,6 +69,220 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests writeActivityRecords() to a stream, which writes the same records as to a file.
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testWriteActivityRecordsStream() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio with rest day on Wednesday."));
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ActivityRecordIO.writeActivityRecords(out, activities);
+		assertEquals("CSC116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440\n"
+				+ "Exercise,UMTHFS,800,900,1,Cardio with rest day on Wednesday.\n", 
+				new String(out.toByteArray(), StandardCharsets.UTF_8));
+		
+		out = new ByteArrayOutputStream();
+		ActivityRecordIO.writeActivityRecords(out, new ArrayList<Activity>());
+		assertEquals(0, out.size());
+	}
+
+	/**
+	 * Tests parseActivity() with course and event lines
+	 */
+	@Test
+	public void testParseActivity() {
+		ActivityParseResult r = ActivityRecordIO.parseActivity("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,1445", 1);
+		assertTrue(r.isValid());
+		assertEquals(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445), r.getActivity());
+		r = ActivityRecordIO.parseActivity("CSC216,Programming Concepts - Java,601,4,jep,A", 2);
+		assertTrue(r.isValid());
+		assertEquals("A", ((Course) r.getActivity()).getMeetingDays());
+		r = ActivityRecordIO.parseActivity("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,1445,10", 3);
+		assertTrue(r.isValid());
+		assertEquals(10, ((Course) r.getActivity()).getCapacity());
+		
+		//Event details may hold commas, or be empty
+		r = ActivityRecordIO.parseActivity("Exercise,UMTHFS,800,900,1,Cardio, then weights", 4);
+		assertTrue(r.isValid());
+		assertEquals(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio, then weights"), r.getActivity());
+		assertEquals("Cardio, then weights", ((Event) r.getActivity()).getEventDetails());
+		r = ActivityRecordIO.parseActivity("Lunch,MTWHF,1200,1300,2,", 5);
+		assertTrue(r.isValid());
+		assertEquals("", ((Event) r.getActivity()).getEventDetails());
+		assertEquals(2, ((Event) r.getActivity()).getWeeklyRepeat());
+		r = ActivityRecordIO.parseActivity("Lab,T,1500,1600,2@1,Odd weeks", 5);
+		assertTrue(r.isValid());
+		assertEquals(1, ((Event) r.getActivity()).getFirstWeek());
+		assertEquals("Lab,T,1500,1600,2@1,Odd weeks", r.getActivity().toString());
+		//An event named like a course is still an event
+		r = ActivityRecordIO.parseActivity("CSC216,MW,800,900,1,Study group", 6);
+		assertTrue(r.isValid());
+		assertTrue(r.getActivity() instanceof Event);
+	}
+
+	/**
+	 * Tests the reasons and columns parseActivity() gives for invalid lines
+	 */
+	@Test
+	public void testParseActivityInvalid() {
+		assertRejected("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1445,1330", 1, 
+				"Line 1, column 54: Invalid course times.");
+		assertRejected(",MW,800,900,1,details", 2, "Line 2, column 1: Invalid event title.");
+		assertRejected("Exercise", 3, "Line 3, column 9: Missing meeting days.");
+		assertRejected("Exercise,MW,800,900", 4, "Line 4, column 20: Missing weekly repeat.");
+		assertRejected("Exercise,MW,800,900,1", 5, "Line 5, column 22: Missing event details.");
+		assertRejected("Exercise,MA,800,900,1,details", 6, "Line 6, column 10: Invalid meeting days.");
+		assertRejected("Exercise,MW,8oo,900,1,details", 7, "Line 7, column 13: Invalid start time.");
+		assertRejected("Exercise,MW,800,2400,1,details", 8, "Line 8, column 17: Invalid end time.");
+		assertRejected("Exercise,MW,900,800,1,details", 9, "Line 9, column 13: Invalid event times.");
+		assertRejected("Exercise,MW,800,900,5,details", 10, "Line 10, column 21: Invalid weekly repeat.");
+		assertRejected("Exercise,MW,800,900,@1,details", 11, "Line 11, column 21: Invalid weekly repeat.");
+		assertRejected("Exercise,MW,800,900,2@2,details", 12, "Line 12, column 23: Invalid first week.");
+		assertRejected("Exercise,MW,800,900,2@,details", 13, "Line 13, column 23: Invalid first week.");
+	}
+
+	/**
+	 * Tests readActivityRecords() against a catalog with stale and missing sections
+	 * @throws IOException if the test files cannot be read
+	 */
+	@Test
+	public void testReadActivityRecords() throws IOException {
+		ArrayList<Course> catalog = CourseRecordIO.readCourseRecords("test-files/course_records.txt");
+		CatalogIndex index = new CatalogIndex(catalog);
+		RejectionReport report = new RejectionReport();
+		ArrayList<Activity> activities = ActivityRecordIO.readActivityRecords("test-files/schedule_import.txt", 
+				index, report);
+		assertEquals(5, activities.size());
+		//Courses are the catalog's sections
+		assertSame(index.getCourse("CSC116", "002"), activities.get(0));
+		assertTrue(activities.get(1) instanceof Event);
+		assertSame(index.getCourse("CSC216", "601"), activities.get(2));
+		assertEquals(3, report.size());
+		assertEquals("Line 4, column 1: Section is not in the catalog.", report.getRejections().get(0).toString());
+		assertEquals("Line 5, column 1: Section has changed in the catalog.", report.getRejections().get(1).toString());
+		assertEquals("Line 6, column 13: Invalid event times.", report.getRejections().get(2).toString());
+		
+		//Without a catalog, courses are read as they are
+		activities = ActivityRecordIO.readActivityRecords("test-files/schedule_import.txt", null, null);
+		assertEquals(7, activities.size());
+		assertFalse(catalog.contains(activities.get(3)));
+		
+		try {
+			ActivityRecordIO.readActivityRecords("test-files/no_such_file.txt", null, null);
+			fail();
+		} catch (IOException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Tests writeICalendar()
+	 * @throws IOException if the calendar cannot be written
+	 */
+	@Test
+	public void testWriteICalendar() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445));
+		activities.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		activities.add(new Event("Exercise", "UMF", 800, 900, 2, 1, "Cardio, then weights; stretch\\cool down"));
+		activities.add(new Event("Lunch", "W", 1200, 1300, 1, ""));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		//Wednesday, August 19, 2026, for 16 weeks
+		long written = ActivityRecordIO.writeICalendar(Channels.newChannel(bytes), activities, 
+				new Term(LocalDate.of(2026, 8, 19), 16));
+		assertEquals(bytes.size(), written);
+		String[] lines = new String(bytes.toByteArray(), StandardCharsets.UTF_8).split("\r\n", -1);
+		String[] expected = {
+			"BEGIN:VCALENDAR",
+			"VERSION:2.0",
+			"PRODID:-//NCSU CSC216//WolfScheduler//EN",
+			"CALSCALE:GREGORIAN",
+			"BEGIN:VEVENT",
+			"UID:CSC216-001.20260819@wolfscheduler",
+			null,
+			"DTSTART:20260819T133000",
+			"DTEND:20260819T144500",
+			"RRULE:FREQ=WEEKLY;INTERVAL=1;WKST=SU;BYDAY=MO,WE;UNTIL=20261205T235959",
+			"SUMMARY:CSC216 Programming Concepts - Java",
+			"DESCRIPTION:Section 001\\, sesmith5",
+			"END:VEVENT",
+			"BEGIN:VEVENT",
+			"UID:Exercise.20260823@wolfscheduler",
+			null,
+			"DTSTART:20260823T080000",
+			"DTEND:20260823T090000",
+			"RRULE:FREQ=WEEKLY;INTERVAL=2;WKST=SU;BYDAY=SU,MO,FR;UNTIL=20261205T235959",
+			"SUMMARY:Exercise",
+			"DESCRIPTION:Cardio\\, then weights\\; stretch\\\\cool down",
+			"END:VEVENT",
+			"BEGIN:VEVENT",
+			"UID:Lunch.20260819@wolfscheduler",
+			null,
+			"DTSTART:20260819T120000",
+			"DTEND:20260819T130000",
+			"RRULE:FREQ=WEEKLY;INTERVAL=1;WKST=SU;BYDAY=WE;UNTIL=20261205T235959",
+			"SUMMARY:Lunch",
+			"END:VEVENT",
+			"END:VCALENDAR",
+			""
+		};
+		assertEquals(expected.length, lines.length);
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i] == null) {
+				assertTrue(lines[i].matches("DTSTAMP:\\d{8}T\\d{6}Z"));
+			} else {
+				assertEquals(expected[i], lines[i]);
+			}
+		}
+	}
+
+	/**
+	 * Tests that writeICalendar() folds long lines without splitting characters
+	 * @throws IOException if the calendar cannot be written
+	 */
+	@Test
+	public void testWriteICalendarFolding() throws IOException {
+		StringBuilder title = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			title.append("Caf\u00e9 \ud83d\ude00 ");
+		}
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Event(title.toString(), "M", 800, 900, 1, ""));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ActivityRecordIO.writeICalendar(Channels.newChannel(bytes), activities, new Term(LocalDate.of(2026, 8, 17), 1));
+		byte[] raw = bytes.toByteArray();
+		int lineStart = 0;
+		for (int i = 0; i + 1 < raw.length; i++) {
+			if (raw[i] == '\r' && raw[i + 1] == '\n') {
+				assertTrue(i - lineStart <= 75);
+				if (i + 2 < raw.length) {
+					//No line starts in the middle of a character
+					assertTrue((raw[i + 2] & 0xC0) != 0x80);
+				}
+				lineStart = i + 2;
+			}
+		}
+		//Unfolding gives back the title
+		String text = new String(raw, StandardCharsets.UTF_8).replace("\r\n ", "");
+		assertTrue(text.contains("\r\nSUMMARY:" + title + "\r\n"));
+	}
+
+	/**
+	 * Checks that parseActivity() rejects a line
+	 * @param line the line
+	 * @param lineNumber the line number
+	 * @param expected the expected rejection
+	 */
+	private void assertRejected(String line, int lineNumber, String expected) {
+		ActivityParseResult r = ActivityRecordIO.parseActivity(line, lineNumber);
+		assertFalse(r.isValid());
+		assertEquals(expected, r.toString());
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,161 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.workload.WorkloadGenerator;
+
+/**
+ * Tests CatalogArchive.
+ * @author Noah Benveniste
+ */
+public class CatalogArchiveTest {
+
+	/** Valid course records, with one repeated section */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Archive under test */
+	private CatalogArchive archive;
+	/** Term files written by the test */
+	private ArrayList<File> files;
+
+	/**
+	 * Creates an empty archive.
+	 */
+	@Before
+	public void setUp() {
+		archive = new CatalogArchive(4);
+		files = new ArrayList<File>();
+	}
+
+	/**
+	 * Closes the archive and deletes the term files.
+	 * @throws IOException if a term file cannot be closed
+	 */
+	@After
+	public void tearDown() throws IOException {
+		archive.close();
+		for (int i = 0; i < files.size(); i++) {
+			files.get(i).delete();
+		}
+	}
+
+	/**
+	 * Tests looking up sections in one term and across terms.
+	 * @throws IOException if a term file cannot be read or written
+	 */
+	@Test
+	public void testGetCourse() throws IOException {
+		assertEquals(8, CatalogArchive.writeTerm(validTestFile, termFile().getPath()));
+		archive.addTerm("Fall 2025", files.get(0).getPath());
+		assertEquals(3, CatalogArchive.writeTerm("test-files/merge_records_1.txt", termFile().getPath()));
+		assertEquals(4, CatalogArchive.writeTerm("test-files/merge_records_2.txt", termFile().getPath()));
+		archive.addTerm("Spring 2026", files.get(2).getPath());
+		archive.addTerm("Summer 2026", files.get(1).getPath());
+		assertEquals(3, archive.getTerms().size());
+		assertEquals("Spring 2026", archive.getTerms().get(1));
+
+		Course c = archive.getCourse("Fall 2025", "CSC116", "002");
+		assertEquals("spbalik", c.getInstructorId());
+		assertEquals("jtking", archive.getCourse("Spring 2026", "CSC216", "001").getInstructorId());
+		assertNull(archive.getCourse("Fall 2025", "CSC999", "001"));
+		assertNull(archive.getCourse("Fall 2025", "CSC216", "003"));
+		assertNull(archive.getCourse("Fall 2025", null, "001"));
+
+		List<String> terms = archive.findTerms("CSC216", "001");
+		assertEquals(3, terms.size());
+		terms = archive.findTerms("MA141", "001");
+		assertEquals(1, terms.size());
+		assertEquals("Spring 2026", terms.get(0));
+		assertEquals(0, archive.findTerms("ECE109", "001").size());
+		assertTrue(archive.getBloomSkips() > 0);
+
+		//Each lookup gets its own Course
+		assertNotSame(c, archive.getCourse("Fall 2025", "CSC116", "002"));
+	}
+
+	/**
+	 * Tests that every section of a term many blocks long is found, and that a block is only
+	 * read from disk when it is not in the cache.
+	 * @throws IOException if a term file cannot be read or written
+	 */
+	@Test
+	public void testManyBlocks() throws IOException {
+		File records = File.createTempFile("catalog", ".txt");
+		files.add(records);
+		WorkloadGenerator generator = new WorkloadGenerator(50);
+		generator.writeCourseRecords(records.getPath(), 4000);
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(records.getPath());
+		assertEquals(courses.size(), CatalogArchive.writeTerm(records.getPath(), termFile().getPath()));
+		assertTrue(files.get(1).length() > 20 * CatalogArchive.BLOCK_SIZE);
+		archive.addTerm("Fall 2025", files.get(1).getPath());
+
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			assertEquals(c.toString(), archive.getCourse("Fall 2025", c.getName(), c.getSection()).toString());
+		}
+		assertTrue(archive.getBlockReads() > 20);
+		Course c = courses.get(0);
+		archive.getCourse("Fall 2025", c.getName(), c.getSection());
+		int reads = archive.getBlockReads();
+		int hits = archive.getCacheHits();
+		archive.getCourse("Fall 2025", c.getName(), c.getSection());
+		assertEquals(reads, archive.getBlockReads());
+		assertEquals(hits + 1, archive.getCacheHits());
+	}
+
+	/**
+	 * Tests invalid settings, terms and files.
+	 * @throws IOException if a term file cannot be written
+	 */
+	@Test
+	public void testInvalid() throws IOException {
+		try {
+			new CatalogArchive(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid cache size.", e.getMessage());
+		}
+		CatalogArchive.writeTerm(validTestFile, termFile().getPath());
+		archive.addTerm("Fall 2025", files.get(0).getPath());
+		try {
+			archive.addTerm("Fall 2025", files.get(0).getPath());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+		try {
+			archive.getCourse("Fall 2024", "CSC216", "001");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+		try {
+			archive.addTerm("Fall 2024", validTestFile);
+			fail();
+		} catch (IOException e) {
+			assertEquals("Not a term file.", e.getMessage());
+		}
+		assertEquals(1, archive.getTerms().size());
+	}
+
+	/**
+	 * Creates a term file that is deleted after the test
+	 * @return the file
+	 * @throws IOException if the file cannot be created
+	 */
+	private File termFile() throws IOException {
+		File file = File.createTempFile("term", ".dat");
+		files.add(file);
+		return file;
+	}
+}
@@ -4,12 +4,16 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +21,7 @@ import org.junit.Test;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.workload.WorkloadGenerator;
 
 /**
  * Tests CouresRecordIO.
@@ -90,6 +95,299 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests readCourseRecords() with a RejectionReport.
+	 */
+	@Test
+	public void testReadCourseRecordsWithReport() {
+		try {
+			//The duplicate section is the only rejected line in the valid file
+			RejectionReport report = new RejectionReport();
+			assertEquals(8, CourseRecordIO.readCourseRecords(validTestFile, report).size());
+			assertEquals(1, report.size());
+			assertEquals("Line 4, column 1: Duplicate section.", report.getRejections().get(0).toString());
+			
+			//Every line of the invalid file is reported with its first bad field
+			report = new RejectionReport();
+			assertEquals(0, CourseRecordIO.readCourseRecords(invalidTestFile, report).size());
+			List<CourseParseResult> rejections = report.getRejections();
+			assertEquals(17, rejections.size());
+			for (int i = 0; i < rejections.size(); i++) {
+				assertEquals(i + 1, rejections.get(i).getLineNumber());
+				assertFalse(rejections.get(i).isValid());
+				assertNull(rejections.get(i).getCourse());
+			}
+			assertEquals("Line 1, column 1: Invalid course name.", rejections.get(0).toString());
+			assertEquals("Invalid section.", rejections.get(1).getReason());
+			assertEquals(12, rejections.get(1).getColumn());
+			assertEquals("Missing end time.", rejections.get(7).getReason());
+			assertEquals("Invalid course title.", rejections.get(9).getReason());
+			assertEquals(8, rejections.get(9).getColumn());
+			assertEquals("Invalid credits.", rejections.get(11).getReason());
+			assertEquals("Invalid instructor id.", rejections.get(12).getReason());
+			assertEquals("Invalid meeting days.", rejections.get(13).getReason());
+			assertEquals("Invalid course times.", rejections.get(14).getReason());
+			assertEquals("Invalid start time.", rejections.get(15).getReason());
+			assertEquals("Invalid course times.", rejections.get(16).getReason());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading course records");
+		}
+	}
+	
+	/**
+	 * Tests parseCourse().
+	 */
+	@Test
+	public void testParseCourse() {
+		CourseParseResult result = CourseRecordIO.parseCourse(validCourse1, 3);
+		assertTrue(result.isValid());
+		assertEquals(validCourse1, result.getCourse().toString());
+		assertEquals(3, result.getLineNumber());
+		assertEquals(0, result.getColumn());
+		assertNull(result.getReason());
+		
+		//Arranged courses have no times
+		result = CourseRecordIO.parseCourse(validCourse6, 1);
+		assertTrue(result.isValid());
+		assertEquals(validCourse6, result.getCourse().toString());
+		
+		//Missing fields are reported past the end of the line
+		result = CourseRecordIO.parseCourse("CSC216,Programming Concepts - Java,001", 2);
+		assertFalse(result.isValid());
+		assertEquals("Missing credits.", result.getReason());
+		assertEquals(39, result.getColumn());
+		assertEquals("Missing course name.", CourseRecordIO.parseCourse("", 1).getReason());
+		
+		//Times that are not numbers are rejected
+		result = CourseRecordIO.parseCourse("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1:30,1445", 2);
+		assertEquals("Invalid start time.", result.getReason());
+		assertEquals(54, result.getColumn());
+		result = CourseRecordIO.parseCourse("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,99999999999", 2);
+		assertEquals("Invalid end time.", result.getReason());
+		assertEquals(59, result.getColumn());
+		
+		//An optional capacity follows the times
+		result = CourseRecordIO.parseCourse(validCourse1 + ",25", 4);
+		assertTrue(result.isValid());
+		assertEquals(25, result.getCourse().getCapacity());
+		assertEquals(validCourse1 + ",25", result.getCourse().toString());
+		assertEquals(Course.UNLIMITED, CourseRecordIO.parseCourse(validCourse1, 4).getCourse().getCapacity());
+		result = CourseRecordIO.parseCourse(validCourse6 + ",0,0,5", 4);
+		assertTrue(result.isValid());
+		assertEquals(5, result.getCourse().getCapacity());
+		assertEquals(validCourse6 + ",0,0,5", result.getCourse().toString());
+		result = CourseRecordIO.parseCourse("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,1445,0", 2);
+		assertEquals("Invalid capacity.", result.getReason());
+		assertEquals(64, result.getColumn());
+		result = CourseRecordIO.parseCourse("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,1445,many", 2);
+		assertEquals("Invalid capacity.", result.getReason());
+	}
+	
+	/**
+	 * Tests readCourseRecords() with a CourseRecordListener.
+	 */
+	@Test
+	public void testReadCourseRecordsWithListener() {
+		final ArrayList<Course> reported = new ArrayList<Course>();
+		final long [] lastBytes = new long[1];
+		try {
+			//Every valid course is reported with growing progress
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, new CourseRecordListener() {
+				@Override
+				public boolean courseRead(Course course, long bytesRead, long totalBytes) {
+					assertTrue(bytesRead > lastBytes[0]);
+					assertTrue(bytesRead <= totalBytes);
+					lastBytes[0] = bytesRead;
+					reported.add(course);
+					return true;
+				}
+			});
+			assertEquals(8, courses.size());
+			assertEquals(courses, reported);
+			assertEquals(new File(validTestFile).length(), lastBytes[0]);
+			
+			//Reading stops when the listener asks it to
+			courses = CourseRecordIO.readCourseRecords(validTestFile, new CourseRecordListener() {
+				@Override
+				public boolean courseRead(Course course, long bytesRead, long totalBytes) {
+					return !"003".equals(course.getSection());
+				}
+			});
+			assertEquals(3, courses.size());
+			assertEquals(validCourse3, courses.get(2).toString());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecords() with gzip compressed files.
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void testReadGzipCourseRecords() throws IOException {
+		File plain = File.createTempFile("catalog", ".txt");
+		File gzip = File.createTempFile("catalog", ".gz");
+		try {
+			//A compressed file reads the same as the file it came from
+			byte [] records = Files.readAllBytes(new File(validTestFile).toPath());
+			compress(records, gzip, records.length);
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(gzip.getPath());
+			assertEquals(8, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			
+			//A catalog many read ahead chunks long is read in full, with progress in compressed bytes
+			WorkloadGenerator generator = new WorkloadGenerator(45);
+			generator.setInvalidRatio(0);
+			generator.writeCourseRecords(plain.getPath(), 7000);
+			records = Files.readAllBytes(plain.toPath());
+			assertTrue(records.length > (GzipReadAheadStream.CHUNKS_AHEAD + 1) * GzipReadAheadStream.CHUNK_SIZE);
+			compress(records, gzip, records.length);
+			final long [] lastBytes = new long[1];
+			courses = CourseRecordIO.readCourseRecords(gzip.getPath(), new CourseRecordListener() {
+				@Override
+				public boolean courseRead(Course course, long bytesRead, long totalBytes) {
+					assertTrue(bytesRead >= lastBytes[0]);
+					assertTrue(bytesRead <= totalBytes);
+					lastBytes[0] = bytesRead;
+					return true;
+				}
+			});
+			assertEquals(CourseRecordIO.readCourseRecords(plain.getPath()), courses);
+			assertEquals(gzip.length(), lastBytes[0]);
+			
+			//Stopping early leaves the rest of the file unread
+			courses = CourseRecordIO.readCourseRecords(gzip.getPath(), new CourseRecordListener() {
+				@Override
+				public boolean courseRead(Course course, long bytesRead, long totalBytes) {
+					return false;
+				}
+			});
+			assertEquals(1, courses.size());
+			
+			//A cut off file is an error, not a shorter catalog
+			compress(records, gzip, records.length);
+			byte [] compressed = Files.readAllBytes(gzip.toPath());
+			FileOutputStream out = new FileOutputStream(gzip);
+			out.write(compressed, 0, compressed.length / 2);
+			out.close();
+			try {
+				CourseRecordIO.readCourseRecords(gzip.getPath());
+				fail();
+			} catch (FileNotFoundException e) {
+				assertEquals(gzip.getPath() + " cannot be decompressed.", e.getMessage());
+			}
+			
+			//A file is only decompressed if it is compressed, whatever its name
+			Files.copy(new File(validTestFile).toPath(), gzip.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			assertEquals(8, CourseRecordIO.readCourseRecords(gzip.getPath()).size());
+		} finally {
+			plain.delete();
+			gzip.delete();
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecords() with several files merged by each precedence.
+	 * @throws IOException if the test files cannot be copied
+	 */
+	@Test
+	public void testReadMergedCourseRecords() throws IOException {
+		String [] files = {"test-files/merge_records_1.txt", "test-files/merge_records_2.txt"};
+		
+		//Sections in both files are kept once, where they first appear
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(files, CourseRecordIO.FIRST_WINS);
+		assertEquals(5, courses.size());
+		assertEquals("CSC116", courses.get(0).getName());
+		assertEquals("sesmith5", courses.get(1).getInstructorId());
+		assertEquals("CSC226", courses.get(2).getName());
+		assertEquals("MA141", courses.get(3).getName());
+		assertEquals("MA241", courses.get(4).getName());
+		
+		courses = CourseRecordIO.readCourseRecords(files, CourseRecordIO.LAST_WINS);
+		assertEquals(5, courses.size());
+		assertEquals("jtking", courses.get(1).getInstructorId());
+		
+		//The newer file wins wherever it is in the list
+		File older = File.createTempFile("catalog", ".txt");
+		File newer = File.createTempFile("catalog", ".txt");
+		try {
+			Files.copy(new File(files[1]).toPath(), older.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.copy(new File(files[0]).toPath(), newer.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			assertTrue(older.setLastModified(1000000000000L));
+			assertTrue(newer.setLastModified(2000000000000L));
+			courses = CourseRecordIO.readCourseRecords(new String [] {newer.getPath(), older.getPath()}, 
+					CourseRecordIO.NEWEST_FILE_WINS);
+			assertEquals(5, courses.size());
+			assertEquals("sesmith5", courses.get(1).getInstructorId());
+			assertTrue(newer.setLastModified(500000000000L));
+			courses = CourseRecordIO.readCourseRecords(new String [] {newer.getPath(), older.getPath()}, 
+					CourseRecordIO.NEWEST_FILE_WINS);
+			assertEquals("jtking", courses.get(1).getInstructorId());
+		} finally {
+			older.delete();
+			newer.delete();
+		}
+		
+		try {
+			CourseRecordIO.readCourseRecords(new String [] {files[0], "test-files/nothing.txt"}, CourseRecordIO.FIRST_WINS);
+			fail();
+		} catch (FileNotFoundException e) {
+			//Expected
+		}
+		try {
+			CourseRecordIO.readCourseRecords(new String [0], CourseRecordIO.FIRST_WINS);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("No catalog files.", e.getMessage());
+		}
+		try {
+			CourseRecordIO.readCourseRecords(files, 3);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid precedence.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests readCatalogDelta().
+	 * @throws FileNotFoundException if the delta cannot be read
+	 */
+	@Test
+	public void testReadCatalogDelta() throws FileNotFoundException {
+		RejectionReport report = new RejectionReport();
+		CatalogDelta delta = CourseRecordIO.readCatalogDelta("test-files/catalog_delta.txt", report);
+		assertEquals(4, delta.size());
+		assertFalse(delta.isDelete(0));
+		assertEquals("jtking", delta.getCourse(0).getInstructorId());
+		assertTrue(delta.isDelete(1));
+		assertEquals("CSC116", delta.getName(1));
+		assertEquals("003", delta.getSection(1));
+		assertNull(delta.getCourse(1));
+		assertEquals("CSC316", delta.getName(2));
+		assertEquals("CSC999", delta.getName(3));
+		assertEquals("U,CSC216,Programming Concepts - Java,001,4,jtking,MW,1500,1615\nD,CSC116,003\n", 
+				delta.toString().substring(0, 76));
+		
+		//Columns count the change letter
+		assertEquals(3, report.size());
+		assertEquals(4, report.getRejections().get(0).getLineNumber());
+		assertEquals("Invalid change.", report.getRejections().get(0).getReason());
+		assertEquals(5, report.getRejections().get(1).getLineNumber());
+		assertEquals("Invalid delete.", report.getRejections().get(1).getReason());
+		assertEquals(6, report.getRejections().get(2).getLineNumber());
+		assertEquals(59, report.getRejections().get(2).getColumn());
+		
+		try {
+			CourseRecordIO.readCatalogDelta("test-files/nothing.txt", null);
+			fail();
+		} catch (FileNotFoundException e) {
+			//Expected
+		}
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
@@ -109,6 +407,19 @@ public class CourseRecordIOTest {
 		checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
 	}
 
+	/**
+	 * Helper method to gzip the start of some records into a file
+	 * @param records the records
+	 * @param file the file to write
+	 * @param length number of bytes to compress
+	 * @throws IOException if the file cannot be written
+	 */
+	private void compress(byte [] records, File file, int length) throws IOException {
+		GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+		out.write(records, 0, length);
+		out.close();
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
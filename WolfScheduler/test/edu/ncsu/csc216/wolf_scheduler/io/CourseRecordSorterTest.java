@@ -0,0 +1,138 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.workload.WorkloadGenerator;
+
+/**
+ * Tests CourseRecordSorter.
+ * @author Noah Benveniste
+ */
+public class CourseRecordSorterTest {
+
+	/** Valid course records, with one repeated section */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Sorted output */
+	private File out;
+
+	/**
+	 * Creates the output file.
+	 * @throws IOException if the file cannot be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		out = File.createTempFile("sorted", ".txt");
+	}
+
+	/**
+	 * Deletes the output file.
+	 */
+	@After
+	public void tearDown() {
+		out.delete();
+	}
+
+	/**
+	 * Tests sorting a file spread over several runs and merge passes.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testSort() throws IOException {
+		CourseRecordSorter sorter = new CourseRecordSorter(2, 2);
+		assertEquals(8, sorter.sort(validTestFile, out.getPath()));
+		assertEquals(5, sorter.getRuns());
+		assertEquals(1, sorter.getDuplicates());
+		assertEquals(0, sorter.getRejected());
+		List<String> lines = Files.readAllLines(out.toPath(), StandardCharsets.UTF_8);
+		assertEquals(8, lines.size());
+		assertEquals("CSC116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100", lines.get(0));
+		//The first record of a section wins, even when the repeat is in a later run
+		assertEquals("CSC116,Intro to Programming - Java,002,3,spbalik,MW,1120,1310", lines.get(1));
+		assertEquals("CSC216,Programming Concepts - Java,601,4,jep,A", lines.get(5));
+		assertEquals("CSC230,C and Software Tools,001,3,dbsturgi,MW,1145,1300", lines.get(7));
+
+		//Everything fits in one run with the defaults
+		sorter = new CourseRecordSorter();
+		assertEquals(8, sorter.sort(validTestFile, out.getPath()));
+		assertEquals(1, sorter.getRuns());
+		assertEquals(lines, Files.readAllLines(out.toPath(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Tests that a generated catalog sorts to the same records as reading it in memory
+	 * and sorting the courses.
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	public void testSortGenerated() throws IOException {
+		File in = File.createTempFile("catalog", ".txt");
+		try {
+			WorkloadGenerator generator = new WorkloadGenerator(48);
+			generator.setInvalidRatio(0.1);
+			generator.writeCourseRecords(in.getPath(), 3000);
+			RejectionReport report = new RejectionReport();
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(in.getPath(), null, report);
+			Collections.sort(courses, new Comparator<Course>() {
+				@Override
+				public int compare(Course a, Course b) {
+					int diff = a.getName().compareTo(b.getName());
+					return diff != 0 ? diff : a.getSection().compareTo(b.getSection());
+				}
+			});
+
+			CourseRecordSorter sorter = new CourseRecordSorter(100, 4);
+			assertEquals(courses.size(), sorter.sort(in.getPath(), out.getPath()));
+			//More runs than two passes of four-way merges can reduce to one
+			assertTrue(sorter.getRuns() > 16);
+			assertEquals(report.size(), sorter.getRejected() + sorter.getDuplicates());
+			List<String> lines = Files.readAllLines(out.toPath(), StandardCharsets.UTF_8);
+			for (int i = 0; i < courses.size(); i++) {
+				assertEquals(courses.get(i).toString(), lines.get(i));
+			}
+		} finally {
+			in.delete();
+		}
+	}
+
+	/**
+	 * Tests invalid sorter settings and a missing input file.
+	 * @throws IOException if the output cannot be written
+	 */
+	@Test
+	public void testInvalid() throws IOException {
+		try {
+			new CourseRecordSorter(0, 2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid run size.", e.getMessage());
+		}
+		try {
+			new CourseRecordSorter(10, 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid fan-in.", e.getMessage());
+		}
+		try {
+			new CourseRecordSorter().sort("test-files/nothing.txt", out.getPath());
+			fail();
+		} catch (FileNotFoundException e) {
+			//Expected
+		}
+	}
+}
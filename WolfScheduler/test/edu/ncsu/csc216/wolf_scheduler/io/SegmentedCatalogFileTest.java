@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests SegmentedCatalogFile.
+ * @author Noah Benveniste
+ */
+public class SegmentedCatalogFileTest {
+
+	/** Catalog split across two files, with sections from two departments */
+	private final String [] mergeFiles = {"test-files/merge_records_1.txt", "test-files/merge_records_2.txt"};
+
+	/** Segmented catalog file */
+	private File file;
+
+	/**
+	 * Creates the segmented catalog file.
+	 * @throws IOException if the file cannot be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("catalog", ".seg");
+	}
+
+	/**
+	 * Deletes the segmented catalog file.
+	 */
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Tests writing a catalog and reading it back one department at a time.
+	 * @throws IOException if the file cannot be read or written
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(mergeFiles, CourseRecordIO.FIRST_WINS);
+		SegmentedCatalogFile.write(file.getPath(), courses);
+		SegmentedCatalogFile segments = SegmentedCatalogFile.open(file.getPath());
+		assertEquals(2, segments.getDepartments().size());
+		assertEquals("CSC", segments.getDepartments().get(0));
+		assertEquals("MA", segments.getDepartments().get(1));
+		assertTrue(segments.hasDepartment("ma"));
+		assertFalse(segments.hasDepartment("ECE"));
+		assertFalse(segments.hasDepartment(null));
+		assertEquals(3, segments.getCourseCount("CSC"));
+		assertEquals(0, segments.getCourseCount("ECE"));
+
+		//Each department holds its own courses in catalog order
+		ArrayList<Course> ma = segments.readDepartment("MA");
+		assertEquals(2, ma.size());
+		assertEquals(courses.get(3).toString(), ma.get(0).toString());
+		assertEquals(courses.get(4).toString(), ma.get(1).toString());
+		ArrayList<Course> csc = segments.readDepartment("csc");
+		assertEquals(3, csc.size());
+		assertEquals(courses.get(1).toString(), csc.get(1).toString());
+		assertEquals(0, segments.readDepartment("ECE").size());
+
+		//An empty catalog has no departments
+		SegmentedCatalogFile.write(file.getPath(), new ArrayList<Course>());
+		assertEquals(0, SegmentedCatalogFile.open(file.getPath()).getDepartments().size());
+	}
+
+	/**
+	 * Tests opening files that are missing or not segmented catalogs.
+	 */
+	@Test
+	public void testOpenInvalid() {
+		try {
+			SegmentedCatalogFile.open("test-files/nothing.seg");
+			fail();
+		} catch (FileNotFoundException e) {
+			//Expected
+		} catch (IOException e) {
+			fail();
+		}
+		try {
+			SegmentedCatalogFile.open("test-files/starter_course_records.txt");
+			fail();
+		} catch (IOException e) {
+			assertEquals("Not a segmented catalog.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests Histogram.
+ * @author Noah Benveniste
+ */
+public class HistogramTest {
+
+	/**
+	 * Tests that an empty histogram reports zeros.
+	 */
+	@Test
+	public void testEmpty() {
+		Histogram h = new Histogram();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getTotal());
+		assertEquals(0, h.getMin());
+		assertEquals(0, h.getMax());
+		assertEquals(0.0, h.getMean(), 0.0);
+		assertEquals(0, h.getValueAtPercentile(50));
+	}
+
+	/**
+	 * Tests Histogram.record() and the summary statistics.
+	 */
+	@Test
+	public void testRecord() {
+		Histogram h = new Histogram();
+		for (int i = 1; i <= 100; i++) {
+			h.record(i);
+		}
+		assertEquals(100, h.getCount());
+		assertEquals(5050, h.getTotal());
+		assertEquals(1, h.getMin());
+		assertEquals(100, h.getMax());
+		assertEquals(50.5, h.getMean(), 0.001);
+		//Values below 64 have their own bucket
+		assertEquals(50, h.getValueAtPercentile(50));
+		assertEquals(100, h.getValueAtPercentile(100));
+		assertEquals(1, h.getValueAtPercentile(0));
+	}
+
+	/**
+	 * Tests that percentiles of large values are within the bucket precision.
+	 */
+	@Test
+	public void testPrecision() {
+		Histogram h = new Histogram();
+		long value = 123456789L;
+		h.record(value);
+		long reported = h.getValueAtPercentile(99);
+		assertTrue(reported >= value);
+		assertTrue(reported - value <= value / 32);
+		h.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, h.getValueAtPercentile(100));
+	}
+
+	/**
+	 * Tests that every value maps to a bucket whose highest value is at least the value.
+	 */
+	@Test
+	public void testBuckets() {
+		long[] values = {0, 1, 63, 64, 65, 127, 128, 1000, 1L << 40, Long.MAX_VALUE};
+		int last = -1;
+		for (int i = 0; i < values.length; i++) {
+			int bucket = Histogram.bucketOf(values[i]);
+			assertTrue(bucket >= last);
+			assertTrue(Histogram.highestInBucket(bucket) >= values[i]);
+			last = bucket;
+		}
+	}
+
+	/**
+	 * Tests that invalid percentiles are rejected.
+	 */
+	@Test
+	public void testInvalid() {
+		Histogram h = new Histogram();
+		try {
+			h.getValueAtPercentile(101);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid percentile.", e.getMessage());
+		}
+		try {
+			h.getValueAtPercentile(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid percentile.", e.getMessage());
+		}
+	}
+}
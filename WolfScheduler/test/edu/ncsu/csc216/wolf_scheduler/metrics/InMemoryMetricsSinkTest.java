@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests InMemoryMetricsSink and Metrics.
+ * @author Noah Benveniste
+ */
+public class InMemoryMetricsSinkTest {
+
+	/**
+	 * Tests InMemoryMetricsSink.increment() and getCount().
+	 */
+	@Test
+	public void testIncrement() {
+		InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		assertTrue(sink.isEnabled());
+		assertEquals(0, sink.getCount("a"));
+		sink.increment("a", 1);
+		sink.increment("a", 2);
+		sink.increment("b", 5);
+		assertEquals(3, sink.getCount("a"));
+		assertEquals(5, sink.getCount("b"));
+	}
+
+	/**
+	 * Tests InMemoryMetricsSink.record() and getHistogram().
+	 */
+	@Test
+	public void testRecord() {
+		InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		assertEquals(0, sink.getHistogram("t").getCount());
+		sink.record("t", 10);
+		sink.record("t", 20);
+		assertEquals(2, sink.getHistogram("t").getCount());
+		assertEquals(30, sink.getHistogram("t").getTotal());
+	}
+
+	/**
+	 * Tests that counters are not lost when several threads record at once.
+	 */
+	@Test
+	public void testConcurrent() {
+		final InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						sink.increment("c", 1);
+						sink.record("h", j);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			try {
+				threads[i].join();
+			} catch (InterruptedException e) {
+				fail("Interrupted");
+			}
+		}
+		assertEquals(40000, sink.getCount("c"));
+		assertEquals(40000, sink.getHistogram("h").getCount());
+		assertEquals(0, sink.getHistogram("h").getMin());
+		assertEquals(9999, sink.getHistogram("h").getMax());
+	}
+
+	/**
+	 * Tests Metrics.setSink() and getSink().
+	 */
+	@Test
+	public void testSetSink() {
+		assertFalse(Metrics.getSink().isEnabled());
+		InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		Metrics.setSink(sink);
+		try {
+			assertSame(sink, Metrics.getSink());
+		} finally {
+			Metrics.setSink(null);
+		}
+		assertFalse(Metrics.getSink().isEnabled());
+	}
+}
@@ -0,0 +1,308 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests ScheduleJournal.
+ * @author Noah Benveniste
+ */
+public class ScheduleJournalTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Directory the journal is kept in */
+	private File dir;
+
+	/**
+	 * Creates an empty directory for the journal.
+	 * @throws IOException if the directory cannot be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("journal").toFile();
+	}
+
+	/**
+	 * Deletes the journal directory.
+	 */
+	@After
+	public void tearDown() {
+		delete(dir);
+	}
+
+	/**
+	 * Tests that schedules are rebuilt from the journal after it is reopened.
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testRecover() throws IOException {
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		ScheduleJournal journal = new ScheduleJournal(dir.getPath(), catalog);
+		WolfScheduler alice = journal.open("alice");
+		assertSame(alice, journal.open("alice"));
+		alice.addCourse("CSC216", "001");
+		alice.addCourse("CSC116", "001");
+		alice.addEvent("Exercise", "MWF", 800, 900, 1, "Cardio, then weights");
+		alice.setTitle("Fall, 2026");
+		alice.removeActivity(0);
+		WolfScheduler bob = journal.open("bob");
+		bob.addCourse("CSC216", "001");
+		bob.resetSchedule();
+		bob.addCourse("CSC226", "001");
+		WolfScheduler carol = journal.open("carol");
+		carol.addCourse("CSC230", "001");
+		assertTrue(journal.drop("carol"));
+		assertFalse(journal.drop("carol"));
+		carol.addCourse("CSC216", "001");
+		journal.close();
+
+		//A fresh catalog gets the same schedules, holding the same seats
+		WolfScheduler catalog2 = new WolfScheduler(validTestFile);
+		ScheduleJournal journal2 = new ScheduleJournal(dir.getPath(), catalog2);
+		assertEquals(0, journal2.getSkippedRecords());
+		assertEquals(2, journal2.getScheduleIds().size());
+		assertNull(journal2.getSchedule("carol"));
+		WolfScheduler alice2 = journal2.getSchedule("alice");
+		assertEquals("Fall, 2026", alice2.getTitle());
+		assertTrue(Arrays.deepEquals(alice.getFullScheduledActivities(), alice2.getFullScheduledActivities()));
+		assertTrue(Arrays.deepEquals(bob.getFullScheduledActivities(),
+				journal2.getSchedule("bob").getFullScheduledActivities()));
+		assertEquals(1, catalog2.getCourseFromCatalog("CSC116", "001").getEnrolled());
+		assertEquals(0, catalog2.getCourseFromCatalog("CSC216", "001").getEnrolled());
+
+		//Changes after recovery are journaled too
+		alice2.removeActivity(1);
+		journal2.close();
+		ScheduleJournal journal3 = new ScheduleJournal(dir.getPath(), new WolfScheduler(validTestFile));
+		assertEquals(1, journal3.getSchedule("alice").getScheduledActivities().length);
+		journal3.close();
+	}
+
+	/**
+	 * Tests that snapshots replace older journal files, that a cut off last record and
+	 * stale sections are skipped, and that changes already in the snapshot are not.
+	 * @throws IOException if the journal cannot be read or written
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSnapshot() throws IOException, InterruptedException {
+		ScheduleJournal journal = new ScheduleJournal(dir.getPath(), new WolfScheduler(validTestFile), 5);
+		WolfScheduler ws = journal.open("s1");
+		for (int i = 0; i < 20; i++) {
+			synchronized (ws) {
+				ws.addCourse("CSC216", "001");
+				ws.removeActivity(0);
+			}
+		}
+		ws.addCourse("CSC116", "002");
+		journal.snapshot();
+		ws.addCourse("CSC216", "001");
+		journal.close();
+		String[] files = dir.list();
+		Arrays.sort(files);
+		assertEquals(2, files.length);
+		assertTrue(files[0].startsWith("journal."));
+		assertTrue(files[1].startsWith("snapshot."));
+
+		File last = new File(dir, files[0]);
+		FileOutputStream out = new FileOutputStream(last, true);
+		out.write(("s1,A,CSC116,Intro to Programming - Java,002,3,spbalik,MW,1120,1310\ns1,R,CSC226,Gone,001,3,nobody,MW,800,900\n"
+				+ "s1,A,CSC999,Gone,001,3,nobody,MW,800,900\ns1,R,CSC116,Intro").getBytes(StandardCharsets.UTF_8));
+		out.close();
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		journal = new ScheduleJournal(dir.getPath(), catalog, 5);
+		assertEquals(1, journal.getSkippedRecords());
+		String[][] schedule = journal.getSchedule("s1").getScheduledActivities();
+		assertEquals(2, schedule.length);
+		assertEquals("CSC116", schedule[0][0]);
+		assertEquals("CSC216", schedule[1][0]);
+		journal.close();
+	}
+
+	/**
+	 * Tests that titles and event details with line breaks survive the journal and a
+	 * snapshot, and that removing a section does not remove another section of the course.
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testFreeTextAndSections() throws IOException {
+		ScheduleJournal journal = new ScheduleJournal(dir.getPath(), new WolfScheduler(validTestFile));
+		WolfScheduler ws = journal.open("s1");
+		ws.addCourse("CSC216", "002");
+		ws.setTitle("Fall\nSpring \\ 2026");
+		ws.addEvent("Exercise", "MWF", 800, 900, 1, "Cardio\r\nthen weights \\n");
+		journal.close();
+		String[] files = dir.list();
+		Arrays.sort(files);
+		FileOutputStream out = new FileOutputStream(new File(dir, files[0]), true);
+		out.write("s1,R,CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445\n".getBytes(StandardCharsets.UTF_8));
+		out.close();
+
+		//Recover once from the journal, then again from the snapshot taken on opening
+		for (int i = 0; i < 2; i++) {
+			journal = new ScheduleJournal(dir.getPath(), new WolfScheduler(validTestFile));
+			assertEquals(0, journal.getSkippedRecords());
+			WolfScheduler recovered = journal.getSchedule("s1");
+			assertEquals("Fall\nSpring \\ 2026", recovered.getTitle());
+			assertTrue(Arrays.deepEquals(ws.getFullScheduledActivities(), recovered.getFullScheduledActivities()));
+			journal.close();
+		}
+	}
+
+	/**
+	 * Tests that changes made to many schedules at once are all recovered.
+	 * @throws Exception if the journal cannot be written or a thread fails
+	 */
+	@Test
+	public void testConcurrentChanges() throws Exception {
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		final ScheduleJournal journal = new ScheduleJournal(dir.getPath(), catalog, 100);
+		final Exception[] failure = new Exception[1];
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			final String id = "student" + i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						WolfScheduler ws = journal.open(id);
+						for (int j = 0; j < 100; j++) {
+							synchronized (ws) {
+								ws.addEvent("Event" + j, "MW", 800, 900, 1, id);
+								if (j % 2 == 1) {
+									ws.removeActivity(0);
+								}
+							}
+						}
+					} catch (RuntimeException e) {
+						failure[0] = e;
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertNull(failure[0]);
+		journal.close();
+
+		ScheduleJournal journal2 = new ScheduleJournal(dir.getPath(), new WolfScheduler(validTestFile));
+		assertEquals(8, journal2.getScheduleIds().size());
+		for (int i = 0; i < threads.length; i++) {
+			String[][] schedule = journal2.getSchedule("student" + i).getFullScheduledActivities();
+			assertEquals(50, schedule.length);
+			assertEquals("Event50", schedule[0][2]);
+		}
+		journal2.close();
+	}
+
+	/**
+	 * Tests that invalid arguments are rejected.
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testInvalid() throws IOException {
+		try {
+			new ScheduleJournal(dir.getPath(), null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Catalog cannot be null.", e.getMessage());
+		}
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		try {
+			new ScheduleJournal(dir.getPath(), catalog, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid snapshot interval.", e.getMessage());
+		}
+		ScheduleJournal journal = new ScheduleJournal(dir.getPath(), catalog);
+		try {
+			journal.open("../alice");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid schedule id.", e.getMessage());
+		}
+		WolfScheduler ws = journal.open("alice");
+		journal.close();
+		try {
+			ws.addCourse("CSC216", "001");
+			assertEquals(1, ws.getScheduledActivities().length);
+			journal.open("bob").addCourse("CSC216", "001");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Journal is closed.", e.getMessage());
+		}
+		//A change that cannot be journaled is not made
+		assertEquals(0, journal.getSchedule("bob").getScheduledActivities().length);
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(1, c.getEnrolled());
+	}
+
+	/**
+	 * Tests that a change is written once the scheduler's monitor is released, not while a
+	 * caller holds it.
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testDurableAfterMonitor() throws IOException {
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		ScheduleJournal journal = new ScheduleJournal(dir.getPath(), catalog);
+		WolfScheduler alice = journal.open("alice");
+		synchronized (alice) {
+			alice.addCourse("CSC216", "001");
+			assertFalse(journalText().contains("alice,A,"));
+		}
+		alice.awaitRecorded();
+		assertTrue(journalText().contains("alice,A,CSC216"));
+		
+		//Without a caller holding the monitor, the change is written before the method returns
+		alice.addCourse("CSC116", "001");
+		assertTrue(journalText().contains("alice,A,CSC116"));
+		journal.close();
+	}
+
+	/**
+	 * Reads every journal file in the journal directory
+	 * @return the journal files' text
+	 * @throws IOException if a journal file cannot be read
+	 */
+	private String journalText() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		File[] files = dir.listFiles();
+		for (int i = 0; i < files.length; i++) {
+			if (files[i].getName().startsWith("journal.")) {
+				sb.append(new String(Files.readAllBytes(files[i].toPath()), StandardCharsets.UTF_8));
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Deletes a file, or a directory and the files in it
+	 * @param file the file or directory
+	 */
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (int i = 0; i < children.length; i++) {
+				delete(children[i]);
+			}
+		}
+		file.delete();
+	}
+}
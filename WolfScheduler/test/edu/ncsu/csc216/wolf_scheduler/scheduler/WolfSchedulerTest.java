@@ -7,13 +7,27 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Scanner;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc216.wolf_scheduler.calendar.Occurrence;
+import edu.ncsu.csc216.wolf_scheduler.calendar.OccurrenceIndex;
+import edu.ncsu.csc216.wolf_scheduler.calendar.Term;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogDelta;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.SegmentedCatalogFile;
+import edu.ncsu.csc216.wolf_scheduler.metrics.InMemoryMetricsSink;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Trace;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Tracer;
+import edu.ncsu.csc216.wolf_scheduler.workload.WorkloadGenerator;
 
 /**
  * Tests the WolfScheduler class.
@@ -92,6 +106,32 @@ public class WolfSchedulerTest {
 		assertEquals(8, ws2.getCourseCatalog().length);		
 	}
 	
+	/**
+	 * Tests WolfScheduler(WolfScheduler).
+	 */
+	@Test
+	public void testWolfSchedulerSharedCatalog() {
+		WolfScheduler source = new WolfScheduler(validTestFile);
+		source.addCourse(NAME, SECTION);
+		WolfScheduler ws = new WolfScheduler(source);
+		
+		//The catalog is shared, but the schedule starts empty
+		assertEquals(8, ws.getCatalogSize());
+		assertSame(source.getCatalogCourse(0), ws.getCatalogCourse(0));
+		assertEquals(1, ws.searchCatalog("discrete").length);
+		assertEquals(0, ws.getScheduledActivities().length);
+		assertEquals(WolfScheduler.DEFAULT_SCHEDULE_NAME, ws.getTitle());
+		assertTrue(ws.addCourse(NAME, SECTION));
+		assertEquals(1, source.getScheduledActivities().length);
+		
+		try {
+			new WolfScheduler((WolfScheduler) null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Catalog cannot be null.", e.getMessage());
+		}
+	}
+	
 	/**
 	 * Test WolfScheduler.getCourseFromCatalog().
 	 */
@@ -107,6 +147,298 @@ public class WolfSchedulerTest {
 		assertEquals(c, ws.getCourseFromCatalog("CSC216", "001"));
 	}
 	
+	/**
+	 * Test WolfScheduler.getCatalogSize() and WolfScheduler.getCatalogCourse().
+	 */
+	@Test
+	public void testGetCatalogCourse() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(8, ws.getCatalogSize());
+		
+		Activity c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(c, ws.getCatalogCourse(3));
+		assertNull(ws.getCatalogCourse(-1));
+		assertNull(ws.getCatalogCourse(8));
+	}
+	
+	/**
+	 * Test WolfScheduler.getCatalogPage().
+	 */
+	@Test
+	public void testGetCatalogPage() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		CatalogPage page = ws.getCatalogPage(3, 2);
+		assertEquals(8, page.getTotal());
+		assertEquals(2, page.getRows().length);
+		assertEquals(NAME, page.getRows()[0][0]);
+		assertEquals(SECTION, page.getRows()[0][1]);
+		assertEquals(1, ws.getCatalogPage(7, 5).getRows().length);
+		assertEquals(0, ws.getCatalogPage(20, 5).getRows().length);
+		assertEquals(8, ws.getCatalogPage(0, Integer.MAX_VALUE).getRows().length);
+		try {
+			ws.getCatalogPage(-1, 5);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid page.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler() and WolfScheduler.addCatalogCourses().
+	 */
+	@Test
+	public void testAddCatalogCourses() {
+		WolfScheduler ws = new WolfScheduler();
+		assertEquals(0, ws.getCatalogSize());
+		assertEquals("My Schedule", ws.getTitle());
+		
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		courses.add(new Course(NAME, TITLE, "002", CREDITS, "jtking", "MW", START_TIME, END_TIME));
+		//Duplicate sections are skipped
+		courses.add(new Course(NAME, TITLE, SECTION, CREDITS, "jtking", "MW", START_TIME, END_TIME));
+		assertEquals(2, ws.addCatalogCourses(courses));
+		assertEquals(2, ws.getCatalogSize());
+		assertEquals(INSTRUCTOR_ID, ws.getCourseFromCatalog(NAME, SECTION).getInstructorId());
+		
+		//Appended courses can be searched and scheduled
+		assertEquals(1, ws.getCoursesByInstructor("jtking").length);
+		assertEquals(2, ws.getCoursesByDepartment("CSC").length);
+		assertEquals(2, ws.searchCatalog("CSC216").length);
+		assertTrue(ws.addCourse(NAME, "002"));
+		
+		//Adding only duplicates changes nothing
+		assertEquals(0, ws.addCatalogCourses(courses));
+		assertEquals(2, ws.getCatalogSize());
+	}
+	
+	/**
+	 * Test WolfScheduler.loadCourseCatalog() with several files.
+	 */
+	@Test
+	public void testLoadMergedCourseCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		String [] files = {"test-files/merge_records_1.txt", "test-files/merge_records_2.txt"};
+		ws.loadCourseCatalog(files, CourseRecordIO.LAST_WINS);
+		assertEquals(5, ws.getCatalogSize());
+		assertEquals("jtking", ws.getCourseFromCatalog("CSC216", "001").getInstructorId());
+		assertEquals(2, ws.getCoursesByDepartment("MA").length);
+		assertEquals(1, ws.searchCatalog("MA241").length);
+		
+		//A missing file leaves the catalog as it was
+		try {
+			ws.loadCourseCatalog(new String [] {files[0], "test-files/nothing.txt"}, CourseRecordIO.FIRST_WINS);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+		assertEquals(5, ws.getCatalogSize());
+	}
+	
+	/**
+	 * Test WolfScheduler.applyCatalogDelta() and the flags it leaves on schedules.
+	 */
+	@Test
+	public void testApplyCatalogDelta() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		WolfScheduler other = new WolfScheduler(ws);
+		assertTrue(ws.addCourse("CSC216", "001"));
+		assertTrue(ws.addCourse("CSC116", "003"));
+		assertTrue(ws.addCourse("CSC226", "001"));
+		assertTrue(other.addCourse("CSC216", "001"));
+		assertEquals(0, ws.getFlaggedActivities().length);
+		
+		//One change, one delete and one new section; the bad lines and the unknown section are skipped
+		assertEquals(3, ws.applyCatalogDelta("test-files/catalog_delta.txt"));
+		assertEquals(8, ws.getCatalogSize());
+		Course changed = ws.getCourseFromCatalog("CSC216", "001");
+		assertEquals("jtking", changed.getInstructorId());
+		assertEquals(1500, changed.getStartTime());
+		assertEquals(2, changed.getEnrolled());
+		assertNull(ws.getCourseFromCatalog("CSC116", "003"));
+		assertEquals("CSC316", ws.getCatalogCourse(7).getName());
+		assertEquals(3, ws.getCoursesByInstructor("jtking").length);
+		assertEquals(1, ws.searchCatalog("algorithms").length);
+		assertEquals(0, ws.searchCatalog("tbdimitr").length);
+		
+		//Both schedules see the change; the deleted section stays in the schedule it was in
+		String[][] flagged = ws.getFlaggedActivities();
+		assertEquals(2, flagged.length);
+		assertEquals("CSC216", flagged[0][0]);
+		assertEquals("CSC116", flagged[1][0]);
+		assertEquals(3, ws.getScheduledActivities().length);
+		assertEquals(1, other.getFlaggedActivities().length);
+		assertEquals("MW 3:00PM-4:15PM", ws.getScheduledActivities()[0][3]);
+		
+		//Clearing flags only affects one schedule, and later changes are flagged again
+		ws.clearFlags();
+		assertEquals(0, ws.getFlaggedActivities().length);
+		assertEquals(1, other.getFlaggedActivities().length);
+		CatalogDelta delta = new CatalogDelta();
+		delta.upsert(new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "TH", 935, 1025));
+		assertEquals(1, ws.applyCatalogDelta(delta));
+		assertEquals(1, ws.getFlaggedActivities().length);
+		assertEquals("CSC226", ws.getFlaggedActivities()[0][0]);
+		
+		try {
+			ws.applyCatalogDelta("test-files/nothing.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Test that many catalog deltas keep search results and instructor groups in catalog order.
+	 */
+	@Test
+	public void testApplyManyCatalogDeltas() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		for (int i = 0; i < 500; i++) {
+			//Retitle a section in place, and drop and re-add another at the end of the catalog
+			CatalogDelta delta = new CatalogDelta();
+			delta.upsert(new Course("CSC216", i % 2 == 0 ? "Programming Concepts - Python" : "Programming Concepts - Java", 
+					"001", 4, "sesmith5", "TH", 1330, 1445));
+			delta.delete("CSC116", "002");
+			assertEquals(2, ws.applyCatalogDelta(delta));
+			delta = new CatalogDelta();
+			delta.upsert(new Course("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", "MW", 1120, 1310));
+			assertEquals(1, ws.applyCatalogDelta(delta));
+		}
+		assertEquals(8, ws.getCatalogSize());
+		assertEquals("CSC116", ws.getCatalogCourse(7).getName());
+		assertEquals("Programming Concepts - Java", ws.getCourseFromCatalog("CSC216", "001").getTitle());
+		
+		//Every section scores the same for "csc", so the results follow the catalog
+		String[][] catalog = ws.getCourseCatalog();
+		String[][] results = ws.searchCatalog("csc");
+		String[][] department = ws.getCoursesByDepartment("CSC");
+		assertEquals(catalog.length, results.length);
+		assertEquals(catalog.length, department.length);
+		for (int i = 0; i < catalog.length; i++) {
+			assertEquals(catalog[i][0], results[i][0]);
+			assertEquals(catalog[i][1], results[i][1]);
+			assertEquals(catalog[i][0], department[i][0]);
+			assertEquals(catalog[i][1], department[i][1]);
+		}
+		assertEquals(0, ws.searchCatalog("python").length);
+		assertEquals(1, ws.searchCatalog("spbalik").length);
+	}
+	
+	/**
+	 * Test WolfScheduler.openSegmentedCatalog() and the departments it reads on demand.
+	 * @throws IOException if the segmented catalog cannot be written
+	 */
+	@Test
+	public void testOpenSegmentedCatalog() throws IOException {
+		String [] files = {"test-files/merge_records_1.txt", "test-files/merge_records_2.txt"};
+		File segmented = File.createTempFile("catalog", ".seg");
+		try {
+			SegmentedCatalogFile.write(segmented.getPath(), CourseRecordIO.readCourseRecords(files, CourseRecordIO.FIRST_WINS));
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			ws.openSegmentedCatalog(segmented.getPath());
+			assertEquals(0, ws.getCatalogSize());
+			
+			//Looking up a section reads its department and no other
+			assertEquals("Calculus I", ws.getCourseFromCatalog("MA141", "001").getTitle());
+			assertEquals(2, ws.getCatalogSize());
+			assertFalse(ws.loadDepartment("ma"));
+			assertFalse(ws.loadDepartment("ECE"));
+			assertNull(ws.getCourseFromCatalog("ECE109", "001"));
+			assertEquals(2, ws.getCatalogSize());
+			
+			//Adding a course and searching read departments too, for every schedule on the catalog
+			WolfScheduler other = new WolfScheduler(ws);
+			assertTrue(other.addCourse("CSC216", "001"));
+			assertEquals(5, ws.getCatalogSize());
+			assertEquals(3, ws.getCoursesByDepartment("csc").length);
+			assertEquals(1, ws.getCourseFromCatalog("CSC216", "001").getEnrolled());
+			
+			//Loading a plain catalog stops reading from the segmented file
+			ws.loadCourseCatalog(validTestFile);
+			assertEquals(8, ws.getCatalogSize());
+			assertFalse(ws.loadDepartment("MA"));
+			
+			ws.openSegmentedCatalog(segmented.getPath());
+			assertEquals(1, ws.searchCatalog("MA2").length);
+			assertEquals(2, ws.getCatalogSize());
+		} finally {
+			segmented.delete();
+		}
+		
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		try {
+			ws.openSegmentedCatalog("test-files/nothing.seg");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+		try {
+			ws.openSegmentedCatalog(validTestFile);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The file cannot be read.", e.getMessage());
+		}
+		assertEquals(8, ws.getCatalogSize());
+	}
+	
+	/**
+	 * Tests that schedules sharing a segmented catalog find every section while other
+	 * schedules are reading departments into it.
+	 * @throws IOException if the segmented catalog cannot be written
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSegmentedCatalogReaders() throws IOException, InterruptedException {
+		File records = File.createTempFile("catalog", ".txt");
+		File segmented = File.createTempFile("catalog", ".seg");
+		try {
+			//Many small departments, so the catalog grows in many small steps
+			String[] departments = new String[26 * 26];
+			int[] weights = new int[departments.length];
+			for (int i = 0; i < departments.length; i++) {
+				departments[i] = "" + (char) ('A' + i / 26) + (char) ('A' + i % 26);
+				weights[i] = 1;
+			}
+			WorkloadGenerator generator = new WorkloadGenerator(49);
+			generator.setDepartments(departments, weights);
+			generator.writeCourseRecords(records.getPath(), 20000);
+			final ArrayList<Course> courses = CourseRecordIO.readCourseRecords(records.getPath());
+			SegmentedCatalogFile.write(segmented.getPath(), courses);
+			WolfScheduler catalog = new WolfScheduler();
+			catalog.openSegmentedCatalog(segmented.getPath());
+			
+			//Each thread looks the sections up in a different order, so departments are read
+			//by whichever thread needs them first while the others look up sections already read
+			final int[] missing = new int[4];
+			Thread[] threads = new Thread[missing.length];
+			for (int t = 0; t < threads.length; t++) {
+				final int id = t;
+				final WolfScheduler ws = new WolfScheduler(catalog);
+				threads[t] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						for (int i = 0; i < courses.size(); i++) {
+							Course c = courses.get((i * (2 * id + 1) + id * 997) % courses.size());
+							if (ws.getCourseFromCatalog(c.getName(), c.getSection()) == null) {
+								missing[id]++;
+							}
+						}
+					}
+				});
+				threads[t].start();
+			}
+			for (int t = 0; t < threads.length; t++) {
+				threads[t].join();
+				assertEquals(0, missing[t]);
+			}
+			assertEquals(courses.size(), catalog.getCatalogSize());
+		} finally {
+			records.delete();
+			segmented.delete();
+		}
+	}
+	
 	/**
 	 * Test WolfScheduler.addCourse().
 	 */
@@ -298,6 +630,68 @@ public class WolfSchedulerTest {
 		assertEquals("MW 11:45AM-1:00PM", catalog[7][3]);
 	}
 	
+	/**
+	 * Test WolfScheduler.searchCatalog().
+	 */
+	@Test
+	public void testSearchCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//Search by name prefix and check the rows are in catalog format
+		String [][] results = ws.searchCatalog("CSC22");
+		assertEquals(1, results.length);
+		assertEquals("CSC226", results[0][0]);
+		assertEquals("001", results[0][1]);
+		assertEquals("Discrete Mathematics for Computer Scientists", results[0][2]);
+		assertEquals("MWF 9:35AM-10:25AM", results[0][3]);
+		
+		//Search by instructor
+		results = ws.searchCatalog("jtking");
+		assertEquals(1, results.length);
+		assertEquals("CSC216", results[0][0]);
+		assertEquals("002", results[0][1]);
+		
+		//Nothing matches
+		assertEquals(0, ws.searchCatalog("CSC492").length);
+		assertEquals(0, ws.searchCatalog(null).length);
+	}
+	
+	/**
+	 * Test WolfScheduler.getCoursesByInstructor() and WolfScheduler.getCoursesByDepartment().
+	 */
+	@Test
+	public void testSecondaryIndexes() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String [][] taught = ws.getCoursesByInstructor(INSTRUCTOR_ID);
+		assertEquals(1, taught.length);
+		assertEquals(NAME, taught[0][0]);
+		assertEquals(SECTION, taught[0][1]);
+		assertEquals(TITLE, taught[0][2]);
+		assertEquals("TH 1:30PM-2:45PM", taught[0][3]);
+		assertEquals(0, ws.getCoursesByInstructor("nobody").length);
+		
+		assertEquals(8, ws.getCoursesByDepartment("CSC").length);
+		assertEquals(0, ws.getCoursesByDepartment("MA").length);
+		
+		//Reloading replaces the indexes along with the catalog
+		ws.loadCourseCatalog(invalidTestFile);
+		assertEquals(0, ws.getCourseCatalog().length);
+		assertEquals(0, ws.getCoursesByInstructor(INSTRUCTOR_ID).length);
+		assertEquals(0, ws.getCoursesByDepartment("CSC").length);
+		assertEquals(0, ws.searchCatalog("CSC").length);
+		
+		//A failed reload leaves the catalog and indexes as they were
+		ws.loadCourseCatalog(validTestFile);
+		try {
+			ws.loadCourseCatalog("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(8, ws.getCourseCatalog().length);
+			assertEquals(8, ws.getCoursesByDepartment("CSC").length);
+		}
+	}
+	
 	/**
 	 * Test WolfScheduler.getScheduledCourses().
 	 */
@@ -363,6 +757,69 @@ public class WolfSchedulerTest {
 		assertEquals("MW 11:20AM-1:10PM", schedule[2][5]);
 	}
 	
+	/**
+	 * Test that WolfScheduler notifies its ScheduleListeners of each change.
+	 */
+	@Test
+	public void testScheduleListener() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		final StringBuilder log = new StringBuilder();
+		ScheduleListener listener = new ScheduleListener() {
+			@Override
+			public void activityAdded(int idx, Activity activity) {
+				log.append("add " + idx + " " + activity.getTitle() + ";");
+			}
+			@Override
+			public void activityRemoved(int idx, Activity activity) {
+				log.append("remove " + idx + " " + activity.getTitle() + ";");
+			}
+			@Override
+			public void scheduleReset(int oldSize) {
+				log.append("reset " + oldSize + ";");
+			}
+			@Override
+			public void titleChanged(String title) {
+				log.append("title " + title + ";");
+			}
+			@Override
+			public void catalogLoaded() {
+				log.append("catalog;");
+			}
+			@Override
+			public void catalogCoursesAdded(int firstIdx, int lastIdx) {
+				log.append("courses " + firstIdx + "-" + lastIdx + ";");
+			}
+		};
+		ws.addScheduleListener(listener);
+		
+		//Failed adds and removes are not reported
+		assertTrue(ws.addCourse(NAME, SECTION));
+		assertFalse(ws.addCourse("CSC492", "001"));
+		ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+		assertFalse(ws.removeActivity(2));
+		assertTrue(ws.removeActivity(0));
+		ws.resetSchedule();
+		ws.setTitle("Fall");
+		ws.loadCourseCatalog(validTestFile);
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC316", "Data Structures and Algorithms", SECTION, 3, "jtking", "MW", 830, 945));
+		ws.addCatalogCourses(courses);
+		String expected = "add 0 " + TITLE + ";add 1 " + EVENT_TITLE + ";remove 0 " + TITLE + ";reset 1;title Fall;catalog;courses 8-8;";
+		assertEquals(expected, log.toString());
+		
+		//Removed listeners are no longer notified
+		ws.removeScheduleListener(listener);
+		assertTrue(ws.addCourse(NAME, SECTION));
+		assertEquals(expected, log.toString());
+		
+		try {
+			ws.addScheduleListener(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Listener cannot be null.", e.getMessage());
+		}
+	}
+	
 	/**
 	 * Test WolfScheduler.setTitle().
 	 */
@@ -402,6 +859,594 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 	
+	/**
+	 * Test WolfScheduler.importSchedule().
+	 */
+	@Test
+	public void testImportSchedule() {
+		//An exported schedule is imported as it was
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse("CSC216", "002");
+		ws.addEvent(EVENT_TITLE, "UMTHFS", 800, 900, 1, "Cardio, then weights");
+		ws.addCourse("CSC226", "001");
+		ws.exportSchedule("test-files/actual_schedule_export.txt");
+		WolfScheduler ws2 = new WolfScheduler(validTestFile);
+		ws2.addCourse("CSC116", "001");
+		assertEquals(0, ws2.importSchedule("test-files/actual_schedule_export.txt").length);
+		assertTrue(java.util.Arrays.deepEquals(ws.getFullScheduledActivities(), ws2.getFullScheduledActivities()));
+		assertEquals(0, ws2.getCourseFromCatalog("CSC116", "001").getEnrolled());
+		assertEquals(1, ws2.getCourseFromCatalog("CSC216", "002").getEnrolled());
+		
+		//Lines that cannot be restored are reported
+		String[] problems = ws2.importSchedule("test-files/schedule_import.txt");
+		assertEquals(5, problems.length);
+		assertEquals("Line 4, column 1: Section is not in the catalog.", problems[0]);
+		assertEquals("Line 5, column 1: Section has changed in the catalog.", problems[1]);
+		assertEquals("Line 6, column 13: Invalid event times.", problems[2]);
+		assertEquals("You are already enrolled in CSC216", problems[3]);
+		assertEquals("You are already enrolled in CSC116", problems[4]);
+		assertEquals(3, ws2.getScheduledActivities().length);
+		
+		try {
+			ws2.importSchedule("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler.importSchedule() into a segmented catalog, which reads the
+	 * department of each imported course.
+	 * @throws IOException if the segmented catalog cannot be written
+	 */
+	@Test
+	public void testImportScheduleSegmented() throws IOException {
+		String [] files = {"test-files/merge_records_1.txt", "test-files/merge_records_2.txt"};
+		File segmented = File.createTempFile("catalog", ".seg");
+		File export = File.createTempFile("schedule", ".txt");
+		try {
+			SegmentedCatalogFile.write(segmented.getPath(), CourseRecordIO.readCourseRecords(files, CourseRecordIO.FIRST_WINS));
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			ws.openSegmentedCatalog(segmented.getPath());
+			assertTrue(ws.addCourse("MA141", "001"));
+			ws.exportSchedule(export.getPath());
+			
+			WolfScheduler ws2 = new WolfScheduler(validTestFile);
+			ws2.openSegmentedCatalog(segmented.getPath());
+			assertEquals(0, ws2.getCatalogSize());
+			assertEquals(0, ws2.importSchedule(export.getPath()).length);
+			assertEquals(1, ws2.getScheduledActivities().length);
+			assertEquals("MA141", ws2.getScheduledActivities()[0][0]);
+			assertEquals(2, ws2.getCatalogSize());
+			assertEquals(1, ws2.getCourseFromCatalog("MA141", "001").getEnrolled());
+		} finally {
+			segmented.delete();
+			export.delete();
+		}
+	}
+	
+	/**
+	 * Tests WolfScheduler.getOccurrences() and getCalendar().
+	 */
+	@Test
+	public void testGetCalendar() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse(NAME, SECTION);
+		ws.addEvent(EVENT_TITLE, "MWF", 800, 900, 2, EVENT_DETAILS);
+		//Thursday, August 20, 2026
+		Term term = new Term(LocalDate.of(2026, 8, 20), 2);
+		Iterator<Occurrence> it = ws.getOccurrences(term);
+		assertEquals("2026-08-20 " + TITLE + " 1330-1445", it.next().toString());
+		assertEquals("2026-08-21 " + EVENT_TITLE + " 800-900", it.next().toString());
+		assertEquals("2026-08-25 " + TITLE + " 1330-1445", it.next().toString());
+		assertEquals("2026-08-27 " + TITLE + " 1330-1445", it.next().toString());
+		assertFalse(it.hasNext());
+		
+		OccurrenceIndex calendar = ws.getCalendar(term);
+		ws.resetSchedule();
+		assertEquals(1, calendar.find(LocalDate.of(2026, 8, 21)).size());
+		assertEquals(0, calendar.find(LocalDate.of(2026, 8, 26)).size());
+	}
+	
+	/**
+	 * Tests WolfScheduler.getConflicts().
+	 */
+	@Test
+	public void testGetConflicts() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		Term term = new Term(LocalDate.of(2026, 8, 20), 16);
+		assertEquals(0, ws.getConflicts(term).length);
+		ws.addCourse(NAME, SECTION);
+		ws.addEvent("Study", "TH", 1400, 1500, 2, 0, "");
+		ws.addEvent("Tutoring", "H", 1430, 1530, 2, 1, "");
+		ws.addEvent("Club", "H", 1500, 1600, 4, 2, "");
+		String[] conflicts = ws.getConflicts(term);
+		assertEquals(3, conflicts.length);
+		assertEquals("CSC216-001 conflicts with Study.", conflicts[0]);
+		assertEquals("CSC216-001 conflicts with Tutoring.", conflicts[1]);
+		assertEquals("Study conflicts with Club.", conflicts[2]);
+		
+		//The first week is kept in exports
+		ws.exportSchedule("test-files/actual_schedule_export.txt");
+		WolfScheduler ws2 = new WolfScheduler(validTestFile);
+		assertEquals(0, ws2.importSchedule("test-files/actual_schedule_export.txt").length);
+		assertTrue(java.util.Arrays.deepEquals(conflicts, ws2.getConflicts(term)));
+	}
+	
+	/**
+	 * Tests WolfScheduler.exportCalendar().
+	 * @throws IOException if the calendar cannot be read
+	 */
+	@Test
+	public void testExportCalendar() throws IOException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse(NAME, SECTION);
+		ws.addCourse("CSC226", "001");
+		ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, 800, 900, 2, EVENT_DETAILS);
+		ws.exportCalendar("test-files/actual_schedule_export.txt", new Term(LocalDate.of(2026, 8, 19), 16));
+		String calendar = new String(Files.readAllBytes(FileSystems.getDefault().getPath("test-files/actual_schedule_export.txt")), "UTF-8");
+		//Long lines are folded
+		calendar = calendar.replace("\r\n ", "");
+		assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\n"));
+		assertTrue(calendar.contains("\r\nSUMMARY:CSC216 " + TITLE + "\r\n"));
+		assertTrue(calendar.contains("\r\nRRULE:FREQ=WEEKLY;INTERVAL=2;WKST=SU;BYDAY=MO,TU,WE,TH,FR;UNTIL=20261205T235959\r\n"));
+		assertEquals(3, calendar.split("BEGIN:VEVENT").length - 1);
+		
+		try {
+			ws.exportCalendar("test-files/no_such_directory/calendar.ics", new Term(LocalDate.of(2026, 8, 19), 16));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The file cannot be saved.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests WolfScheduler.addCourses().
+	 */
+	@Test
+	public void testAddCourses() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse(NAME, SECTION);
+		
+		//Every problem in the cart is reported and nothing is added
+		String[] failures = ws.addCourses(new String[][] {{NAME, "002"}, {"CSC492", "001"}, {"CSC116", "001"}, 
+			{"CSC226", "001"}, {"CSC116", "002"}});
+		assertEquals(4, failures.length);
+		assertEquals("You are already enrolled in CSC216", failures[0]);
+		assertEquals("CSC492-001 is not in the catalog.", failures[1]);
+		assertEquals("CSC226-001 conflicts with CSC116-001.", failures[2]);
+		assertEquals("CSC116 is in the cart more than once.", failures[3]);
+		assertEquals(1, ws.getScheduledActivities().length);
+		
+		//A cart that conflicts with an event in the schedule is rejected
+		ws.addEvent(EVENT_TITLE, "H", 1100, 1130, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+		failures = ws.addCourses(new String[][] {{"CSC116", "003"}});
+		assertEquals(1, failures.length);
+		assertEquals("CSC116-003 conflicts with Exercise.", failures[0]);
+		ws.removeActivity(1);
+		
+		//A cart without problems is added in order
+		final ArrayList<Activity> added = new ArrayList<Activity>();
+		ws.addScheduleListener(new ScheduleListener() {
+			@Override
+			public void activityAdded(int idx, Activity activity) {
+				added.add(activity);
+			}
+			@Override
+			public void activityRemoved(int idx, Activity activity) {
+				fail();
+			}
+			@Override
+			public void scheduleReset(int oldSize) {
+				fail();
+			}
+			@Override
+			public void titleChanged(String title) {
+				fail();
+			}
+			@Override
+			public void catalogLoaded() {
+				fail();
+			}
+			@Override
+			public void catalogCoursesAdded(int firstIdx, int lastIdx) {
+				fail();
+			}
+		});
+		failures = ws.addCourses(new String[][] {{"CSC116", "003"}, {"CSC226", "001"}, {"CSC230", "001"}});
+		assertEquals(0, failures.length);
+		String[][] schedule = ws.getScheduledActivities();
+		assertEquals(4, schedule.length);
+		assertEquals("CSC116", schedule[1][0]);
+		assertEquals("CSC226", schedule[2][0]);
+		assertEquals("CSC230", schedule[3][0]);
+		assertEquals(3, added.size());
+		assertEquals(0, ws.addCourses(new String[0][0]).length);
+		
+		//Malformed carts are rejected
+		try {
+			ws.addCourses(new String[][] {{"CSC116"}});
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid cart.", e.getMessage());
+		}
+		try {
+			ws.addCourses(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid cart.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests that schedules sharing a catalog take and give back seats in its sections.
+	 */
+	@Test
+	public void testSectionCapacity() {
+		WolfScheduler ws1 = new WolfScheduler(validTestFile);
+		WolfScheduler ws2 = new WolfScheduler(ws1);
+		WolfScheduler ws3 = new WolfScheduler(ws1);
+		Course c = ws1.getCourseFromCatalog(NAME, SECTION);
+		c.setCapacity(2);
+		ws1.getCourseFromCatalog("CSC116", "001").setCapacity(1);
+		
+		assertTrue(ws1.addCourse(NAME, SECTION));
+		assertTrue(ws2.addCourse(NAME, SECTION));
+		assertEquals(2, c.getEnrolled());
+		try {
+			ws3.addCourse(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("CSC216-001 is full.", e.getMessage());
+			assertEquals(0, ws3.getScheduledActivities().length);
+		}
+		
+		//A full section rejects the whole cart and no other seats are held
+		String[][] cart = {{"CSC116", "001"}, {NAME, SECTION}};
+		String[] failures = ws3.addCourses(cart);
+		assertEquals(1, failures.length);
+		assertEquals("CSC216-001 is full.", failures[0]);
+		assertEquals(0, ws1.getCourseFromCatalog("CSC116", "001").getEnrolled());
+		
+		//Removing a course and resetting a schedule give seats back
+		assertTrue(ws1.removeActivity(0));
+		assertEquals(1, c.getEnrolled());
+		assertEquals(0, ws3.addCourses(cart).length);
+		assertEquals(2, c.getEnrolled());
+		ws3.resetSchedule();
+		assertEquals(1, c.getEnrolled());
+		assertEquals(0, ws1.getCourseFromCatalog("CSC116", "001").getEnrolled());
+		
+		InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		Metrics.setSink(sink);
+		try {
+			assertTrue(ws3.addCourse(NAME, SECTION));
+			try {
+				ws1.addCourse(NAME, SECTION);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("CSC216-001 is full.", e.getMessage());
+			}
+			assertEquals(1, sink.getCount(Metrics.ADD_COURSE_SUCCESS));
+			assertEquals(1, sink.getCount(Metrics.ADD_COURSE_FULL));
+			assertEquals(0, sink.getCount(Metrics.ADD_COURSE_DUPLICATE));
+		} finally {
+			Metrics.setSink(null);
+		}
+	}
+	
+	/**
+	 * Tests that students on a waitlist are promoted in order as seats are freed.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlist() throws InterruptedException {
+		WolfScheduler ws1 = new WolfScheduler(validTestFile);
+		WolfScheduler ws2 = new WolfScheduler(ws1);
+		WolfScheduler ws3 = new WolfScheduler(ws1);
+		WolfScheduler ws4 = new WolfScheduler(ws1);
+		Course c = ws1.getCourseFromCatalog(NAME, SECTION);
+		c.setCapacity(1);
+		
+		assertEquals(0, ws2.joinWaitlist("CSC492", "001"));
+		try {
+			ws2.joinWaitlist(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("CSC216-001 is not full.", e.getMessage());
+		}
+		assertTrue(ws1.addCourse(NAME, SECTION));
+		try {
+			ws1.joinWaitlist(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("You are already enrolled in CSC216", e.getMessage());
+		}
+		
+		//ws3 will have a conflict by the time a seat opens, so it is skipped
+		assertEquals(1, ws3.joinWaitlist(NAME, SECTION));
+		assertEquals(2, ws2.joinWaitlist(NAME, SECTION));
+		assertEquals(3, ws4.joinWaitlist(NAME, SECTION));
+		assertEquals(1, ws3.getWaitlistPosition(NAME, SECTION));
+		assertEquals(2, ws2.getWaitlistPosition(NAME, SECTION));
+		assertEquals(3, ws4.getWaitlistPosition(NAME, SECTION));
+		assertEquals(0, ws1.getWaitlistPosition(NAME, SECTION));
+		try {
+			ws2.joinWaitlist(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("You are already on the waitlist for CSC216-001.", e.getMessage());
+		}
+		synchronized (ws3) {
+			ws3.addEvent(EVENT_TITLE, "H", 1400, 1500, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+		}
+		
+		//The freed seat goes to the first student with room, not to whoever asks first
+		assertTrue(ws1.removeActivity(0));
+		try {
+			ws1.addCourse(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("CSC216-001 is full.", e.getMessage());
+		}
+		assertTrue(ws1.awaitWaitlistPromotions(5000));
+		synchronized (ws2) {
+			assertEquals(1, ws2.getScheduledActivities().length);
+			assertEquals(NAME, ws2.getScheduledActivities()[0][0]);
+		}
+		synchronized (ws3) {
+			assertEquals(1, ws3.getScheduledActivities().length);
+		}
+		assertEquals(0, ws3.getWaitlistPosition(NAME, SECTION));
+		assertEquals(1, ws4.getWaitlistPosition(NAME, SECTION));
+		assertEquals(1, c.getEnrolled());
+		
+		//Leaving the waitlist and resetting the schedule open the seat to anyone
+		assertTrue(ws4.leaveWaitlist(NAME, SECTION));
+		assertFalse(ws4.leaveWaitlist(NAME, SECTION));
+		synchronized (ws2) {
+			ws2.resetSchedule();
+		}
+		assertTrue(ws1.awaitWaitlistPromotions(5000));
+		assertEquals(0, c.getEnrolled());
+		assertTrue(ws1.addCourse(NAME, SECTION));
+	}
+	
+	/**
+	 * Tests that a promotion the dispatcher took off the waitlist before the schedule was
+	 * reset or left the waitlist is refused, so the seat goes to the next student.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlistPromotionAfterLeaving() throws InterruptedException {
+		WolfScheduler ws1 = new WolfScheduler(validTestFile);
+		WolfScheduler ws2 = new WolfScheduler(ws1);
+		WolfScheduler ws3 = new WolfScheduler(ws1);
+		Course c = ws1.getCourseFromCatalog(NAME, SECTION);
+		c.setCapacity(1);
+		assertTrue(ws1.addCourse(NAME, SECTION));
+		
+		//The dispatcher polls a schedule before it holds the schedule's monitor
+		assertEquals(1, ws2.joinWaitlist(NAME, SECTION));
+		ws2.resetSchedule();
+		assertFalse(ws2.promoteFromWaitlist(c));
+		assertEquals(0, ws2.getScheduledActivities().length);
+		assertEquals(1, ws2.joinWaitlist(NAME, SECTION));
+		assertTrue(ws2.leaveWaitlist(NAME, SECTION));
+		assertFalse(ws2.promoteFromWaitlist(c));
+		assertEquals(0, ws2.getScheduledActivities().length);
+		
+		assertEquals(1, ws3.joinWaitlist(NAME, SECTION));
+		assertTrue(ws1.removeActivity(0));
+		assertTrue(ws1.awaitWaitlistPromotions(5000));
+		assertEquals(1, ws3.getScheduledActivities().length);
+		assertEquals(1, c.getEnrolled());
+		//A schedule is promoted once per time it joins
+		assertFalse(ws3.promoteFromWaitlist(c));
+	}
+	
+	/**
+	 * Tests that a waitlist is kept when a catalog delta changes its section in place.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlistAfterCatalogDelta() throws InterruptedException {
+		WolfScheduler ws1 = new WolfScheduler(validTestFile);
+		WolfScheduler ws2 = new WolfScheduler(ws1);
+		WolfScheduler ws3 = new WolfScheduler(ws1);
+		Course c = ws1.getCourseFromCatalog(NAME, SECTION);
+		c.setCapacity(1);
+		assertTrue(ws1.addCourse(NAME, SECTION));
+		assertEquals(1, ws2.joinWaitlist(NAME, SECTION));
+		assertEquals(1, ws2.getWaitlistPosition(NAME, SECTION));
+		
+		//Only the instructor changes, which changes how the section hashes
+		CatalogDelta delta = new CatalogDelta();
+		Course changed = new Course(NAME, c.getTitle(), SECTION, c.getCredits(), "jtking", c.getMeetingDays(),
+				c.getStartTime(), c.getEndTime());
+		changed.setCapacity(1);
+		delta.upsert(changed);
+		assertEquals(1, ws1.applyCatalogDelta(delta));
+		assertEquals("jtking", c.getInstructorId());
+		assertEquals(1, ws2.getWaitlistPosition(NAME, SECTION));
+		
+		//The freed seat goes to the waitlist, not to whoever asks first
+		synchronized (ws1) {
+			assertTrue(ws1.removeActivity(0));
+		}
+		try {
+			ws3.addCourse(NAME, SECTION);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("CSC216-001 is full.", e.getMessage());
+		}
+		assertTrue(ws1.awaitWaitlistPromotions(5000));
+		synchronized (ws2) {
+			assertEquals(1, ws2.getScheduledActivities().length);
+			assertEquals(NAME, ws2.getScheduledActivities()[0][0]);
+		}
+		assertEquals(0, ws2.getWaitlistPosition(NAME, SECTION));
+		assertEquals(1, c.getEnrolled());
+	}
+	
+	/**
+	 * Tests that many seats freed at once are all promoted without oversubscribing the section.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlistRush() throws InterruptedException {
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		Course c = catalog.getCourseFromCatalog(NAME, SECTION);
+		c.setCapacity(50);
+		WolfScheduler[] enrolled = new WolfScheduler[50];
+		for (int i = 0; i < enrolled.length; i++) {
+			enrolled[i] = new WolfScheduler(catalog);
+			assertTrue(enrolled[i].addCourse(NAME, SECTION));
+		}
+		WolfScheduler[] waiting = new WolfScheduler[80];
+		for (int i = 0; i < waiting.length; i++) {
+			waiting[i] = new WolfScheduler(catalog);
+			assertEquals(i + 1, waiting[i].joinWaitlist(NAME, SECTION));
+		}
+		for (int i = 0; i < enrolled.length; i++) {
+			synchronized (enrolled[i]) {
+				assertTrue(enrolled[i].removeActivity(0));
+			}
+		}
+		assertTrue(catalog.awaitWaitlistPromotions(5000));
+		assertEquals(50, c.getEnrolled());
+		for (int i = 0; i < waiting.length; i++) {
+			synchronized (waiting[i]) {
+				assertEquals(i < 50 ? 1 : 0, waiting[i].getScheduledActivities().length);
+			}
+			assertEquals(i < 50 ? 0 : i - 49, waiting[i].getWaitlistPosition(NAME, SECTION));
+		}
+	}
+	
+	/**
+	 * Tests that WolfScheduler records metrics for loads, adds, removes, and exports.
+	 */
+	@Test
+	public void testMetrics() {
+		InMemoryMetricsSink sink = new InMemoryMetricsSink();
+		Metrics.setSink(sink);
+		try {
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			assertEquals(1, sink.getHistogram(Metrics.CATALOG_LOAD_TIME).getCount());
+			assertEquals(ws.getCatalogSize(), sink.getCount(Metrics.CATALOG_LOAD_COURSES));
+			assertEquals(1, sink.getHistogram(Metrics.CATALOG_PARSE_ERRORS).getCount());
+			
+			assertTrue(ws.addCourse(NAME, SECTION));
+			assertFalse(ws.addCourse("CSC492", "001"));
+			try {
+				ws.addCourse(NAME, "002");
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("You are already enrolled in " + NAME, e.getMessage());
+			}
+			assertEquals(1, sink.getCount(Metrics.ADD_COURSE_SUCCESS));
+			assertEquals(1, sink.getCount(Metrics.ADD_COURSE_FAILURE));
+			assertEquals(1, sink.getCount(Metrics.ADD_COURSE_DUPLICATE));
+			assertEquals(3, sink.getHistogram(Metrics.ADD_COURSE_TIME).getCount());
+			
+			ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+			try {
+				ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("You have already created an event called " + EVENT_TITLE, e.getMessage());
+			}
+			try {
+				ws.addEvent(null, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals(2, ws.getScheduledActivities().length);
+			}
+			assertEquals(1, sink.getCount(Metrics.ADD_EVENT_SUCCESS));
+			assertEquals(1, sink.getCount(Metrics.ADD_EVENT_DUPLICATE));
+			assertEquals(1, sink.getCount(Metrics.ADD_EVENT_FAILURE));
+			assertEquals(3, sink.getHistogram(Metrics.ADD_EVENT_TIME).getCount());
+			
+			assertTrue(ws.removeActivity(1));
+			assertFalse(ws.removeActivity(5));
+			assertEquals(1, sink.getCount(Metrics.REMOVE_SUCCESS));
+			assertEquals(1, sink.getCount(Metrics.REMOVE_FAILURE));
+			assertEquals(2, sink.getHistogram(Metrics.REMOVE_TIME).getCount());
+			
+			ws.exportSchedule("test-files/actual_schedule_export.txt");
+			assertEquals(1, sink.getHistogram(Metrics.EXPORT_TIME).getCount());
+			assertEquals(new File("test-files/actual_schedule_export.txt").length(), 
+					sink.getHistogram(Metrics.EXPORT_BYTES).getMax());
+		} finally {
+			Metrics.setSink(null);
+		}
+	}
+	
+	/**
+	 * Tests that WolfScheduler traces loads, adds, removes, and exports.
+	 */
+	@Test
+	public void testTracer() {
+		final ArrayList<String> traces = new ArrayList<String>();
+		Metrics.setTracer(new Tracer() {
+
+			@Override
+			public boolean isEnabled() {
+				return true;
+			}
+
+			@Override
+			public Trace begin(final String operation) {
+				return new Trace() {
+
+					private String fields = "";
+
+					@Override
+					public void set(String field, String value) {
+						fields += "," + field + "=" + value;
+					}
+
+					@Override
+					public void set(String field, long value) {
+						fields += "," + field + "=" + value;
+					}
+
+					@Override
+					public void end() {
+						traces.add(operation + fields);
+					}
+				};
+			}
+		});
+		try {
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			assertEquals("catalog.load,file=" + validTestFile + ",lines=9,rejected=1,courses=8", traces.get(0));
+			
+			ws.addCourse(NAME, SECTION);
+			assertEquals("schedule.addCourse,activity=CSC216-001,outcome=success", traces.get(1));
+			try {
+				ws.addCourse(NAME, "002");
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("schedule.addCourse,activity=CSC216-002,outcome=duplicate", traces.get(2));
+			}
+			ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+			assertEquals("schedule.addEvent,activity=Exercise,outcome=success", traces.get(3));
+			ws.removeActivity(0);
+			assertEquals("schedule.remove,activity=CSC216-001,outcome=success", traces.get(4));
+			ws.removeActivity(3);
+			assertEquals("schedule.remove,outcome=failure", traces.get(5));
+			
+			ws.exportSchedule("test-files/actual_schedule_export.txt");
+			assertEquals("schedule.export,file=test-files/actual_schedule_export.txt,activities=1,outcome=success", 
+					traces.get(6));
+			assertEquals(7, traces.size());
+		} finally {
+			Metrics.setTracer(null);
+		}
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,94 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests Json.
+ * @author Noah Benveniste
+ */
+public class JsonTest {
+
+	/**
+	 * Tests Json.quote().
+	 */
+	@Test
+	public void testQuote() {
+		assertEquals("\"CSC216\"", Json.quote("CSC216"));
+		assertEquals("\"a \\\"b\\\" \\\\ c\\n\\u0001\"", Json.quote("a \"b\" \\ c\n\u0001"));
+		assertEquals("null", Json.quote(null));
+	}
+
+	/**
+	 * Tests Json.rows().
+	 */
+	@Test
+	public void testRows() {
+		String[][] rows = {{"CSC216", "001", "Programming Concepts - Java", "TH 1:30PM-2:45PM"}, 
+				{"", "", "Exercise", "MW 8:00AM-9:00AM (every 1 weeks)"}};
+		assertEquals("[{\"name\":\"CSC216\",\"section\":\"001\",\"title\":\"Programming Concepts - Java\","
+				+ "\"meeting\":\"TH 1:30PM-2:45PM\"},{\"name\":\"\",\"section\":\"\",\"title\":\"Exercise\","
+				+ "\"meeting\":\"MW 8:00AM-9:00AM (every 1 weeks)\"}]", Json.rows(rows, Json.ROW_KEYS));
+		assertEquals("[]", Json.rows(new String[0][0], Json.ROW_KEYS));
+	}
+
+	/**
+	 * Tests Json.parseObject().
+	 */
+	@Test
+	public void testParseObject() {
+		Map<String, String> values = Json.parseObject(" { \"name\" : \"CSC216\", \"start\": 1330, \"ok\": true, "
+				+ "\"gone\": null, \"esc\": \"a\\\"b\\u0041\\n\" } ");
+		assertEquals(4, values.size());
+		assertEquals("CSC216", values.get("name"));
+		assertEquals("1330", values.get("start"));
+		assertEquals("true", values.get("ok"));
+		assertEquals("a\"bA\n", values.get("esc"));
+		assertFalse(values.containsKey("gone"));
+		assertTrue(Json.parseObject("{}").isEmpty());
+	}
+
+	/**
+	 * Tests Json.parseArray().
+	 */
+	@Test
+	public void testParseArray() {
+		List<Map<String, String>> objects = Json.parseArray(" [ {\"name\":\"CSC216\"}, {} ,{\"a\":1}] ");
+		assertEquals(3, objects.size());
+		assertEquals("CSC216", objects.get(0).get("name"));
+		assertTrue(objects.get(1).isEmpty());
+		assertEquals("1", objects.get(2).get("a"));
+		assertTrue(Json.parseArray("[]").isEmpty());
+		
+		String[] invalid = {null, "{}", "[", "[1]", "[{},]", "[{}] x"};
+		for (int i = 0; i < invalid.length; i++) {
+			try {
+				Json.parseArray(invalid[i]);
+				fail("Parsed " + invalid[i]);
+			} catch (IllegalArgumentException e) {
+				assertEquals("Invalid JSON.", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Tests that Json.parseObject() rejects text that is not a flat object.
+	 */
+	@Test
+	public void testParseObjectInvalid() {
+		String[] invalid = {null, "", "[]", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "{\"a\":\"b}", 
+			"{\"a\":{\"b\":1}}", "{\"a\":1} x", "{\"a\":tru}", "{\"a\":\"\\q\"}"};
+		for (int i = 0; i < invalid.length; i++) {
+			try {
+				Json.parseObject(invalid[i]);
+				fail("Parsed " + invalid[i]);
+			} catch (IllegalArgumentException e) {
+				assertEquals("Invalid JSON.", e.getMessage());
+			}
+		}
+	}
+}
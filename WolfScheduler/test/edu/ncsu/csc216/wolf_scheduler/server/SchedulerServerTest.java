@@ -0,0 +1,348 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleJournal;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests SchedulerServer through a local HTTP client.
+ * @author Noah Benveniste
+ */
+public class SchedulerServerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** The server under test */
+	private SchedulerServer server;
+
+	/**
+	 * Starts a server on a free local port.
+	 * @throws IOException if the server cannot start
+	 */
+	@Before
+	public void setUp() throws IOException {
+		server = new SchedulerServer(validTestFile, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@After
+	public void tearDown() {
+		server.stop();
+	}
+
+	/**
+	 * Tests the catalog endpoint.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testCatalog() throws IOException {
+		Reply reply = send("GET", "/catalog?limit=2", null, null);
+		assertEquals(200, reply.status);
+		assertEquals("{\"total\":8,\"courses\":[{\"name\":\"CSC116\",\"section\":\"001\",\"title\":"
+				+ "\"Intro to Programming - Java\",\"meeting\":\"MW 9:10AM-11:00AM\"},{\"name\":\"CSC116\","
+				+ "\"section\":\"002\",\"title\":\"Intro to Programming - Java\",\"meeting\":\"MW 11:20AM-1:10PM\"}]}", 
+				reply.body);
+		
+		reply = send("GET", "/catalog?offset=7&limit=5", null, null);
+		assertTrue(reply.body.contains("\"CSC230\""));
+		assertFalse(reply.body.contains("\"CSC226\""));
+		
+		reply = send("GET", "/catalog?q=discrete", null, null);
+		assertTrue(reply.body.contains("\"CSC226\""));
+		assertFalse(reply.body.contains("\"CSC216\""));
+		
+		reply = send("GET", "/catalog?instructor=jtking", null, null);
+		assertTrue(reply.body.contains("\"CSC216\",\"section\":\"002\""));
+		
+		reply = send("GET", "/catalog?department=csc", null, null);
+		assertTrue(reply.body.contains("\"CSC230\""));
+		
+		assertEquals(400, send("GET", "/catalog?limit=x", null, null).status);
+		assertEquals(405, send("POST", "/catalog", null, "{}").status);
+		assertEquals(404, send("GET", "/nothing", null, null).status);
+	}
+
+	/**
+	 * Tests adding, listing, removing, and exporting a session's schedule.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testSchedule() throws IOException {
+		String token = startSession();
+		assertEquals(1, server.getSessionCount());
+		
+		assertEquals(201, send("POST", "/schedule/courses", token, "{\"name\":\"CSC216\",\"section\":\"001\"}").status);
+		Reply reply = send("POST", "/schedule/courses", token, "{\"name\":\"CSC216\",\"section\":\"002\"}");
+		assertEquals(409, reply.status);
+		assertEquals("{\"error\":\"You are already enrolled in CSC216\"}", reply.body);
+		assertEquals(404, send("POST", "/schedule/courses", token, "{\"name\":\"CSC492\",\"section\":\"001\"}").status);
+		assertEquals(400, send("POST", "/schedule/courses", token, "{\"name\":\"CSC116\"}").status);
+		assertEquals(400, send("POST", "/schedule/courses", token, "not json").status);
+		
+		String event = "{\"title\":\"Exercise\",\"meetingDays\":\"MWF\",\"startTime\":800,\"endTime\":900,"
+				+ "\"weeklyRepeat\":1,\"details\":\"Cardio Time!\"}";
+		assertEquals(201, send("POST", "/schedule/events", token, event).status);
+		assertEquals(409, send("POST", "/schedule/events", token, event).status);
+		reply = send("POST", "/schedule/events", token, event.replace("\"weeklyRepeat\":1", "\"weeklyRepeat\":5"));
+		assertEquals(400, reply.status);
+		assertEquals("{\"error\":\"Invalid weekly repeat.\"}", reply.body);
+		
+		reply = send("GET", "/schedule", token, null);
+		assertEquals(200, reply.status);
+		assertEquals("{\"title\":\"My Schedule\",\"activities\":[{\"name\":\"CSC216\",\"section\":\"001\","
+				+ "\"title\":\"Programming Concepts - Java\",\"meeting\":\"TH 1:30PM-2:45PM\"},{\"name\":\"\","
+				+ "\"section\":\"\",\"title\":\"Exercise\",\"meeting\":\"MWF 8:00AM-9:00AM (every 1 weeks)\"}]}", 
+				reply.body);
+		
+		reply = send("GET", "/schedule/export", token, null);
+		assertEquals("{\"records\":[\"CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445\","
+				+ "\"Exercise,MWF,800,900,1,Cardio Time!\"]}", reply.body);
+		
+		assertEquals(200, send("DELETE", "/schedule/activities/0", token, null).status);
+		assertEquals(404, send("DELETE", "/schedule/activities/1", token, null).status);
+		assertEquals(404, send("DELETE", "/schedule/activities/-1", token, null).status);
+		assertEquals(400, send("DELETE", "/schedule/activities/x", token, null).status);
+		assertTrue(send("GET", "/schedule", token, null).body.startsWith("{\"title\":\"My Schedule\",\"activities\":[{\"name\":\"\""));
+		
+		assertEquals(200, send("DELETE", "/sessions", token, null).status);
+		assertEquals(0, server.getSessionCount());
+		assertEquals(401, send("GET", "/schedule", token, null).status);
+	}
+
+	/**
+	 * Tests adding a cart of sections.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testCart() throws IOException {
+		String token = startSession();
+		Reply reply = send("POST", "/schedule/cart", token, "[{\"name\":\"CSC116\",\"section\":\"001\"},"
+				+ "{\"name\":\"CSC226\",\"section\":\"001\"},{\"name\":\"CSC492\",\"section\":\"001\"}]");
+		assertEquals(409, reply.status);
+		assertEquals("{\"errors\":[\"CSC226-001 conflicts with CSC116-001.\",\"CSC492-001 is not in the catalog.\"]}", 
+				reply.body);
+		assertTrue(send("GET", "/schedule", token, null).body.endsWith("\"activities\":[]}"));
+		
+		reply = send("POST", "/schedule/cart", token, "[{\"name\":\"CSC116\",\"section\":\"001\"},"
+				+ "{\"name\":\"CSC216\",\"section\":\"001\"}]");
+		assertEquals(201, reply.status);
+		reply = send("GET", "/schedule", token, null);
+		assertTrue(reply.body.contains("CSC116"));
+		assertTrue(reply.body.contains("CSC216"));
+		
+		assertEquals(400, send("POST", "/schedule/cart", token, "[{\"name\":\"CSC116\"}]").status);
+		assertEquals(400, send("POST", "/schedule/cart", token, "{}").status);
+	}
+
+	/**
+	 * Tests joining a waitlist and that ending a session gives its seat to the next session
+	 * on the waitlist.
+	 * @throws IOException if a request fails
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlist() throws IOException, InterruptedException {
+		server.stop();
+		WolfScheduler catalog = new WolfScheduler(validTestFile);
+		catalog.getCourseFromCatalog("CSC216", "001").setCapacity(1);
+		server = new SchedulerServer(catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		server.start();
+		
+		String first = startSession();
+		String second = startSession();
+		String section = "{\"name\":\"CSC216\",\"section\":\"001\"}";
+		assertEquals(409, send("POST", "/schedule/waitlist", first, section).status);
+		assertEquals(201, send("POST", "/schedule/courses", first, section).status);
+		Reply reply = send("POST", "/schedule/courses", second, section);
+		assertEquals(409, reply.status);
+		assertEquals("{\"error\":\"CSC216-001 is full.\"}", reply.body);
+		reply = send("POST", "/schedule/waitlist", second, section);
+		assertEquals(201, reply.status);
+		assertEquals("{\"position\":1}", reply.body);
+		assertEquals(404, send("POST", "/schedule/waitlist", second, "{\"name\":\"CSC492\",\"section\":\"001\"}").status);
+		
+		assertEquals(200, send("DELETE", "/sessions", first, null).status);
+		assertTrue(catalog.awaitWaitlistPromotions(5000));
+		assertTrue(send("GET", "/schedule", second, null).body.contains("CSC216"));
+	}
+
+	/**
+	 * Tests that sessions kept in a journal survive a restart of the server.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testJournal() throws IOException {
+		server.stop();
+		File dir = Files.createTempDirectory("journal").toFile();
+		try {
+			WolfScheduler catalog = new WolfScheduler(validTestFile);
+			ScheduleJournal journal = new ScheduleJournal(dir.getPath(), catalog);
+			server = new SchedulerServer(catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), journal);
+			server.start();
+			String kept = startSession();
+			String ended = startSession();
+			send("POST", "/schedule/courses", kept, "{\"name\":\"CSC216\",\"section\":\"001\"}");
+			send("DELETE", "/sessions", ended, null);
+			server.stop();
+			journal.close();
+			
+			catalog = new WolfScheduler(validTestFile);
+			journal = new ScheduleJournal(dir.getPath(), catalog);
+			server = new SchedulerServer(catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), journal);
+			server.start();
+			assertEquals(1, server.getSessionCount());
+			assertTrue(send("GET", "/schedule", kept, null).body.contains("CSC216"));
+			assertEquals(401, send("GET", "/schedule", ended, null).status);
+			server.stop();
+			journal.close();
+		} finally {
+			File[] files = dir.listFiles();
+			for (int i = 0; i < files.length; i++) {
+				File[] children = files[i].listFiles();
+				for (int j = 0; children != null && j < children.length; j++) {
+					children[j].delete();
+				}
+				files[i].delete();
+			}
+			dir.delete();
+		}
+	}
+
+	/**
+	 * Tests that sessions are kept apart and that a request needs a known session.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testSessions() throws IOException {
+		assertEquals(401, send("GET", "/schedule", null, null).status);
+		assertEquals(401, send("GET", "/schedule", "nope", null).status);
+		assertEquals(401, send("DELETE", "/sessions", "nope", null).status);
+		
+		String first = startSession();
+		String second = startSession();
+		assertFalse(first.equals(second));
+		send("POST", "/schedule/courses", first, "{\"name\":\"CSC216\",\"section\":\"001\"}");
+		assertTrue(send("GET", "/schedule", first, null).body.contains("CSC216"));
+		assertFalse(send("GET", "/schedule", second, null).body.contains("CSC216"));
+		
+		//Sessions idle since before now are ended
+		assertEquals(0, server.endIdleSessions(0));
+		assertEquals(2, server.endIdleSessions(System.currentTimeMillis() + 1));
+		assertEquals(401, send("GET", "/schedule", first, null).status);
+	}
+
+	/**
+	 * Tests many sessions building schedules at the same time.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentSessions() throws InterruptedException {
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] clients = new Thread[16];
+		for (int i = 0; i < clients.length; i++) {
+			clients[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 10; j++) {
+							String token = startSession();
+							if (send("POST", "/schedule/courses", token, "{\"name\":\"CSC216\",\"section\":\"001\"}").status != 201
+									|| send("POST", "/schedule/courses", token, "{\"name\":\"CSC226\",\"section\":\"001\"}").status != 201
+									|| !send("GET", "/schedule", token, null).body.contains("CSC226")) {
+								failures.incrementAndGet();
+							}
+						}
+					} catch (IOException e) {
+						failures.incrementAndGet();
+					}
+				}
+			});
+			clients[i].start();
+		}
+		for (int i = 0; i < clients.length; i++) {
+			clients[i].join();
+		}
+		assertEquals(0, failures.get());
+		assertEquals(160, server.getSessionCount());
+	}
+
+	/**
+	 * Starts a session
+	 * @return the session token
+	 * @throws IOException if the request fails
+	 */
+	private String startSession() throws IOException {
+		Reply reply = send("POST", "/sessions", null, null);
+		assertEquals(201, reply.status);
+		return reply.body.substring("{\"token\":\"".length(), reply.body.length() - 2);
+	}
+
+	/**
+	 * Sends a request to the server
+	 * @param method the HTTP method
+	 * @param path the path and query
+	 * @param token the session token, or null for none
+	 * @param body the JSON body, or null for none
+	 * @return the reply
+	 * @throws IOException if the request fails
+	 */
+	private Reply send(String method, String path, String token, String body) throws IOException {
+		URL url = new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort() + path);
+		HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+		conn.setRequestMethod(method);
+		if (token != null) {
+			conn.setRequestProperty(SchedulerServer.TOKEN_HEADER, token);
+		}
+		if (body != null) {
+			conn.setDoOutput(true);
+			conn.setRequestProperty("Content-Type", "application/json");
+			OutputStream out = conn.getOutputStream();
+			out.write(body.getBytes(StandardCharsets.UTF_8));
+			out.close();
+		}
+		Reply reply = new Reply();
+		reply.status = conn.getResponseCode();
+		InputStream in = reply.status < 400 ? conn.getInputStream() : conn.getErrorStream();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buf = new byte[4096];
+		int n;
+		while ((n = in.read(buf)) > 0) {
+			bytes.write(buf, 0, n);
+		}
+		in.close();
+		reply.body = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		return reply;
+	}
+
+	/**
+	 * A response from the server
+	 */
+	private static class Reply {
+		/** The HTTP status */
+		private int status;
+		/** The response body */
+		private String body;
+	}
+}
@@ -0,0 +1,48 @@
+package edu.ncsu.csc216.wolf_scheduler.ui;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests CatalogTableModel.
+ * @author Noah Benveniste
+ */
+public class CatalogTableModelTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests that cells are read from the scheduler's catalog.
+	 */
+	@Test
+	public void testGetValueAt() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		CatalogTableModel model = new CatalogTableModel(ws);
+		assertEquals(8, model.getRowCount());
+		assertEquals(4, model.getColumnCount());
+		assertEquals("Meeting Information", model.getColumnName(3));
+
+		String [][] catalog = ws.getCourseCatalog();
+		for (int row = 0; row < catalog.length; row++) {
+			for (int col = 0; col < 4; col++) {
+				assertEquals(catalog[row][col], model.getValueAt(row, col));
+			}
+		}
+
+		//Out of bounds cells are empty
+		assertNull(model.getValueAt(-1, 0));
+		assertNull(model.getValueAt(8, 0));
+		assertNull(model.getValueAt(0, 4));
+
+		//The model follows a reloaded catalog without being rebuilt
+		ws.loadCourseCatalog(invalidTestFile);
+		assertEquals(0, model.getRowCount());
+		assertNull(model.getValueAt(0, 0));
+	}
+}
@@ -0,0 +1,163 @@
+package edu.ncsu.csc216.wolf_scheduler.workload;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests WorkloadGenerator.
+ * @author Noah Benveniste
+ */
+public class WorkloadGeneratorTest {
+
+	/** Generated course records */
+	private final String courseFile = "test-files/actual_generated_courses.txt";
+	/** Generated event records */
+	private final String eventFile = "test-files/actual_generated_events.txt";
+
+	/**
+	 * Tests that the same seed generates the same lines.
+	 */
+	@Test
+	public void testDeterministic() {
+		WorkloadGenerator g1 = new WorkloadGenerator(42);
+		WorkloadGenerator g2 = new WorkloadGenerator(42);
+		g1.setInvalidRatio(0.3);
+		g2.setInvalidRatio(0.3);
+		for (int i = 0; i < 500; i++) {
+			assertEquals(g1.nextCourseLine(), g2.nextCourseLine());
+			assertEquals(g1.nextEvent().toString(), g2.nextEvent().toString());
+		}
+	}
+
+	/**
+	 * Tests that generated catalogs are read in full by CourseRecordIO.
+	 */
+	@Test
+	public void testWriteCourseRecords() {
+		WorkloadGenerator generator = new WorkloadGenerator(7);
+		generator.setSectionsPerCourse(5);
+		generator.setArrangedRatio(0.25);
+		try {
+			generator.writeCourseRecords(courseFile, 2000);
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(courseFile);
+			//Every line is valid and no name and section repeats
+			assertEquals(2000, courses.size());
+			int arranged = 0;
+			for (int i = 0; i < courses.size(); i++) {
+				if ("A".equals(courses.get(i).getMeetingDays())) {
+					arranged++;
+				}
+			}
+			assertTrue(arranged > 400 && arranged < 600);
+		} catch (IOException e) {
+			fail("Unexpected error writing " + courseFile);
+		}
+	}
+
+	/**
+	 * Tests the department mix and invalid line ratio.
+	 */
+	@Test
+	public void testDepartmentsAndInvalidLines() {
+		WorkloadGenerator generator = new WorkloadGenerator(3);
+		generator.setDepartments(new String [] {"CSC", "MA", "E"}, new int [] {3, 1, 0});
+		generator.setInvalidRatio(0.5);
+		try {
+			generator.writeCourseRecords(courseFile, 1000);
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(courseFile);
+			assertTrue(courses.size() > 400 && courses.size() < 600);
+			int csc = 0;
+			for (int i = 0; i < courses.size(); i++) {
+				assertFalse(courses.get(i).getName().startsWith("E"));
+				if (courses.get(i).getName().startsWith("CSC")) {
+					csc++;
+				}
+			}
+			assertTrue(csc > courses.size() / 2);
+
+			//Nothing is read from a file of only invalid lines
+			generator.setInvalidRatio(1);
+			generator.writeCourseRecords(courseFile, 100);
+			assertEquals(0, CourseRecordIO.readCourseRecords(courseFile).size());
+		} catch (IOException e) {
+			fail("Unexpected error writing " + courseFile);
+		}
+	}
+
+	/**
+	 * Tests writing event records.
+	 */
+	@Test
+	public void testWriteEventRecords() {
+		WorkloadGenerator generator = new WorkloadGenerator(11);
+		try {
+			generator.writeEventRecords(eventFile, 50);
+			Scanner scanner = new Scanner(new File(eventFile));
+			int lines = 0;
+			while (scanner.hasNextLine()) {
+				//Each line holds the six Event fields, which build the same Event again
+				String [] fields = scanner.nextLine().split(",");
+				assertEquals(6, fields.length);
+				Event e = new Event(fields[0], fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+						Integer.parseInt(fields[4]), fields[5]);
+				assertEquals("Generated event " + (lines + 1), e.getEventDetails());
+				lines++;
+			}
+			scanner.close();
+			assertEquals(50, lines);
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + eventFile);
+		} catch (IOException e) {
+			fail("Unexpected error writing " + eventFile);
+		}
+	}
+
+	/**
+	 * Tests invalid settings.
+	 */
+	@Test
+	public void testInvalidSettings() {
+		WorkloadGenerator generator = new WorkloadGenerator(1);
+		try {
+			generator.setDepartments(new String [] {"CSC"}, new int [] {0});
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid department mix.", e.getMessage());
+		}
+		try {
+			generator.setDepartments(new String [] {"CSCE"}, new int [] {1});
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid department mix.", e.getMessage());
+		}
+		try {
+			generator.setSectionsPerCourse(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid sections per course.", e.getMessage());
+		}
+		try {
+			generator.setArrangedRatio(1.5);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid arranged ratio.", e.getMessage());
+		}
+		try {
+			generator.setInvalidRatio(-0.1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid invalid line ratio.", e.getMessage());
+		}
+	}
+}